@@ -0,0 +1,69 @@
+package com.dzovah.mesha.Database.Utils;
+
+import android.content.ContentProvider;
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.dzovah.mesha.Database.MeshaDatabase;
+
+/**
+ * Checks the DAO query plans once each time a debug build starts.
+ * <p>
+ * Declared only in the debug manifest, so release builds carry neither this
+ * provider nor {@link QueryPlanVerifier}. The system creates the provider before
+ * the first activity, and it queues the check on
+ * {@link MeshaDatabase#databaseReadExecutor}; {@code EXPLAIN QUERY PLAN} only
+ * reads the schema, so the check never waits behind a write. It serves no data.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see QueryPlanVerifier
+ */
+public class QueryPlanCheckProvider extends ContentProvider {
+
+    @Override
+    public boolean onCreate() {
+        Context context = getContext();
+        if (context != null) {
+            MeshaDatabase.databaseReadExecutor.execute(() -> QueryPlanVerifier.logViolations(
+                    MeshaDatabase.Get_database(context).getOpenHelper().getReadableDatabase()));
+        }
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public Cursor query(@NonNull Uri uri, @Nullable String[] projection, @Nullable String selection,
+                        @Nullable String[] selectionArgs, @Nullable String sortOrder) {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public String getType(@NonNull Uri uri) {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public Uri insert(@NonNull Uri uri, @Nullable ContentValues values) {
+        return null;
+    }
+
+    @Override
+    public int delete(@NonNull Uri uri, @Nullable String selection, @Nullable String[] selectionArgs) {
+        return 0;
+    }
+
+    @Override
+    public int update(@NonNull Uri uri, @Nullable ContentValues values, @Nullable String selection,
+                      @Nullable String[] selectionArgs) {
+        return 0;
+    }
+}
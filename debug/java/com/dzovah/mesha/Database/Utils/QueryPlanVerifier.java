@@ -0,0 +1,521 @@
+package com.dzovah.mesha.Database.Utils;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.dzovah.mesha.Database.Daos.AlphaAccountDao;
+import com.dzovah.mesha.Database.Daos.BetaAccountDao;
+import com.dzovah.mesha.Database.Daos.CategoryDao;
+import com.dzovah.mesha.Database.Daos.LedgerDao;
+import com.dzovah.mesha.Database.Daos.MeshansDao;
+import com.dzovah.mesha.Database.Daos.PAlphaAccountDao;
+import com.dzovah.mesha.Database.Daos.PBetaAccountDao;
+import com.dzovah.mesha.Database.Daos.PLedgerDao;
+import com.dzovah.mesha.Database.Daos.PRollupDao;
+import com.dzovah.mesha.Database.Daos.PTransactionDao;
+import com.dzovah.mesha.Database.Daos.RollupDao;
+import com.dzovah.mesha.Database.Daos.TransactionDao;
+import com.dzovah.mesha.Database.MeshaDatabase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Checks the query plans of every DAO query against the live schema.
+ * <p>
+ * {@link #CHECKS} lists every {@code @Query} of the account, transaction, ledger,
+ * rollup, category and user DAOs, for both vaults. Each check runs the DAO's own
+ * SQL constant (for example {@link TransactionDao#GET_TRANSACTIONS_PAGE}), the same
+ * string its {@code @Query} annotation compiles, so a changed query is checked as
+ * it now reads. The verifier runs {@code EXPLAIN QUERY PLAN} for each one and
+ * reports a violation when a query that should seek through an index scans a
+ * whole table instead, or sorts rows in a temporary B-tree that an index should
+ * have delivered in order. A DAO query added without a check here goes
+ * unchecked, so new queries get a line in {@link #CHECKS} along with their
+ * constant.
+ * </p>
+ * <p>
+ * This class lives in the debug source set only. {@link QueryPlanCheckProvider}
+ * checks the plans each time a debug build starts, and {@link #runScaled} seeds a
+ * throwaway database with a synthetic ledger at increasing sizes and reports
+ * per-query latency at each size.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see MeshaDatabase
+ */
+public final class QueryPlanVerifier {
+    private static final String TAG = "QueryPlanVerifier";
+
+    /** Ledger sizes used by {@link #runScaled} when none are given */
+    public static final int[] DEFAULT_SCALES = {10_000, 100_000, 1_000_000};
+
+    /** Name of the throwaway database seeded by {@link #runScaled} */
+    private static final String SCALE_DATABASE_NAME = "Mesha_query_plan_check";
+
+    /** Number of timed executions averaged for each query */
+    private static final int TIMED_RUNS = 5;
+
+    /** Matches a full pass over a table, in both the pre- and post-3.36 plan formats */
+    private static final Pattern SCAN = Pattern.compile("^SCAN (?:TABLE )?(\\w+)(.*)$");
+
+    /**
+     * How a query is expected to reach its rows.
+     */
+    public enum Access {
+        /** Must seek through an index or primary key; any table scan or sort is a violation */
+        SEEK,
+        /** Must seek, but may group or sort the rows it found in a temporary B-tree */
+        SEEK_THEN_SORT,
+        /** May walk an index in order (e.g. a LIMITed feed); a bare table scan or sort is a violation */
+        ORDERED_SCAN,
+        /** Reads the whole table by design; reported but never a violation */
+        FULL_SCAN
+    }
+
+    /**
+     * One DAO query to check.
+     * <p>
+     * The SQL keeps the DAO's named parameters. SQLite numbers them in order of
+     * first appearance, and a name used twice shares one number, so {@code args}
+     * holds one value per distinct name in that order.
+     * </p>
+     */
+    public static final class Check {
+        final String name;
+        final String sql;
+        final Object[] args;
+        final Access access;
+
+        Check(String name, Access access, String sql, Object... args) {
+            this.name = name;
+            this.access = access;
+            this.sql = sql;
+            this.args = args;
+        }
+    }
+
+    /**
+     * The plan and timing of one checked query.
+     */
+    public static final class Result {
+        public final String name;
+        public final Access access;
+        public final List<String> plan;
+        public final String violation;
+        /** Mean execution time in milliseconds, or -1 if the query was not timed */
+        public final double meanMillis;
+
+        Result(String name, Access access, List<String> plan, String violation, double meanMillis) {
+            this.name = name;
+            this.access = access;
+            this.plan = plan;
+            this.violation = violation;
+            this.meanMillis = meanMillis;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            String timing = meanMillis >= 0 ? String.format(Locale.US, "%.2f ms", meanMillis) : "not timed";
+            return (violation != null ? "FAIL " : "ok   ") + name + " [" + access + ", " + timing + "] "
+                    + plan + (violation != null ? " -> " + violation : "");
+        }
+    }
+
+    /**
+     * The results of checking every query once.
+     */
+    public static final class Report {
+        /** Number of transactions per vault the report was taken at, or -1 for the live database */
+        public final int ledgerRows;
+        public final List<Result> results;
+
+        Report(int ledgerRows, List<Result> results) {
+            this.ledgerRows = ledgerRows;
+            this.results = results;
+        }
+
+        /**
+         * Gets the results that broke their expected access path.
+         *
+         * @return The failing results, empty if every plan is as expected
+         */
+        public List<Result> violations() {
+            List<Result> failed = new ArrayList<>();
+            for (Result result : results) {
+                if (result.violation != null) failed.add(result);
+            }
+            return failed;
+        }
+
+        /**
+         * Checks whether every query used its expected access path.
+         *
+         * @return true if there are no violations
+         */
+        public boolean passed() {
+            return violations().isEmpty();
+        }
+    }
+
+    /** Every checked query, normal vault first */
+    public static final List<Check> CHECKS;
+
+    static {
+        List<Check> normal = new ArrayList<>();
+        List<Check> hidden = new ArrayList<>();
+        Vaults checks = new Vaults(normal, hidden);
+
+        // TransactionDao / PTransactionDao
+        checks.add("deleteById", Access.SEEK,
+                TransactionDao.DELETE_BY_ID, PTransactionDao.DELETE_BY_ID, 1);
+        checks.add("getAllTransactionsByBetaAccountId, observeTransactionsByBetaAccountId", Access.SEEK,
+                TransactionDao.GET_ALL_TRANSACTIONS_BY_BETA_ACCOUNT_ID, PTransactionDao.GET_ALL_P_TRANSACTIONS_BY_BETA_ACCOUNT_ID, 1);
+        checks.add("getTransactionsByType", Access.SEEK,
+                TransactionDao.GET_TRANSACTIONS_BY_TYPE, PTransactionDao.GET_P_TRANSACTIONS_BY_TYPE, 1, "DEBIT");
+        checks.add("getBetaAccountBalance", Access.SEEK,
+                TransactionDao.GET_BETA_ACCOUNT_BALANCE, PTransactionDao.GET_P_BETA_ACCOUNT_BALANCE, 1);
+        checks.add("getTransactionsByTimeRange", Access.SEEK,
+                TransactionDao.GET_TRANSACTIONS_BY_TIME_RANGE, PTransactionDao.GET_P_TRANSACTIONS_BY_TIME_RANGE,
+                1, 0L, Long.MAX_VALUE);
+        checks.add("calculateDailyTotal", Access.SEEK,
+                TransactionDao.CALCULATE_DAILY_TOTAL, PTransactionDao.CALCULATE_P_DAILY_TOTAL,
+                1, "DEBIT", 0L, Long.MAX_VALUE);
+        checks.add("getTransactionsByDay", Access.SEEK,
+                TransactionDao.GET_TRANSACTIONS_BY_DAY, PTransactionDao.GET_P_TRANSACTIONS_BY_DAY, 20240315);
+        checks.add("getActiveDays", Access.SEEK,
+                TransactionDao.GET_ACTIVE_DAYS, PTransactionDao.GET_P_ACTIVE_DAYS, 20240101, 20241231);
+        checks.add("getAllTransactionsByAlphaAccountId", Access.SEEK,
+                TransactionDao.GET_ALL_TRANSACTIONS_BY_ALPHA_ACCOUNT_ID, PTransactionDao.GET_ALL_TRANSACTIONS_BY_ALPHA_ACCOUNT_ID, 1);
+        checks.add("getAllTransactionsByEntryTime", Access.ORDERED_SCAN,
+                TransactionDao.GET_ALL_TRANSACTIONS_BY_ENTRY_TIME, PTransactionDao.GET_ALL_P_TRANSACTIONS_BY_ENTRY_TIME);
+        checks.add("getTransactionsPage", Access.ORDERED_SCAN,
+                TransactionDao.GET_TRANSACTIONS_PAGE, PTransactionDao.GET_P_TRANSACTIONS_PAGE, 50);
+        checks.add("getTransactionsPageAfter", Access.SEEK,
+                TransactionDao.GET_TRANSACTIONS_PAGE_AFTER, PTransactionDao.GET_P_TRANSACTIONS_PAGE_AFTER,
+                Long.MAX_VALUE / 2, Integer.MAX_VALUE, 50);
+        checks.add("getTransactionsPageBefore", Access.SEEK,
+                TransactionDao.GET_TRANSACTIONS_PAGE_BEFORE, PTransactionDao.GET_P_TRANSACTIONS_PAGE_BEFORE, 0L, 0, 50);
+        checks.add("getNetBalance", Access.FULL_SCAN,
+                TransactionDao.GET_NET_BALANCE, PTransactionDao.GET_NET_BALANCE);
+        checks.add("getAlphaAccountBalanceById", Access.SEEK,
+                TransactionDao.GET_ALPHA_ACCOUNT_BALANCE_BY_ID, PTransactionDao.GET_P_ALPHA_ACCOUNT_BALANCE_BY_ID, 1);
+
+        // AlphaAccountDao / PAlphaAccountDao; the Alpha tables hold a handful of rows
+        checks.add("deleteAlphaAccountById", Access.SEEK,
+                AlphaAccountDao.DELETE_ALPHA_ACCOUNT_BY_ID, PAlphaAccountDao.DELETE_P_ALPHA_ACCOUNT_BY_ID, 1);
+        checks.add("updateAlphaAccountDetails", Access.SEEK,
+                AlphaAccountDao.UPDATE_ALPHA_ACCOUNT_DETAILS, PAlphaAccountDao.UPDATE_P_ALPHA_ACCOUNT_DETAILS, "Name", "", 1);
+        checks.add("getAllAlphaAccounts, observeAllAlphaAccounts", Access.FULL_SCAN,
+                AlphaAccountDao.GET_ALL_ALPHA_ACCOUNTS, PAlphaAccountDao.GET_ALL_P_ALPHA_ACCOUNTS);
+        checks.add("getAlphaAccountById, observeAlphaAccountById", Access.SEEK,
+                AlphaAccountDao.GET_ALPHA_ACCOUNT_BY_ID, PAlphaAccountDao.GET_P_ALPHA_ACCOUNT_BY_ID, 1);
+        checks.add("getTotalAlphaAccountsBalance, observeTotalAlphaAccountsBalance", Access.FULL_SCAN,
+                AlphaAccountDao.GET_TOTAL_ALPHA_ACCOUNTS_BALANCE, PAlphaAccountDao.GET_TOTAL_P_ALPHA_ACCOUNTS_BALANCE);
+        checks.add("searchAlphaAccounts", Access.FULL_SCAN,
+                AlphaAccountDao.SEARCH_ALPHA_ACCOUNTS, PAlphaAccountDao.SEARCH_P_ALPHA_ACCOUNTS, "Alpha");
+
+        // BetaAccountDao / PBetaAccountDao
+        checks.add("updateBetaAccountDetails", Access.SEEK,
+                BetaAccountDao.UPDATE_BETA_ACCOUNT_DETAILS, PBetaAccountDao.UPDATE_P_BETA_ACCOUNT_DETAILS, "Name", "", 1);
+        checks.add("addBetaAccountBalanceDelta", Access.SEEK,
+                BetaAccountDao.ADD_BETA_ACCOUNT_BALANCE_DELTA, PBetaAccountDao.ADD_P_BETA_ACCOUNT_BALANCE_DELTA, 0L, 1);
+        checks.add("getAllBetaAccounts", Access.FULL_SCAN,
+                BetaAccountDao.GET_ALL_BETA_ACCOUNTS, PBetaAccountDao.GET_ALL_P_BETA_ACCOUNTS);
+        checks.add("getBetaAccountById, observeBetaAccountById", Access.SEEK,
+                BetaAccountDao.GET_BETA_ACCOUNT_BY_ID, PBetaAccountDao.GET_P_BETA_ACCOUNT_BY_ID, 1);
+        checks.add("getBetaAccountsByAlphaAccountId, observeBetaAccountsByAlphaAccountId", Access.SEEK,
+                BetaAccountDao.GET_BETA_ACCOUNTS_BY_ALPHA_ACCOUNT_ID, PBetaAccountDao.GET_P_BETA_ACCOUNTS_BY_P_ALPHA_ACCOUNT_ID, 1);
+        checks.add("updateAlphaAccountBalance", Access.SEEK,
+                BetaAccountDao.UPDATE_ALPHA_ACCOUNT_BALANCE, PBetaAccountDao.UPDATE_P_ALPHA_ACCOUNT_BALANCE, 1);
+
+        // LedgerDao / PLedgerDao
+        checks.add("recalculateBetaBalance", Access.SEEK,
+                LedgerDao.RECALCULATE_BETA_BALANCE, PLedgerDao.RECALCULATE_BETA_BALANCE, 1);
+        checks.add("recalculateParentAlphaBalance", Access.SEEK,
+                LedgerDao.RECALCULATE_PARENT_ALPHA_BALANCE, PLedgerDao.RECALCULATE_PARENT_ALPHA_BALANCE, 1);
+        checks.add("recalculateAllAlphaBalances", Access.FULL_SCAN,
+                LedgerDao.RECALCULATE_ALL_ALPHA_BALANCES, PLedgerDao.RECALCULATE_ALL_ALPHA_BALANCES);
+        checks.add("recalculateAllBetaBalances", Access.FULL_SCAN,
+                LedgerDao.RECALCULATE_ALL_BETA_BALANCES, PLedgerDao.RECALCULATE_ALL_BETA_BALANCES);
+        checks.add("getBetaAccountIdOf", Access.SEEK,
+                LedgerDao.GET_BETA_ACCOUNT_ID_OF, PLedgerDao.GET_BETA_ACCOUNT_ID_OF, 1);
+
+        // RollupDao / PRollupDao
+        checks.add("getDailyTotals", Access.SEEK,
+                RollupDao.GET_DAILY_TOTALS, PRollupDao.GET_DAILY_TOTALS, 20240101, 20241231);
+        checks.add("getMonthlyTotals", Access.SEEK,
+                RollupDao.GET_MONTHLY_TOTALS, PRollupDao.GET_MONTHLY_TOTALS, 202401, 202412);
+        checks.add("getAlphaDailyTotals", Access.SEEK,
+                RollupDao.GET_ALPHA_DAILY_TOTALS, PRollupDao.GET_ALPHA_DAILY_TOTALS, 1, 20240101, 20241231);
+        checks.add("getAlphaMonthlyTotals", Access.SEEK,
+                RollupDao.GET_ALPHA_MONTHLY_TOTALS, PRollupDao.GET_ALPHA_MONTHLY_TOTALS, 1, 202401, 202412);
+        checks.add("getBetaDailyTotals", Access.SEEK,
+                RollupDao.GET_BETA_DAILY_TOTALS, PRollupDao.GET_BETA_DAILY_TOTALS, 1, 20240101, 20241231);
+        checks.add("getBetaMonthlyTotals", Access.SEEK,
+                RollupDao.GET_BETA_MONTHLY_TOTALS, PRollupDao.GET_BETA_MONTHLY_TOTALS, 1, 202401, 202412);
+        checks.add("getCategoryMonthlyTotals", Access.SEEK,
+                RollupDao.GET_CATEGORY_MONTHLY_TOTALS, PRollupDao.GET_CATEGORY_MONTHLY_TOTALS, 1, 202401, 202412);
+        checks.add("getTotalsBetweenMonths", Access.SEEK,
+                RollupDao.GET_TOTALS_BETWEEN_MONTHS, PRollupDao.GET_TOTALS_BETWEEN_MONTHS, 202401, 202412);
+        checks.add("getNetBalance (rollups)", Access.FULL_SCAN,
+                RollupDao.GET_NET_BALANCE, PRollupDao.GET_NET_BALANCE);
+        checks.add("aggregateDailyRange", Access.SEEK_THEN_SORT,
+                RollupDao.AGGREGATE_DAILY_RANGE, PRollupDao.AGGREGATE_DAILY_RANGE, 1L, 5000L);
+        checks.add("aggregateMonthlyRange", Access.SEEK_THEN_SORT,
+                RollupDao.AGGREGATE_MONTHLY_RANGE, PRollupDao.AGGREGATE_MONTHLY_RANGE, 1L, 5000L);
+        checks.add("addToDaily", Access.SEEK,
+                RollupDao.ADD_TO_DAILY, PRollupDao.ADD_TO_DAILY, 0L, 0L, 0, 0, 1, 20240315, 1);
+        checks.add("addToMonthly", Access.SEEK,
+                RollupDao.ADD_TO_MONTHLY, PRollupDao.ADD_TO_MONTHLY, 0L, 0L, 0, 0, 1, 202403, 1);
+
+        // CategoryDao and MeshansDao are shared by both vaults; Categories is a short fixed list
+        normal.add(new Check("getAllCategories", Access.FULL_SCAN, CategoryDao.GET_ALL_CATEGORIES));
+        normal.add(new Check("getCategoryById", Access.SEEK, CategoryDao.GET_CATEGORY_BY_ID, 1));
+        normal.add(new Check("get (Meshans)", Access.SEEK, MeshansDao.GET_BY_USER_ID, "uid"));
+        normal.add(new Check("deleteByUserId", Access.SEEK, MeshansDao.DELETE_BY_USER_ID, "uid"));
+
+        normal.addAll(hidden);
+        CHECKS = normal;
+    }
+
+    /**
+     * Adds each ledger check to both vaults, with the normal and hidden DAO's SQL.
+     */
+    private static final class Vaults {
+        private final List<Check> normal;
+        private final List<Check> hidden;
+
+        Vaults(List<Check> normal, List<Check> hidden) {
+            this.normal = normal;
+            this.hidden = hidden;
+        }
+
+        void add(String name, Access access, String sql, String pSql, Object... args) {
+            normal.add(new Check(name, access, sql, args));
+            hidden.add(new Check(name + " (P)", access, pSql, args));
+        }
+    }
+
+    private QueryPlanVerifier() {
+        // Static helper, not meant to be instantiated
+    }
+
+    /**
+     * Checks every query plan against a database without timing the queries.
+     *
+     * @param db The database to check
+     * @return The report, with {@code ledgerRows} of -1
+     */
+    public static Report verify(@NonNull SupportSQLiteDatabase db) {
+        return check(db, -1, false);
+    }
+
+    /**
+     * Checks every query plan and logs a warning for each violation.
+     * <p>
+     * Cheap enough to run whenever a debuggable build opens the database.
+     * </p>
+     *
+     * @param db The database to check
+     */
+    public static void logViolations(@NonNull SupportSQLiteDatabase db) {
+        try {
+            Report report = verify(db);
+            for (Result result : report.violations()) {
+                Log.w(TAG, result.toString());
+            }
+            Log.d(TAG, "Checked " + report.results.size() + " query plans, "
+                    + report.violations().size() + " violations");
+        } catch (Exception e) {
+            Log.e(TAG, "Error checking query plans", e);
+        }
+    }
+
+    /**
+     * Seeds a throwaway database with a synthetic ledger at each size and reports
+     * every query's plan and mean latency there.
+     * <p>
+     * Runs for a long time at large sizes and must be called off the main thread.
+     * The throwaway database is deleted afterwards.
+     * </p>
+     *
+     * @param context The context used to create the throwaway database
+     * @param scales The number of transactions per vault to measure at, in ascending order
+     * @return One report per size
+     */
+    public static List<Report> runScaled(@NonNull Context context, int... scales) {
+        if (scales == null || scales.length == 0) {
+            scales = DEFAULT_SCALES;
+        }
+        Context appContext = context.getApplicationContext();
+        appContext.deleteDatabase(SCALE_DATABASE_NAME);
+        MeshaDatabase scratch = Room.databaseBuilder(appContext, MeshaDatabase.class, SCALE_DATABASE_NAME).build();
+
+        List<Report> reports = new ArrayList<>();
+        try {
+            SupportSQLiteDatabase db = scratch.getOpenHelper().getWritableDatabase();
+            seedAccounts(db);
+            int seeded = 0;
+            for (int scale : scales) {
+                if (scale > seeded) {
+                    seedTransactions(db, seeded, scale);
+                    seedRollups(db);
+                    seeded = scale;
+                }
+                db.execSQL("ANALYZE");
+
+                Report report = check(db, scale, true);
+                reports.add(report);
+                Log.i(TAG, "Ledger of " + scale + " transactions per vault:");
+                for (Result result : report.results) {
+                    Log.i(TAG, result.toString());
+                }
+            }
+        } finally {
+            scratch.close();
+            appContext.deleteDatabase(SCALE_DATABASE_NAME);
+        }
+        return reports;
+    }
+
+    private static Report check(SupportSQLiteDatabase db, int ledgerRows, boolean timed) {
+        List<Result> results = new ArrayList<>();
+        for (Check check : CHECKS) {
+            List<String> plan = explain(db, check);
+            String violation = findViolation(check.access, plan);
+            double mean = timed && isSelect(check.sql) ? time(db, check) : -1;
+            results.add(new Result(check.name, check.access, plan, violation, mean));
+        }
+        return new Report(ledgerRows, results);
+    }
+
+    private static List<String> explain(SupportSQLiteDatabase db, Check check) {
+        List<String> plan = new ArrayList<>();
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + check.sql, check.args)) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.add(cursor.getString(detail));
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Finds the first plan step that breaks the expected access path.
+     *
+     * @return A description of the violation, or null if the plan is as expected
+     */
+    private static String findViolation(Access access, List<String> plan) {
+        if (access == Access.FULL_SCAN) return null;
+
+        for (String step : plan) {
+            if (step.startsWith("USE TEMP B-TREE") && access != Access.SEEK_THEN_SORT) {
+                return "sorts in a temporary B-tree: " + step;
+            }
+            Matcher scan = SCAN.matcher(step);
+            if (!scan.matches() || scan.group(1).equals("CONSTANT")) continue;
+
+            boolean throughIndex = scan.group(2).contains("INDEX");
+            if (access != Access.ORDERED_SCAN || !throughIndex) {
+                return "scans " + scan.group(1) + " instead of seeking: " + step;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.regionMatches(true, 0, "SELECT", 0, 6);
+    }
+
+    /**
+     * Runs a query to completion several times and returns the mean time in milliseconds.
+     */
+    private static double time(SupportSQLiteDatabase db, Check check) {
+        long total = 0;
+        for (int run = 0; run < TIMED_RUNS; run++) {
+            long start = System.nanoTime();
+            try (Cursor cursor = db.query(check.sql, check.args)) {
+                while (cursor.moveToNext()) {
+                    // Step through every row so the whole result is computed
+                }
+            }
+            total += System.nanoTime() - start;
+        }
+        return total / (TIMED_RUNS * 1_000_000.0);
+    }
+
+    /**
+     * Inserts a category and a fixed tree of 20 Alpha accounts with 10 Beta accounts each, in both vaults.
+     */
+    private static void seedAccounts(SupportSQLiteDatabase db) {
+        db.beginTransaction();
+        try {
+            db.execSQL("INSERT INTO Categories (Category_id, Category, description) VALUES (1, 'General', 'Synthetic')");
+            for (String p : new String[]{"", "P"}) {
+                db.execSQL("WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 20) " +
+                        "INSERT INTO " + p + "Alpha_accounts (" + p + "Alpha_account_id, " + p + "Alpha_account_name, " +
+                        p + "Alpha_account_icon, " + p + "Alpha_account_balance) " +
+                        "SELECT n, 'Alpha ' || n, '', 0 FROM seq");
+                db.execSQL("WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 200) " +
+                        "INSERT INTO " + p + "Beta_accounts (" + p + "Beta_account_id, " + p + "Alpha_account_id, " +
+                        p + "Beta_account_name, " + p + "Beta_account_icon, " + p + "Beta_account_balance) " +
+                        "SELECT n, (n - 1) / 10 + 1, 'Beta ' || n, '', 0 FROM seq");
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Recomputes the rollup tables of both vaults from the seeded transactions.
+     */
+    private static void seedRollups(SupportSQLiteDatabase db) {
+        db.beginTransaction();
+        try {
+            RollupTriggers.rebuild(db);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Grows both transaction tables from {@code from} to {@code to} rows.
+     * <p>
+     * The throwaway database is created without the balance triggers, so rows go in
+     * at bulk speed. Entry times are spread over roughly two years, and their local
+     * days and months are bucketed in UTC.
+     * </p>
+     */
+    private static void seedTransactions(SupportSQLiteDatabase db, int from, int to) {
+        db.beginTransaction();
+        try {
+            for (String p : new String[]{"", "P"}) {
+                db.execSQL("WITH RECURSIVE seq(n) AS (SELECT " + (from + 1) + " UNION ALL SELECT n + 1 FROM seq WHERE n < " + to + ") " +
+                        "INSERT INTO " + p + "Transactions (" + p + "Alpha_account_id, " + p + "Beta_account_id, Category_id, " +
+                        p + "Transaction_description, " + p + "Transaction_amount, " + p + "Transaction_type, " + p + "Entry_time, " +
+                        p + "Local_day, " + p + "Local_month) " +
+                        "SELECT ((n * 7919) % 200) / 10 + 1, (n * 7919) % 200 + 1, 1, 'Synthetic', " +
+                        "(n * 104729) % 1000000 + 1, CASE WHEN n % 3 = 0 THEN 'CREDIT' ELSE 'DEBIT' END, e, " +
+                        "CAST(strftime('%Y%m%d', e / 1000, 'unixepoch') AS INTEGER), " +
+                        "CAST(strftime('%Y%m', e / 1000, 'unixepoch') AS INTEGER) " +
+                        "FROM (SELECT n, 1600000000000 + (n * 2654435761) % 63072000000 AS e FROM seq)");
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+}
@@ -3,8 +3,6 @@ package com.dzovah.mesha.Activities.Adapters;
 import static com.dzovah.mesha.R.drawable.icon_mesha;
 
 import android.content.Context;
-import android.graphics.BitmapFactory;
-import android.os.Build;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -15,19 +13,13 @@ import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.dzovah.mesha.Database.Entities.BetaAccount;
 import com.dzovah.mesha.Database.Entities.Transaction;
-import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Entities.TransactionWithAccounts;
 import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
+import com.dzovah.mesha.Database.Utils.TimestampRenderer;
+import com.dzovah.mesha.Database.Utils.KeysetPager;
 import com.dzovah.mesha.R;
-
-import java.io.IOException;
-import java.io.InputStream;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-import java.util.Locale;
+import com.dzovah.mesha.Methods.Utils.IconLoader;
 
 /**
  * RecyclerView adapter for displaying transaction items in the analysis view.
@@ -45,14 +37,10 @@ import java.util.Locale;
 public class AnalysisTransactionAdapter extends RecyclerView.Adapter<AnalysisTransactionAdapter.ViewHolder> {
     /** Application context used for inflating layouts and accessing resources */
     private final Context context;
-    /** List of Transaction objects to display */
-    private List<Transaction> transactions;
-    /** Date formatter for displaying transaction dates */
-    private final SimpleDateFormat dateFormat;
+    /** Pager holding the window of TransactionWithAccounts rows currently loaded */
+    private KeysetPager<TransactionWithAccounts> pager;
     /** Listener for transaction click events */
     private OnTransactionClickListener listener;
-    /** Database instance for accessing beta account data */
-    private final MeshaDatabase database;
 
     /**
      * Interface for handling transaction click events.
@@ -61,9 +49,9 @@ public class AnalysisTransactionAdapter extends RecyclerView.Adapter<AnalysisTra
         /**
          * Called when a transaction item is clicked.
          *
-         * @param transaction The Transaction that was clicked
+         * @param transaction The Transaction, with its account details, that was clicked
          */
-        void onTransactionClick(Transaction transaction);
+        void onTransactionClick(TransactionWithAccounts transaction);
     }
 
     /**
@@ -73,18 +61,32 @@ public class AnalysisTransactionAdapter extends RecyclerView.Adapter<AnalysisTra
      */
     public AnalysisTransactionAdapter(Context context) {
         this.context = context;
-        this.transactions = new ArrayList<>();
-        this.dateFormat = new SimpleDateFormat("dd MMM yyyy", Locale.getDefault());
-        this.database = MeshaDatabase.Get_database(context);
+        // Rows keep their IDs as pages are added and dropped at either end
+        setHasStableIds(true);
     }
 
     /**
-     * Updates the list of transactions displayed by this adapter.
+     * Attaches the pager that supplies the transactions displayed by this adapter.
+     * <p>
+     * The adapter shows whatever window the pager has loaded and forwards each
+     * bound position to it so the next page is fetched before the user reaches it.
+     * </p>
      *
-     * @param transactions The new list of Transaction objects to display
+     * @param pager The pager to display, already configured with its page source
      */
-    public void setTransactions(List<Transaction> transactions) {
-        this.transactions = transactions;
+    public void setPager(KeysetPager<TransactionWithAccounts> pager) {
+        this.pager = pager;
+        pager.setListener(new KeysetPager.Listener() {
+            @Override
+            public void onItemsInserted(int position, int count) {
+                notifyItemRangeInserted(position, count);
+            }
+
+            @Override
+            public void onItemsRemoved(int position, int count) {
+                notifyItemRangeRemoved(position, count);
+            }
+        });
         notifyDataSetChanged();
     }
 
@@ -114,8 +116,9 @@ public class AnalysisTransactionAdapter extends RecyclerView.Adapter<AnalysisTra
     /**
      * Binds transaction data to a ViewHolder.
      * <p>
-     * Sets the transaction description, formatted amount, and date. Also loads
-     * the associated beta account details and configures a click listener.
+     * Sets the transaction description, formatted amount, date, and the beta
+     * account name and icon carried by the joined row, then configures a click
+     * listener. Nothing here touches the database.
      * </p>
      *
      * @param holder The ViewHolder to update with transaction data
@@ -123,56 +126,40 @@ public class AnalysisTransactionAdapter extends RecyclerView.Adapter<AnalysisTra
      */
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Transaction transaction = transactions.get(position);
+        TransactionWithAccounts row = pager.get(position);
+        pager.loadAround(position);
+        Transaction transaction = row.getTransaction();
         
         holder.tvDescription.setText(transaction.getTransactionDescription());
         holder.tvAmount.setText(CurrencyFormatter.format(Math.abs(transaction.getTransactionAmount())));
-        holder.tvDate.setText(dateFormat.format(new Date(transaction.getEntryTime())));
+        holder.tvDate.setText(TimestampRenderer.formatDate(transaction.getEntryTime()));
 
         // Set all amounts to green
         holder.tvAmount.setTextColor(ContextCompat.getColor(context, R.color.green));
 
-        // Load beta account details
-        MeshaDatabase.databaseWriteExecutor.execute(() -> {
-            try {
-                BetaAccount betaAccount = database.betaAccountDao()
-                    .getBetaAccountById(transaction.getBetaAccountId());
-                
-                if (betaAccount != null) {
-                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
-                        context.getMainExecutor().execute(() -> {
-                            holder.tvBetaAccountName.setText(betaAccount.getBetaAccountName());
-
-                            try {
-                                String iconPath = betaAccount.getBetaAccountIcon().replace("Assets/", "");
-                                InputStream is = context.getAssets().open(iconPath);
-                                holder.transaction_icon.setImageBitmap(BitmapFactory.decodeStream(is));
-                                is.close();
-                            } catch (IOException e) {
-                                e.printStackTrace();
-                                holder.transaction_icon.setImageResource(icon_mesha);
-                            }
-                        });
-                    }
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
-                    context.getMainExecutor().execute(() ->
-                        holder.transaction_icon.setImageResource(icon_mesha)
-                    );
-                }
-            }
-        });
+        // Account details come joined in with the row, so binding does no database work
+        holder.tvBetaAccountName.setText(row.getBetaAccountName());
+        IconLoader.get(context).load(row.getBetaAccountIcon(), holder.transaction_icon, icon_mesha);
 
         // Set click listener
         holder.itemView.setOnClickListener(v -> {
             if (listener != null) {
-                listener.onTransactionClick(transaction);
+                listener.onTransactionClick(row);
             }
         });
     }
 
+    /**
+     * Returns the stable ID of the transaction at a position, its primary key.
+     *
+     * @param position The position of the transaction
+     * @return The transaction ID
+     */
+    @Override
+    public long getItemId(int position) {
+        return pager.get(position).getTransaction().getTransactionId();
+    }
+
     /**
      * Returns the total number of transactions in the data set.
      *
@@ -180,7 +167,7 @@ public class AnalysisTransactionAdapter extends RecyclerView.Adapter<AnalysisTra
      */
     @Override
     public int getItemCount() {
-        return transactions.size();
+        return pager != null ? pager.size() : 0;
     }
 
     /**
@@ -3,13 +3,14 @@ package com.dzovah.mesha.Activities.Adapters;
 import android.app.Activity;
 import android.content.Context;
 import android.content.Intent;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.dzovah.mesha.Activities.BetaAccountDetailActivity;
@@ -17,11 +18,11 @@ import com.dzovah.mesha.Database.Entities.BetaAccount;
 import com.dzovah.mesha.Database.MeshaDatabase;
 import com.dzovah.mesha.Methods.Dialogs.EditAccountDialog;
 import com.dzovah.mesha.R;
-import java.io.IOException;
-import java.io.InputStream;
+import com.dzovah.mesha.Methods.Utils.IconLoader;
 import java.util.List;
 import java.text.NumberFormat;
 import java.util.Locale;
+import java.util.Objects;
 
 import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
 
@@ -40,40 +41,57 @@ import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
  *
  * @author Electra Magus
  * @version 1.0
- * @see RecyclerView.Adapter
+ * @see ListAdapter
  * @see BetaAccount
  * @see BetaAccountDetailActivity
  */
-public class BetaAccountAdapter extends RecyclerView.Adapter<BetaAccountAdapter.BetaAccountViewHolder> {
-    /** List of BetaAccount objects to display */
-    private List<BetaAccount> betaAccounts;
-    
+public class BetaAccountAdapter extends ListAdapter<BetaAccount, BetaAccountAdapter.BetaAccountViewHolder> {
     /** Application context used for inflating layouts and accessing resources */
     private final Context context;
     
     /** Listener for account interaction events */
     private OnAccountActionListener actionListener;
 
+    /**
+     * Matches beta accounts by ID and rebinds one only when something its row shows has
+     * changed, such as its balance.
+     */
+    private static final DiffUtil.ItemCallback<BetaAccount> DIFF_CALLBACK = new DiffUtil.ItemCallback<BetaAccount>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull BetaAccount oldItem, @NonNull BetaAccount newItem) {
+            return oldItem.getBetaAccountId() == newItem.getBetaAccountId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull BetaAccount oldItem, @NonNull BetaAccount newItem) {
+            return oldItem.getBetaAccountBalance() == newItem.getBetaAccountBalance()
+                    && Objects.equals(oldItem.getBetaAccountName(), newItem.getBetaAccountName())
+                    && Objects.equals(oldItem.getBetaAccountIcon(), newItem.getBetaAccountIcon());
+        }
+    };
+
     /**
      * Constructs a new BetaAccountAdapter.
      *
      * @param context The context used for inflating layouts and accessing resources
      */
     public BetaAccountAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
+        setHasStableIds(true);
     }
 
     /**
      * Updates the list of beta accounts displayed by this adapter.
      * <p>
-     * This method will trigger a UI refresh to show the new account list.
+     * Only the rows whose account was added, removed or changed are updated; the
+     * comparison runs off the main thread.
      * </p>
      *
      * @param betaAccounts The new list of BetaAccount objects to display
      */
     public void setBetaAccounts(List<BetaAccount> betaAccounts) {
-        this.betaAccounts = betaAccounts;
-        notifyDataSetChanged();
+        submitList(betaAccounts);
     }
 
     /**
@@ -122,22 +140,14 @@ public class BetaAccountAdapter extends RecyclerView.Adapter<BetaAccountAdapter.
      */
     @Override
     public void onBindViewHolder(BetaAccountViewHolder holder, int position) {
-        BetaAccount account = betaAccounts.get(position);
+        BetaAccount account = getItem(position);
         holder.tvAccountName.setText(account.getBetaAccountName());
         
         holder.tvAccountBalance.setText(CurrencyFormatter.format(account.getBetaAccountBalance()));
 
-        try {
-            String iconPath = account.getBetaAccountIcon().replace("Assets/", "");
-            InputStream is = context.getAssets().open(iconPath);
-            Bitmap bitmap = BitmapFactory.decodeStream(is);
-            holder.ivAccountIcon.setImageBitmap(bitmap);
-            is.close();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        IconLoader.get(context).load(account.getBetaAccountIcon(), holder.ivAccountIcon);
 
-        holder.itemView.setOnClickListener(v -> handleItemClick(account, position));
+        holder.itemView.setOnClickListener(v -> handleItemClick(account, holder.getBindingAdapterPosition()));
 
         // Add long-press listener for editing/deleting beta accounts
         holder.itemView.setOnLongClickListener(v -> {
@@ -163,13 +173,14 @@ public class BetaAccountAdapter extends RecyclerView.Adapter<BetaAccountAdapter.
     }
 
     /**
-     * Returns the total number of beta accounts in the data set.
+     * Returns the stable ID of the beta account at a position, which is its primary key.
      *
-     * @return The number of beta accounts, or 0 if the betaAccounts list is null
+     * @param position The position of the beta account
+     * @return The account ID
      */
     @Override
-    public int getItemCount() {
-        return betaAccounts != null ? betaAccounts.size() : 0;
+    public long getItemId(int position) {
+        return getItem(position).getBetaAccountId();
     }
 
     /**
@@ -6,12 +6,15 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.dzovah.mesha.Database.Entities.Category;
 import com.dzovah.mesha.R;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * RecyclerView adapter for displaying transaction categories in a list.
@@ -23,25 +26,43 @@ import java.util.List;
  *
  * @author Electra Magus
  * @version 1.0
- * @see RecyclerView.Adapter
+ * @see ListAdapter
  * @see Category
  */
-public class CategoryAdapter extends RecyclerView.Adapter<CategoryAdapter.CategoryViewHolder> {
+public class CategoryAdapter extends ListAdapter<Category, CategoryAdapter.CategoryViewHolder> {
 
-    /** List of Category objects to display */
-    private List<Category> categories;
+    /** Matches categories by ID; a row is rebound only when its name changed */
+    private static final DiffUtil.ItemCallback<Category> DIFF_CALLBACK = new DiffUtil.ItemCallback<Category>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Category oldItem, @NonNull Category newItem) {
+            return oldItem.getCategoryId() == newItem.getCategoryId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Category oldItem, @NonNull Category newItem) {
+            return Objects.equals(oldItem.getCategory(), newItem.getCategory());
+        }
+    };
+
+    /**
+     * Constructs a new CategoryAdapter with no categories.
+     */
+    public CategoryAdapter() {
+        super(DIFF_CALLBACK);
+        setHasStableIds(true);
+    }
 
     /**
      * Updates the list of categories displayed by this adapter.
      * <p>
-     * This method will trigger a UI refresh to show the new category list.
+     * The registry republishes the whole list on every change, so the list is
+     * diffed in the background and only new, removed or renamed rows are updated.
      * </p>
      *
      * @param categories The new list of Category objects to display
      */
     public void setCategories(List<Category> categories) {
-        this.categories = categories;
-        notifyDataSetChanged();
+        submitList(categories);
     }
 
     /**
@@ -73,18 +94,19 @@ public class CategoryAdapter extends RecyclerView.Adapter<CategoryAdapter.Catego
      */
     @Override
     public void onBindViewHolder(@NonNull CategoryViewHolder holder, int position) {
-        Category category = categories.get(position);
+        Category category = getItem(position);
         holder.categoryName.setText(category.getCategory());
     }
 
     /**
-     * Returns the total number of categories in the data set.
+     * Returns the stable ID of the category at a position.
      *
-     * @return The number of categories, or 0 if the categories list is null
+     * @param position The position of the category
+     * @return The category ID
      */
     @Override
-    public int getItemCount() {
-        return categories != null ? categories.size() : 0;
+    public long getItemId(int position) {
+        return getItem(position).getCategoryId();
     }
 
     /**
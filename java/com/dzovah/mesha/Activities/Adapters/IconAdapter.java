@@ -1,8 +1,6 @@
 package com.dzovah.mesha.Activities.Adapters;
 
 import android.content.Context;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -10,8 +8,8 @@ import android.view.ViewGroup;
 import android.widget.ImageView;
 import androidx.recyclerview.widget.RecyclerView;
 import com.dzovah.mesha.R;
-import java.io.IOException;
-import java.io.InputStream;
+import com.dzovah.mesha.Methods.Utils.IconLoader;
+import com.dzovah.mesha.Methods.Utils.IconManifest;
 
 /**
  * RecyclerView adapter for displaying selectable icons in a grid layout.
@@ -80,9 +78,10 @@ public class IconAdapter extends RecyclerView.Adapter<IconAdapter.IconViewHolder
     /**
      * Binds icon data to a ViewHolder.
      * <p>
-     * This method loads the icon image from the assets directory and sets it to the
-     * ImageView in the ViewHolder. It also updates the background to indicate if the
-     * icon is currently selected and sets a click listener to handle icon selection.
+     * This method hands the icon to the shared {@link IconLoader}, which shows it from
+     * its cache or decodes it off the main thread. It also updates the background to
+     * indicate if the icon is currently selected and sets a click listener to handle
+     * icon selection.
      * </p>
      *
      * @param holder The ViewHolder to update with icon data
@@ -93,17 +92,7 @@ public class IconAdapter extends RecyclerView.Adapter<IconAdapter.IconViewHolder
         String iconPath = iconPaths[position];
         Context context = holder.itemView.getContext();
         
-        Log.d("IconDebug", "Trying to load icon: icons/" + iconPath);
-        try {
-            InputStream is = context.getAssets().open("icons/" + iconPath);
-            Bitmap bitmap = BitmapFactory.decodeStream(is);
-            holder.iconView.setImageBitmap(bitmap);
-            is.close();
-            Log.d("IconDebug", "Successfully loaded icon: " + iconPath);
-        } catch (IOException e) {
-            Log.e("IconDebug", "Failed to load icon: " + iconPath + ", Error: " + e.getMessage());
-            e.printStackTrace();
-        }
+        IconLoader.get(context).load(IconManifest.DIRECTORY + "/" + iconPath, holder.iconView);
         
         holder.itemView.setBackgroundResource(selectedPosition == position ? 
             R.drawable.icon_selected_background : R.drawable.icon_background);
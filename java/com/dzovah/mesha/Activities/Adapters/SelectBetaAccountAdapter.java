@@ -6,14 +6,17 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.RadioButton;
 import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.dzovah.mesha.Database.Entities.BetaAccount;
 import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
 import com.dzovah.mesha.R;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * RecyclerView adapter for selecting a single BetaAccount from a list.
@@ -26,18 +29,29 @@ import java.util.List;
  *
  * @author Electra Magus
  * @version 1.0
- * @see RecyclerView.Adapter
+ * @see ListAdapter
  * @see BetaAccount
  */
-public class SelectBetaAccountAdapter extends RecyclerView.Adapter<SelectBetaAccountAdapter.AccountViewHolder> {
+public class SelectBetaAccountAdapter extends ListAdapter<BetaAccount, SelectBetaAccountAdapter.AccountViewHolder> {
     /** Application context used for inflating layouts and accessing resources */
     private final Context context;
     
-    /** List of BetaAccount objects to display in the RecyclerView */
-    private List<BetaAccount> accounts;
+    /** Matches accounts by ID; a row is rebound only when its name or balance changed */
+    private static final DiffUtil.ItemCallback<BetaAccount> DIFF_CALLBACK = new DiffUtil.ItemCallback<BetaAccount>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull BetaAccount oldItem, @NonNull BetaAccount newItem) {
+            return oldItem.getBetaAccountId() == newItem.getBetaAccountId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull BetaAccount oldItem, @NonNull BetaAccount newItem) {
+            return oldItem.getBetaAccountBalance() == newItem.getBetaAccountBalance()
+                    && Objects.equals(oldItem.getBetaAccountName(), newItem.getBetaAccountName());
+        }
+    };
     
-    /** Index of the currently selected account, -1 if no selection */
-    private int selectedPosition = -1;
+    /** ID of the currently selected account, -1 if no selection */
+    private int selectedAccountId = -1;
     
     /** Listener to notify when an account is selected */
     private OnAccountSelectedListener listener;
@@ -60,8 +74,9 @@ public class SelectBetaAccountAdapter extends RecyclerView.Adapter<SelectBetaAcc
      * @param context The context used for inflating layouts and accessing resources
      */
     public SelectBetaAccountAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.accounts = new ArrayList<>();
+        setHasStableIds(true);
     }
 
     /**
@@ -76,14 +91,14 @@ public class SelectBetaAccountAdapter extends RecyclerView.Adapter<SelectBetaAcc
     /**
      * Updates the list of BetaAccount objects displayed by this adapter.
      * <p>
-     * This method will trigger a UI refresh to show the new account list.
+     * The selection follows the account rather than its position, so it survives
+     * the list being reordered. Only the rows that changed are rebound.
      * </p>
      *
      * @param accounts The new list of BetaAccount objects to display
      */
     public void setAccounts(List<BetaAccount> accounts) {
-        this.accounts = accounts;
-        notifyDataSetChanged();
+        submitList(accounts);
     }
 
     /**
@@ -117,39 +132,54 @@ public class SelectBetaAccountAdapter extends RecyclerView.Adapter<SelectBetaAcc
      */
     @Override
     public void onBindViewHolder(AccountViewHolder holder, int position) {
-        BetaAccount account = accounts.get(position);
+        BetaAccount account = getItem(position);
         
         holder.tvAccountName.setText(account.getBetaAccountName());
         holder.tvAccountBalance.setText(CurrencyFormatter.format(account.getBetaAccountBalance()));
         
         // Handle selection
-        holder.rbSelect.setChecked(position == selectedPosition);
+        holder.rbSelect.setChecked(account.getBetaAccountId() == selectedAccountId);
         
-        holder.itemView.setOnClickListener(v -> {
-            selectedPosition = position;
-            notifyDataSetChanged();
-            if (listener != null) {
-                listener.onAccountSelected(account);
-            }
-        });
+        holder.itemView.setOnClickListener(v -> select(holder, account));
         
-        holder.rbSelect.setOnClickListener(v -> {
-            selectedPosition = position;
-            notifyDataSetChanged();
-            if (listener != null) {
-                listener.onAccountSelected(account);
+        holder.rbSelect.setOnClickListener(v -> select(holder, account));
+    }
+
+    /**
+     * Selects an account, rebinding only the previously selected row and this one.
+     *
+     * @param holder The ViewHolder of the row that was tapped
+     * @param account The account shown in that row
+     */
+    private void select(AccountViewHolder holder, BetaAccount account) {
+        int previousId = selectedAccountId;
+        selectedAccountId = account.getBetaAccountId();
+        if (previousId != selectedAccountId) {
+            for (int i = 0; i < getItemCount(); i++) {
+                if (getItem(i).getBetaAccountId() == previousId) {
+                    notifyItemChanged(i);
+                    break;
+                }
             }
-        });
+        }
+        int current = holder.getBindingAdapterPosition();
+        if (current != RecyclerView.NO_POSITION) {
+            notifyItemChanged(current);
+        }
+        if (listener != null) {
+            listener.onAccountSelected(account);
+        }
     }
 
     /**
-     * Returns the total number of accounts in the data set.
+     * Returns the stable ID of the account at a position.
      *
-     * @return The number of accounts in the accounts list
+     * @param position The position of the account
+     * @return The account ID
      */
     @Override
-    public int getItemCount() {
-        return accounts.size();
+    public long getItemId(int position) {
+        return getItem(position).getBetaAccountId();
     }
 
     /**
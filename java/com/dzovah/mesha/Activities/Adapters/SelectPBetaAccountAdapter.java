@@ -6,14 +6,17 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.RadioButton;
 import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.dzovah.mesha.Database.Entities.PBetaAccount;
 import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
 import com.dzovah.mesha.R;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * RecyclerView adapter for selecting a single BetaAccount from a list.
@@ -26,18 +29,29 @@ import java.util.List;
  *
  * @author Electra Magus
  * @version 1.0
- * @see RecyclerView.Adapter
+ * @see ListAdapter
  * @see PBetaAccount
  */
-public class SelectPBetaAccountAdapter extends RecyclerView.Adapter<SelectPBetaAccountAdapter.AccountViewHolder> {
+public class SelectPBetaAccountAdapter extends ListAdapter<PBetaAccount, SelectPBetaAccountAdapter.AccountViewHolder> {
     /** Application context used for inflating layouts and accessing resources */
     private final Context context;
 
-    /** List of BetaAccount objects to display in the RecyclerView */
-    private List<PBetaAccount> accounts;
+    /** Matches accounts by ID; a row is rebound only when its name or balance changed */
+    private static final DiffUtil.ItemCallback<PBetaAccount> DIFF_CALLBACK = new DiffUtil.ItemCallback<PBetaAccount>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull PBetaAccount oldItem, @NonNull PBetaAccount newItem) {
+            return oldItem.getPBetaAccountId() == newItem.getPBetaAccountId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull PBetaAccount oldItem, @NonNull PBetaAccount newItem) {
+            return oldItem.getPBetaAccountBalance() == newItem.getPBetaAccountBalance()
+                    && Objects.equals(oldItem.getPBetaAccountName(), newItem.getPBetaAccountName());
+        }
+    };
 
-    /** Index of the currently selected account, -1 if no selection */
-    private int selectedPosition = -1;
+    /** ID of the currently selected account, -1 if no selection */
+    private int selectedAccountId = -1;
 
     /** Listener to notify when an account is selected */
     private OnAccountSelectedListener listener;
@@ -60,8 +74,9 @@ public class SelectPBetaAccountAdapter extends RecyclerView.Adapter<SelectPBetaA
      * @param context The context used for inflating layouts and accessing resources
      */
     public SelectPBetaAccountAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.accounts = new ArrayList<>();
+        setHasStableIds(true);
     }
 
     /**
@@ -76,14 +91,14 @@ public class SelectPBetaAccountAdapter extends RecyclerView.Adapter<SelectPBetaA
     /**
      * Updates the list of BetaAccount objects displayed by this adapter.
      * <p>
-     * This method will trigger a UI refresh to show the new account list.
+     * The selection follows the account rather than its position, so it survives
+     * the list being reordered. Only the rows that changed are rebound.
      * </p>
      *
      * @param accounts The new list of BetaAccount objects to display
      */
     public void setAccounts(List<PBetaAccount> accounts) {
-        this.accounts = accounts;
-        notifyDataSetChanged();
+        submitList(accounts);
     }
 
     /**
@@ -117,39 +132,54 @@ public class SelectPBetaAccountAdapter extends RecyclerView.Adapter<SelectPBetaA
      */
     @Override
     public void onBindViewHolder(AccountViewHolder holder, int position) {
-        PBetaAccount account = accounts.get(position);
+        PBetaAccount account = getItem(position);
 
         holder.tvAccountName.setText(account.getPBetaAccountName());
         holder.tvAccountBalance.setText(CurrencyFormatter.format(account.getPBetaAccountBalance()));
 
         // Handle selection
-        holder.rbSelect.setChecked(position == selectedPosition);
+        holder.rbSelect.setChecked(account.getPBetaAccountId() == selectedAccountId);
 
-        holder.itemView.setOnClickListener(v -> {
-            selectedPosition = position;
-            notifyDataSetChanged();
-            if (listener != null) {
-                listener.onAccountSelected(account);
-            }
-        });
+        holder.itemView.setOnClickListener(v -> select(holder, account));
+
+        holder.rbSelect.setOnClickListener(v -> select(holder, account));
+    }
 
-        holder.rbSelect.setOnClickListener(v -> {
-            selectedPosition = position;
-            notifyDataSetChanged();
-            if (listener != null) {
-                listener.onAccountSelected(account);
+    /**
+     * Selects an account, rebinding only the previously selected row and this one.
+     *
+     * @param holder The ViewHolder of the row that was tapped
+     * @param account The account shown in that row
+     */
+    private void select(AccountViewHolder holder, PBetaAccount account) {
+        int previousId = selectedAccountId;
+        selectedAccountId = account.getPBetaAccountId();
+        if (previousId != selectedAccountId) {
+            for (int i = 0; i < getItemCount(); i++) {
+                if (getItem(i).getPBetaAccountId() == previousId) {
+                    notifyItemChanged(i);
+                    break;
+                }
             }
-        });
+        }
+        int current = holder.getBindingAdapterPosition();
+        if (current != RecyclerView.NO_POSITION) {
+            notifyItemChanged(current);
+        }
+        if (listener != null) {
+            listener.onAccountSelected(account);
+        }
     }
 
     /**
-     * Returns the total number of accounts in the data set.
+     * Returns the stable ID of the account at a position.
      *
-     * @return The number of accounts in the accounts list
+     * @param position The position of the account
+     * @return The account ID
      */
     @Override
-    public int getItemCount() {
-        return accounts.size();
+    public long getItemId(int position) {
+        return getItem(position).getPBetaAccountId();
     }
 
     /**
@@ -1,8 +1,6 @@
 package com.dzovah.mesha.Activities.Adapters;
 
 import android.content.Context;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -10,24 +8,22 @@ import android.widget.ImageView;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.dzovah.mesha.Database.Entities.BetaAccount;
 import com.dzovah.mesha.Database.Entities.Transaction;
 import com.dzovah.mesha.Database.MeshaDatabase;
 import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
+import com.dzovah.mesha.Database.Utils.TimestampRenderer;
 import com.dzovah.mesha.Methods.Dialogs.EditTransactionDialog;
 import com.dzovah.mesha.R;
+import com.dzovah.mesha.Methods.Utils.IconLoader;
 import com.dzovah.mesha.Database.Utils.TransactionType;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.sql.Time;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
+import java.util.Objects;
 
 /**
  * RecyclerView adapter for displaying financial transaction items in a list.
@@ -44,68 +40,85 @@ import java.util.Locale;
  *
  * @author Electra Magus
  * @version 1.0
- * @see RecyclerView.Adapter
+ * @see ListAdapter
  * @see Transaction
  * @see EditTransactionDialog
  */
-public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.TransactionViewHolder> {
+public class TransactionAdapter extends ListAdapter<Transaction, TransactionAdapter.TransactionViewHolder> {
     /** Application context used for inflating layouts and accessing resources */
     private final Context context;
     
-    /** List of Transaction objects to display */
-    private List<Transaction> transactions;
-    
     /** Path to the icon image for the beta account */
     private String betaAccountIcon;
     
-    /** Date formatter for displaying transaction dates */
-    private final SimpleDateFormat dateFormat;
-    
-    /** Time formatter for displaying transaction times */
-    private final SimpleDateFormat timeFormat;
     
     /** The BetaAccount associated with these transactions */
     private BetaAccount betaAccount;
 
+    /**
+     * Matches transactions by ID. A transaction's row is rebound when any stored
+     * field changed, including ones the row does not show, such as the category,
+     * so the row's long-press always opens the current transaction.
+     */
+    private static final DiffUtil.ItemCallback<Transaction> DIFF_CALLBACK = new DiffUtil.ItemCallback<Transaction>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Transaction oldItem, @NonNull Transaction newItem) {
+            return oldItem.getTransactionId() == newItem.getTransactionId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Transaction oldItem, @NonNull Transaction newItem) {
+            return oldItem.getTransactionAmount() == newItem.getTransactionAmount()
+                    && oldItem.getEntryTime() == newItem.getEntryTime()
+                    && oldItem.getLocalDay() == newItem.getLocalDay()
+                    && oldItem.getCategoryId() == newItem.getCategoryId()
+                    && oldItem.getBetaAccountId() == newItem.getBetaAccountId()
+                    && oldItem.getAlphaAccountId() == newItem.getAlphaAccountId()
+                    && oldItem.getTransactionType() == newItem.getTransactionType()
+                    && Objects.equals(oldItem.getTransactionDescription(), newItem.getTransactionDescription());
+        }
+    };
+
     /**
      * Constructs a new TransactionAdapter.
-     * <p>
-     * Initializes date and time formatters with locale-appropriate patterns.
-     * </p>
      *
      * @param context The context used for inflating layouts and accessing resources
      */
     public TransactionAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.transactions = new ArrayList<>();
-        this.dateFormat = new SimpleDateFormat("dd MMM yyyy", Locale.getDefault());
-         this.timeFormat = new SimpleDateFormat("HH:mm", Locale.getDefault());
+        setHasStableIds(true);
     }
 
     /**
      * Updates the list of transactions displayed by this adapter.
      * <p>
-     * This method will trigger a UI refresh to show the new transaction list.
+     * The list is compared with the current one off the main thread, so adding one
+     * transaction inserts one row instead of rebinding the whole list.
      * </p>
      *
      * @param transactions The new list of Transaction objects to display
      */
     public void setTransactions(List<Transaction> transactions) {
-        this.transactions = transactions;
-        notifyDataSetChanged();
+        submitList(transactions);
     }
 
     /**
      * Sets the icon for the beta account associated with these transactions.
      * <p>
-     * The icon will be displayed alongside each transaction in the list.
+     * The icon will be displayed alongside each transaction in the list. The rows
+     * are only rebound when the icon actually changes, not on every refresh of the
+     * account.
      * </p>
      *
      * @param icon The asset path to the beta account icon
      */
     public void setBetaAccountIcon(String icon) {
+        if (Objects.equals(betaAccountIcon, icon)) {
+            return;
+        }
         this.betaAccountIcon = icon;
-        notifyDataSetChanged();
+        notifyItemRangeChanged(0, getItemCount());
     }
 
     /**
@@ -152,44 +165,34 @@ public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.
      */
     @Override
     public void onBindViewHolder(@NonNull TransactionViewHolder holder, int position) {
-        Transaction transaction = transactions.get(position);
+        Transaction transaction = getItem(position);
         
         holder.tvDescription.setText(transaction.getTransactionDescription());
         holder.tvAmount.setText(CurrencyFormatter.format(Math.abs(transaction.getTransactionAmount())));
-        holder.tvDate.setText(dateFormat.format(new Date(transaction.getEntryTime())));
-        holder.tvTime.setText(timeFormat.format(new Time(transaction.getEntryTime())));
+        // Labels are cached per day and per minute, so binding formats nothing new
+        holder.tvDate.setText(TimestampRenderer.formatDate(transaction.getEntryTime()));
+        holder.tvTime.setText(TimestampRenderer.formatTime(transaction.getEntryTime()));
         holder.tvAmount.setTextColor(ContextCompat.getColor(context, R.color.green));
 
-        // Load beta account icon
-        try {
-            String iconPath = betaAccountIcon.replace("Assets/", "");
-            InputStream is = context.getAssets().open(iconPath);
-            holder.transaction_icon.setImageBitmap(BitmapFactory.decodeStream(is));
-            is.close();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        // Load beta account icon; rows share it, so it is decoded once
+        IconLoader.get(context).load(betaAccountIcon, holder.transaction_icon);
 
         // Set long click listener
         holder.itemView.setOnLongClickListener(v -> {
-            if (betaAccount != null) {
-                EditTransactionDialog dialog = new EditTransactionDialog(context, 
-                    MeshaDatabase.Get_database(context), transaction, betaAccount);
+            int current = holder.getBindingAdapterPosition();
+            if (betaAccount != null && current != RecyclerView.NO_POSITION) {
+                // Read the row now: the list may have been refreshed since this bind
+                EditTransactionDialog dialog = new EditTransactionDialog(context,
+                    MeshaDatabase.Get_database(context), getItem(current), betaAccount);
                 dialog.setOnTransactionEditedListener(new EditTransactionDialog.OnTransactionEditedListener() {
                     @Override
                     public void onTransactionEdited() {
-                        // Refresh the list after edit
-                        notifyDataSetChanged();
+                        // The screen observes the transactions and refreshes the list
                     }
 
                     @Override
                     public void onTransactionDeleted() {
-                        // Remove the item and refresh
-                        int pos = transactions.indexOf(transaction);
-                        if (pos != -1) {
-                            transactions.remove(pos);
-                            notifyItemRemoved(pos);
-                        }
+                        // The screen observes the transactions and refreshes the list
                     }
                 });
                 dialog.show();
@@ -199,13 +202,14 @@ public class TransactionAdapter extends RecyclerView.Adapter<TransactionAdapter.
     }
 
     /**
-     * Returns the total number of transactions in the data set.
+     * Returns the stable ID of the transaction at a position, its primary key.
      *
-     * @return The number of transactions
+     * @param position The position of the transaction
+     * @return The transaction ID
      */
     @Override
-    public int getItemCount() {
-        return transactions.size();
+    public long getItemId(int position) {
+        return getItem(position).getTransactionId();
     }
 
     /**
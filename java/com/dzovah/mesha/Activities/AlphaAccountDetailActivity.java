@@ -6,24 +6,23 @@ import android.widget.ImageView;
 import android.widget.Toast;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
-import android.graphics.BitmapFactory;
-import android.content.Intent;
 
 import com.airbnb.lottie.LottieAnimationView;
 import com.dzovah.mesha.Methods.Dialogs.CreateAccountDialog;
 import com.dzovah.mesha.R;
+import com.dzovah.mesha.Methods.Utils.IconLoader;
 import com.dzovah.mesha.Methods.Utils.Quotes;
 import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Activities.ViewModels.AlphaAccountViewModel;
 import com.dzovah.mesha.Database.Entities.AlphaAccount;
 import com.dzovah.mesha.Database.Entities.BetaAccount;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.dzovah.mesha.Activities.Adapters.BetaAccountAdapter;
 import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
 
-import java.io.InputStream;
-import java.util.List;
 
 /**
  * Activity for displaying detailed information about an Alpha Account.
@@ -57,11 +56,14 @@ public class AlphaAccountDetailActivity extends AppCompatActivity {
     /** ID of the Alpha Account being displayed */
     private int alphaAccountId;
 
+    /** Screen state that survives configuration changes */
+    private AlphaAccountViewModel viewModel;
+
     /**
      * Initializes the activity, sets up UI components, and loads Alpha Account data.
      * <p>
      * This method retrieves the Alpha Account ID from the intent, initializes views,
-     * and triggers the loading of Alpha Account details and associated Beta Accounts.
+     * and starts observing the Alpha Account details and associated Beta Accounts.
      * If the Alpha Account ID is invalid, the activity finishes with an error message.
      * </p>
      *
@@ -81,9 +83,11 @@ public class AlphaAccountDetailActivity extends AppCompatActivity {
         }
 
         database = MeshaDatabase.Get_database(getApplicationContext());
+        viewModel = new ViewModelProvider(this).get(AlphaAccountViewModel.class);
+        viewModel.setAccountId(alphaAccountId);
         initializeViews();
-        loadAlphaAccountDetails();
-        loadBetaAccounts();
+        observeAlphaAccount();
+        observeBetaAccounts();
     }
 
     /**
@@ -114,62 +118,31 @@ public class AlphaAccountDetailActivity extends AppCompatActivity {
     }
 
     /**
-     * Loads and displays the Alpha Account details from the database.
+     * Observes the Alpha Account and displays its details.
      * <p>
-     * This method:
-     * <ul>
-     *     <li>Retrieves the Alpha Account data from the database</li>
-     *     <li>Calculates its current balance based on transactions</li>
-     *     <li>Updates the UI with account name, balance, and icon</li>
-     * </ul>
-     * The operations are performed on a background thread to avoid blocking the UI.
+     * The account row is re-read only when its table is written, which includes the
+     * balance updates the ledger triggers make after any transaction in one of its
+     * Beta Accounts, so the balance shown here is always current without reloading
+     * when the user returns from a Beta Account. The icon comes from
+     * the ViewModel, which decodes it once per screen. If the account is deleted while open, the activity finishes.
      * </p>
      */
-    private void loadAlphaAccountDetails() {
-        if (alphaAccountId == -1) return;
-        
-        MeshaDatabase.databaseWriteExecutor.execute(() -> {
-            try {
-                // Get the account
-                AlphaAccount account = database.alphaAccountDao().getAlphaAccountById(alphaAccountId);
-                
-                if (account != null) {
-                    // Calculate accurate balance using the transaction DAO method
-                    double calculatedBalance = database.transactionDao().getAlphaAccountBalanceById(alphaAccountId);
-                    // Update the account with the calculated balance
-                    account.setAlphaAccountBalance(calculatedBalance);
-                    
-                    // Use existing UI update code
-                    runOnUiThread(() -> {
-                        TextView tvAlphaName = findViewById(R.id.tvAlphaAccountName);
-                        TextView tvAlphaBalance = findViewById(R.id.tvAlphaAccountBalance);
-                        ImageView ivAlphaIcon = findViewById(R.id.ivAlphaAccountIcon);
+    private void observeAlphaAccount() {
+        viewModel.getAccount().observe(this, account -> {
+            if (account == null) {
+                Toast.makeText(this, "Account not found", Toast.LENGTH_SHORT).show();
+                finish();
+                return;
+            }
 
-                        tvAlphaName.setText(account.getAlphaAccountName());
-                        tvAlphaBalance.setText(CurrencyFormatter.format(account.getAlphaAccountBalance()));
+            TextView tvAlphaName = findViewById(R.id.tvAlphaAccountName);
+            TextView tvAlphaBalance = findViewById(R.id.tvAlphaAccountBalance);
+            ImageView ivAlphaIcon = findViewById(R.id.ivAlphaAccountIcon);
 
-                        try {
-                            String iconPath = account.getAlphaAccountIcon().replace("Assets/", "");
-                            InputStream is = getAssets().open(iconPath);
-                            ivAlphaIcon.setImageBitmap(BitmapFactory.decodeStream(is));
-                            is.close();
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                        }
-                    });
-                } else {
-                    runOnUiThread(() -> {
-                        Toast.makeText(this, "Account not found", Toast.LENGTH_SHORT).show();
-                        finish();
-                    });
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                runOnUiThread(() -> {
-                    Toast.makeText(this, "Error loading account details", Toast.LENGTH_SHORT).show();
-                    finish();
-                });
-            }
+            tvAlphaName.setText(account.getAlphaAccountName());
+            tvAlphaBalance.setText(CurrencyFormatter.format(account.getAlphaAccountBalance()));
+
+            IconLoader.get(this).load(account.getAlphaAccountIcon(), ivAlphaIcon);
         });
     }
 
@@ -189,46 +162,26 @@ public class AlphaAccountDetailActivity extends AppCompatActivity {
     }
 
     /**
-     * Loads and displays Beta Accounts associated with this Alpha Account.
+     * Observes the Beta Accounts associated with this Alpha Account.
      * <p>
-     * This method retrieves all Beta Accounts linked to the current Alpha Account
-     * from the database and updates the RecyclerView through the adapter.
-     * The operations are performed on a background thread to avoid blocking the UI.
+     * The list is delivered on the main thread whenever a Beta Account of this
+     * Alpha Account is created, edited, deleted or has its balance changed.
      * </p>
      */
-    private void loadBetaAccounts() {
-        try {
-            MeshaDatabase.databaseWriteExecutor.execute(() -> {
-                try {
-                    List<BetaAccount> accounts = database.betaAccountDao().getBetaAccountsByAlphaAccountId(alphaAccountId);
-                    runOnUiThread(() -> {
-                        try {
-                            betaAccountAdapter.setBetaAccounts(accounts);
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                            Toast.makeText(this, "Error displaying beta accounts", Toast.LENGTH_SHORT).show();
-                        }
-                    });
-                } catch (Exception e) {
-                    e.printStackTrace();
-                    runOnUiThread(() -> 
-                        Toast.makeText(this, "Error loading beta accounts", Toast.LENGTH_SHORT).show()
-                    );
-                }
-            });
-        } catch (Exception e) {
-            e.printStackTrace();
-            Toast.makeText(this, "Failed to access database", Toast.LENGTH_SHORT).show();
-        }
+    private void observeBetaAccounts() {
+        viewModel.getBetaAccounts().observe(this, accounts -> {
+            if (accounts != null) {
+                betaAccountAdapter.setBetaAccounts(accounts);
+            }
+        });
     }
-    
+
     /**
      * Displays the dialog for creating a new Beta Account.
      * <p>
      * This method opens a dialog that allows the user to create a new Beta Account
-     * within the current Alpha Account. After successful creation, it refreshes
-     * the list of Beta Accounts and updates the Alpha Account details to reflect
-     * any balance changes.
+     * within the current Alpha Account. The new account and any balance change
+     * reach the screen through the observed queries.
      * </p>
      */
     private void showCreateBetaDialog() {
@@ -237,8 +190,6 @@ public class AlphaAccountDetailActivity extends AppCompatActivity {
             try {
                 if (account instanceof BetaAccount) {
                     Toast.makeText(this, "Beta Account created successfully", Toast.LENGTH_SHORT).show();
-                    loadBetaAccounts();
-                    loadAlphaAccountDetails(); // Reload alpha account to show updated balance
                 }
             } catch (Exception e) {
                 e.printStackTrace();
@@ -247,25 +198,4 @@ public class AlphaAccountDetailActivity extends AppCompatActivity {
         });
         dialog.show();
     }
-
-    /**
-     * Handles activity results to refresh data when needed.
-     * <p>
-     * This method is called when an activity launched from this one returns a result.
-     * If the result is RESULT_OK, it refreshes both the Alpha Account details and
-     * the list of Beta Accounts to ensure the UI displays current data.
-     * </p>
-     *
-     * @param requestCode The integer request code originally supplied to startActivityForResult()
-     * @param resultCode The integer result code returned by the child activity
-     * @param data An Intent, which can return result data to the caller
-     */
-    @Override
-    protected void onActivityResult(int requestCode, int resultCode, @Nullable Intent data) {
-        super.onActivityResult(requestCode, resultCode, data);
-        if (resultCode == RESULT_OK) {
-            loadAlphaAccountDetails();
-            loadBetaAccounts();
-        }
-    }
 }
\ No newline at end of file
@@ -3,26 +3,21 @@ package com.dzovah.mesha.Activities;
 import android.os.Bundle;
 import android.widget.ImageView;
 import android.widget.TextView;
-import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.dzovah.mesha.Activities.Adapters.AnalysisTransactionAdapter;
-import com.dzovah.mesha.Database.Entities.AlphaAccount;
-import com.dzovah.mesha.Database.Entities.BetaAccount;
 import com.dzovah.mesha.Database.Entities.Transaction;
-import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Entities.TransactionWithAccounts;
 import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
+import com.dzovah.mesha.Database.Utils.TimestampRenderer;
+import com.dzovah.mesha.Activities.ViewModels.AnalysisViewModel;
 import com.dzovah.mesha.R;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.List;
-import java.util.Locale;
-
 /**
  * Activity for analyzing and displaying financial transactions.
  * <p>
@@ -43,8 +38,8 @@ import java.util.Locale;
  * @see AnalysisTransactionAdapter
  */
 public class AnalysisActivity extends AppCompatActivity {
-    /** Database instance for accessing app data */
-    private MeshaDatabase database;
+    /** Screen state, including the pager, that survives configuration changes */
+    private AnalysisViewModel viewModel;
     
     /** Adapter for displaying transactions in the RecyclerView */
     private AnalysisTransactionAdapter adapter;
@@ -53,7 +48,7 @@ public class AnalysisActivity extends AppCompatActivity {
     private TextView tvNetBalance;
 
     /**
-     * Initializes the activity, sets up the UI components, and loads transaction data.
+     * Initializes the activity, sets up the UI components, and binds them to the screen state.
      *
      * @param savedInstanceState If the activity is being re-initialized after being shut down,
      *                           this contains the data it most recently supplied in onSaveInstanceState
@@ -63,9 +58,9 @@ public class AnalysisActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_analysis);
 
-        database = MeshaDatabase.Get_database(this);
+        viewModel = new ViewModelProvider(this).get(AnalysisViewModel.class);
         initializeViews();
-        loadTransactions();
+        observeNetBalance();
     }
 
     /**
@@ -76,7 +71,7 @@ public class AnalysisActivity extends AppCompatActivity {
      *     <li>The analysis icon</li>
      *     <li>The net balance display</li>
      *     <li>The RecyclerView for transactions</li>
-     *     <li>The transaction adapter with click listener</li>
+     *     <li>The transaction adapter with click listener and its pager</li>
      * </ul>
      * </p>
      */
@@ -91,32 +86,24 @@ public class AnalysisActivity extends AppCompatActivity {
         
         adapter = new AnalysisTransactionAdapter(this);
         adapter.setOnTransactionClickListener(this::showTransactionDetails);
+        adapter.setPager(viewModel.getPager());
         rvTransactions.setAdapter(adapter);
     }
 
     /**
-     * Loads all transactions from the database and updates the UI.
+     * Observes the net balance.
      * <p>
-     * This method retrieves transactions sorted by entry time and calculates
-     * the net balance. The operations are performed on a background thread
-     * to avoid blocking the UI.
+     * The transaction feed is started by the ViewModel when it is created: only the
+     * newest page is read, further pages are loaded by keyset as the user scrolls,
+     * and the loaded pages are kept when the screen is recreated. The net balance is
+     * the sum of the trigger-maintained Alpha account balances rather than a scan of
+     * every transaction, and is re-read only when an Alpha account changes.
      * </p>
      */
-    private void loadTransactions() {
-        MeshaDatabase.databaseWriteExecutor.execute(() -> {
-            try {
-                List<Transaction> transactions = database.transactionDao().getAllTransactionsByEntryTime();
-                double netBalance = database.transactionDao().getNetBalance();
-
-                runOnUiThread(() -> {
-                    adapter.setTransactions(transactions);
-                    tvNetBalance.setText(CurrencyFormatter.format(netBalance));
-                });
-            } catch (Exception e) {
-                e.printStackTrace();
-                runOnUiThread(() -> 
-                    Toast.makeText(this, "Error loading transactions", Toast.LENGTH_SHORT).show()
-                );
+    private void observeNetBalance() {
+        viewModel.getNetBalance().observe(this, netBalance -> {
+            if (netBalance != null) {
+                tvNetBalance.setText(CurrencyFormatter.format(netBalance));
             }
         });
     }
@@ -124,9 +111,9 @@ public class AnalysisActivity extends AppCompatActivity {
     /**
      * Displays a dialog with detailed information about a selected transaction.
      * <p>
-     * When a transaction is tapped, this method retrieves associated Alpha and Beta
-     * account information and presents a comprehensive view of the transaction details,
-     * including:
+     * The tapped row already carries its Alpha and Beta account names from the
+     * joined feed query, so the dialog is built without touching the database.
+     * It presents a comprehensive view of the transaction details, including:
      * <ul>
      *     <li>Amount (formatted)</li>
      *     <li>Description</li>
@@ -136,50 +123,31 @@ public class AnalysisActivity extends AppCompatActivity {
      * </ul>
      * </p>
      *
-     * @param transaction The transaction to display details for
+     * @param row The transaction, with its account details, to display details for
      */
-    private void showTransactionDetails(Transaction transaction) {
-        MeshaDatabase.databaseWriteExecutor.execute(() -> {
-            try {
-                // Get Alpha and Beta account details
-                BetaAccount betaAccount = database.betaAccountDao()
-                    .getBetaAccountById(transaction.getBetaAccountId());
-                AlphaAccount alphaAccount = database.alphaAccountDao()
-                    .getAlphaAccountById(transaction.getAlphaAccountId());
-
-                if (betaAccount != null && alphaAccount != null) {
-                    SimpleDateFormat dateFormat = new SimpleDateFormat("dd MMM yyyy, HH:mm", Locale.getDefault());
-                    String date = dateFormat.format(new Date(transaction.getEntryTime()));
+    private void showTransactionDetails(TransactionWithAccounts row) {
+        Transaction transaction = row.getTransaction();
+        String date = TimestampRenderer.formatDateTime(transaction.getEntryTime());
 
-                    String details = String.format(
-                        "Amount: %s\n\n" +
-                        "Description: %s\n\n" +
-                        "Date: %s\n\n" +
-                        "Alpha Account: %s\n" +
-                        "Beta Account: %s\n\n" +
-                        "Type: %s",
-                        CurrencyFormatter.format(Math.abs(transaction.getTransactionAmount())),
-                        transaction.getTransactionDescription(),
-                        date,
-                        alphaAccount.getAlphaAccountName(),
-                        betaAccount.getBetaAccountName(),
-                        transaction.getTransactionAmount() > 0 ? "Credit" : "Debit"
-                    );
+        String details = String.format(
+            "Amount: %s\n\n" +
+            "Description: %s\n\n" +
+            "Date: %s\n\n" +
+            "Alpha Account: %s\n" +
+            "Beta Account: %s\n\n" +
+            "Type: %s",
+            CurrencyFormatter.format(Math.abs(transaction.getTransactionAmount())),
+            transaction.getTransactionDescription(),
+            date,
+            row.getAlphaAccountName(),
+            row.getBetaAccountName(),
+            transaction.getTransactionAmount() > 0 ? "Credit" : "Debit"
+        );
 
-                    runOnUiThread(() -> {
-                        new MaterialAlertDialogBuilder(this)
-                            .setTitle("Transaction Details")
-                            .setMessage(details)
-                            .setPositiveButton("Close", null)
-                            .show();
-                    });
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                runOnUiThread(() -> 
-                    Toast.makeText(this, "Error loading transaction details", Toast.LENGTH_SHORT).show()
-                );
-            }
-        });
+        new MaterialAlertDialogBuilder(this)
+            .setTitle("Transaction Details")
+            .setMessage(details)
+            .setPositiveButton("Close", null)
+            .show();
     }
 }
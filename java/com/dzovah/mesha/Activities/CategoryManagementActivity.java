@@ -13,9 +13,9 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.dzovah.mesha.Activities.Adapters.CategoryAdapter;
 import com.dzovah.mesha.Database.Entities.Category;
 import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Repositories.CategoryRegistry;
 import com.dzovah.mesha.R;
 
-import java.util.List;
 
 /**
  * Activity for managing transaction categories.
@@ -82,17 +82,14 @@ public class CategoryManagementActivity extends AppCompatActivity {
     }
 
     /**
-     * Loads all categories from the database and updates the UI.
+     * Observes the categories held by the {@link CategoryRegistry}.
      * <p>
-     * This method retrieves all categories from the database using a background thread
-     * and then updates the RecyclerView through the adapter on the UI thread.
+     * The registry keeps the list in memory and republishes it whenever the Categories
+     * table changes, so the RecyclerView updates itself without reading the database.
      * </p>
      */
     private void loadCategories() {
-        MeshaDatabase.databaseWriteExecutor.execute(() -> {
-            List<Category> categories = database.categoryDao().getAllCategories();
-            runOnUiThread(() -> categoryAdapter.setCategories(categories));
-        });
+        CategoryRegistry.get(this).observeCategories().observe(this, categoryAdapter::setCategories);
     }
 
     /**
@@ -104,8 +101,8 @@ public class CategoryManagementActivity extends AppCompatActivity {
      *     <li>Creates a new Category entity with the provided name</li>
      *     <li>Inserts the category into the database using a background thread</li>
      *     <li>Updates the UI with success or error messages</li>
-     *     <li>Reloads the category list to display the new category</li>
      * </ul>
+     * The observed category list picks up the new category by itself.
      * </p>
      */
     private void addCategory() {
@@ -125,7 +122,6 @@ public class CategoryManagementActivity extends AppCompatActivity {
                 runOnUiThread(() -> {
                     Toast.makeText(this, "Category added successfully", Toast.LENGTH_SHORT).show();
                     categoryNameInput.setText("");
-                    loadCategories();
                 });
             } catch (Exception e) {
                 runOnUiThread(() -> 
@@ -15,6 +15,7 @@ import android.widget.Toast;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -25,6 +26,10 @@ import com.dzovah.mesha.R;
 import com.dzovah.mesha.Methods.Utils.Quotes;
 import com.dzovah.mesha.Methods.Dialogs.CreateAccountDialog;
 import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Repositories.AccountTreeCache;
+import com.dzovah.mesha.Database.Repositories.CategoryRegistry;
+import com.dzovah.mesha.Database.Services.LedgerVerifier;
+import com.dzovah.mesha.Activities.ViewModels.DashboardViewModel;
 import com.dzovah.mesha.Database.Entities.AlphaAccount;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.dzovah.mesha.Activities.Adapters.AlphaAccountAdapter;
@@ -37,8 +42,6 @@ import com.google.android.material.navigation.NavigationView;
 import androidx.core.view.GravityCompat;
 import androidx.appcompat.app.ActionBarDrawerToggle;
 
-import java.util.List;
-
 import com.bumptech.glide.Glide;
 import com.dzovah.mesha.Methods.Utils.LocalStorageUtil;
 
@@ -177,13 +180,17 @@ public class Dashboard extends AppCompatActivity {
         // Initialize database and load data on a background thread
         new Thread(() -> {
             database = MeshaDatabase.Get_database(getApplicationContext());
+            // Start loading the account tree and categories so later lookups are memory reads
+            AccountTreeCache.get(getApplicationContext());
+            CategoryRegistry.get(getApplicationContext());
+            // Re-check a slice of the ledger against its checksums every few minutes
+            LedgerVerifier.get(getApplicationContext()).start();
             
             // Run UI initialization on the main thread
             runOnUiThread(() -> {
                 initializeViews();
                 checkUserAndUpdateMenu();
-                // Load accounts will handle hiding the loading state
-                loadAccounts();
+                observeAccounts();
                 loadProfileImage();
             });
         }).start();
@@ -196,15 +203,17 @@ public class Dashboard extends AppCompatActivity {
      */
 
     /**
-     * Refreshes account data, authentication state, and profile image
-     * when the activity is resumed.
+     * Refreshes authentication state and profile image when the activity is resumed.
+     * <p>
+     * The account list is observed and refreshes itself when the accounts change,
+     * so it is not reloaded here.
+     * </p>
      */
     @Override
     protected void onResume() {
         super.onResume();
         // Check if database is initialized before loading data
         if (database != null) {
-            loadAccounts();
             checkUserAndUpdateMenu();
             loadProfileImage();
         } else {
@@ -214,35 +223,20 @@ public class Dashboard extends AppCompatActivity {
     }
 
     /**
-     * Loads alpha accounts from the database and updates the recycler view.
+     * Observes the alpha accounts and keeps the recycler view in step with them.
      * <p>
-     * This method performs database operations on a background thread and
-     * updates the UI on the main thread when data is available.
+     * Room re-runs the query on its read executor whenever the Alpha_accounts table is
+     * written, including the balance updates made by the ledger triggers, and delivers
+     * the new list on the main thread while the dashboard is visible. Creating, editing
+     * or deleting an account therefore needs no explicit reload, and because the
+     * list is held by the ViewModel a recreated dashboard shows it without a query.
      * </p>
      */
-    private void loadAccounts() {
-        
-        // Execute database query on a background thread
-        MeshaDatabase.databaseWriteExecutor.execute(() -> {
-            try {
-                List<AlphaAccount> accounts = database.alphaAccountDao().getAllAlphaAccounts();
-                // Update UI on the main thread
-                runOnUiThread(() -> {
-                    accountAdapter.setAccounts(accounts);
-                    
-                    // Update empty state visibility
-                   /* View emptyView = findViewById(R.id.emptyStateLayout);
-                    if (emptyView != null) {
-                        emptyView.setVisibility(accounts.isEmpty() ? View.VISIBLE : View.GONE);
-                    }
-                    */
-
-                });
-            } catch (Exception e) {
-                Log.e("Dashboard", "Error loading accounts", e);
-                runOnUiThread(() -> {
-                    Toast.makeText(Dashboard.this, "Failed to load accounts: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                });
+    private void observeAccounts() {
+        DashboardViewModel viewModel = new ViewModelProvider(this).get(DashboardViewModel.class);
+        viewModel.getAccounts().observe(this, accounts -> {
+            if (accounts != null) {
+                accountAdapter.setAccounts(accounts);
             }
         });
     }
@@ -324,7 +318,7 @@ public class Dashboard extends AppCompatActivity {
 
             @Override
             public void onAccountUpdated() {
-                loadAccounts();
+                // The observed account list refreshes itself
             }
         });
         rvAccounts.setAdapter(accountAdapter);
@@ -335,7 +329,7 @@ public class Dashboard extends AppCompatActivity {
     /**
      * Displays the dialog for creating a new alpha account.
      * <p>
-     * When an account is successfully created, the account list is refreshed.
+     * The new account appears through the observed account list.
      * </p>
      */
     private void showCreateAccountDialog() {
@@ -343,7 +337,6 @@ public class Dashboard extends AppCompatActivity {
         dialog.setOnAccountCreatedListener(account -> {
             try {
                 Toast.makeText(this, "Account created successfully", Toast.LENGTH_SHORT).show();
-                loadAccounts(); // Reload accounts after creation
             } catch (Exception e) {
                 e.printStackTrace();
                 Toast.makeText(this, "Error updating account list", Toast.LENGTH_SHORT).show();
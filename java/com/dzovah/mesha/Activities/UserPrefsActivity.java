@@ -25,15 +25,14 @@ import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.dzovah.mesha.Database.Entities.Category;
 import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Repositories.CategoryRegistry;
 import com.dzovah.mesha.Database.Utils.CurrencyType;
 import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
 import com.dzovah.mesha.R;
 import com.dzovah.mesha.Activities.Adapters.CategoryAdapter;
 import com.dzovah.mesha.Activities.Adapters.CurrencySpinnerAdapter;
 
-import java.util.List;
 import java.util.concurrent.Executor;
 
 /**
@@ -380,7 +379,7 @@ public class UserPrefsActivity extends AppCompatActivity {
      * Initializes the categories section of the preferences screen.
      * <p>
      * This method sets up the RecyclerView with a CategoryAdapter and
-     * loads the list of available categories from the database.
+     * observes the list of available categories.
      * </p>
      */
     private void setupCategoriesSection() {
@@ -416,17 +415,14 @@ public class UserPrefsActivity extends AppCompatActivity {
     }
 
     /**
-     * Loads all categories from the database and updates the UI.
+     * Observes the categories held by the {@link CategoryRegistry}.
      * <p>
-     * This method retrieves all categories from the database using a background thread
-     * and then updates the RecyclerView through the adapter on the UI thread.
+     * The registry keeps the list in memory and republishes it whenever the Categories
+     * table changes, so the RecyclerView updates itself without reading the database.
      * </p>
      */
     private void loadCategories() {
-        MeshaDatabase.databaseWriteExecutor.execute(() -> {
-            List<Category> categories = database.categoryDao().getAllCategories();
-            runOnUiThread(() -> categoryAdapter.setCategories(categories));
-        });
+        CategoryRegistry.get(this).observeCategories().observe(this, categoryAdapter::setCategories);
     }
 
     /**
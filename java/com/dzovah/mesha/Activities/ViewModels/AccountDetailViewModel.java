@@ -0,0 +1,57 @@
+package com.dzovah.mesha.Activities.ViewModels;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+
+/**
+ * Base ViewModel for the account detail screens of both vaults.
+ * <p>
+ * Holds the ID of the account a screen shows, fixed on first use. Because the
+ * ViewModel outlives the activity across rotation and other configuration changes,
+ * the recreated screen keeps the same account and queries. The account icon comes
+ * from the process-wide {@link com.dzovah.mesha.Methods.Utils.IconLoader}, which
+ * also survives recreation.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ */
+public abstract class AccountDetailViewModel extends AndroidViewModel {
+    /** ID of the account shown, or -1 before {@link #setAccountId} */
+    private int accountId = -1;
+
+    protected AccountDetailViewModel(@NonNull Application application) {
+        super(application);
+    }
+
+    /**
+     * Sets the account the screen shows. Only the first call has an effect, so a
+     * recreated activity can call it again with the ID from its intent.
+     *
+     * @param accountId The ID of the account
+     */
+    public void setAccountId(int accountId) {
+        if (this.accountId == -1) {
+            this.accountId = accountId;
+            onAccountIdSet(accountId);
+        }
+    }
+
+    /**
+     * Gets the ID of the account the screen shows.
+     *
+     * @return The account ID, or -1 if it has not been set
+     */
+    public int getAccountId() {
+        return accountId;
+    }
+
+    /**
+     * Called once when the account ID is set, to look up the screen's queries.
+     *
+     * @param accountId The ID of the account
+     */
+    protected abstract void onAccountIdSet(int accountId);
+}
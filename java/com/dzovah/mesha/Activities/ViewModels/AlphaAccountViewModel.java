@@ -0,0 +1,57 @@
+package com.dzovah.mesha.Activities.ViewModels;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+
+import com.dzovah.mesha.Database.Entities.AlphaAccount;
+import com.dzovah.mesha.Database.Entities.BetaAccount;
+import com.dzovah.mesha.Database.Repositories.AccountRepository;
+
+import java.util.List;
+
+/**
+ * ViewModel for {@link com.dzovah.mesha.Activities.AlphaAccountDetailActivity}.
+ * <p>
+ * Holds the observed Alpha Account and its Beta Accounts, taken from the shared
+ * {@link AccountRepository}, so the screen is redrawn from memory after a
+ * configuration change.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ */
+public class AlphaAccountViewModel extends AccountDetailViewModel {
+    private LiveData<AlphaAccount> account;
+    private LiveData<List<BetaAccount>> betaAccounts;
+
+    public AlphaAccountViewModel(@NonNull Application application) {
+        super(application);
+    }
+
+    @Override
+    protected void onAccountIdSet(int accountId) {
+        AccountRepository repository = AccountRepository.get(getApplication());
+        account = repository.getAlphaAccount(accountId);
+        betaAccounts = repository.getBetaAccounts(accountId);
+    }
+
+    /**
+     * Observes the Alpha Account.
+     *
+     * @return The account, which emits null once it is deleted
+     */
+    public LiveData<AlphaAccount> getAccount() {
+        return account;
+    }
+
+    /**
+     * Observes the Beta Accounts of the Alpha Account.
+     *
+     * @return The list of Beta Accounts
+     */
+    public LiveData<List<BetaAccount>> getBetaAccounts() {
+        return betaAccounts;
+    }
+}
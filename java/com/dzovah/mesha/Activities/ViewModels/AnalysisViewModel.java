@@ -0,0 +1,62 @@
+package com.dzovah.mesha.Activities.ViewModels;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+
+import com.dzovah.mesha.Database.Entities.TransactionWithAccounts;
+import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Repositories.AccountRepository;
+import com.dzovah.mesha.Database.Repositories.TransactionPageSource;
+import com.dzovah.mesha.Database.Utils.KeysetPager;
+
+/**
+ * ViewModel for {@link com.dzovah.mesha.Activities.AnalysisActivity}.
+ * <p>
+ * Owns the transaction feed pager and the observed net balance. The pager keeps its
+ * loaded pages while the activity is recreated, so the new adapter binds to the rows
+ * already in memory instead of loading the first page again.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ */
+public class AnalysisViewModel extends AndroidViewModel {
+    private final KeysetPager<TransactionWithAccounts> pager;
+    private final LiveData<Long> netBalance;
+
+    public AnalysisViewModel(@NonNull Application application) {
+        super(application);
+        AccountRepository repository = AccountRepository.get(application);
+        pager = new KeysetPager<>(new TransactionPageSource(repository.getDatabase().transactionDao()),
+                MeshaDatabase.databaseReadExecutor);
+        pager.refresh();
+        netBalance = repository.getTotalBalance();
+    }
+
+    /**
+     * Gets the pager of the transaction feed, already started.
+     *
+     * @return The pager
+     */
+    public KeysetPager<TransactionWithAccounts> getPager() {
+        return pager;
+    }
+
+    /**
+     * Observes the combined balance of all Alpha Accounts.
+     *
+     * @return The net balance in minor units
+     */
+    public LiveData<Long> getNetBalance() {
+        return netBalance;
+    }
+
+    @Override
+    protected void onCleared() {
+        // Let go of the last adapter
+        pager.setListener(null);
+    }
+}
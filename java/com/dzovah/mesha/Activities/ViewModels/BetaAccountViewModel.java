@@ -0,0 +1,57 @@
+package com.dzovah.mesha.Activities.ViewModels;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+
+import com.dzovah.mesha.Database.Entities.BetaAccount;
+import com.dzovah.mesha.Database.Entities.Transaction;
+import com.dzovah.mesha.Database.Repositories.AccountRepository;
+
+import java.util.List;
+
+/**
+ * ViewModel for {@link com.dzovah.mesha.Activities.BetaAccountDetailActivity}.
+ * <p>
+ * Holds the observed Beta Account and its transactions, taken from the shared
+ * {@link AccountRepository}, so the screen is redrawn from memory after a
+ * configuration change.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ */
+public class BetaAccountViewModel extends AccountDetailViewModel {
+    private LiveData<BetaAccount> account;
+    private LiveData<List<Transaction>> transactions;
+
+    public BetaAccountViewModel(@NonNull Application application) {
+        super(application);
+    }
+
+    @Override
+    protected void onAccountIdSet(int accountId) {
+        AccountRepository repository = AccountRepository.get(getApplication());
+        account = repository.getBetaAccount(accountId);
+        transactions = repository.getTransactions(accountId);
+    }
+
+    /**
+     * Observes the Beta Account.
+     *
+     * @return The account, which emits null once it is deleted
+     */
+    public LiveData<BetaAccount> getAccount() {
+        return account;
+    }
+
+    /**
+     * Observes the transactions of the Beta Account, newest first.
+     *
+     * @return The list of transactions
+     */
+    public LiveData<List<Transaction>> getTransactions() {
+        return transactions;
+    }
+}
@@ -0,0 +1,40 @@
+package com.dzovah.mesha.Activities.ViewModels;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+
+import com.dzovah.mesha.Database.Entities.AlphaAccount;
+import com.dzovah.mesha.Database.Repositories.AccountRepository;
+
+import java.util.List;
+
+/**
+ * ViewModel for {@link com.dzovah.mesha.Activities.Dashboard}.
+ * <p>
+ * Holds the observed list of Alpha Accounts across configuration changes, so a
+ * recreated dashboard shows the accounts it already had without querying again.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ */
+public class DashboardViewModel extends AndroidViewModel {
+    private final LiveData<List<AlphaAccount>> accounts;
+
+    public DashboardViewModel(@NonNull Application application) {
+        super(application);
+        accounts = AccountRepository.get(application).getAlphaAccounts();
+    }
+
+    /**
+     * Observes all Alpha Accounts, ordered by name.
+     *
+     * @return The list of Alpha Accounts
+     */
+    public LiveData<List<AlphaAccount>> getAccounts() {
+        return accounts;
+    }
+}
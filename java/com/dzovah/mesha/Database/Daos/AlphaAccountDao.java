@@ -1,5 +1,6 @@
 package com.dzovah.mesha.Database.Daos;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.Update;
@@ -32,9 +33,10 @@ public interface AlphaAccountDao {
      * </p>
      *
      * @param alphaAccount The AlphaAccount object to insert
+     * @return The generated row ID of the new AlphaAccount
      */
     @Insert
-    void insert(AlphaAccount alphaAccount);
+    long insert(AlphaAccount alphaAccount);
 
     /**
      * Updates an existing AlphaAccount in the database.
@@ -62,6 +64,45 @@ public interface AlphaAccountDao {
     @Delete
     void delete(AlphaAccount alphaAccount);
 
+    /** SQL of {@link #deleteAlphaAccountById} */
+    String DELETE_ALPHA_ACCOUNT_BY_ID = "DELETE FROM Alpha_accounts WHERE Alpha_account_id = :alphaAccountId";
+
+    /**
+     * Deletes an AlphaAccount by ID with a single statement.
+     * <p>
+     * The declared foreign keys cascade the delete to the account's Beta accounts,
+     * their transactions, rollups and checksums. Used by
+     * {@code TransactionManager}, which suspends the per-row ledger triggers first
+     * so the cascade does not update rows that are about to go.
+     * </p>
+     *
+     * @param alphaAccountId The ID of the AlphaAccount to delete
+     * @return The number of AlphaAccount rows deleted, 0 or 1
+     */
+    @Query(DELETE_ALPHA_ACCOUNT_BY_ID)
+    int deleteAlphaAccountById(int alphaAccountId);
+
+    /** SQL of {@link #updateAlphaAccountDetails} */
+    String UPDATE_ALPHA_ACCOUNT_DETAILS = "UPDATE Alpha_accounts SET Alpha_account_name = :name, Alpha_account_icon = :icon WHERE Alpha_account_id = :alphaAccountId";
+
+    /**
+     * Updates the name and icon of an existing AlphaAccount without touching its balance.
+     * <p>
+     * Balances are maintained by database triggers, so edits to an account's
+     * display details must not write back a balance read earlier, which may
+     * already be stale.
+     * </p>
+     *
+     * @param alphaAccountId The ID of the AlphaAccount to update
+     * @param name The new account name
+     * @param icon The new icon path
+     */
+    @Query(UPDATE_ALPHA_ACCOUNT_DETAILS)
+    void updateAlphaAccountDetails(int alphaAccountId, String name, String icon);
+
+    /** SQL of {@link #getAllAlphaAccounts} and {@link #observeAllAlphaAccounts} */
+    String GET_ALL_ALPHA_ACCOUNTS = "SELECT * FROM Alpha_accounts ORDER BY Alpha_account_name";
+
     /**
      * Retrieves all AlphaAccounts from the database, ordered by name.
      * <p>
@@ -71,9 +112,25 @@ public interface AlphaAccountDao {
      *
      * @return A list of all AlphaAccount objects ordered by name
      */
-    @Query("SELECT * FROM Alpha_accounts ORDER BY Alpha_account_name")
+    @Query(GET_ALL_ALPHA_ACCOUNTS)
     List<AlphaAccount> getAllAlphaAccounts();
 
+    /**
+     * Observes all AlphaAccounts, ordered by name.
+     * <p>
+     * Room's invalidation tracker re-runs this query only after a write to
+     * Alpha_accounts, so the dashboard is refreshed by the write itself rather than
+     * by reloading every time it resumes.
+     * </p>
+     *
+     * @return LiveData wrapper around the list of AlphaAccount objects ordered by name
+     */
+    @Query(GET_ALL_ALPHA_ACCOUNTS)
+    LiveData<List<AlphaAccount>> observeAllAlphaAccounts();
+
+    /** SQL of {@link #getAlphaAccountById} and {@link #observeAlphaAccountById} */
+    String GET_ALPHA_ACCOUNT_BY_ID = "SELECT * FROM Alpha_accounts WHERE Alpha_account_id = :alphaAccountId";
+
     /**
      * Retrieves a specific AlphaAccount by its ID.
      * <p>
@@ -84,9 +141,25 @@ public interface AlphaAccountDao {
      * @param alphaAccountId The ID of the AlphaAccount to retrieve
      * @return The AlphaAccount object with the specified ID, or null if not found
      */
-    @Query("SELECT * FROM Alpha_accounts WHERE Alpha_account_id = :alphaAccountId")
+    @Query(GET_ALPHA_ACCOUNT_BY_ID)
     AlphaAccount getAlphaAccountById(int alphaAccountId);
 
+    /**
+     * Observes a specific AlphaAccount by its ID.
+     * <p>
+     * Emits again whenever the account's balance or details change, and emits null
+     * once the account has been deleted.
+     * </p>
+     *
+     * @param alphaAccountId The ID of the AlphaAccount to observe
+     * @return LiveData wrapper around the AlphaAccount, or null once it no longer exists
+     */
+    @Query(GET_ALPHA_ACCOUNT_BY_ID)
+    LiveData<AlphaAccount> observeAlphaAccountById(int alphaAccountId);
+
+    /** SQL of {@link #getTotalAlphaAccountsBalance} and {@link #observeTotalAlphaAccountsBalance} */
+    String GET_TOTAL_ALPHA_ACCOUNTS_BALANCE = "SELECT COALESCE(SUM(Alpha_account_balance), 0) FROM Alpha_accounts";
+
     /**
      * Calculates the total balance of all AlphaAccounts.
      * <p>
@@ -94,10 +167,25 @@ public interface AlphaAccountDao {
      * across all accounts at a glance.
      * </p>
      *
-     * @return The sum of balances from all AlphaAccounts
+     * @return The sum of balances from all AlphaAccounts in minor units, or 0 if there are none
      */
-    @Query("SELECT SUM(Alpha_account_balance) FROM Alpha_accounts")
-    double getTotalAlphaAccountsBalance();
+    @Query(GET_TOTAL_ALPHA_ACCOUNTS_BALANCE)
+    long getTotalAlphaAccountsBalance();
+
+    /**
+     * Observes the total balance of all AlphaAccounts.
+     * <p>
+     * Re-runs only after Alpha_accounts is written, which includes every balance change
+     * the ledger triggers make.
+     * </p>
+     *
+     * @return LiveData wrapper around the sum of balances in minor units, 0 if there are none
+     */
+    @Query(GET_TOTAL_ALPHA_ACCOUNTS_BALANCE)
+    LiveData<Long> observeTotalAlphaAccountsBalance();
+
+    /** SQL of {@link #searchAlphaAccounts} */
+    String SEARCH_ALPHA_ACCOUNTS = "SELECT * FROM Alpha_accounts WHERE Alpha_account_name LIKE '%' || :searchQuery || '%'";
 
     /**
      * Searches for AlphaAccounts with names containing the provided search term.
@@ -109,6 +197,6 @@ public interface AlphaAccountDao {
      * @param searchQuery The search term to match against account names
      * @return A list of AlphaAccount objects whose names contain the search term
      */
-    @Query("SELECT * FROM Alpha_accounts WHERE Alpha_account_name LIKE '%' || :searchQuery || '%'")
+    @Query(SEARCH_ALPHA_ACCOUNTS)
     List<AlphaAccount> searchAlphaAccounts(String searchQuery);
 }
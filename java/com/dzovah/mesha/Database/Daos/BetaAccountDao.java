@@ -1,5 +1,6 @@
 package com.dzovah.mesha.Database.Daos;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.Update;
@@ -38,9 +39,10 @@ public interface BetaAccountDao {
      * </p>
      *
      * @param betaAccount The BetaAccount object to insert
+     * @return The generated row ID of the new BetaAccount
      */
     @Insert
-    void insert(BetaAccount betaAccount);
+    long insert(BetaAccount betaAccount);
 
     /**
      * Updates an existing BetaAccount in the database.
@@ -69,6 +71,45 @@ public interface BetaAccountDao {
     @Delete
     void delete(BetaAccount betaAccount);
 
+    /** SQL of {@link #updateBetaAccountDetails} */
+    String UPDATE_BETA_ACCOUNT_DETAILS = "UPDATE Beta_accounts SET Beta_account_name = :name, Beta_account_icon = :icon WHERE Beta_account_id = :betaAccountId";
+
+    /**
+     * Updates the name and icon of an existing BetaAccount without touching its balance.
+     * <p>
+     * Balances are maintained by database triggers, so edits to an account's
+     * display details must not write back a balance read earlier, which may
+     * already be stale.
+     * </p>
+     *
+     * @param betaAccountId The ID of the BetaAccount to update
+     * @param name The new account name
+     * @param icon The new icon path
+     */
+    @Query(UPDATE_BETA_ACCOUNT_DETAILS)
+    void updateBetaAccountDetails(int betaAccountId, String name, String icon);
+
+    /** SQL of {@link #addBetaAccountBalanceDelta} */
+    String ADD_BETA_ACCOUNT_BALANCE_DELTA = "UPDATE Beta_accounts SET Beta_account_balance = Beta_account_balance + :delta WHERE Beta_account_id = :betaAccountId";
+
+    /**
+     * Adds a net change to a BetaAccount balance in one statement.
+     * <p>
+     * Used by bulk writers that suspend the per-transaction balance triggers and
+     * apply each account's accumulated change once. The Beta balance trigger still
+     * passes the change on to the parent AlphaAccount.
+     * </p>
+     *
+     * @param betaAccountId The ID of the BetaAccount to adjust
+     * @param delta The signed change in minor units
+     * @return The number of rows updated
+     */
+    @Query(ADD_BETA_ACCOUNT_BALANCE_DELTA)
+    int addBetaAccountBalanceDelta(int betaAccountId, long delta);
+
+    /** SQL of {@link #getAllBetaAccounts} */
+    String GET_ALL_BETA_ACCOUNTS = "SELECT * FROM Beta_accounts";
+
     /**
      * Retrieves all BetaAccounts from the database.
      * <p>
@@ -78,9 +119,12 @@ public interface BetaAccountDao {
      *
      * @return A list of all BetaAccount objects in the database
      */
-    @Query("SELECT * FROM Beta_accounts")
+    @Query(GET_ALL_BETA_ACCOUNTS)
     List<BetaAccount> getAllBetaAccounts();
 
+    /** SQL of {@link #getBetaAccountById} and {@link #observeBetaAccountById} */
+    String GET_BETA_ACCOUNT_BY_ID = "SELECT * FROM Beta_accounts WHERE Beta_account_id = :betaAccountId";
+
     /**
      * Retrieves a specific BetaAccount by its ID.
      * <p>
@@ -91,9 +135,25 @@ public interface BetaAccountDao {
      * @param betaAccountId The ID of the BetaAccount to retrieve
      * @return The BetaAccount object with the specified ID, or null if not found
      */
-    @Query("SELECT * FROM Beta_accounts WHERE Beta_account_id = :betaAccountId")
+    @Query(GET_BETA_ACCOUNT_BY_ID)
     BetaAccount getBetaAccountById(int betaAccountId);
 
+    /**
+     * Observes a specific BetaAccount by its ID.
+     * <p>
+     * Balance triggers update this row on every transaction write, so the observed
+     * balance follows the ledger without the screen asking for it.
+     * </p>
+     *
+     * @param betaAccountId The ID of the BetaAccount to observe
+     * @return LiveData wrapper around the BetaAccount, or null once it no longer exists
+     */
+    @Query(GET_BETA_ACCOUNT_BY_ID)
+    LiveData<BetaAccount> observeBetaAccountById(int betaAccountId);
+
+    /** SQL of {@link #getBetaAccountsByAlphaAccountId} and {@link #observeBetaAccountsByAlphaAccountId} */
+    String GET_BETA_ACCOUNTS_BY_ALPHA_ACCOUNT_ID = "SELECT * FROM Beta_accounts WHERE Alpha_account_id = :alphaAccountId";
+
     /**
      * Retrieves all BetaAccounts associated with a specific AlphaAccount.
      * <p>
@@ -105,16 +165,35 @@ public interface BetaAccountDao {
      * @param alphaAccountId The ID of the parent AlphaAccount
      * @return A list of BetaAccount objects associated with the specified AlphaAccount
      */
-    @Query("SELECT * FROM Beta_accounts WHERE Alpha_account_id = :alphaAccountId")
+    @Query(GET_BETA_ACCOUNTS_BY_ALPHA_ACCOUNT_ID)
     List<BetaAccount> getBetaAccountsByAlphaAccountId(int alphaAccountId);
 
+    /**
+     * Observes the BetaAccounts of a specific AlphaAccount.
+     * <p>
+     * Re-runs after any write to Beta_accounts, including the balance updates made
+     * by the ledger triggers.
+     * </p>
+     *
+     * @param alphaAccountId The ID of the parent AlphaAccount
+     * @return LiveData wrapper around the list of BetaAccount objects of the AlphaAccount
+     */
+    @Query(GET_BETA_ACCOUNTS_BY_ALPHA_ACCOUNT_ID)
+    LiveData<List<BetaAccount>> observeBetaAccountsByAlphaAccountId(int alphaAccountId);
+
+    /** SQL of {@link #updateAlphaAccountBalance} */
+    String UPDATE_ALPHA_ACCOUNT_BALANCE = "UPDATE Alpha_accounts SET Alpha_account_balance = " +
+            "(SELECT COALESCE(SUM(Beta_account_balance), 0) FROM Beta_accounts " +
+            "WHERE Alpha_account_id = :alphaId) " +
+            "WHERE Alpha_account_id = :alphaId";
+
     /**
      * Updates the balance of an AlphaAccount based on the sum of its BetaAccount balances.
      * <p>
      * This method ensures that the AlphaAccount's balance accurately reflects the combined
-     * total of all its associated BetaAccounts. It should be called after any operation
-     * that affects BetaAccount balances, such as creating, updating, or deleting accounts
-     * or processing transactions.
+     * total of all its associated BetaAccounts. Day-to-day writes no longer need it,
+     * since the balance triggers keep the AlphaAccount in step; it remains as a repair
+     * path for resynchronising a single account.
      * </p>
      * <p>
      * The query uses COALESCE to handle the case where there are no BetaAccounts,
@@ -123,9 +202,6 @@ public interface BetaAccountDao {
      *
      * @param alphaId The ID of the AlphaAccount to update
      */
-    @Query("UPDATE Alpha_accounts SET Alpha_account_balance = " +
-            "(SELECT COALESCE(SUM(Beta_account_balance), 0) FROM Beta_accounts " +
-            "WHERE Alpha_account_id = :alphaId) " +
-            "WHERE Alpha_account_id = :alphaId")
+    @Query(UPDATE_ALPHA_ACCOUNT_BALANCE)
     void updateAlphaAccountBalance(int alphaId);
 }
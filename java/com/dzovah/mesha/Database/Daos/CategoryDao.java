@@ -38,9 +38,22 @@ public interface CategoryDao {
      * </p>
      *
      * @param category The Category object to insert
+     * @return The generated row ID of the new Category
      */
     @Insert
-    void insert(Category category);
+    long insert(Category category);
+
+    /**
+     * Inserts several Categories into the database at once.
+     * <p>
+     * All rows are written in one database transaction.
+     * </p>
+     *
+     * @param categories The Category objects to insert
+     * @return The generated row IDs, in the same order as {@code categories}
+     */
+    @Insert
+    long[] insertAll(List<Category> categories);
 
     /**
      * Updates an existing Category in the database.
@@ -69,6 +82,9 @@ public interface CategoryDao {
     @Delete
     void delete(Category category);
 
+    /** SQL of {@link #getAllCategories} */
+    String GET_ALL_CATEGORIES = "SELECT * FROM Categories ORDER BY Category_id ASC";
+
     /**
      * Retrieves all Categories from the database, ordered by ID.
      * <p>
@@ -79,9 +95,12 @@ public interface CategoryDao {
      *
      * @return A list of all Category objects ordered by ID
      */
-    @Query("SELECT * FROM Categories ORDER BY Category_id ASC")
+    @Query(GET_ALL_CATEGORIES)
     List<Category> getAllCategories();
 
+    /** SQL of {@link #getCategoryById} */
+    String GET_CATEGORY_BY_ID = "SELECT * FROM Categories WHERE Category_id = :id LIMIT 1";
+
     /**
      * Retrieves a specific Category by its ID.
      * <p>
@@ -93,6 +112,6 @@ public interface CategoryDao {
      * @param id The ID of the Category to retrieve
      * @return The Category object with the specified ID, or null if not found
      */
-    @Query("SELECT * FROM Categories WHERE Category_id = :id LIMIT 1")
+    @Query(GET_CATEGORY_BY_ID)
     Category getCategoryById(int id);
 }
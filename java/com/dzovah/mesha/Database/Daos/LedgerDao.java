@@ -0,0 +1,251 @@
+package com.dzovah.mesha.Database.Daos;
+
+import androidx.room.Dao;
+import androidx.room.Delete;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Update;
+
+import com.dzovah.mesha.Database.Entities.Transaction;
+
+/**
+ * Data Access Object for composite ledger writes on the normal vault.
+ * <p>
+ * Each public method here is one user action: adding, editing or deleting a
+ * transaction, moving money between two Beta accounts, or repairing stored
+ * balances. Room's {@link androidx.room.Transaction} annotation only takes effect
+ * on DAO methods, so this DAO is an abstract class whose concrete methods wrap their
+ * row writes in a single SQLite transaction. Every action is therefore one journaled
+ * commit, and a crash can never leave it half applied.
+ * </p>
+ * <p>
+ * Balance changes themselves are made by the triggers in
+ * {@link com.dzovah.mesha.Database.Utils.LedgerTriggers} and so happen inside the
+ * same transaction as the row that caused them.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see TransactionDao
+ * @see Transaction
+ */
+@Dao
+public abstract class LedgerDao {
+
+    /** Net of a BetaAccount's transactions, correlated with the Beta_accounts row being updated */
+    static final String TRANSACTION_TOTAL = "(SELECT COALESCE(SUM(CASE WHEN Transaction_type = 'CREDIT' " +
+            "THEN Transaction_amount ELSE -Transaction_amount END), 0) FROM Transactions " +
+            "WHERE Transactions.Beta_account_id = Beta_accounts.Beta_account_id)";
+
+    /** Sum of a AlphaAccount's BetaAccount balances, correlated with the Alpha_accounts row being updated */
+    static final String BETA_TOTAL = "(SELECT COALESCE(SUM(Beta_account_balance), 0) FROM Beta_accounts " +
+            "WHERE Beta_accounts.Alpha_account_id = Alpha_accounts.Alpha_account_id)";
+
+    /**
+     * Inserts a single transaction row.
+     *
+     * @param transaction The transaction to insert
+     * @return The generated row ID
+     */
+    @Insert
+    protected abstract long insertTransaction(Transaction transaction);
+
+    /**
+     * Updates a single transaction row by primary key.
+     *
+     * @param transaction The transaction with updated values
+     * @return The number of rows updated
+     */
+    @Update
+    protected abstract int updateTransaction(Transaction transaction);
+
+    /**
+     * Deletes a single transaction row by primary key.
+     *
+     * @param transaction The transaction to delete
+     * @return The number of rows deleted
+     */
+    @Delete
+    protected abstract int deleteTransaction(Transaction transaction);
+
+    /** SQL of {@link #recalculateBetaBalance} */
+    public static final String RECALCULATE_BETA_BALANCE = "UPDATE Beta_accounts SET Beta_account_balance = " +
+            "(SELECT COALESCE(SUM(CASE WHEN Transaction_type = 'CREDIT' THEN Transaction_amount ELSE -Transaction_amount END), 0) " +
+            "FROM Transactions WHERE Transactions.Beta_account_id = Beta_accounts.Beta_account_id) " +
+            "WHERE Beta_account_id = :betaAccountId";
+
+    /**
+     * Recomputes one BetaAccount balance from its transactions.
+     * <p>
+     * The Beta balance trigger passes the correction on to the parent AlphaAccount.
+     * </p>
+     *
+     * @param betaAccountId The ID of the BetaAccount to recompute
+     * @return The number of rows updated
+     */
+    @Query(RECALCULATE_BETA_BALANCE)
+    protected abstract int recalculateBetaBalance(int betaAccountId);
+
+    /** SQL of {@link #recalculateParentAlphaBalance} */
+    public static final String RECALCULATE_PARENT_ALPHA_BALANCE = "UPDATE Alpha_accounts SET Alpha_account_balance = " +
+            "(SELECT COALESCE(SUM(Beta_account_balance), 0) FROM Beta_accounts " +
+            "WHERE Beta_accounts.Alpha_account_id = Alpha_accounts.Alpha_account_id) " +
+            "WHERE Alpha_account_id = (SELECT Alpha_account_id FROM Beta_accounts WHERE Beta_account_id = :betaAccountId)";
+
+    /**
+     * Recomputes the balance of the AlphaAccount that owns a BetaAccount from its BetaAccounts.
+     *
+     * @param betaAccountId The ID of a BetaAccount belonging to the AlphaAccount
+     * @return The number of rows updated
+     */
+    @Query(RECALCULATE_PARENT_ALPHA_BALANCE)
+    protected abstract int recalculateParentAlphaBalance(int betaAccountId);
+
+    /** SQL of {@link #recalculateAllAlphaBalances} */
+    public static final String RECALCULATE_ALL_ALPHA_BALANCES = "UPDATE Alpha_accounts SET Alpha_account_balance = " + BETA_TOTAL +
+            " WHERE Alpha_account_balance <> " + BETA_TOTAL;
+
+    /**
+     * Recomputes every AlphaAccount balance from its BetaAccounts in one statement.
+     * Only balances that differ from the sum are written.
+     *
+     * @return The number of AlphaAccounts corrected
+     */
+    @Query(RECALCULATE_ALL_ALPHA_BALANCES)
+    protected abstract int recalculateAllAlphaBalances();
+
+    /** SQL of {@link #recalculateAllBetaBalances} */
+    public static final String RECALCULATE_ALL_BETA_BALANCES = "UPDATE Beta_accounts SET Beta_account_balance = " + TRANSACTION_TOTAL +
+            " WHERE Beta_account_balance <> " + TRANSACTION_TOTAL;
+
+    /**
+     * Recomputes every BetaAccount balance from its transactions in one statement.
+     * <p>
+     * Each BetaAccount's net is summed through the index on its transactions, so
+     * the statement reads the ledger once, and again only for the accounts that
+     * drifted, which are the only rows written. The Beta balance trigger passes each
+     * correction on to the parent AlphaAccount.
+     * </p>
+     *
+     * @return The number of BetaAccounts corrected
+     */
+    @Query(RECALCULATE_ALL_BETA_BALANCES)
+    protected abstract int recalculateAllBetaBalances();
+
+    /** SQL of {@link #getBetaAccountIdOf} */
+    public static final String GET_BETA_ACCOUNT_ID_OF = "SELECT Beta_account_id FROM Transactions WHERE Transaction_id = :transactionId";
+
+    /**
+     * Reads the BetaAccount a stored transaction is booked on.
+     * <p>
+     * Lets a caller learn which account an edit or delete moves money out of,
+     * whatever its own copy of the row says.
+     * </p>
+     *
+     * @param transactionId The ID of the transaction
+     * @return The BetaAccount ID, or 0 if no such transaction is stored
+     */
+    @Query(GET_BETA_ACCOUNT_ID_OF)
+    public abstract int getBetaAccountIdOf(int transactionId);
+
+    /**
+     * Records a new transaction.
+     *
+     * @param transaction The transaction to record
+     * @return The generated row ID of the transaction
+     */
+    @androidx.room.Transaction
+    public long addTransaction(Transaction transaction) {
+        return insertTransaction(transaction);
+    }
+
+    /**
+     * Saves changes to an existing transaction.
+     * <p>
+     * The balance triggers reverse the old amount and apply the new one within
+     * the same commit.
+     * </p>
+     *
+     * @param transaction The transaction with updated values
+     */
+    @androidx.room.Transaction
+    public void editTransaction(Transaction transaction) {
+        updateTransaction(transaction);
+    }
+
+    /**
+     * Deletes a transaction and takes its amount back out of the account balances.
+     *
+     * @param transaction The transaction to delete
+     */
+    @androidx.room.Transaction
+    public void removeTransaction(Transaction transaction) {
+        deleteTransaction(transaction);
+    }
+
+    /**
+     * Moves money between two BetaAccounts by recording both legs together.
+     * <p>
+     * Either both the debit and the credit are committed or neither is.
+     * </p>
+     *
+     * @param debit The debit leg on the account the money leaves
+     * @param credit The credit leg on the account the money arrives in
+     * @return The generated row IDs of the debit and credit legs, in that order
+     */
+    @androidx.room.Transaction
+    public long[] transfer(Transaction debit,
+                           Transaction credit) {
+        long debitId = insertTransaction(debit);
+        long creditId = insertTransaction(credit);
+        return new long[]{debitId, creditId};
+    }
+
+    /**
+     * Rebuilds a BetaAccount balance from its transactions, and its parent's from its BetaAccounts.
+     * <p>
+     * This is a repair path for balances written before the balance triggers
+     * existed; normal writes never need it.
+     * </p>
+     *
+     * @param betaAccountId The ID of the BetaAccount to rebuild
+     * @return true if the BetaAccount exists and was rebuilt, false otherwise
+     */
+    @androidx.room.Transaction
+    public boolean rebuildBetaAndAlphaBalance(int betaAccountId) {
+        if (recalculateBetaBalance(betaAccountId) == 0) {
+            return false;
+        }
+        return recalculateParentAlphaBalance(betaAccountId) > 0;
+    }
+
+    /**
+     * Rebuilds every AlphaAccount balance from its BetaAccounts.
+     * <p>
+     * This is a repair path; normal writes keep AlphaAccount balances current
+     * through the balance triggers.
+     * </p>
+     */
+    @androidx.room.Transaction
+    public void rebuildAllAlphaBalances() {
+        recalculateAllAlphaBalances();
+    }
+
+    /**
+     * Rebuilds every BetaAccount balance from its transactions, then every
+     * AlphaAccount balance from its BetaAccounts.
+     * <p>
+     * This is the full repair path: two set-based statements instead of a read and
+     * a write per account. The AlphaAccount count only includes balances that were
+     * still wrong after the BetaAccount corrections had rolled up into them.
+     * </p>
+     *
+     * @return The number of BetaAccounts and AlphaAccounts corrected, in that order
+     */
+    @androidx.room.Transaction
+    public int[] rebuildAllBalances() {
+        int betas = recalculateAllBetaBalances();
+        int alphas = recalculateAllAlphaBalances();
+        return new int[]{betas, alphas};
+    }
+}
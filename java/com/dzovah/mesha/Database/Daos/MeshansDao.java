@@ -37,9 +37,10 @@ public interface MeshansDao {
      * </p>
      *
      * @param meshan The Meshans object (user data) to insert or update
+     * @return The row ID of the inserted user
      */
     @Insert(onConflict = OnConflictStrategy.REPLACE)
-    void insert(Meshans meshan);
+    long insert(Meshans meshan);
     
     /**
      * Deletes a user from the database.
@@ -53,6 +54,9 @@ public interface MeshansDao {
     @Delete
     void delete(Meshans meshans); // Delete the entire Meshans object
 
+    /** SQL of {@link #get} */
+    String GET_BY_USER_ID = "SELECT * FROM Meshans WHERE userId = :userId";
+
     /**
      * Retrieves a specific user by their Firebase user ID.
      * <p>
@@ -63,9 +67,12 @@ public interface MeshansDao {
      * @param userId The Firebase user ID to retrieve
      * @return LiveData wrapper around the Meshans object, or null if not found
      */
-    @Query("SELECT * FROM Meshans WHERE userId = :userId")
+    @Query(GET_BY_USER_ID)
     LiveData<Meshans> get(String userId); // Fetch by userId
 
+    /** SQL of {@link #deleteByUserId} */
+    String DELETE_BY_USER_ID = "DELETE FROM Meshans WHERE userId = :userId";
+
     /**
      * Deletes a user from the database by their Firebase user ID.
      * <p>
@@ -75,6 +82,6 @@ public interface MeshansDao {
      *
      * @param userId The Firebase user ID of the user to delete
      */
-    @Query("DELETE FROM Meshans WHERE userId = :userId")
+    @Query(DELETE_BY_USER_ID)
     void deleteByUserId(String userId);
 }
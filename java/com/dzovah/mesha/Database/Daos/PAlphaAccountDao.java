@@ -1,5 +1,6 @@
 package com.dzovah.mesha.Database.Daos;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.Update;
@@ -32,9 +33,10 @@ public interface PAlphaAccountDao {
      * </p>
      *
      * @param alphaAccount The AlphaAccount object to insert
+     * @return The generated row ID of the new PAlphaAccount
      */
     @Insert
-    void insert(PAlphaAccount alphaAccount);
+    long insert(PAlphaAccount alphaAccount);
 
     /**
      * Updates an existing AlphaAccount in the database.
@@ -62,6 +64,45 @@ public interface PAlphaAccountDao {
     @Delete
     void delete(PAlphaAccount alphaAccount);
 
+    /** SQL of {@link #deletePAlphaAccountById} */
+    String DELETE_P_ALPHA_ACCOUNT_BY_ID = "DELETE FROM PAlpha_accounts WHERE PAlpha_account_id = :alphaAccountId";
+
+    /**
+     * Deletes an PAlphaAccount by ID with a single statement.
+     * <p>
+     * The declared foreign keys cascade the delete to the account's Beta accounts,
+     * their transactions, rollups and checksums. Used by
+     * {@code TransactionManager}, which suspends the per-row ledger triggers first
+     * so the cascade does not update rows that are about to go.
+     * </p>
+     *
+     * @param alphaAccountId The ID of the PAlphaAccount to delete
+     * @return The number of PAlphaAccount rows deleted, 0 or 1
+     */
+    @Query(DELETE_P_ALPHA_ACCOUNT_BY_ID)
+    int deletePAlphaAccountById(int alphaAccountId);
+
+    /** SQL of {@link #updatePAlphaAccountDetails} */
+    String UPDATE_P_ALPHA_ACCOUNT_DETAILS = "UPDATE PAlpha_accounts SET PAlpha_account_name = :name, PAlpha_account_icon = :icon WHERE PAlpha_account_id = :alphaAccountId";
+
+    /**
+     * Updates the name and icon of an existing PAlphaAccount without touching its balance.
+     * <p>
+     * Balances are maintained by database triggers, so edits to an account's
+     * display details must not write back a balance read earlier, which may
+     * already be stale.
+     * </p>
+     *
+     * @param alphaAccountId The ID of the PAlphaAccount to update
+     * @param name The new account name
+     * @param icon The new icon path
+     */
+    @Query(UPDATE_P_ALPHA_ACCOUNT_DETAILS)
+    void updatePAlphaAccountDetails(int alphaAccountId, String name, String icon);
+
+    /** SQL of {@link #getAllPAlphaAccounts} and {@link #observeAllPAlphaAccounts} */
+    String GET_ALL_P_ALPHA_ACCOUNTS = "SELECT * FROM PAlpha_accounts ORDER BY PAlpha_account_name";
+
     /**
      * Retrieves all AlphaAccounts from the database, ordered by name.
      * <p>
@@ -71,9 +112,24 @@ public interface PAlphaAccountDao {
      *
      * @return A list of all AlphaAccount objects ordered by name
      */
-    @Query("SELECT * FROM PAlpha_accounts ORDER BY PAlpha_account_name")
+    @Query(GET_ALL_P_ALPHA_ACCOUNTS)
     List<PAlphaAccount> getAllPAlphaAccounts();
 
+    /**
+     * Observes all hidden AlphaAccounts, ordered by name.
+     * <p>
+     * The hidden-vault counterpart of {@link AlphaAccountDao#observeAllAlphaAccounts()};
+     * it re-runs only after a write to PAlpha_accounts.
+     * </p>
+     *
+     * @return LiveData wrapper around the list of PAlphaAccount objects ordered by name
+     */
+    @Query(GET_ALL_P_ALPHA_ACCOUNTS)
+    LiveData<List<PAlphaAccount>> observeAllPAlphaAccounts();
+
+    /** SQL of {@link #getPAlphaAccountById} and {@link #observePAlphaAccountById} */
+    String GET_P_ALPHA_ACCOUNT_BY_ID = "SELECT * FROM PAlpha_accounts WHERE PAlpha_account_id = :alphaAccountId";
+
     /**
      * Retrieves a specific AlphaAccount by its ID.
      * <p>
@@ -84,9 +140,25 @@ public interface PAlphaAccountDao {
      * @param alphaAccountId The ID of the AlphaAccount to retrieve
      * @return The AlphaAccount object with the specified ID, or null if not found
      */
-    @Query("SELECT * FROM PAlpha_accounts WHERE PAlpha_account_id = :alphaAccountId")
+    @Query(GET_P_ALPHA_ACCOUNT_BY_ID)
     PAlphaAccount getPAlphaAccountById(int alphaAccountId);
 
+    /**
+     * Observes a specific hidden AlphaAccount by its ID.
+     * <p>
+     * Emits again whenever the account's balance or details change, and emits null
+     * once the account has been deleted.
+     * </p>
+     *
+     * @param alphaAccountId The ID of the PAlphaAccount to observe
+     * @return LiveData wrapper around the PAlphaAccount, or null once it no longer exists
+     */
+    @Query(GET_P_ALPHA_ACCOUNT_BY_ID)
+    LiveData<PAlphaAccount> observePAlphaAccountById(int alphaAccountId);
+
+    /** SQL of {@link #getTotalPAlphaAccountsBalance} and {@link #observeTotalPAlphaAccountsBalance} */
+    String GET_TOTAL_P_ALPHA_ACCOUNTS_BALANCE = "SELECT COALESCE(SUM(PAlpha_account_balance), 0) FROM PAlpha_accounts";
+
     /**
      * Calculates the total balance of all AlphaAccounts.
      * <p>
@@ -94,10 +166,25 @@ public interface PAlphaAccountDao {
      * across all accounts at a glance.
      * </p>
      *
-     * @return The sum of balances from all AlphaAccounts
+     * @return The sum of balances from all AlphaAccounts in minor units, or 0 if there are none
      */
-    @Query("SELECT SUM(PAlpha_account_balance) FROM PAlpha_accounts")
-    double getTotalPAlphaAccountsBalance();
+    @Query(GET_TOTAL_P_ALPHA_ACCOUNTS_BALANCE)
+    long getTotalPAlphaAccountsBalance();
+
+    /**
+     * Observes the total balance of all PAlphaAccounts.
+     * <p>
+     * Re-runs only after PAlpha_accounts is written, which includes every balance change
+     * the ledger triggers make.
+     * </p>
+     *
+     * @return LiveData wrapper around the sum of balances in minor units, 0 if there are none
+     */
+    @Query(GET_TOTAL_P_ALPHA_ACCOUNTS_BALANCE)
+    LiveData<Long> observeTotalPAlphaAccountsBalance();
+
+    /** SQL of {@link #searchPAlphaAccounts} */
+    String SEARCH_P_ALPHA_ACCOUNTS = "SELECT * FROM PAlpha_accounts WHERE PAlpha_account_name LIKE '%' || :searchQuery || '%'";
 
     /**
      * Searches for AlphaAccounts with names containing the provided search term.
@@ -109,6 +196,6 @@ public interface PAlphaAccountDao {
      * @param searchQuery The search term to match against account names
      * @return A list of AlphaAccount objects whose names contain the search term
      */
-    @Query("SELECT * FROM PAlpha_accounts WHERE PAlpha_account_name LIKE '%' || :searchQuery || '%'")
+    @Query(SEARCH_P_ALPHA_ACCOUNTS)
     List<PAlphaAccount> searchPAlphaAccounts(String searchQuery);
 }
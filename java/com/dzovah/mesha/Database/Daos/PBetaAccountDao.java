@@ -1,5 +1,6 @@
 package com.dzovah.mesha.Database.Daos;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.Update;
@@ -38,9 +39,10 @@ public interface PBetaAccountDao {
      * </p>
      *
      * @param betaAccount The BetaAccount object to insert
+     * @return The generated row ID of the new PBetaAccount
      */
     @Insert
-    void insert(PBetaAccount betaAccount);
+    long insert(PBetaAccount betaAccount);
 
     /**
      * Updates an existing BetaAccount in the database.
@@ -69,6 +71,45 @@ public interface PBetaAccountDao {
     @Delete
     void delete(PBetaAccount betaAccount);
 
+    /** SQL of {@link #updatePBetaAccountDetails} */
+    String UPDATE_P_BETA_ACCOUNT_DETAILS = "UPDATE PBeta_accounts SET PBeta_account_name = :name, PBeta_account_icon = :icon WHERE PBeta_account_id = :betaAccountId";
+
+    /**
+     * Updates the name and icon of an existing PBetaAccount without touching its balance.
+     * <p>
+     * Balances are maintained by database triggers, so edits to an account's
+     * display details must not write back a balance read earlier, which may
+     * already be stale.
+     * </p>
+     *
+     * @param betaAccountId The ID of the PBetaAccount to update
+     * @param name The new account name
+     * @param icon The new icon path
+     */
+    @Query(UPDATE_P_BETA_ACCOUNT_DETAILS)
+    void updatePBetaAccountDetails(int betaAccountId, String name, String icon);
+
+    /** SQL of {@link #addPBetaAccountBalanceDelta} */
+    String ADD_P_BETA_ACCOUNT_BALANCE_DELTA = "UPDATE PBeta_accounts SET PBeta_account_balance = PBeta_account_balance + :delta WHERE PBeta_account_id = :betaAccountId";
+
+    /**
+     * Adds a net change to a PBetaAccount balance in one statement.
+     * <p>
+     * Used by bulk writers that suspend the per-transaction balance triggers and
+     * apply each account's accumulated change once. The PBeta balance trigger still
+     * passes the change on to the parent PAlphaAccount.
+     * </p>
+     *
+     * @param betaAccountId The ID of the PBetaAccount to adjust
+     * @param delta The signed change in minor units
+     * @return The number of rows updated
+     */
+    @Query(ADD_P_BETA_ACCOUNT_BALANCE_DELTA)
+    int addPBetaAccountBalanceDelta(int betaAccountId, long delta);
+
+    /** SQL of {@link #getAllPBetaAccounts} */
+    String GET_ALL_P_BETA_ACCOUNTS = "SELECT * FROM PBeta_accounts";
+
     /**
      * Retrieves all BetaAccounts from the database.
      * <p>
@@ -78,9 +119,12 @@ public interface PBetaAccountDao {
      *
      * @return A list of all BetaAccount objects in the database
      */
-    @Query("SELECT * FROM PBeta_accounts")
+    @Query(GET_ALL_P_BETA_ACCOUNTS)
     List<PBetaAccount> getAllPBetaAccounts();
 
+    /** SQL of {@link #getPBetaAccountById} and {@link #observePBetaAccountById} */
+    String GET_P_BETA_ACCOUNT_BY_ID = "SELECT * FROM PBeta_accounts WHERE PBeta_account_id = :betaAccountId";
+
     /**
      * Retrieves a specific BetaAccount by its ID.
      * <p>
@@ -91,9 +135,25 @@ public interface PBetaAccountDao {
      * @param betaAccountId The ID of the BetaAccount to retrieve
      * @return The BetaAccount object with the specified ID, or null if not found
      */
-    @Query("SELECT * FROM PBeta_accounts WHERE PBeta_account_id = :betaAccountId")
+    @Query(GET_P_BETA_ACCOUNT_BY_ID)
     PBetaAccount getPBetaAccountById(int betaAccountId);
 
+    /**
+     * Observes a specific hidden BetaAccount by its ID.
+     * <p>
+     * Balance triggers update this row on every hidden transaction write, so the
+     * observed balance follows the ledger without the screen asking for it.
+     * </p>
+     *
+     * @param betaAccountId The ID of the PBetaAccount to observe
+     * @return LiveData wrapper around the PBetaAccount, or null once it no longer exists
+     */
+    @Query(GET_P_BETA_ACCOUNT_BY_ID)
+    LiveData<PBetaAccount> observePBetaAccountById(int betaAccountId);
+
+    /** SQL of {@link #getPBetaAccountsByPAlphaAccountId} and {@link #observePBetaAccountsByPAlphaAccountId} */
+    String GET_P_BETA_ACCOUNTS_BY_P_ALPHA_ACCOUNT_ID = "SELECT * FROM PBeta_accounts WHERE PAlpha_account_id = :alphaAccountId";
+
     /**
      * Retrieves all BetaAccounts associated with a specific AlphaAccount.
      * <p>
@@ -105,16 +165,35 @@ public interface PBetaAccountDao {
      * @param alphaAccountId The ID of the parent AlphaAccount
      * @return A list of BetaAccount objects associated with the specified AlphaAccount
      */
-    @Query("SELECT * FROM PBeta_accounts WHERE PAlpha_account_id = :alphaAccountId")
+    @Query(GET_P_BETA_ACCOUNTS_BY_P_ALPHA_ACCOUNT_ID)
     List<PBetaAccount> getPBetaAccountsByPAlphaAccountId(int alphaAccountId);
 
+    /**
+     * Observes the hidden BetaAccounts of a specific PAlphaAccount.
+     * <p>
+     * Re-runs after any write to PBeta_accounts, including the balance updates made
+     * by the ledger triggers.
+     * </p>
+     *
+     * @param alphaAccountId The ID of the parent PAlphaAccount
+     * @return LiveData wrapper around the list of PBetaAccount objects of the PAlphaAccount
+     */
+    @Query(GET_P_BETA_ACCOUNTS_BY_P_ALPHA_ACCOUNT_ID)
+    LiveData<List<PBetaAccount>> observePBetaAccountsByPAlphaAccountId(int alphaAccountId);
+
+    /** SQL of {@link #updatePAlphaAccountBalance} */
+    String UPDATE_P_ALPHA_ACCOUNT_BALANCE = "UPDATE PAlpha_accounts SET PAlpha_account_balance = " +
+            "(SELECT COALESCE(SUM(PBeta_account_balance), 0) FROM PBeta_accounts " +
+            "WHERE PAlpha_account_id = :alphaId) " +
+            "WHERE PAlpha_account_id = :alphaId";
+
     /**
      * Updates the balance of an AlphaAccount based on the sum of its BetaAccount balances.
      * <p>
      * This method ensures that the AlphaAccount's balance accurately reflects the combined
-     * total of all its associated BetaAccounts. It should be called after any operation
-     * that affects BetaAccount balances, such as creating, updating, or deleting accounts
-     * or processing transactions.
+     * total of all its associated BetaAccounts. Day-to-day writes no longer need it,
+     * since the balance triggers keep the AlphaAccount in step; it remains as a repair
+     * path for resynchronising a single account.
      * </p>
      * <p>
      * The query uses COALESCE to handle the case where there are no BetaAccounts,
@@ -123,9 +202,6 @@ public interface PBetaAccountDao {
      *
      * @param alphaId The ID of the AlphaAccount to update
      */
-    @Query("UPDATE PAlpha_accounts SET PAlpha_account_balance = " +
-            "(SELECT COALESCE(SUM(PBeta_account_balance), 0) FROM PBeta_accounts " +
-            "WHERE PAlpha_account_id = :alphaId) " +
-            "WHERE PAlpha_account_id = :alphaId")
+    @Query(UPDATE_P_ALPHA_ACCOUNT_BALANCE)
     void updatePAlphaAccountBalance(int alphaId);
 }
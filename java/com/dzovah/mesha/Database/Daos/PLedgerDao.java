@@ -0,0 +1,250 @@
+package com.dzovah.mesha.Database.Daos;
+
+import androidx.room.Dao;
+import androidx.room.Delete;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Update;
+
+import com.dzovah.mesha.Database.Entities.PTransaction;
+
+/**
+ * Data Access Object for composite ledger writes on the hidden P vault.
+ * <p>
+ * Each public method here is one user action: adding, editing or deleting a
+ * transaction, moving money between two PBeta accounts, or repairing stored
+ * balances. Room's {@link androidx.room.Transaction} annotation only takes effect
+ * on DAO methods, so this DAO is an abstract class whose concrete methods wrap their
+ * row writes in a single SQLite transaction. Every action is therefore one journaled
+ * commit, and a crash can never leave it half applied.
+ * </p>
+ * <p>
+ * Balance changes themselves are made by the triggers in
+ * {@link com.dzovah.mesha.Database.Utils.LedgerTriggers} and so happen inside the
+ * same transaction as the row that caused them.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see PTransactionDao
+ * @see PTransaction
+ */
+@Dao
+public abstract class PLedgerDao {
+
+    /** Net of a PBetaAccount's transactions, correlated with the PBeta_accounts row being updated */
+    static final String TRANSACTION_TOTAL = "(SELECT COALESCE(SUM(CASE WHEN PTransaction_type = 'CREDIT' " +
+            "THEN PTransaction_amount ELSE -PTransaction_amount END), 0) FROM PTransactions " +
+            "WHERE PTransactions.PBeta_account_id = PBeta_accounts.PBeta_account_id)";
+
+    /** Sum of a PAlphaAccount's PBetaAccount balances, correlated with the PAlpha_accounts row being updated */
+    static final String BETA_TOTAL = "(SELECT COALESCE(SUM(PBeta_account_balance), 0) FROM PBeta_accounts " +
+            "WHERE PBeta_accounts.PAlpha_account_id = PAlpha_accounts.PAlpha_account_id)";
+
+    /**
+     * Inserts a single transaction row.
+     *
+     * @param transaction The transaction to insert
+     * @return The generated row ID
+     */
+    @Insert
+    protected abstract long insertTransaction(PTransaction transaction);
+
+    /**
+     * Updates a single transaction row by primary key.
+     *
+     * @param transaction The transaction with updated values
+     * @return The number of rows updated
+     */
+    @Update
+    protected abstract int updateTransaction(PTransaction transaction);
+
+    /**
+     * Deletes a single transaction row by primary key.
+     *
+     * @param transaction The transaction to delete
+     * @return The number of rows deleted
+     */
+    @Delete
+    protected abstract int deleteTransaction(PTransaction transaction);
+
+    /** SQL of {@link #recalculateBetaBalance} */
+    public static final String RECALCULATE_BETA_BALANCE = "UPDATE PBeta_accounts SET PBeta_account_balance = " +
+            "(SELECT COALESCE(SUM(CASE WHEN PTransaction_type = 'CREDIT' THEN PTransaction_amount ELSE -PTransaction_amount END), 0) " +
+            "FROM PTransactions WHERE PTransactions.PBeta_account_id = PBeta_accounts.PBeta_account_id) " +
+            "WHERE PBeta_account_id = :betaAccountId";
+
+    /**
+     * Recomputes one PBetaAccount balance from its transactions.
+     * <p>
+     * The PBeta balance trigger passes the correction on to the parent PAlphaAccount.
+     * </p>
+     *
+     * @param betaAccountId The ID of the PBetaAccount to recompute
+     * @return The number of rows updated
+     */
+    @Query(RECALCULATE_BETA_BALANCE)
+    protected abstract int recalculateBetaBalance(int betaAccountId);
+
+    /** SQL of {@link #recalculateParentAlphaBalance} */
+    public static final String RECALCULATE_PARENT_ALPHA_BALANCE = "UPDATE PAlpha_accounts SET PAlpha_account_balance = " +
+            "(SELECT COALESCE(SUM(PBeta_account_balance), 0) FROM PBeta_accounts " +
+            "WHERE PBeta_accounts.PAlpha_account_id = PAlpha_accounts.PAlpha_account_id) " +
+            "WHERE PAlpha_account_id = (SELECT PAlpha_account_id FROM PBeta_accounts WHERE PBeta_account_id = :betaAccountId)";
+
+    /**
+     * Recomputes the balance of the PAlphaAccount that owns a PBetaAccount from its PBetaAccounts.
+     *
+     * @param betaAccountId The ID of a PBetaAccount belonging to the PAlphaAccount
+     * @return The number of rows updated
+     */
+    @Query(RECALCULATE_PARENT_ALPHA_BALANCE)
+    protected abstract int recalculateParentAlphaBalance(int betaAccountId);
+
+    /** SQL of {@link #recalculateAllAlphaBalances} */
+    public static final String RECALCULATE_ALL_ALPHA_BALANCES = "UPDATE PAlpha_accounts SET PAlpha_account_balance = " + BETA_TOTAL +
+            " WHERE PAlpha_account_balance <> " + BETA_TOTAL;
+
+    /**
+     * Recomputes every PAlphaAccount balance from its PBetaAccounts in one statement.
+     * Only balances that differ from the sum are written.
+     *
+     * @return The number of PAlphaAccounts corrected
+     */
+    @Query(RECALCULATE_ALL_ALPHA_BALANCES)
+    protected abstract int recalculateAllAlphaBalances();
+
+    /** SQL of {@link #recalculateAllBetaBalances} */
+    public static final String RECALCULATE_ALL_BETA_BALANCES = "UPDATE PBeta_accounts SET PBeta_account_balance = " + TRANSACTION_TOTAL +
+            " WHERE PBeta_account_balance <> " + TRANSACTION_TOTAL;
+
+    /**
+     * Recomputes every PBetaAccount balance from its transactions in one statement.
+     * <p>
+     * Each PBetaAccount's net is summed through the index on its transactions, so
+     * the statement reads the ledger once, and again only for the accounts that
+     * drifted, which are the only rows written. The PBeta balance trigger passes each
+     * correction on to the parent PAlphaAccount.
+     * </p>
+     *
+     * @return The number of PBetaAccounts corrected
+     */
+    @Query(RECALCULATE_ALL_BETA_BALANCES)
+    protected abstract int recalculateAllBetaBalances();
+
+    /** SQL of {@link #getBetaAccountIdOf} */
+    public static final String GET_BETA_ACCOUNT_ID_OF = "SELECT PBeta_account_id FROM PTransactions WHERE PTransaction_id = :transactionId";
+
+    /**
+     * Reads the PBetaAccount a stored transaction is booked on.
+     * <p>
+     * Lets a caller learn which account an edit or delete moves money out of,
+     * whatever its own copy of the row says.
+     * </p>
+     *
+     * @param transactionId The ID of the transaction
+     * @return The PBetaAccount ID, or 0 if no such transaction is stored
+     */
+    @Query(GET_BETA_ACCOUNT_ID_OF)
+    public abstract int getBetaAccountIdOf(int transactionId);
+
+    /**
+     * Records a new transaction.
+     *
+     * @param transaction The transaction to record
+     * @return The generated row ID of the transaction
+     */
+    @androidx.room.Transaction
+    public long addTransaction(PTransaction transaction) {
+        return insertTransaction(transaction);
+    }
+
+    /**
+     * Saves changes to an existing transaction.
+     * <p>
+     * The balance triggers reverse the old amount and apply the new one within
+     * the same commit.
+     * </p>
+     *
+     * @param transaction The transaction with updated values
+     */
+    @androidx.room.Transaction
+    public void editTransaction(PTransaction transaction) {
+        updateTransaction(transaction);
+    }
+
+    /**
+     * Deletes a transaction and takes its amount back out of the account balances.
+     *
+     * @param transaction The transaction to delete
+     */
+    @androidx.room.Transaction
+    public void removeTransaction(PTransaction transaction) {
+        deleteTransaction(transaction);
+    }
+
+    /**
+     * Moves money between two PBetaAccounts by recording both legs together.
+     * <p>
+     * Either both the debit and the credit are committed or neither is.
+     * </p>
+     *
+     * @param debit The debit leg on the account the money leaves
+     * @param credit The credit leg on the account the money arrives in
+     * @return The generated row IDs of the debit and credit legs, in that order
+     */
+    @androidx.room.Transaction
+    public long[] transfer(PTransaction debit, PTransaction credit) {
+        long debitId = insertTransaction(debit);
+        long creditId = insertTransaction(credit);
+        return new long[]{debitId, creditId};
+    }
+
+    /**
+     * Rebuilds a PBetaAccount balance from its transactions, and its parent's from its PBetaAccounts.
+     * <p>
+     * This is a repair path for balances written before the balance triggers
+     * existed; normal writes never need it.
+     * </p>
+     *
+     * @param betaAccountId The ID of the PBetaAccount to rebuild
+     * @return true if the PBetaAccount exists and was rebuilt, false otherwise
+     */
+    @androidx.room.Transaction
+    public boolean rebuildBetaAndAlphaBalance(int betaAccountId) {
+        if (recalculateBetaBalance(betaAccountId) == 0) {
+            return false;
+        }
+        return recalculateParentAlphaBalance(betaAccountId) > 0;
+    }
+
+    /**
+     * Rebuilds every PAlphaAccount balance from its PBetaAccounts.
+     * <p>
+     * This is a repair path; normal writes keep PAlphaAccount balances current
+     * through the balance triggers.
+     * </p>
+     */
+    @androidx.room.Transaction
+    public void rebuildAllAlphaBalances() {
+        recalculateAllAlphaBalances();
+    }
+
+    /**
+     * Rebuilds every PBetaAccount balance from its transactions, then every
+     * PAlphaAccount balance from its PBetaAccounts.
+     * <p>
+     * This is the full repair path: two set-based statements instead of a read and
+     * a write per account. The PAlphaAccount count only includes balances that were
+     * still wrong after the PBetaAccount corrections had rolled up into them.
+     * </p>
+     *
+     * @return The number of PBetaAccounts and PAlphaAccounts corrected, in that order
+     */
+    @androidx.room.Transaction
+    public int[] rebuildAllBalances() {
+        int betas = recalculateAllBetaBalances();
+        int alphas = recalculateAllAlphaBalances();
+        return new int[]{betas, alphas};
+    }
+}
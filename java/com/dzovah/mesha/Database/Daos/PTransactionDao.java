@@ -1,5 +1,6 @@
 package com.dzovah.mesha.Database.Daos;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.Update;
@@ -7,6 +8,7 @@ import androidx.room.Delete;
 import androidx.room.Query;
 
 import com.dzovah.mesha.Database.Entities.PTransaction;
+import com.dzovah.mesha.Database.Entities.PTransactionWithAccounts;
 import com.dzovah.mesha.Database.Utils.TransactionType;
 
 import java.util.List;
@@ -35,20 +37,35 @@ public interface PTransactionDao {
      * Inserts a new Transaction into the database.
      * <p>
      * Room auto-generates the SQL INSERT statement and handles the primary key generation.
-     * After insertion, the account balances should be updated to reflect the new transaction.
+     * The owning BetaAccount and AlphaAccount balances are adjusted by database triggers
+     * in the same statement, so callers must not patch balances themselves.
      * </p>
      *
      * @param transaction The Transaction object to insert
+     * @return The generated row ID of the new PTransaction
      */
     @Insert
-    void insert(PTransaction transaction);
+    long insert(PTransaction transaction);
+
+    /**
+     * Inserts several PTransactions into the database at once.
+     * <p>
+     * All rows are written in one database transaction. The balance triggers still
+     * fire once per row, keeping every affected account in step.
+     * </p>
+     *
+     * @param transactions The PTransaction objects to insert
+     * @return The generated row IDs, in the same order as {@code transactions}
+     */
+    @Insert
+    long[] insertAll(List<PTransaction> transactions);
 
     /**
      * Updates an existing Transaction in the database.
      * <p>
      * Room identifies the transaction to update based on its primary key and
-     * auto-generates the SQL UPDATE statement. After updating, account balances
-     * should be recalculated to reflect the changes.
+     * auto-generates the SQL UPDATE statement. Database triggers reverse the old amount
+     * and apply the new one to the account balances.
      * </p>
      *
      * @param transaction The Transaction object with updated values
@@ -60,8 +77,8 @@ public interface PTransactionDao {
      * Deletes a Transaction from the database.
      * <p>
      * Room identifies the transaction to delete based on its primary key and
-     * auto-generates the SQL DELETE statement. After deletion, account balances
-     * should be updated to reflect the removed transaction.
+     * auto-generates the SQL DELETE statement. Database triggers remove the
+     * transaction's amount from the account balances.
      * </p>
      *
      * @param transaction The Transaction object to delete
@@ -69,6 +86,9 @@ public interface PTransactionDao {
     @Delete
     void delete(PTransaction transaction);
 
+    /** SQL of {@link #deleteById} */
+    String DELETE_BY_ID = "DELETE FROM PTransactions WHERE PTransaction_id = :transactionId";
+
     /**
      * Deletes a Transaction from the database by its ID.
      * <p>
@@ -78,9 +98,12 @@ public interface PTransactionDao {
      *
      * @param transactionId The ID of the Transaction to delete
      */
-    @Query("DELETE FROM PTransactions WHERE PTransaction_id = :transactionId")
+    @Query(DELETE_BY_ID)
     void deleteById(int transactionId);
 
+    /** SQL of {@link #getAllPTransactionsByBetaAccountId} and {@link #observePTransactionsByBetaAccountId} */
+    String GET_ALL_P_TRANSACTIONS_BY_BETA_ACCOUNT_ID = "SELECT * FROM PTransactions WHERE PBeta_account_id = :betaAccountId ORDER BY PEntry_time DESC";
+
     /**
      * Retrieves all Transactions for a specific BetaAccount, ordered by entry time (newest first).
      * <p>
@@ -91,9 +114,25 @@ public interface PTransactionDao {
      * @param betaAccountId The ID of the BetaAccount to retrieve transactions for
      * @return A list of Transaction objects for the specified BetaAccount
      */
-    @Query("SELECT * FROM PTransactions WHERE PBeta_account_id = :betaAccountId ORDER BY PEntry_time DESC")
+    @Query(GET_ALL_P_TRANSACTIONS_BY_BETA_ACCOUNT_ID)
     List<PTransaction> getAllPTransactionsByBetaAccountId(int betaAccountId);
 
+    /**
+     * Observes the hidden Transactions of a specific PBetaAccount, newest first.
+     * <p>
+     * The query is re-run on Room's query executor only after the PTransactions table
+     * has been written, so reopening the screen does not reload the history.
+     * </p>
+     *
+     * @param betaAccountId The ID of the PBetaAccount to observe transactions for
+     * @return LiveData wrapper around the list of PTransaction objects for the PBetaAccount
+     */
+    @Query(GET_ALL_P_TRANSACTIONS_BY_BETA_ACCOUNT_ID)
+    LiveData<List<PTransaction>> observePTransactionsByBetaAccountId(int betaAccountId);
+
+    /** SQL of {@link #getPTransactionsByType} */
+    String GET_P_TRANSACTIONS_BY_TYPE = "SELECT * FROM PTransactions WHERE PBeta_account_id = :betaAccountId AND PTransaction_type = :transactionType ORDER BY PEntry_time DESC";
+
     /**
      * Retrieves Transactions of a specific type for a BetaAccount, ordered by entry time.
      * <p>
@@ -105,9 +144,13 @@ public interface PTransactionDao {
      * @param transactionType The type of transactions to retrieve (CREDIT or DEBIT)
      * @return A list of filtered Transaction objects for the specified BetaAccount
      */
-    @Query("SELECT * FROM PTransactions WHERE PBeta_account_id = :betaAccountId AND PTransaction_type = :transactionType ORDER BY PEntry_time DESC")
+    @Query(GET_P_TRANSACTIONS_BY_TYPE)
     List<PTransaction> getPTransactionsByType(int betaAccountId, TransactionType transactionType);
 
+    /** SQL of {@link #getPBetaAccountBalance} */
+    String GET_P_BETA_ACCOUNT_BALANCE = "SELECT COALESCE(SUM(CASE WHEN PTransaction_type = 'CREDIT' THEN PTransaction_amount ELSE -PTransaction_amount END), 0) " +
+            "FROM PTransactions WHERE PBeta_account_id = :betaAccountId";
+
     /**
      * Calculates the current balance of a BetaAccount based on its transactions.
      * <p>
@@ -116,11 +159,13 @@ public interface PTransactionDao {
      * </p>
      *
      * @param betaAccountId The ID of the BetaAccount to calculate the balance for
-     * @return The calculated balance of the BetaAccount
+     * @return The calculated balance of the BetaAccount in minor units
      */
-    @Query("SELECT SUM(CASE WHEN PTransaction_type = 'CREDIT' THEN PTransaction_amount ELSE -PTransaction_amount END) " +
-    "FROM PTransactions WHERE PBeta_account_id = :betaAccountId")
-    double getPBetaAccountBalance(int betaAccountId);
+    @Query(GET_P_BETA_ACCOUNT_BALANCE)
+    long getPBetaAccountBalance(int betaAccountId);
+
+    /** SQL of {@link #getPTransactionsByTimeRange} */
+    String GET_P_TRANSACTIONS_BY_TIME_RANGE = "SELECT * FROM PTransactions WHERE PBeta_account_id = :betaAccountId AND PEntry_time BETWEEN :startTime AND :endTime ORDER BY PEntry_time DESC";
 
     /**
      * Retrieves Transactions within a specific time range for a BetaAccount.
@@ -134,9 +179,12 @@ public interface PTransactionDao {
      * @param endTime The end of the time range (as Unix timestamp in milliseconds)
      * @return A list of Transaction objects within the specified time range
      */
-    @Query("SELECT * FROM PTransactions WHERE PBeta_account_id = :betaAccountId AND PEntry_time BETWEEN :startTime AND :endTime ORDER BY PEntry_time DESC")
+    @Query(GET_P_TRANSACTIONS_BY_TIME_RANGE)
     List<PTransaction> getPTransactionsByTimeRange(int betaAccountId, long startTime, long endTime);
 
+    /** SQL of {@link #calculatePDailyTotal} */
+    String CALCULATE_P_DAILY_TOTAL = "SELECT COALESCE(SUM(PTransaction_amount), 0) FROM PTransactions WHERE PBeta_account_id = :betaAccountId AND PTransaction_type = :transactionType AND PEntry_time BETWEEN :startTime AND :endTime";
+
     /**
      * Calculates the total amount for a specific transaction type within a time range.
      * <p>
@@ -148,10 +196,47 @@ public interface PTransactionDao {
      * @param transactionType The type of transactions to include (CREDIT or DEBIT)
      * @param startTime The start of the time range (as Unix timestamp in milliseconds)
      * @param endTime The end of the time range (as Unix timestamp in milliseconds)
-     * @return The sum of transaction amounts for the specified criteria
+     * @return The sum of transaction amounts for the specified criteria in minor units
+     */
+    @Query(CALCULATE_P_DAILY_TOTAL)
+    long calculatePDailyTotal(int betaAccountId, TransactionType transactionType, long startTime, long endTime);
+
+    /** SQL of {@link #getPTransactionsByDay} */
+    String GET_P_TRANSACTIONS_BY_DAY = "SELECT * FROM PTransactions WHERE PLocal_day = :day ORDER BY PEntry_time DESC";
+
+    /**
+     * Retrieves the Transactions recorded on one local day, newest first.
+     * <p>
+     * Filters on the stored local day rather than an entry time range, so the day
+     * boundaries follow the time zone the ledger was last bucketed in.
+     * </p>
+     *
+     * @param day The local day, as yyyyMMdd
+     * @return A list of Transaction objects recorded on that day
+     */
+    @Query(GET_P_TRANSACTIONS_BY_DAY)
+    List<PTransaction> getPTransactionsByDay(int day);
+
+    /** SQL of {@link #getPActiveDays} */
+    String GET_P_ACTIVE_DAYS = "SELECT PLocal_day FROM PTransactions WHERE PLocal_day BETWEEN :fromDay AND :toDay " +
+            "GROUP BY PLocal_day ORDER BY PLocal_day";
+
+    /**
+     * Retrieves the local days in a range on which at least one Transaction was recorded.
+     * <p>
+     * Grouped on the index over the stored local day, so no row is read from the
+     * table itself.
+     * </p>
+     *
+     * @param fromDay The first day, as yyyyMMdd
+     * @param toDay The last day, as yyyyMMdd
+     * @return The days that have transactions, as yyyyMMdd, oldest first
      */
-    @Query("SELECT SUM(PTransaction_amount) FROM PTransactions WHERE PBeta_account_id = :betaAccountId AND PTransaction_type = :transactionType AND PEntry_time BETWEEN :startTime AND :endTime")
-    double calculatePDailyTotal(int betaAccountId, TransactionType transactionType, long startTime, long endTime);
+    @Query(GET_P_ACTIVE_DAYS)
+    List<Integer> getPActiveDays(int fromDay, int toDay);
+
+    /** SQL of {@link #getAllTransactionsByAlphaAccountId} */
+    String GET_ALL_TRANSACTIONS_BY_ALPHA_ACCOUNT_ID = "SELECT * FROM PTransactions WHERE PAlpha_account_id = :alphaAccountId ORDER BY PEntry_time DESC";
 
     /**
      * Retrieves all Transactions for a specific AlphaAccount, ordered by entry time.
@@ -163,9 +248,12 @@ public interface PTransactionDao {
      * @param alphaAccountId The ID of the AlphaAccount to retrieve transactions for
      * @return A list of Transaction objects for the specified AlphaAccount
      */
-    @Query("SELECT * FROM PTransactions WHERE PAlpha_account_id = :alphaAccountId ORDER BY PEntry_time DESC")
+    @Query(GET_ALL_TRANSACTIONS_BY_ALPHA_ACCOUNT_ID)
     List<PTransaction> getAllTransactionsByAlphaAccountId(int alphaAccountId);
 
+    /** SQL of {@link #getAllPTransactionsByEntryTime} */
+    String GET_ALL_P_TRANSACTIONS_BY_ENTRY_TIME = "SELECT * FROM PTransactions ORDER BY PEntry_time DESC";
+
     /**
      * Retrieves all Transactions in the database, ordered by entry time (newest first).
      * <p>
@@ -175,9 +263,85 @@ public interface PTransactionDao {
      *
      * @return A list of all Transaction objects ordered by entry time
      */
-    @Query("SELECT * FROM PTransactions ORDER BY PEntry_time DESC")
+    @Query(GET_ALL_P_TRANSACTIONS_BY_ENTRY_TIME)
     List<PTransaction> getAllPTransactionsByEntryTime();
 
+    /** SQL of {@link #getPTransactionsPage} */
+    String GET_P_TRANSACTIONS_PAGE = "SELECT t.*, b.PBeta_account_name, b.PBeta_account_icon, a.PAlpha_account_name " +
+            "FROM PTransactions t " +
+            "JOIN PBeta_accounts b ON b.PBeta_account_id = t.PBeta_account_id " +
+            "JOIN PAlpha_accounts a ON a.PAlpha_account_id = t.PAlpha_account_id " +
+            "ORDER BY t.PEntry_time DESC, t.PTransaction_id DESC LIMIT :limit";
+
+    /**
+     * Retrieves the newest page of PTransactions, with account details, for the analysis feed.
+     * <p>
+     * Rows are ordered by (PEntry_time, PTransaction_id) so that transactions sharing a
+     * timestamp still have a stable position; the index on PEntry_time carries the
+     * row id, so the query reads the first {@code limit} index entries and stops.
+     * Account details are joined in by primary key, so a screen binding these rows
+     * needs no further queries.
+     * </p>
+     *
+     * @param limit The maximum number of transactions to return
+     * @return Up to {@code limit} of the newest PTransactions with account details, newest first
+     */
+    @Query(GET_P_TRANSACTIONS_PAGE)
+    List<PTransactionWithAccounts> getPTransactionsPage(int limit);
+
+    /** SQL of {@link #getPTransactionsPageAfter} */
+    String GET_P_TRANSACTIONS_PAGE_AFTER = "SELECT t.*, b.PBeta_account_name, b.PBeta_account_icon, a.PAlpha_account_name " +
+            "FROM PTransactions t " +
+            "JOIN PBeta_accounts b ON b.PBeta_account_id = t.PBeta_account_id " +
+            "JOIN PAlpha_accounts a ON a.PAlpha_account_id = t.PAlpha_account_id " +
+            "WHERE t.PEntry_time <= :entryTime " +
+            "AND (t.PEntry_time < :entryTime OR t.PTransaction_id < :transactionId) " +
+            "ORDER BY t.PEntry_time DESC, t.PTransaction_id DESC LIMIT :limit";
+
+    /**
+     * Retrieves the page of PTransactions that follows a keyset anchor, newest first.
+     * <p>
+     * The anchor is the last row already shown. The range condition on PEntry_time
+     * lets SQLite seek directly to the anchor in the index, so every page costs
+     * the same no matter how far down the feed it is.
+     * </p>
+     *
+     * @param entryTime The entry time of the anchor row
+     * @param transactionId The ID of the anchor row
+     * @param limit The maximum number of transactions to return
+     * @return Up to {@code limit} PTransactions older than the anchor, newest first
+     */
+    @Query(GET_P_TRANSACTIONS_PAGE_AFTER)
+    List<PTransactionWithAccounts> getPTransactionsPageAfter(long entryTime, int transactionId, int limit);
+
+    /** SQL of {@link #getPTransactionsPageBefore} */
+    String GET_P_TRANSACTIONS_PAGE_BEFORE = "SELECT t.*, b.PBeta_account_name, b.PBeta_account_icon, a.PAlpha_account_name " +
+            "FROM PTransactions t " +
+            "JOIN PBeta_accounts b ON b.PBeta_account_id = t.PBeta_account_id " +
+            "JOIN PAlpha_accounts a ON a.PAlpha_account_id = t.PAlpha_account_id " +
+            "WHERE t.PEntry_time >= :entryTime " +
+            "AND (t.PEntry_time > :entryTime OR t.PTransaction_id > :transactionId) " +
+            "ORDER BY t.PEntry_time ASC, t.PTransaction_id ASC LIMIT :limit";
+
+    /**
+     * Retrieves the page of PTransactions that precedes a keyset anchor, oldest first.
+     * <p>
+     * Used to reload pages the feed dropped from the top while scrolling down.
+     * Rows come back in ascending order and must be reversed for display.
+     * </p>
+     *
+     * @param entryTime The entry time of the anchor row
+     * @param transactionId The ID of the anchor row
+     * @param limit The maximum number of transactions to return
+     * @return Up to {@code limit} PTransactions newer than the anchor, oldest first
+     */
+    @Query(GET_P_TRANSACTIONS_PAGE_BEFORE)
+    List<PTransactionWithAccounts> getPTransactionsPageBefore(long entryTime, int transactionId, int limit);
+
+    /** SQL of {@link #getNetBalance} */
+    String GET_NET_BALANCE = "SELECT COALESCE(SUM(CASE WHEN PTransaction_type = 'CREDIT' THEN PTransaction_amount ELSE -PTransaction_amount END), 0) " +
+            "FROM PTransactions";
+
     /**
      * Calculates the overall net balance across all accounts.
      * <p>
@@ -185,11 +349,15 @@ public interface PTransactionDao {
      * all transaction amounts, considering credits as positive and debits as negative.
      * </p>
      *
-     * @return The net balance across all accounts
+     * @return The net balance across all accounts in minor units
      */
-    @Query("SELECT SUM(CASE WHEN PTransaction_type = 'CREDIT' THEN PTransaction_amount ELSE -PTransaction_amount END) " +
-            "FROM PTransactions")
-    double getNetBalance();
+    @Query(GET_NET_BALANCE)
+    long getNetBalance();
+
+    /** SQL of {@link #getPAlphaAccountBalanceById} */
+    String GET_P_ALPHA_ACCOUNT_BALANCE_BY_ID = "SELECT (SELECT COALESCE(SUM(PTransaction_amount), 0) FROM Ptransactions WHERE PAlpha_account_id = :alphaId AND PTransaction_type = 'CREDIT') - " +
+            "(SELECT COALESCE(SUM(PTransaction_amount), 0) FROM Ptransactions WHERE PAlpha_account_id = :alphaId AND PTransaction_type = 'DEBIT') " +
+            "AS balance";
 
     /**
      * Calculates the balance of an AlphaAccount based on its transactions.
@@ -199,10 +367,8 @@ public interface PTransactionDao {
      * </p>
      *
      * @param alphaId The ID of the AlphaAccount to calculate the balance for
-     * @return The calculated balance of the AlphaAccount
+     * @return The calculated balance of the AlphaAccount in minor units
      */
-    @Query("SELECT (SELECT COALESCE(SUM(PTransaction_amount), 0) FROM Ptransactions WHERE PAlpha_account_id = :alphaId AND PTransaction_type = 'CREDIT') - " +
-       "(SELECT COALESCE(SUM(PTransaction_amount), 0) FROM Ptransactions WHERE PAlpha_account_id = :alphaId AND PTransaction_type = 'DEBIT') " +
-       "AS balance")
-    double getPAlphaAccountBalanceById(int alphaId);
+    @Query(GET_P_ALPHA_ACCOUNT_BALANCE_BY_ID)
+    long getPAlphaAccountBalanceById(int alphaId);
 }
@@ -0,0 +1,289 @@
+package com.dzovah.mesha.Database.Daos;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+
+import com.dzovah.mesha.Database.Entities.DailyRollup;
+import com.dzovah.mesha.Database.Entities.MonthlyRollup;
+import com.dzovah.mesha.Database.Entities.PeriodTotals;
+
+import java.util.List;
+
+/**
+ * Data Access Object for the daily and monthly rollups of the normal vault.
+ * <p>
+ * Period totals are read from {@code Daily_rollups} and {@code Monthly_rollups}
+ * rather than summed from {@code Transactions}, so a query touches one rollup row
+ * per Beta account, category and period in its range instead of every transaction.
+ * Days are given as yyyyMMdd and months as yyyyMM in the device's local time;
+ * see {@link com.dzovah.mesha.Database.Utils.LedgerPeriods} for converting dates.
+ * </p>
+ * <p>
+ * The rollups are written by the triggers in
+ * {@link com.dzovah.mesha.Database.Utils.RollupTriggers}; the only write here is
+ * {@link #applyRange}, used by bulk writers while those triggers are suspended.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see DailyRollup
+ * @see MonthlyRollup
+ */
+@Dao
+public abstract class RollupDao {
+
+    /** Rollup columns summed into a {@link PeriodTotals} */
+    static final String SUM_TOTALS = "COALESCE(SUM(Credit_total), 0) AS Credit_total, " +
+            "COALESCE(SUM(Debit_total), 0) AS Debit_total, " +
+            "COALESCE(SUM(Credit_count), 0) AS Credit_count, " +
+            "COALESCE(SUM(Debit_count), 0) AS Debit_count";
+
+    /** Transaction columns aggregated into a rollup row */
+    static final String AGGREGATE_TRANSACTIONS = "MAX(Alpha_account_id) AS Alpha_account_id, " +
+            "COALESCE(SUM(CASE WHEN Transaction_type = 'CREDIT' THEN Transaction_amount ELSE 0 END), 0) AS Credit_total, " +
+            "COALESCE(SUM(CASE WHEN Transaction_type = 'CREDIT' THEN 0 ELSE Transaction_amount END), 0) AS Debit_total, " +
+            "SUM(Transaction_type = 'CREDIT') AS Credit_count, " +
+            "SUM(Transaction_type <> 'CREDIT') AS Debit_count";
+
+    /** SQL of {@link #getDailyTotals} */
+    public static final String GET_DAILY_TOTALS = "SELECT Day AS Period, " + SUM_TOTALS + " FROM Daily_rollups " +
+            "WHERE Day BETWEEN :fromDay AND :toDay GROUP BY Day ORDER BY Day";
+
+    /**
+     * Gets the totals of every account for each day in a range.
+     *
+     * @param fromDay The first day, as yyyyMMdd
+     * @param toDay The last day, as yyyyMMdd
+     * @return One entry per day that has rollups, oldest first
+     */
+    @Query(GET_DAILY_TOTALS)
+    public abstract List<PeriodTotals> getDailyTotals(int fromDay, int toDay);
+
+    /** SQL of {@link #getMonthlyTotals} */
+    public static final String GET_MONTHLY_TOTALS = "SELECT Month AS Period, " + SUM_TOTALS + " FROM Monthly_rollups " +
+            "WHERE Month BETWEEN :fromMonth AND :toMonth GROUP BY Month ORDER BY Month";
+
+    /**
+     * Gets the totals of every account for each month in a range.
+     *
+     * @param fromMonth The first month, as yyyyMM
+     * @param toMonth The last month, as yyyyMM
+     * @return One entry per month that has rollups, oldest first
+     */
+    @Query(GET_MONTHLY_TOTALS)
+    public abstract List<PeriodTotals> getMonthlyTotals(int fromMonth, int toMonth);
+
+    /** SQL of {@link #getAlphaDailyTotals} */
+    public static final String GET_ALPHA_DAILY_TOTALS = "SELECT Day AS Period, " + SUM_TOTALS + " FROM Daily_rollups " +
+            "WHERE Alpha_account_id = :alphaAccountId AND Day BETWEEN :fromDay AND :toDay GROUP BY Day ORDER BY Day";
+
+    /**
+     * Gets the totals of one AlphaAccount for each day in a range.
+     *
+     * @param alphaAccountId The ID of the AlphaAccount
+     * @param fromDay The first day, as yyyyMMdd
+     * @param toDay The last day, as yyyyMMdd
+     * @return One entry per day that has rollups, oldest first
+     */
+    @Query(GET_ALPHA_DAILY_TOTALS)
+    public abstract List<PeriodTotals> getAlphaDailyTotals(int alphaAccountId, int fromDay, int toDay);
+
+    /** SQL of {@link #getAlphaMonthlyTotals} */
+    public static final String GET_ALPHA_MONTHLY_TOTALS = "SELECT Month AS Period, " + SUM_TOTALS + " FROM Monthly_rollups " +
+            "WHERE Alpha_account_id = :alphaAccountId AND Month BETWEEN :fromMonth AND :toMonth GROUP BY Month ORDER BY Month";
+
+    /**
+     * Gets the totals of one AlphaAccount for each month in a range.
+     *
+     * @param alphaAccountId The ID of the AlphaAccount
+     * @param fromMonth The first month, as yyyyMM
+     * @param toMonth The last month, as yyyyMM
+     * @return One entry per month that has rollups, oldest first
+     */
+    @Query(GET_ALPHA_MONTHLY_TOTALS)
+    public abstract List<PeriodTotals> getAlphaMonthlyTotals(int alphaAccountId, int fromMonth, int toMonth);
+
+    /** SQL of {@link #getBetaDailyTotals} */
+    public static final String GET_BETA_DAILY_TOTALS = "SELECT Day AS Period, " + SUM_TOTALS + " FROM Daily_rollups " +
+            "WHERE Beta_account_id = :betaAccountId AND Day BETWEEN :fromDay AND :toDay GROUP BY Day ORDER BY Day";
+
+    /**
+     * Gets the totals of one BetaAccount for each day in a range.
+     *
+     * @param betaAccountId The ID of the BetaAccount
+     * @param fromDay The first day, as yyyyMMdd
+     * @param toDay The last day, as yyyyMMdd
+     * @return One entry per day that has rollups, oldest first
+     */
+    @Query(GET_BETA_DAILY_TOTALS)
+    public abstract List<PeriodTotals> getBetaDailyTotals(int betaAccountId, int fromDay, int toDay);
+
+    /** SQL of {@link #getBetaMonthlyTotals} */
+    public static final String GET_BETA_MONTHLY_TOTALS = "SELECT Month AS Period, " + SUM_TOTALS + " FROM Monthly_rollups " +
+            "WHERE Beta_account_id = :betaAccountId AND Month BETWEEN :fromMonth AND :toMonth GROUP BY Month ORDER BY Month";
+
+    /**
+     * Gets the totals of one BetaAccount for each month in a range.
+     *
+     * @param betaAccountId The ID of the BetaAccount
+     * @param fromMonth The first month, as yyyyMM
+     * @param toMonth The last month, as yyyyMM
+     * @return One entry per month that has rollups, oldest first
+     */
+    @Query(GET_BETA_MONTHLY_TOTALS)
+    public abstract List<PeriodTotals> getBetaMonthlyTotals(int betaAccountId, int fromMonth, int toMonth);
+
+    /** SQL of {@link #getCategoryMonthlyTotals} */
+    public static final String GET_CATEGORY_MONTHLY_TOTALS = "SELECT Month AS Period, " + SUM_TOTALS + " FROM Monthly_rollups " +
+            "WHERE Category_id = :categoryId AND Month BETWEEN :fromMonth AND :toMonth GROUP BY Month ORDER BY Month";
+
+    /**
+     * Gets the totals of one category across all accounts for each month in a range.
+     *
+     * @param categoryId The ID of the category
+     * @param fromMonth The first month, as yyyyMM
+     * @param toMonth The last month, as yyyyMM
+     * @return One entry per month that has rollups, oldest first
+     */
+    @Query(GET_CATEGORY_MONTHLY_TOTALS)
+    public abstract List<PeriodTotals> getCategoryMonthlyTotals(int categoryId, int fromMonth, int toMonth);
+
+    /** SQL of {@link #getTotalsBetweenMonths} */
+    public static final String GET_TOTALS_BETWEEN_MONTHS = "SELECT :fromMonth AS Period, " + SUM_TOTALS + " FROM Monthly_rollups " +
+            "WHERE Month BETWEEN :fromMonth AND :toMonth";
+
+    /**
+     * Gets the combined totals of every account over a range of months.
+     * <p>
+     * The period of the result is {@code fromMonth}.
+     * </p>
+     *
+     * @param fromMonth The first month, as yyyyMM
+     * @param toMonth The last month, as yyyyMM
+     * @return The totals over the whole range
+     */
+    @Query(GET_TOTALS_BETWEEN_MONTHS)
+    public abstract PeriodTotals getTotalsBetweenMonths(int fromMonth, int toMonth);
+
+    /** SQL of {@link #getNetBalance} */
+    public static final String GET_NET_BALANCE = "SELECT COALESCE(SUM(Credit_total - Debit_total), 0) FROM Monthly_rollups";
+
+    /**
+     * Gets the net of all credits and debits ever recorded, from the monthly rollups.
+     * <p>
+     * Matches {@code getNetBalance} on the transaction DAO without scanning the
+     * transaction table.
+     * </p>
+     *
+     * @return The net amount in minor units
+     */
+    @Query(GET_NET_BALANCE)
+    public abstract long getNetBalance();
+
+    /** SQL of {@link #aggregateDailyRange} */
+    public static final String AGGREGATE_DAILY_RANGE = "SELECT Beta_account_id, Local_day AS Day, Category_id, " + AGGREGATE_TRANSACTIONS +
+            " FROM Transactions WHERE Transaction_id BETWEEN :firstId AND :lastId" +
+            " GROUP BY Beta_account_id, Day, Category_id";
+
+    /**
+     * Aggregates a range of transaction rows into daily rollup deltas.
+     *
+     * @param firstId The first transaction ID of the range
+     * @param lastId The last transaction ID of the range
+     * @return One delta per BetaAccount, day and category touched by the range
+     */
+    @Query(AGGREGATE_DAILY_RANGE)
+    protected abstract List<DailyRollup> aggregateDailyRange(long firstId, long lastId);
+
+    /** SQL of {@link #aggregateMonthlyRange} */
+    public static final String AGGREGATE_MONTHLY_RANGE = "SELECT Beta_account_id, Local_month AS Month, Category_id, " + AGGREGATE_TRANSACTIONS +
+            " FROM Transactions WHERE Transaction_id BETWEEN :firstId AND :lastId" +
+            " GROUP BY Beta_account_id, Month, Category_id";
+
+    /**
+     * Aggregates a range of transaction rows into monthly rollup deltas.
+     *
+     * @param firstId The first transaction ID of the range
+     * @param lastId The last transaction ID of the range
+     * @return One delta per BetaAccount, month and category touched by the range
+     */
+    @Query(AGGREGATE_MONTHLY_RANGE)
+    protected abstract List<MonthlyRollup> aggregateMonthlyRange(long firstId, long lastId);
+
+    /** SQL of {@link #addToDaily} */
+    public static final String ADD_TO_DAILY = "UPDATE Daily_rollups SET Credit_total = Credit_total + :creditTotal, " +
+            "Debit_total = Debit_total + :debitTotal, Credit_count = Credit_count + :creditCount, " +
+            "Debit_count = Debit_count + :debitCount " +
+            "WHERE Beta_account_id = :betaAccountId AND Day = :day AND Category_id = :categoryId";
+
+    /**
+     * Adds a delta to an existing daily rollup row.
+     *
+     * @return The number of rows updated, 0 if the row does not exist yet
+     */
+    @Query(ADD_TO_DAILY)
+    protected abstract int addToDaily(int betaAccountId, int day, int categoryId,
+                                      long creditTotal, long debitTotal, int creditCount, int debitCount);
+
+    /** SQL of {@link #addToMonthly} */
+    public static final String ADD_TO_MONTHLY = "UPDATE Monthly_rollups SET Credit_total = Credit_total + :creditTotal, " +
+            "Debit_total = Debit_total + :debitTotal, Credit_count = Credit_count + :creditCount, " +
+            "Debit_count = Debit_count + :debitCount " +
+            "WHERE Beta_account_id = :betaAccountId AND Month = :month AND Category_id = :categoryId";
+
+    /**
+     * Adds a delta to an existing monthly rollup row.
+     *
+     * @return The number of rows updated, 0 if the row does not exist yet
+     */
+    @Query(ADD_TO_MONTHLY)
+    protected abstract int addToMonthly(int betaAccountId, int month, int categoryId,
+                                        long creditTotal, long debitTotal, int creditCount, int debitCount);
+
+    /**
+     * Inserts a new daily rollup row.
+     *
+     * @param rollup The row to insert
+     */
+    @Insert
+    protected abstract void insertDaily(DailyRollup rollup);
+
+    /**
+     * Inserts a new monthly rollup row.
+     *
+     * @param rollup The row to insert
+     */
+    @Insert
+    protected abstract void insertMonthly(MonthlyRollup rollup);
+
+    /**
+     * Adds a range of freshly inserted transactions to the rollups.
+     * <p>
+     * For bulk writers that insert with the rollup triggers suspended. The range is
+     * aggregated on the rows' stored local day and month in two primary key range
+     * scans of the transaction table, then each touched rollup row is updated or
+     * created once, however many transactions it covers.
+     * </p>
+     *
+     * @param firstId The first transaction ID inserted
+     * @param lastId The last transaction ID inserted
+     */
+    @androidx.room.Transaction
+    public void applyRange(long firstId, long lastId) {
+        for (DailyRollup delta : aggregateDailyRange(firstId, lastId)) {
+            if (addToDaily(delta.getBetaAccountId(), delta.getDay(), delta.getCategoryId(),
+                    delta.getCreditTotal(), delta.getDebitTotal(),
+                    delta.getCreditCount(), delta.getDebitCount()) == 0) {
+                insertDaily(delta);
+            }
+        }
+        for (MonthlyRollup delta : aggregateMonthlyRange(firstId, lastId)) {
+            if (addToMonthly(delta.getBetaAccountId(), delta.getMonth(), delta.getCategoryId(),
+                    delta.getCreditTotal(), delta.getDebitTotal(),
+                    delta.getCreditCount(), delta.getDebitCount()) == 0) {
+                insertMonthly(delta);
+            }
+        }
+    }
+}
@@ -52,18 +52,19 @@ public class AlphaAccount implements AccountOperations {
     /**
      * The current balance of the AlphaAccount.
      * This is calculated as the sum of all BetaAccount balances associated with this AlphaAccount.
+     * Stored in minor units (cents) so that sums are exact; see {@link com.dzovah.mesha.Database.Utils.Money}.
      */
     @ColumnInfo(name = "Alpha_account_balance")
-    private double alphaAccountBalance;
+    private long alphaAccountBalance;
 
     /**
      * Creates a new AlphaAccount with the specified name, icon, and initial balance.
      *
      * @param alphaAccountName The name of the AlphaAccount
      * @param alphaAccountIcon The path to the icon image (null will use a default icon)
-     * @param alphaAccountBalance The initial balance for the AlphaAccount
+     * @param alphaAccountBalance The initial balance for the AlphaAccount, in minor units
      */
-    public AlphaAccount(String alphaAccountName, String alphaAccountIcon, double alphaAccountBalance) {
+    public AlphaAccount(String alphaAccountName, String alphaAccountIcon, long alphaAccountBalance) {
         this.alphaAccountName = alphaAccountName;
         this.alphaAccountIcon = alphaAccountIcon != null ? alphaAccountIcon : "Assets/icons"; // Default icon path
         this.alphaAccountBalance = alphaAccountBalance;
@@ -127,18 +128,18 @@ public class AlphaAccount implements AccountOperations {
     /**
      * Gets the current balance of this AlphaAccount.
      *
-     * @return The current balance
+     * @return The current balance, in minor units
      */
-    public double getAlphaAccountBalance() {
+    public long getAlphaAccountBalance() {
         return alphaAccountBalance;
     }
 
     /**
      * Sets the balance of this AlphaAccount.
      *
-     * @param alphaAccountBalance The balance to set
+     * @param alphaAccountBalance The balance to set, in minor units
      */
-    public void setAlphaAccountBalance(double alphaAccountBalance) {
+    public void setAlphaAccountBalance(long alphaAccountBalance) {
         this.alphaAccountBalance = alphaAccountBalance;
     }
 
@@ -153,7 +154,7 @@ public class AlphaAccount implements AccountOperations {
      * @param betaAccounts A list of BetaAccounts associated with this AlphaAccount
      */
     public void updateBalanceFromBetaAccounts(List<BetaAccount> betaAccounts) {
-        double totalBalance = 0;
+        long totalBalance = 0;
         for (BetaAccount beta : betaAccounts) {
             totalBalance += beta.getBetaAccountBalance();
         }
@@ -214,10 +215,10 @@ public class AlphaAccount implements AccountOperations {
     /**
      * Gets the account balance.
      *
-     * @return The current balance of the account
+     * @return The current balance of the account, in minor units
      */
     @Override
-    public double getAccountBalance() {
+    public long getAccountBalance() {
         return alphaAccountBalance;
     }
 }
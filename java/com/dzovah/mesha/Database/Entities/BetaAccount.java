@@ -3,6 +3,7 @@ package com.dzovah.mesha.Database.Entities;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.ForeignKey;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 /**
@@ -24,6 +25,7 @@ import androidx.room.PrimaryKey;
  */
 @Entity(
     tableName = "Beta_accounts",
+    indices = @Index("Alpha_account_id"),
     foreignKeys = @ForeignKey(
         entity = AlphaAccount.class,
         parentColumns = "Alpha_account_id",
@@ -65,9 +67,10 @@ public class BetaAccount {
     /**
      * The current balance of the BetaAccount.
      * This reflects the sum of all transactions affecting this account.
+     * Stored in minor units (cents) so that sums are exact; see {@link com.dzovah.mesha.Database.Utils.Money}.
      */
     @ColumnInfo(name = "Beta_account_balance")
-    private double betaAccountBalance;
+    private long betaAccountBalance;
 
     /**
      * Creates a new BetaAccount with the specified parent AlphaAccount, name, icon, and initial balance.
@@ -75,9 +78,9 @@ public class BetaAccount {
      * @param alphaAccountId The ID of the parent AlphaAccount
      * @param betaAccountName The name of the BetaAccount
      * @param betaAccountIcon The path to the icon image (null will use a default icon)
-     * @param betaAccountBalance The initial balance for the BetaAccount
+     * @param betaAccountBalance The initial balance for the BetaAccount, in minor units
      */
-    public BetaAccount(int alphaAccountId, String betaAccountName, String betaAccountIcon, double betaAccountBalance) {
+    public BetaAccount(int alphaAccountId, String betaAccountName, String betaAccountIcon, long betaAccountBalance) {
         this.alphaAccountId = alphaAccountId;
         this.betaAccountName = betaAccountName;
         this.betaAccountIcon = betaAccountIcon != null ? betaAccountIcon : "Assets/icons"; // Default image directory
@@ -161,9 +164,9 @@ public class BetaAccount {
     /**
      * Gets the current balance of this BetaAccount.
      *
-     * @return The current balance
+     * @return The current balance, in minor units
      */
-    public double getBetaAccountBalance() {
+    public long getBetaAccountBalance() {
         return betaAccountBalance;
     }
 
@@ -172,9 +175,9 @@ public class BetaAccount {
      * When the balance changes, the parent AlphaAccount should be updated 
      * using {@link AlphaAccount#updateBalanceFromBetaAccounts}.
      *
-     * @param betaAccountBalance The balance to set
+     * @param betaAccountBalance The balance to set, in minor units
      */
-    public void setBetaAccountBalance(double betaAccountBalance) {
+    public void setBetaAccountBalance(long betaAccountBalance) {
         this.betaAccountBalance = betaAccountBalance;
     }
 }
@@ -0,0 +1,192 @@
+package com.dzovah.mesha.Database.Entities;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/**
+ * Entity class holding the monthly credit and debit totals of one BetaAccount and category.
+ * <p>
+ * Each row sums every Transaction of a BetaAccount, category and month, so period
+ * totals for analysis are read from a handful of rollup rows instead of being
+ * recomputed from every transaction. Rows are kept up to date by the triggers in
+ * {@link com.dzovah.mesha.Database.Utils.RollupTriggers} in the same statement that
+ * writes the transaction, and are removed with their BetaAccount.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see Transaction
+ * @see com.dzovah.mesha.Database.Daos.RollupDao
+ */
+@Entity(
+    tableName = "Monthly_rollups",
+    primaryKeys = {"Beta_account_id", "Month", "Category_id"},
+    indices = {
+        @Index({"Alpha_account_id", "Month"}),
+        @Index({"Category_id", "Month"}),
+        @Index("Month")
+    },
+    foreignKeys = @ForeignKey(
+        entity = BetaAccount.class,
+        parentColumns = "Beta_account_id",
+        childColumns = "Beta_account_id",
+        onDelete = ForeignKey.CASCADE
+    )
+)
+public class MonthlyRollup {
+
+    /**
+     * ID of the BetaAccount the rolled-up transactions belong to.
+     */
+    @ColumnInfo(name = "Beta_account_id")
+    private int betaAccountId;
+
+    /**
+     * The month the transactions fall in, in the device's local time, as yyyyMM (e.g. 202403).
+     */
+    @ColumnInfo(name = "Month")
+    private int month;
+
+    /**
+     * ID of the category the rolled-up transactions are filed under.
+     */
+    @ColumnInfo(name = "Category_id")
+    private int categoryId;
+
+    /**
+     * ID of the AlphaAccount that owns the BetaAccount, kept here so Alpha totals need no join.
+     */
+    @ColumnInfo(name = "Alpha_account_id")
+    private int alphaAccountId;
+
+    /**
+     * Sum of the credit amounts, in minor units.
+     */
+    @ColumnInfo(name = "Credit_total")
+    private long creditTotal;
+
+    /**
+     * Sum of the debit amounts, in minor units.
+     */
+    @ColumnInfo(name = "Debit_total")
+    private long debitTotal;
+
+    /**
+     * Number of credit transactions.
+     */
+    @ColumnInfo(name = "Credit_count")
+    private int creditCount;
+
+    /**
+     * Number of debit transactions.
+     */
+    @ColumnInfo(name = "Debit_count")
+    private int debitCount;
+
+    /**
+     * Creates a rollup row. Used by Room when reading rows and aggregate results.
+     *
+     * @param betaAccountId The BetaAccount ID
+     * @param month The month key
+     * @param categoryId The category ID
+     * @param alphaAccountId The AlphaAccount ID
+     * @param creditTotal The credit total in minor units
+     * @param debitTotal The debit total in minor units
+     * @param creditCount The number of credits
+     * @param debitCount The number of debits
+     */
+    public MonthlyRollup(int betaAccountId, int month, int categoryId, int alphaAccountId,
+            long creditTotal, long debitTotal, int creditCount, int debitCount) {
+        this.betaAccountId = betaAccountId;
+        this.month = month;
+        this.categoryId = categoryId;
+        this.alphaAccountId = alphaAccountId;
+        this.creditTotal = creditTotal;
+        this.debitTotal = debitTotal;
+        this.creditCount = creditCount;
+        this.debitCount = debitCount;
+    }
+
+    /**
+     * Gets the BetaAccount ID.
+     *
+     * @return The BetaAccount ID
+     */
+    public int getBetaAccountId() {
+        return betaAccountId;
+    }
+
+    /**
+     * Gets the month key.
+     *
+     * @return The month key
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * Gets the category ID.
+     *
+     * @return The category ID
+     */
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Gets the AlphaAccount ID.
+     *
+     * @return The AlphaAccount ID
+     */
+    public int getAlphaAccountId() {
+        return alphaAccountId;
+    }
+
+    /**
+     * Gets the credit total in minor units.
+     *
+     * @return The credit total in minor units
+     */
+    public long getCreditTotal() {
+        return creditTotal;
+    }
+
+    /**
+     * Gets the debit total in minor units.
+     *
+     * @return The debit total in minor units
+     */
+    public long getDebitTotal() {
+        return debitTotal;
+    }
+
+    /**
+     * Gets the number of credits.
+     *
+     * @return The number of credits
+     */
+    public int getCreditCount() {
+        return creditCount;
+    }
+
+    /**
+     * Gets the number of debits.
+     *
+     * @return The number of debits
+     */
+    public int getDebitCount() {
+        return debitCount;
+    }
+
+    /**
+     * Gets the net change over the month: credits minus debits.
+     *
+     * @return The net amount in minor units
+     */
+    public long getNetTotal() {
+        return creditTotal - debitTotal;
+    }
+}
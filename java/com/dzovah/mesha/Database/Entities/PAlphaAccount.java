@@ -48,18 +48,19 @@ public class PAlphaAccount implements AccountOperations {
 
     /**
      * The current balance of the PAlphaAccount.
+     * Stored in minor units (cents) so that sums are exact; see {@link com.dzovah.mesha.Database.Utils.Money}.
      */
     @ColumnInfo(name = "PAlpha_account_balance")
-    public double alphaAccountBalance;
+    public long alphaAccountBalance;
 
     /**
      * Creates a new PAlphaAccount.
      *
      * @param alphaAccountName   The name of the account
      * @param alphaAccountIcon   The icon path (null defaults to system icon)
-     * @param alphaAccountBalance The initial balance
+     * @param alphaAccountBalance The initial balance, in minor units
      */
-    public PAlphaAccount(String alphaAccountName, String alphaAccountIcon, double alphaAccountBalance) {
+    public PAlphaAccount(String alphaAccountName, String alphaAccountIcon, long alphaAccountBalance) {
         this.alphaAccountName = alphaAccountName;
         this.alphaAccountIcon = (alphaAccountIcon != null) ? alphaAccountIcon : "default_icon"; // Ensure a valid default
         this.alphaAccountBalance = alphaAccountBalance;
@@ -71,6 +72,10 @@ public class PAlphaAccount implements AccountOperations {
         return alphaAccountId;
     }
 
+    public void setPAlphaAccountId(int alphaAccountId) {
+        this.alphaAccountId = alphaAccountId;
+    }
+
     public String getPAlphaAccountName() {
         return alphaAccountName;
     }
@@ -87,11 +92,11 @@ public class PAlphaAccount implements AccountOperations {
         this.alphaAccountIcon = alphaAccountIcon;
     }
 
-    public double getPAlphaAccountBalance() {
+    public long getPAlphaAccountBalance() {
         return alphaAccountBalance;
     }
 
-    public void setPAlphaAccountBalance(double alphaAccountBalance) {
+    public void setPAlphaAccountBalance(long alphaAccountBalance) {
         this.alphaAccountBalance = alphaAccountBalance;
     }
 
@@ -102,7 +107,7 @@ public class PAlphaAccount implements AccountOperations {
      */
     @Ignore // Prevent Room from treating this method as a column
     public void updateBalanceFromBetaAccounts(List<PBetaAccount> betaAccounts) {
-        double totalBalance = 0;
+        long totalBalance = 0;
         for (PBetaAccount beta : betaAccounts) {
             totalBalance += beta.getPBetaAccountBalance();
         }
@@ -167,11 +172,11 @@ public class PAlphaAccount implements AccountOperations {
     /**
      * Gets the account balance.
      *
-     * @return The current balance of the account
+     * @return The current balance of the account, in minor units
      */
     @Override
     @Ignore
-    public double getAccountBalance() {
+    public long getAccountBalance() {
         return alphaAccountBalance;
     }
 }
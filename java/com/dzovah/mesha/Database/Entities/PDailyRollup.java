@@ -0,0 +1,192 @@
+package com.dzovah.mesha.Database.Entities;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/**
+ * Entity class holding the daily credit and debit totals of one PBetaAccount and category.
+ * <p>
+ * Each row sums every PTransaction of a PBetaAccount, category and day, so period
+ * totals for analysis are read from a handful of rollup rows instead of being
+ * recomputed from every transaction. Rows are kept up to date by the triggers in
+ * {@link com.dzovah.mesha.Database.Utils.RollupTriggers} in the same statement that
+ * writes the transaction, and are removed with their PBetaAccount.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see PTransaction
+ * @see com.dzovah.mesha.Database.Daos.PRollupDao
+ */
+@Entity(
+    tableName = "PDaily_rollups",
+    primaryKeys = {"PBeta_account_id", "Day", "Category_id"},
+    indices = {
+        @Index({"PAlpha_account_id", "Day"}),
+        @Index({"Category_id", "Day"}),
+        @Index("Day")
+    },
+    foreignKeys = @ForeignKey(
+        entity = PBetaAccount.class,
+        parentColumns = "PBeta_account_id",
+        childColumns = "PBeta_account_id",
+        onDelete = ForeignKey.CASCADE
+    )
+)
+public class PDailyRollup {
+
+    /**
+     * ID of the PBetaAccount the rolled-up transactions belong to.
+     */
+    @ColumnInfo(name = "PBeta_account_id")
+    public int betaAccountId;
+
+    /**
+     * The day the transactions fall in, in the device's local time, as yyyyMMdd (e.g. 20240315).
+     */
+    @ColumnInfo(name = "Day")
+    public int day;
+
+    /**
+     * ID of the category the rolled-up transactions are filed under.
+     */
+    @ColumnInfo(name = "Category_id")
+    public int categoryId;
+
+    /**
+     * ID of the PAlphaAccount that owns the PBetaAccount, kept here so Alpha totals need no join.
+     */
+    @ColumnInfo(name = "PAlpha_account_id")
+    public int alphaAccountId;
+
+    /**
+     * Sum of the credit amounts, in minor units.
+     */
+    @ColumnInfo(name = "Credit_total")
+    public long creditTotal;
+
+    /**
+     * Sum of the debit amounts, in minor units.
+     */
+    @ColumnInfo(name = "Debit_total")
+    public long debitTotal;
+
+    /**
+     * Number of credit transactions.
+     */
+    @ColumnInfo(name = "Credit_count")
+    public int creditCount;
+
+    /**
+     * Number of debit transactions.
+     */
+    @ColumnInfo(name = "Debit_count")
+    public int debitCount;
+
+    /**
+     * Creates a rollup row. Used by Room when reading rows and aggregate results.
+     *
+     * @param betaAccountId The PBetaAccount ID
+     * @param day The day key
+     * @param categoryId The category ID
+     * @param alphaAccountId The PAlphaAccount ID
+     * @param creditTotal The credit total in minor units
+     * @param debitTotal The debit total in minor units
+     * @param creditCount The number of credits
+     * @param debitCount The number of debits
+     */
+    public PDailyRollup(int betaAccountId, int day, int categoryId, int alphaAccountId,
+            long creditTotal, long debitTotal, int creditCount, int debitCount) {
+        this.betaAccountId = betaAccountId;
+        this.day = day;
+        this.categoryId = categoryId;
+        this.alphaAccountId = alphaAccountId;
+        this.creditTotal = creditTotal;
+        this.debitTotal = debitTotal;
+        this.creditCount = creditCount;
+        this.debitCount = debitCount;
+    }
+
+    /**
+     * Gets the PBetaAccount ID.
+     *
+     * @return The PBetaAccount ID
+     */
+    public int getPBetaAccountId() {
+        return betaAccountId;
+    }
+
+    /**
+     * Gets the day key.
+     *
+     * @return The day key
+     */
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * Gets the category ID.
+     *
+     * @return The category ID
+     */
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Gets the PAlphaAccount ID.
+     *
+     * @return The PAlphaAccount ID
+     */
+    public int getPAlphaAccountId() {
+        return alphaAccountId;
+    }
+
+    /**
+     * Gets the credit total in minor units.
+     *
+     * @return The credit total in minor units
+     */
+    public long getCreditTotal() {
+        return creditTotal;
+    }
+
+    /**
+     * Gets the debit total in minor units.
+     *
+     * @return The debit total in minor units
+     */
+    public long getDebitTotal() {
+        return debitTotal;
+    }
+
+    /**
+     * Gets the number of credits.
+     *
+     * @return The number of credits
+     */
+    public int getCreditCount() {
+        return creditCount;
+    }
+
+    /**
+     * Gets the number of debits.
+     *
+     * @return The number of debits
+     */
+    public int getDebitCount() {
+        return debitCount;
+    }
+
+    /**
+     * Gets the net change over the day: credits minus debits.
+     *
+     * @return The net amount in minor units
+     */
+    public long getNetTotal() {
+        return creditTotal - debitTotal;
+    }
+}
@@ -7,6 +7,7 @@ import androidx.room.PrimaryKey;
 import androidx.room.Index;
 import androidx.room.TypeConverters;
 
+import com.dzovah.mesha.Database.Utils.LedgerPeriods;
 import com.dzovah.mesha.Database.Utils.TransactionType;
 import com.dzovah.mesha.Database.Utils.TransactionTypeConverter;
 
@@ -32,10 +33,15 @@ import com.dzovah.mesha.Database.Utils.TransactionTypeConverter;
 @Entity(
     tableName = "PTransactions",
     indices = {
-        @Index("PAlpha_account_id"),
-        @Index("PBeta_account_id"),
-        @Index("Category_id"),
-        @Index("PEntry_time")
+        // Each foreign key leads a composite index with the entry time, so per-account
+        // history and time-range queries filter and sort from a single index
+        @Index({"PAlpha_account_id", "PEntry_time"}),
+        @Index({"PBeta_account_id", "PEntry_time"}),
+        @Index({"Category_id", "PEntry_time"}),
+        @Index("PEntry_time"),
+        // Stored local day and month, so calendar grouping is an indexed GROUP BY
+        @Index({"PLocal_day", "PEntry_time"}),
+        @Index("PLocal_month")
     },
     foreignKeys = {
         @ForeignKey(
@@ -98,9 +104,10 @@ public class PTransaction {
     /**
      * The monetary amount of the transaction.
      * For debits, this represents money flowing out; for credits, money flowing in.
+     * Stored in minor units (cents) so that sums are exact; see {@link com.dzovah.mesha.Database.Utils.Money}.
      */
     @ColumnInfo(name = "PTransaction_amount")
-    public double transactionAmount;
+    public long transactionAmount;
 
     /**
      * The type of transaction (CREDIT or DEBIT).
@@ -117,6 +124,20 @@ public class PTransaction {
     @ColumnInfo(name = "PEntry_time")
     public long entryTime;
 
+    /**
+     * Local day of the entry time as yyyyMMdd, in the time zone the device was in
+     * when the row was written or last re-bucketed.
+     * Derived from the entry time; see {@link com.dzovah.mesha.Database.Utils.LocalDayBuckets}.
+     */
+    @ColumnInfo(name = "PLocal_day", defaultValue = "0")
+    public int localDay;
+
+    /**
+     * Local month of the entry time as yyyyMM, kept together with {@link #localDay}.
+     */
+    @ColumnInfo(name = "PLocal_month", defaultValue = "0")
+    public int localMonth;
+
     /**
      * Creates a new Transaction with the specified details.
      *
@@ -124,12 +145,12 @@ public class PTransaction {
      * @param betaAccountId The ID of the specific BetaAccount
      * @param categoryId The ID of the transaction category
      * @param transactionDescription Description or note for the transaction
-     * @param transactionAmount The monetary amount of the transaction
+     * @param transactionAmount The monetary amount of the transaction, in minor units
      * @param transactionType The type of transaction (CREDIT or DEBIT)
      * @param entryTime Timestamp when the transaction was recorded
      */
     public PTransaction(int alphaAccountId, int betaAccountId, int categoryId,
-                      String transactionDescription, double transactionAmount,
+                      String transactionDescription, long transactionAmount,
                       TransactionType transactionType, long entryTime) {
         this.alphaAccountId = alphaAccountId;
         this.betaAccountId = betaAccountId;
@@ -138,6 +159,8 @@ public class PTransaction {
         this.transactionAmount = transactionAmount;
         this.transactionType = transactionType;
         this.entryTime = entryTime;
+        this.localDay = LedgerPeriods.dayKey(entryTime);
+        this.localMonth = LedgerPeriods.monthOf(localDay);
     }
 
     /**
@@ -234,18 +257,18 @@ public class PTransaction {
     /**
      * Gets the monetary amount of this transaction.
      *
-     * @return The transaction amount
+     * @return The transaction amount, in minor units
      */
-    public double getPTransactionAmount() {
+    public long getPTransactionAmount() {
         return transactionAmount;
     }
 
     /**
      * Sets the monetary amount of this transaction.
      *
-     * @param transactionAmount The transaction amount to set
+     * @param transactionAmount The transaction amount to set, in minor units
      */
-    public void setPTransactionAmount(double transactionAmount) {
+    public void setPTransactionAmount(long transactionAmount) {
         this.transactionAmount = transactionAmount;
     }
 
@@ -278,10 +301,51 @@ public class PTransaction {
 
     /**
      * Sets the timestamp when this transaction was recorded.
+     * The local day and month are recomputed in the current time zone.
      *
      * @param entryTime The entry time to set as a Unix timestamp (milliseconds since epoch)
      */
     public void setPEntryTime(long entryTime) {
         this.entryTime = entryTime;
+        this.localDay = LedgerPeriods.dayKey(entryTime);
+        this.localMonth = LedgerPeriods.monthOf(localDay);
+    }
+
+    /**
+     * Gets the local day of this transaction.
+     *
+     * @return The day as yyyyMMdd
+     */
+    public int getPLocalDay() {
+        return localDay;
+    }
+
+    /**
+     * Sets the local day of this transaction.
+     * This is managed by Room and the re-bucketing job and not set manually.
+     *
+     * @param localDay The day as yyyyMMdd
+     */
+    public void setPLocalDay(int localDay) {
+        this.localDay = localDay;
+    }
+
+    /**
+     * Gets the local month of this transaction.
+     *
+     * @return The month as yyyyMM
+     */
+    public int getPLocalMonth() {
+        return localMonth;
+    }
+
+    /**
+     * Sets the local month of this transaction.
+     * This is managed by Room and the re-bucketing job and not set manually.
+     *
+     * @param localMonth The month as yyyyMM
+     */
+    public void setPLocalMonth(int localMonth) {
+        this.localMonth = localMonth;
     }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.dzovah.mesha.Database.Entities;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * Read-only credit and debit totals for one period, summed from the rollup tables.
+ * <p>
+ * This is not a table. Rollup queries fill it either once per day or month in a
+ * series, or once for a whole range, in which case {@link #getPeriod()} holds the
+ * first day or month of the range. It is shared by both vaults.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see com.dzovah.mesha.Database.Daos.RollupDao
+ * @see com.dzovah.mesha.Database.Daos.PRollupDao
+ */
+public class PeriodTotals {
+    /**
+     * The day (yyyyMMdd) or month (yyyyMM) the totals cover.
+     */
+    @ColumnInfo(name = "Period")
+    private final int period;
+
+    /**
+     * Sum of the credit amounts, in minor units.
+     */
+    @ColumnInfo(name = "Credit_total")
+    private final long creditTotal;
+
+    /**
+     * Sum of the debit amounts, in minor units.
+     */
+    @ColumnInfo(name = "Debit_total")
+    private final long debitTotal;
+
+    /**
+     * Number of credit transactions.
+     */
+    @ColumnInfo(name = "Credit_count")
+    private final int creditCount;
+
+    /**
+     * Number of debit transactions.
+     */
+    @ColumnInfo(name = "Debit_count")
+    private final int debitCount;
+
+    /**
+     * Creates a period total. Used by Room when reading query results.
+     *
+     * @param period The day or month key
+     * @param creditTotal The credit total in minor units
+     * @param debitTotal The debit total in minor units
+     * @param creditCount The number of credits
+     * @param debitCount The number of debits
+     */
+    public PeriodTotals(int period, long creditTotal, long debitTotal, int creditCount, int debitCount) {
+        this.period = period;
+        this.creditTotal = creditTotal;
+        this.debitTotal = debitTotal;
+        this.creditCount = creditCount;
+        this.debitCount = debitCount;
+    }
+
+    /**
+     * Gets the day or month key.
+     *
+     * @return The period as yyyyMMdd or yyyyMM
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * Gets the credit total.
+     *
+     * @return The credit total in minor units
+     */
+    public long getCreditTotal() {
+        return creditTotal;
+    }
+
+    /**
+     * Gets the debit total.
+     *
+     * @return The debit total in minor units
+     */
+    public long getDebitTotal() {
+        return debitTotal;
+    }
+
+    /**
+     * Gets the number of credits.
+     *
+     * @return The number of credit transactions
+     */
+    public int getCreditCount() {
+        return creditCount;
+    }
+
+    /**
+     * Gets the number of debits.
+     *
+     * @return The number of debit transactions
+     */
+    public int getDebitCount() {
+        return debitCount;
+    }
+
+    /**
+     * Gets the net change over the period: credits minus debits.
+     *
+     * @return The net amount in minor units
+     */
+    public long getNetTotal() {
+        return creditTotal - debitTotal;
+    }
+}
@@ -0,0 +1,115 @@
+package com.dzovah.mesha.Database.Entities;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Embedded;
+
+/**
+ * Read-only projection of a Transaction together with the display details of its accounts.
+ * <p>
+ * This is not a table. Room fills it from a single query that joins each Transaction
+ * with the name and icon of its BetaAccount and the name of its AlphaAccount, so
+ * list screens can bind a row without looking either account up separately.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see Transaction
+ * @see com.dzovah.mesha.Database.Daos.TransactionDao#getTransactionsPage(int)
+ */
+public class TransactionWithAccounts {
+    /**
+     * The transaction itself.
+     */
+    @Embedded
+    private Transaction transaction;
+
+    /**
+     * Name of the BetaAccount the transaction belongs to.
+     */
+    @ColumnInfo(name = "Beta_account_name")
+    private String betaAccountName;
+
+    /**
+     * Icon path of the BetaAccount the transaction belongs to.
+     */
+    @ColumnInfo(name = "Beta_account_icon")
+    private String betaAccountIcon;
+
+    /**
+     * Name of the AlphaAccount the transaction belongs to.
+     */
+    @ColumnInfo(name = "Alpha_account_name")
+    private String alphaAccountName;
+
+    /**
+     * Gets the transaction.
+     *
+     * @return The Transaction
+     */
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    /**
+     * Sets the transaction. Used by Room when reading query results.
+     *
+     * @param transaction The Transaction to set
+     */
+    public void setTransaction(Transaction transaction) {
+        this.transaction = transaction;
+    }
+
+    /**
+     * Gets the name of the BetaAccount.
+     *
+     * @return The BetaAccount name
+     */
+    public String getBetaAccountName() {
+        return betaAccountName;
+    }
+
+    /**
+     * Sets the name of the BetaAccount. Used by Room when reading query results.
+     *
+     * @param betaAccountName The BetaAccount name to set
+     */
+    public void setBetaAccountName(String betaAccountName) {
+        this.betaAccountName = betaAccountName;
+    }
+
+    /**
+     * Gets the icon path of the BetaAccount.
+     *
+     * @return The BetaAccount icon path
+     */
+    public String getBetaAccountIcon() {
+        return betaAccountIcon;
+    }
+
+    /**
+     * Sets the icon path of the BetaAccount. Used by Room when reading query results.
+     *
+     * @param betaAccountIcon The BetaAccount icon path to set
+     */
+    public void setBetaAccountIcon(String betaAccountIcon) {
+        this.betaAccountIcon = betaAccountIcon;
+    }
+
+    /**
+     * Gets the name of the AlphaAccount.
+     *
+     * @return The AlphaAccount name
+     */
+    public String getAlphaAccountName() {
+        return alphaAccountName;
+    }
+
+    /**
+     * Sets the name of the AlphaAccount. Used by Room when reading query results.
+     *
+     * @param alphaAccountName The AlphaAccount name to set
+     */
+    public void setAlphaAccountName(String alphaAccountName) {
+        this.alphaAccountName = alphaAccountName;
+    }
+}
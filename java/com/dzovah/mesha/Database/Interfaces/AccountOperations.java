@@ -48,7 +48,7 @@ public interface AccountOperations {
     /**
      * Gets the account balance.
      *
-     * @return The current balance of the account
+     * @return The current balance of the account, in minor units
      */
-    double getAccountBalance();
+    long getAccountBalance();
 }
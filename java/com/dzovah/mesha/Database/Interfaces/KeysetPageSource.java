@@ -0,0 +1,51 @@
+package com.dzovah.mesha.Database.Interfaces;
+
+import java.util.List;
+
+/**
+ * Source of pages for a {@link com.dzovah.mesha.Database.Utils.KeysetPager}.
+ * <p>
+ * Pages are addressed by keyset rather than by offset: each load is anchored on
+ * an item already on screen, so the database seeks straight to it through an index
+ * instead of skipping over every earlier row. Loading any page therefore costs the
+ * same no matter how deep into the history the user has scrolled.
+ * </p>
+ * <p>
+ * All methods are called on a background thread and return items in display order.
+ * </p>
+ *
+ * @param <T> The type of item being paged
+ * @author Electra Magus
+ * @version 1.0
+ */
+public interface KeysetPageSource<T> {
+    /**
+     * Loads the first page, starting from the top of the list.
+     *
+     * @param limit The maximum number of items to load
+     * @return Up to {@code limit} items in display order
+     */
+    List<T> loadFirst(int limit);
+
+    /**
+     * Loads the items that follow an anchor item in display order.
+     *
+     * @param last The last item currently loaded
+     * @param limit The maximum number of items to load
+     * @return Up to {@code limit} items following {@code last}, in display order
+     */
+    List<T> loadNext(T last, int limit);
+
+    /**
+     * Loads the items that precede an anchor item in display order.
+     * <p>
+     * Used to reload pages that were dropped from the top of the list to keep
+     * memory bounded.
+     * </p>
+     *
+     * @param first The first item currently loaded
+     * @param limit The maximum number of items to load
+     * @return Up to {@code limit} items preceding {@code first}, in display order
+     */
+    List<T> loadPrevious(T first, int limit);
+}
@@ -15,6 +15,10 @@ import com.dzovah.mesha.Database.Daos.PAlphaAccountDao;
 import com.dzovah.mesha.Database.Daos.BetaAccountDao;
 import com.dzovah.mesha.Database.Daos.PBetaAccountDao;
 import com.dzovah.mesha.Database.Daos.CategoryDao;
+import com.dzovah.mesha.Database.Daos.LedgerDao;
+import com.dzovah.mesha.Database.Daos.PLedgerDao;
+import com.dzovah.mesha.Database.Daos.RollupDao;
+import com.dzovah.mesha.Database.Daos.PRollupDao;
 import com.dzovah.mesha.Database.Daos.MeshansDao;
 import com.dzovah.mesha.Database.Daos.TransactionDao;
 import com.dzovah.mesha.Database.Daos.PTransactionDao;
@@ -26,10 +30,20 @@ import com.dzovah.mesha.Database.Entities.Category;
 import com.dzovah.mesha.Database.Entities.Transaction;
 import com.dzovah.mesha.Database.Entities.PTransaction;
 import com.dzovah.mesha.Database.Entities.Meshans;
+import com.dzovah.mesha.Database.Entities.DailyRollup;
+import com.dzovah.mesha.Database.Entities.MonthlyRollup;
+import com.dzovah.mesha.Database.Entities.PDailyRollup;
+import com.dzovah.mesha.Database.Entities.PMonthlyRollup;
+import com.dzovah.mesha.Database.Migrations.MeshaMigrations;
+import com.dzovah.mesha.Database.Services.LocalDayRebucketer;
+import com.dzovah.mesha.Database.Utils.AccountVersions;
+import com.dzovah.mesha.Database.Utils.LedgerChecksums;
+import com.dzovah.mesha.Database.Utils.LedgerTriggers;
+import com.dzovah.mesha.Database.Utils.MeteredExecutor;
+import com.dzovah.mesha.Database.Utils.RollupTriggers;
 import com.dzovah.mesha.Database.Utils.TransactionTypeConverter;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Arrays;
 
 /**
  * Main database configuration class for the Mesha financial management application.
@@ -44,8 +58,16 @@ import java.util.concurrent.Executors;
  * database being opened at the same time, which could lead to data inconsistencies.
  * </p>
  * <p>
+ * The database runs in write-ahead logging mode. Writes go through the single
+ * {@link #databaseWriteExecutor} and reads through the {@link #databaseReadExecutor}
+ * pool, so readers see the last committed state without waiting for a write in
+ * progress.
+ * </p>
+ * <p>
  * The class also manages database initialization, including the creation of default
- * transaction categories when the database is first created.
+ * transaction categories and the triggers from {@link LedgerTriggers},
+ * {@link RollupTriggers}, {@link LedgerChecksums} and {@link AccountVersions} when
+ * the database is first created.
  * </p>
  *
  * @author Electra Magus
@@ -60,9 +82,13 @@ import java.util.concurrent.Executors;
             PBetaAccount.class,
             PTransaction.class,
         Category.class,
-        Meshans.class
+        Meshans.class,
+        DailyRollup.class,
+        MonthlyRollup.class,
+            PDailyRollup.class,
+            PMonthlyRollup.class
     },
-    version = 1,
+    version = 9,
     exportSchema = true
 )
 @TypeConverters({TransactionTypeConverter.class})
@@ -137,6 +163,38 @@ public abstract class MeshaDatabase extends RoomDatabase {
      */
     public abstract MeshansDao meshansDao();
 
+    /**
+     * Abstract method to access the Ledger Data Access Object.
+     * Room automatically generates the implementation at compile time.
+     *
+     * @return The LedgerDao instance for atomic multi-row ledger writes
+     */
+    public abstract LedgerDao ledgerDao();
+
+    /**
+     * Abstract method to access the PLedger Data Access Object.
+     * Room automatically generates the implementation at compile time.
+     *
+     * @return The PLedgerDao instance for atomic multi-row ledger writes on the hidden vault
+     */
+    public abstract PLedgerDao PledgerDao();
+
+    /**
+     * Abstract method to access the Rollup Data Access Object.
+     * Room automatically generates the implementation at compile time.
+     *
+     * @return The RollupDao instance for daily and monthly period totals
+     */
+    public abstract RollupDao rollupDao();
+
+    /**
+     * Abstract method to access the PRollup Data Access Object.
+     * Room automatically generates the implementation at compile time.
+     *
+     * @return The PRollupDao instance for daily and monthly period totals on the hidden vault
+     */
+    public abstract PRollupDao ProllupDao();
+
     /**
      * Singleton instance of the database.
      * Volatile ensures visibility of changes across threads.
@@ -144,28 +202,51 @@ public abstract class MeshaDatabase extends RoomDatabase {
     private static volatile MeshaDatabase INSTANCE;
     
     /**
-     * ExecutorService for performing database operations asynchronously.
-     * Using a thread pool helps manage resources efficiently and avoids blocking the UI thread.
+     * Single-thread executor for database writes.
+     * SQLite admits one writer at a time anyway, so writes queue here in submission
+     * order instead of blocking pool threads on the database lock. Also used by Room
+     * as its transaction executor.
+     */
+    public static final MeteredExecutor databaseWriteExecutor = new MeteredExecutor("db-writer", 1);
+
+    /**
+     * Number of reader threads. With write-ahead logging each can hold its own
+     * connection and read alongside the writer.
+     */
+    private static final int NUMBER_OF_READERS =
+        Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Executor for database reads that a screen is waiting on.
+     * Kept apart from {@link #databaseWriteExecutor} so that a long write, such as a
+     * balance rebuild, never delays a screen from loading. Also used by Room as its
+     * query executor for observable queries.
      */
-    private static final int NUMBER_OF_THREADS = 4;
-    public static final ExecutorService databaseWriteExecutor =
-        Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+    public static final MeteredExecutor databaseReadExecutor = new MeteredExecutor("db-reader", NUMBER_OF_READERS);
 
     /**
      * Callback for database creation events.
      * This callback is triggered when the database is created for the first time,
-     * and is used to populate it with initial data like default categories.
+     * or rebuilt by a destructive migration, and is used to install the triggers and
+     * populate it with initial data like default categories.
      */
     private static final RoomDatabase.Callback roomCallback = new RoomDatabase.Callback() {
         /**
          * Called when the database is created for the first time.
-         * This method populates the database with default transaction categories.
+         * This method installs the balance and rollup triggers and populates the database
+         * with default transaction categories.
          *
          * @param db The newly created SupportSQLiteDatabase instance
          */
         @Override
         public void onCreate(@NonNull SupportSQLiteDatabase db) {
             super.onCreate(db);
+
+            // Balances, period rollups, checksums and account versions are maintained by triggers from the very first write
+            LedgerTriggers.create(db);
+            RollupTriggers.create(db);
+            LedgerChecksums.create(db);
+            AccountVersions.create(db);
             
             // Create default categories when the database is created
             databaseWriteExecutor.execute(() -> {
@@ -179,11 +260,8 @@ public abstract class MeshaDatabase extends RoomDatabase {
                     Category utilitiesCategory = new Category("Utilities", "Bills and utilities");
                     Category entertainmentCategory = new Category("Entertainment", "Leisure activities");
                     
-                    categoryDao.insert(generalCategory);
-                    categoryDao.insert(foodCategory);
-                    categoryDao.insert(transportCategory);
-                    categoryDao.insert(utilitiesCategory);
-                    categoryDao.insert(entertainmentCategory);
+                    categoryDao.insertAll(Arrays.asList(generalCategory, foodCategory,
+                            transportCategory, utilitiesCategory, entertainmentCategory));
                     
                     // Log success
                     Log.d("MeshaDatabase", "Default categories created successfully");
@@ -193,6 +271,25 @@ public abstract class MeshaDatabase extends RoomDatabase {
                 }
             });
         }
+
+        /**
+         * Called after Room has dropped and recreated every entity table, on a
+         * downgrade or when no migration path exists.
+         * <p>
+         * Room does not call {@link #onCreate} on this path, so without this the new
+         * tables would have no triggers and every later write would leave balances,
+         * rollups, checksums and account versions untouched. The rebuilt database is
+         * set up exactly like a new one; the trigger and table helpers all use
+         * {@code IF NOT EXISTS}.
+         * </p>
+         *
+         * @param db The rebuilt SupportSQLiteDatabase instance
+         */
+        @Override
+        public void onDestructiveMigration(@NonNull SupportSQLiteDatabase db) {
+            super.onDestructiveMigration(db);
+            onCreate(db);
+        }
     };
 
     /**
@@ -216,8 +313,15 @@ public abstract class MeshaDatabase extends RoomDatabase {
                         "Mesha_database"
                     )
                     .addCallback(roomCallback)
+                    .addMigrations(MeshaMigrations.ALL)
+                    .setJournalMode(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING)
+                    .setQueryExecutor(databaseReadExecutor)
+                    .setTransactionExecutor(databaseWriteExecutor)
                     .fallbackToDestructiveMigration() // Handles schema changes by recreating tables
                     .build();
+
+                    // Stored local days follow the time zone; catch up on any change while closed
+                    LocalDayRebucketer.get(context).checkZone();
                 }
             }
         }
@@ -0,0 +1,390 @@
+package com.dzovah.mesha.Database.Migrations;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.dzovah.mesha.Database.Utils.AccountVersions;
+import com.dzovah.mesha.Database.Utils.LedgerChecksums;
+import com.dzovah.mesha.Database.Utils.LedgerTriggers;
+import com.dzovah.mesha.Database.Utils.LocalDayBuckets;
+import com.dzovah.mesha.Database.Utils.RollupTriggers;
+
+import java.time.ZoneId;
+
+/**
+ * Schema migrations for the Mesha database.
+ * <p>
+ * Each migration upgrades an existing on-device database in place so that user data
+ * survives app updates. Migrations are registered with Room in
+ * {@link com.dzovah.mesha.Database.MeshaDatabase#Get_database}; Room runs them in
+ * sequence when it finds an older schema version on disk.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see com.dzovah.mesha.Database.MeshaDatabase
+ */
+public final class MeshaMigrations {
+
+    private MeshaMigrations() {
+        // Holder for migration constants, not meant to be instantiated
+    }
+
+    /**
+     * Version 1 to 2: installs the balance triggers.
+     * <p>
+     * Before this version balances were patched by hand from the dialogs and could
+     * drift from the transaction tables. The migration rebuilds every Beta balance
+     * from its transactions and every Alpha balance from its Beta accounts, then
+     * installs the triggers from {@link LedgerTriggers} so they stay in step from
+     * then on.
+     * </p>
+     */
+    public static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            rebuildBalances(db);
+
+            LedgerTriggers.create(db);
+        }
+    };
+
+    /**
+     * Version 2 to 3: stores amounts and balances as whole minor units (cents).
+     * <p>
+     * Amount and balance columns change from REAL to INTEGER so that sums and the
+     * balance triggers work in exact integer arithmetic. SQLite cannot change a
+     * column's type in place, so each ledger table is copied into a new table with
+     * the INTEGER column, converting every value with {@code ROUND(x * 100)}, and
+     * the new table replaces the old one. Parents are rebuilt before children; Room
+     * runs migrations before it switches foreign key enforcement on, so dropping a
+     * parent table does not cascade. The balance triggers are dropped first and
+     * recreated once all tables are in place, after the balances have been
+     * recomputed from the converted transaction amounts.
+     * </p>
+     */
+    public static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            LedgerTriggers.drop(db);
+
+            rebuildTable(db, "Alpha_accounts",
+                    "`Alpha_account_id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`Alpha_account_name` TEXT, `Alpha_account_icon` TEXT, " +
+                    "`Alpha_account_balance` INTEGER NOT NULL",
+                    "Alpha_account_id, Alpha_account_name, Alpha_account_icon",
+                    "Alpha_account_balance");
+            rebuildTable(db, "Beta_accounts",
+                    "`Beta_account_id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`Alpha_account_id` INTEGER NOT NULL, " +
+                    "`Beta_account_name` TEXT, `Beta_account_icon` TEXT, " +
+                    "`Beta_account_balance` INTEGER NOT NULL, " +
+                    "FOREIGN KEY(`Alpha_account_id`) REFERENCES `Alpha_accounts`(`Alpha_account_id`) " +
+                    "ON UPDATE NO ACTION ON DELETE CASCADE",
+                    "Beta_account_id, Alpha_account_id, Beta_account_name, Beta_account_icon",
+                    "Beta_account_balance");
+            rebuildTable(db, "Transactions",
+                    "`Transaction_id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`Alpha_account_id` INTEGER NOT NULL, `Beta_account_id` INTEGER NOT NULL, " +
+                    "`Category_id` INTEGER NOT NULL, `Transaction_description` TEXT, " +
+                    "`Transaction_amount` INTEGER NOT NULL, `Transaction_type` TEXT, " +
+                    "`Entry_time` INTEGER NOT NULL, " +
+                    "FOREIGN KEY(`Alpha_account_id`) REFERENCES `Alpha_accounts`(`Alpha_account_id`) " +
+                    "ON UPDATE NO ACTION ON DELETE CASCADE , " +
+                    "FOREIGN KEY(`Beta_account_id`) REFERENCES `Beta_accounts`(`Beta_account_id`) " +
+                    "ON UPDATE NO ACTION ON DELETE CASCADE , " +
+                    "FOREIGN KEY(`Category_id`) REFERENCES `Categories`(`Category_id`) " +
+                    "ON UPDATE NO ACTION ON DELETE CASCADE",
+                    "Transaction_id, Alpha_account_id, Beta_account_id, Category_id, " +
+                    "Transaction_description, Transaction_type, Entry_time",
+                    "Transaction_amount");
+            createIndices(db, "Transactions",
+                    "Alpha_account_id", "Beta_account_id", "Category_id", "Entry_time");
+
+            rebuildTable(db, "PAlpha_accounts",
+                    "`PAlpha_account_id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`PAlpha_account_name` TEXT, `PAlpha_account_icon` TEXT, " +
+                    "`PAlpha_account_balance` INTEGER NOT NULL",
+                    "PAlpha_account_id, PAlpha_account_name, PAlpha_account_icon",
+                    "PAlpha_account_balance");
+            rebuildTable(db, "PBeta_accounts",
+                    "`PBeta_account_id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`PAlpha_account_id` INTEGER NOT NULL, " +
+                    "`PBeta_account_name` TEXT, `PBeta_account_icon` TEXT, " +
+                    "`PBeta_account_balance` INTEGER NOT NULL, " +
+                    "FOREIGN KEY(`PAlpha_account_id`) REFERENCES `PAlpha_accounts`(`PAlpha_account_id`) " +
+                    "ON UPDATE NO ACTION ON DELETE CASCADE",
+                    "PBeta_account_id, PAlpha_account_id, PBeta_account_name, PBeta_account_icon",
+                    "PBeta_account_balance");
+            rebuildTable(db, "PTransactions",
+                    "`PTransaction_id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`PAlpha_account_id` INTEGER NOT NULL, `PBeta_account_id` INTEGER NOT NULL, " +
+                    "`Category_id` INTEGER NOT NULL, `PTransaction_description` TEXT, " +
+                    "`PTransaction_amount` INTEGER NOT NULL, `PTransaction_type` TEXT, " +
+                    "`PEntry_time` INTEGER NOT NULL, " +
+                    "FOREIGN KEY(`PAlpha_account_id`) REFERENCES `PAlpha_accounts`(`PAlpha_account_id`) " +
+                    "ON UPDATE NO ACTION ON DELETE CASCADE , " +
+                    "FOREIGN KEY(`PBeta_account_id`) REFERENCES `PBeta_accounts`(`PBeta_account_id`) " +
+                    "ON UPDATE NO ACTION ON DELETE CASCADE , " +
+                    "FOREIGN KEY(`Category_id`) REFERENCES `Categories`(`Category_id`) " +
+                    "ON UPDATE NO ACTION ON DELETE CASCADE",
+                    "PTransaction_id, PAlpha_account_id, PBeta_account_id, Category_id, " +
+                    "PTransaction_description, PTransaction_type, PEntry_time",
+                    "PTransaction_amount");
+            createIndices(db, "PTransactions",
+                    "PAlpha_account_id", "PBeta_account_id", "Category_id", "PEntry_time");
+
+            // Balances accumulated in floating point may be off by a fraction of a cent
+            // from the rounded transactions, so derive them again from the exact amounts
+            rebuildBalances(db);
+            LedgerTriggers.create(db);
+        }
+    };
+
+    /**
+     * Version 3 to 4: replaces the single-column ledger indices with composite ones.
+     * <p>
+     * The foreign key indices on the transaction tables become
+     * {@code (account or category, entry time)} pairs, so a query that filters on an
+     * account and a time range, or lists an account's history newest first, is served
+     * by one index for both the filter and the sort. The leading column still serves
+     * the foreign key itself. The Beta account tables gain the index on their Alpha
+     * account foreign key that they were missing, which turns listing an Alpha's
+     * children and the cascade on Alpha deletes into index seeks.
+     * </p>
+     */
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            for (String column : new String[]{"Alpha_account_id", "Beta_account_id", "Category_id"}) {
+                db.execSQL("DROP INDEX IF EXISTS `index_Transactions_" + column + "`");
+            }
+            createIndex(db, "Transactions", "Alpha_account_id", "Entry_time");
+            createIndex(db, "Transactions", "Beta_account_id", "Entry_time");
+            createIndex(db, "Transactions", "Category_id", "Entry_time");
+            createIndex(db, "Beta_accounts", "Alpha_account_id");
+
+            for (String column : new String[]{"PAlpha_account_id", "PBeta_account_id", "Category_id"}) {
+                db.execSQL("DROP INDEX IF EXISTS `index_PTransactions_" + column + "`");
+            }
+            createIndex(db, "PTransactions", "PAlpha_account_id", "PEntry_time");
+            createIndex(db, "PTransactions", "PBeta_account_id", "PEntry_time");
+            createIndex(db, "PTransactions", "Category_id", "PEntry_time");
+            createIndex(db, "PBeta_accounts", "PAlpha_account_id");
+        }
+    };
+
+    /**
+     * Version 4 to 5: lets bulk writers suspend the per-transaction balance triggers.
+     * <p>
+     * Reinstalls the triggers from {@link LedgerTriggers} with a condition on the
+     * {@link LedgerTriggers#BULK_MODE_TABLE} flag table, which is created alongside.
+     * Balances are unaffected.
+     * </p>
+     */
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            LedgerTriggers.drop(db);
+            LedgerTriggers.create(db);
+        }
+    };
+
+    /**
+     * Version 5 to 6: adds the daily and monthly rollup tables.
+     * <p>
+     * Creates {@code Daily_rollups} and {@code Monthly_rollups} and their hidden
+     * vault twins, fills them from the existing transactions, and installs the
+     * triggers from {@link RollupTriggers} that keep them current from then on.
+     * </p>
+     */
+    public static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            createRollupTable(db, "Daily_rollups", "Day", "Beta_account_id", "Alpha_account_id", "Beta_accounts");
+            createRollupTable(db, "Monthly_rollups", "Month", "Beta_account_id", "Alpha_account_id", "Beta_accounts");
+            createRollupTable(db, "PDaily_rollups", "Day", "PBeta_account_id", "PAlpha_account_id", "PBeta_accounts");
+            createRollupTable(db, "PMonthly_rollups", "Month", "PBeta_account_id", "PAlpha_account_id", "PBeta_accounts");
+
+            RollupTriggers.rebuild(db);
+            RollupTriggers.create(db);
+        }
+    };
+
+    /**
+     * Version 6 to 7: stores each transaction's local day and month.
+     * <p>
+     * Adds {@code Local_day} and {@code Local_month} to {@code Transactions}, and
+     * {@code PLocal_day} and {@code PLocal_month} to {@code PTransactions}, with
+     * their indices. The columns are filled in the current time zone by
+     * {@link LocalDayBuckets#rebucket}. The rollup triggers are reinstalled to key on
+     * the new columns instead of converting the entry time with SQLite's
+     * {@code localtime}, which follows the zone of the native process rather than
+     * the one Java sees, and the rollups are rebuilt from the stored days so both
+     * agree from the start.
+     * </p>
+     */
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            RollupTriggers.drop(db);
+
+            for (String p : new String[]{"", "P"}) {
+                db.execSQL("ALTER TABLE `" + p + "Transactions` ADD COLUMN `" + p + "Local_day` INTEGER NOT NULL DEFAULT 0");
+                db.execSQL("ALTER TABLE `" + p + "Transactions` ADD COLUMN `" + p + "Local_month` INTEGER NOT NULL DEFAULT 0");
+                createIndex(db, p + "Transactions", p + "Local_day", p + "Entry_time");
+                createIndex(db, p + "Transactions", p + "Local_month");
+            }
+
+            LocalDayBuckets.rebucket(db, ZoneId.systemDefault());
+            RollupTriggers.rebuild(db);
+            RollupTriggers.create(db);
+        }
+    };
+
+    /**
+     * Version 7 to 8: adds the per-account ledger checksums.
+     * <p>
+     * Creates {@code Ledger_checksums} and {@code PLedger_checksums} with their
+     * triggers and fills them from the existing transactions, each row marked as
+     * never verified so the first runs of
+     * {@link com.dzovah.mesha.Database.Services.LedgerVerifier} work through every
+     * account.
+     * </p>
+     */
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            LedgerChecksums.create(db);
+            LedgerChecksums.rebuild(db);
+        }
+    };
+
+    /**
+     * Version 8 to 9: adds the per-vault account change counters.
+     * <p>
+     * Creates {@code Account_versions} with its triggers from {@link AccountVersions},
+     * both counters starting at zero. Nothing is backfilled: the account tree cache
+     * loads in full on start and only compares counters from then on.
+     * </p>
+     */
+    public static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            AccountVersions.create(db);
+        }
+    };
+
+    /**
+     * All migrations in version order, for registration with the Room builder.
+     */
+    public static final Migration[] ALL = {
+        MIGRATION_1_2,
+        MIGRATION_2_3,
+        MIGRATION_3_4,
+        MIGRATION_4_5,
+        MIGRATION_5_6,
+        MIGRATION_6_7,
+        MIGRATION_7_8,
+        MIGRATION_8_9
+    };
+
+    /**
+     * Replaces a table with a copy whose money column holds INTEGER minor units.
+     *
+     * @param db The database being migrated
+     * @param table The table to rebuild
+     * @param columnDefs The column and constraint definitions of the new table
+     * @param copiedColumns The columns copied across unchanged, comma separated
+     * @param moneyColumn The REAL column converted to minor units
+     */
+    private static void rebuildTable(SupportSQLiteDatabase db, String table, String columnDefs,
+                                     String copiedColumns, String moneyColumn) {
+        String newTable = table + "_new";
+        db.execSQL("CREATE TABLE `" + newTable + "` (" + columnDefs + ")");
+        db.execSQL("INSERT INTO `" + newTable + "` (" + copiedColumns + ", " + moneyColumn + ") " +
+                "SELECT " + copiedColumns + ", CAST(ROUND(" + moneyColumn + " * 100) AS INTEGER) " +
+                "FROM `" + table + "`");
+        db.execSQL("DROP TABLE `" + table + "`");
+        db.execSQL("ALTER TABLE `" + newTable + "` RENAME TO `" + table + "`");
+    }
+
+    /**
+     * Recreates the single-column indices Room declares for a rebuilt table.
+     *
+     * @param db The database being migrated
+     * @param table The table to index
+     * @param columns The indexed columns
+     */
+    private static void createIndices(SupportSQLiteDatabase db, String table, String... columns) {
+        for (String column : columns) {
+            createIndex(db, table, column);
+        }
+    }
+
+    /**
+     * Creates an index using Room's naming scheme, {@code index_<table>_<columns>}.
+     *
+     * @param db The database being migrated
+     * @param table The table to index
+     * @param columns The indexed columns, in key order
+     */
+    private static void createIndex(SupportSQLiteDatabase db, String table, String... columns) {
+        StringBuilder name = new StringBuilder("index_").append(table);
+        StringBuilder keys = new StringBuilder();
+        for (String column : columns) {
+            name.append('_').append(column);
+            if (keys.length() > 0) keys.append(", ");
+            keys.append('`').append(column).append('`');
+        }
+        db.execSQL("CREATE INDEX IF NOT EXISTS `" + name + "` ON `" + table + "` (" + keys + ")");
+    }
+
+    /**
+     * Creates a rollup table and its indices as Room declares them.
+     *
+     * @param db The database being migrated
+     * @param table The rollup table to create
+     * @param periodColumn {@code Day} or {@code Month}
+     * @param betaIdColumn The Beta account ID column, also the foreign key
+     * @param alphaIdColumn The Alpha account ID column
+     * @param betaTable The Beta account table the foreign key references
+     */
+    private static void createRollupTable(SupportSQLiteDatabase db, String table, String periodColumn,
+                                          String betaIdColumn, String alphaIdColumn, String betaTable) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS `" + table + "` (" +
+                "`" + betaIdColumn + "` INTEGER NOT NULL, `" + periodColumn + "` INTEGER NOT NULL, " +
+                "`Category_id` INTEGER NOT NULL, `" + alphaIdColumn + "` INTEGER NOT NULL, " +
+                "`Credit_total` INTEGER NOT NULL, `Debit_total` INTEGER NOT NULL, " +
+                "`Credit_count` INTEGER NOT NULL, `Debit_count` INTEGER NOT NULL, " +
+                "PRIMARY KEY(`" + betaIdColumn + "`, `" + periodColumn + "`, `Category_id`), " +
+                "FOREIGN KEY(`" + betaIdColumn + "`) REFERENCES `" + betaTable + "`(`" + betaIdColumn + "`) " +
+                "ON UPDATE NO ACTION ON DELETE CASCADE )");
+        createIndex(db, table, alphaIdColumn, periodColumn);
+        createIndex(db, table, "Category_id", periodColumn);
+        createIndex(db, table, periodColumn);
+    }
+
+    /**
+     * Recomputes every Beta balance from its transactions and every Alpha balance
+     * from its Beta accounts, in both vaults.
+     *
+     * @param db The database being migrated
+     */
+    private static void rebuildBalances(SupportSQLiteDatabase db) {
+        db.execSQL("UPDATE Beta_accounts SET Beta_account_balance = " +
+                "(SELECT COALESCE(SUM(CASE WHEN Transaction_type = 'CREDIT' THEN Transaction_amount ELSE -Transaction_amount END), 0) " +
+                "FROM Transactions WHERE Transactions.Beta_account_id = Beta_accounts.Beta_account_id)");
+        db.execSQL("UPDATE Alpha_accounts SET Alpha_account_balance = " +
+                "(SELECT COALESCE(SUM(Beta_account_balance), 0) FROM Beta_accounts " +
+                "WHERE Beta_accounts.Alpha_account_id = Alpha_accounts.Alpha_account_id)");
+
+        db.execSQL("UPDATE PBeta_accounts SET PBeta_account_balance = " +
+                "(SELECT COALESCE(SUM(CASE WHEN PTransaction_type = 'CREDIT' THEN PTransaction_amount ELSE -PTransaction_amount END), 0) " +
+                "FROM PTransactions WHERE PTransactions.PBeta_account_id = PBeta_accounts.PBeta_account_id)");
+        db.execSQL("UPDATE PAlpha_accounts SET PAlpha_account_balance = " +
+                "(SELECT COALESCE(SUM(PBeta_account_balance), 0) FROM PBeta_accounts " +
+                "WHERE PBeta_accounts.PAlpha_account_id = PAlpha_accounts.PAlpha_account_id)");
+    }
+}
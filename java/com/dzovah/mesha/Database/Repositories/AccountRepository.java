@@ -0,0 +1,161 @@
+package com.dzovah.mesha.Database.Repositories;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+
+import com.dzovah.mesha.Database.Entities.AlphaAccount;
+import com.dzovah.mesha.Database.Entities.BetaAccount;
+import com.dzovah.mesha.Database.Entities.Transaction;
+import com.dzovah.mesha.Database.MeshaDatabase;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository that hands out the observed account and transaction queries of the main vault.
+ * <p>
+ * Each query is created once per process and per account ID and then shared by every
+ * screen and ViewModel that asks for it. A Room LiveData keeps the last rows it loaded
+ * and only queries again after one of its tables has been written, so a screen that
+ * is recreated, or a second screen showing the same account tree, receives the cached
+ * rows immediately and costs the database nothing.
+ * </p>
+ * <p>
+ * The repository holds no reference to any activity. All methods may be called from
+ * any thread, though the returned LiveData is normally observed on the main thread.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see PAccountRepository
+ */
+public class AccountRepository {
+
+    private static volatile AccountRepository INSTANCE;
+
+    private final MeshaDatabase database;
+
+    private LiveData<List<AlphaAccount>> alphaAccounts;
+    private LiveData<Long> totalBalance;
+    private final Map<Integer, LiveData<AlphaAccount>> alphaAccountsById = new HashMap<>();
+    private final Map<Integer, LiveData<List<BetaAccount>>> betaAccountsByAlphaId = new HashMap<>();
+    private final Map<Integer, LiveData<BetaAccount>> betaAccountsById = new HashMap<>();
+    private final Map<Integer, LiveData<List<Transaction>>> transactionsByBetaId = new HashMap<>();
+
+    private AccountRepository(MeshaDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Gets the process-wide repository.
+     *
+     * @param context Any context; the application context is used
+     * @return The repository for the app database
+     */
+    public static AccountRepository get(@NonNull Context context) {
+        if (INSTANCE == null) {
+            synchronized (AccountRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new AccountRepository(MeshaDatabase.Get_database(context));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the database the repository reads from, for screens that still write directly.
+     *
+     * @return The app database
+     */
+    public MeshaDatabase getDatabase() {
+        return database;
+    }
+
+    /**
+     * Observes all AlphaAccounts, ordered by name.
+     *
+     * @return The shared LiveData of the account list
+     */
+    public synchronized LiveData<List<AlphaAccount>> getAlphaAccounts() {
+        if (alphaAccounts == null) {
+            alphaAccounts = database.alphaAccountDao().observeAllAlphaAccounts();
+        }
+        return alphaAccounts;
+    }
+
+    /**
+     * Observes the combined balance of all AlphaAccounts.
+     *
+     * @return The shared LiveData of the total balance in minor units
+     */
+    public synchronized LiveData<Long> getTotalBalance() {
+        if (totalBalance == null) {
+            totalBalance = database.alphaAccountDao().observeTotalAlphaAccountsBalance();
+        }
+        return totalBalance;
+    }
+
+    /**
+     * Observes one AlphaAccount.
+     *
+     * @param alphaAccountId The ID of the AlphaAccount
+     * @return The shared LiveData of the account, which emits null once it is deleted
+     */
+    public synchronized LiveData<AlphaAccount> getAlphaAccount(int alphaAccountId) {
+        LiveData<AlphaAccount> account = alphaAccountsById.get(alphaAccountId);
+        if (account == null) {
+            account = database.alphaAccountDao().observeAlphaAccountById(alphaAccountId);
+            alphaAccountsById.put(alphaAccountId, account);
+        }
+        return account;
+    }
+
+    /**
+     * Observes the BetaAccounts of one AlphaAccount.
+     *
+     * @param alphaAccountId The ID of the parent AlphaAccount
+     * @return The shared LiveData of the BetaAccount list
+     */
+    public synchronized LiveData<List<BetaAccount>> getBetaAccounts(int alphaAccountId) {
+        LiveData<List<BetaAccount>> accounts = betaAccountsByAlphaId.get(alphaAccountId);
+        if (accounts == null) {
+            accounts = database.betaAccountDao().observeBetaAccountsByAlphaAccountId(alphaAccountId);
+            betaAccountsByAlphaId.put(alphaAccountId, accounts);
+        }
+        return accounts;
+    }
+
+    /**
+     * Observes one BetaAccount.
+     *
+     * @param betaAccountId The ID of the BetaAccount
+     * @return The shared LiveData of the account, which emits null once it is deleted
+     */
+    public synchronized LiveData<BetaAccount> getBetaAccount(int betaAccountId) {
+        LiveData<BetaAccount> account = betaAccountsById.get(betaAccountId);
+        if (account == null) {
+            account = database.betaAccountDao().observeBetaAccountById(betaAccountId);
+            betaAccountsById.put(betaAccountId, account);
+        }
+        return account;
+    }
+
+    /**
+     * Observes the transactions of one BetaAccount, newest first.
+     *
+     * @param betaAccountId The ID of the BetaAccount
+     * @return The shared LiveData of the transaction list
+     */
+    public synchronized LiveData<List<Transaction>> getTransactions(int betaAccountId) {
+        LiveData<List<Transaction>> transactions = transactionsByBetaId.get(betaAccountId);
+        if (transactions == null) {
+            transactions = database.transactionDao().observeTransactionsByBetaAccountId(betaAccountId);
+            transactionsByBetaId.put(betaAccountId, transactions);
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,570 @@
+package com.dzovah.mesha.Database.Repositories;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.InvalidationTracker;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.dzovah.mesha.Database.Entities.AlphaAccount;
+import com.dzovah.mesha.Database.Entities.BetaAccount;
+import com.dzovah.mesha.Database.Entities.PAlphaAccount;
+import com.dzovah.mesha.Database.Entities.PBetaAccount;
+import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Utils.AccountVersions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Process-wide, in-memory copy of one vault's account hierarchy.
+ * <p>
+ * Holds every Alpha and Beta account of the vault in int-keyed maps, together with
+ * the Alpha-to-Beta and Beta-to-Alpha links, so code that needs an account by ID, such
+ * as a dialog looking up a balance or an Alpha account name, reads memory instead of
+ * querying the database. The maps live in an immutable snapshot published through a
+ * volatile field: readers never lock, and a reload builds a complete new snapshot
+ * and swaps it in, so a reader always sees one consistent tree.
+ * </p>
+ * <p>
+ * The snapshot is loaded once when the cache is first requested. Each snapshot
+ * records the vault's {@link AccountVersions} counter it is current with, and after
+ * that it is kept up to date in two ways:
+ * <ul>
+ *   <li>{@link com.dzovah.mesha.Database.Services.LedgerWriteCoalescer} reports the
+ *       Beta accounts each commit touched through {@link #beginUpdate} and
+ *       {@link #finishUpdate}. Only those accounts and their Alpha accounts are
+ *       re-read by primary key, and a new snapshot that shares every other entry
+ *       with the old one is published before the writer reports back, so a caller
+ *       reads its own balance changes</li>
+ *   <li>When Room's invalidation tracker reports a write to the vault's account
+ *       tables, the counter is read on the read executor. If it still matches the
+ *       snapshot, the write was one already applied above and nothing more is done;
+ *       otherwise, as after an account is created, edited or deleted, the snapshot is
+ *       rebuilt in full</li>
+ * </ul>
+ * Lookups return null for an ID that is not (yet) in the snapshot; callers then fall
+ * back to the DAO.
+ * </p>
+ * <p>
+ * The accounts handed out are shared by every reader and must not be modified.
+ * </p>
+ *
+ * @param <A> The Alpha account entity of the vault
+ * @param <B> The Beta account entity of the vault
+ * @author Electra Magus
+ * @version 1.0
+ * @see AccountRepository
+ */
+public final class AccountTreeCache<A, B> {
+    private static final String TAG = "AccountTreeCache";
+
+    private static volatile AccountTreeCache<AlphaAccount, BetaAccount> INSTANCE;
+    private static volatile AccountTreeCache<PAlphaAccount, PBetaAccount> P_INSTANCE;
+
+    private final MeshaDatabase database;
+    private final Vault<A, B> vault;
+    private final AtomicBoolean reloadQueued = new AtomicBoolean();
+    /** Coalescer commits between {@link #beginUpdate} and their finish, guarded by this */
+    private int updatesInFlight;
+    /** Whether an invalidation arrived while an update was in flight, guarded by this */
+    private boolean checkDeferred;
+    private volatile Snapshot<A, B> snapshot = new Snapshot<>(
+            new SparseArray<>(), new SparseArray<>(), new SparseArray<>(), new SparseIntArray(), false, -1);
+
+    /**
+     * The per-vault queries and keys the cache needs, so one class serves both vaults.
+     *
+     * @param <A> The Alpha account entity of the vault
+     * @param <B> The Beta account entity of the vault
+     */
+    private interface Vault<A, B> {
+        boolean hidden();
+
+        String[] tables();
+
+        List<A> loadAlphas(MeshaDatabase database);
+
+        List<B> loadBetas(MeshaDatabase database);
+
+        A loadAlpha(MeshaDatabase database, int alphaAccountId);
+
+        B loadBeta(MeshaDatabase database, int betaAccountId);
+
+        int alphaId(A alpha);
+
+        int betaId(B beta);
+
+        int alphaIdOf(B beta);
+    }
+
+    /**
+     * An immutable view of the hierarchy. Never modified after it is published.
+     */
+    private static final class Snapshot<A, B> {
+        final SparseArray<A> alphas;
+        final SparseArray<B> betas;
+        final SparseArray<int[]> betaIdsByAlpha;
+        final SparseIntArray alphaIdByBeta;
+        final boolean loaded;
+        /** The {@link AccountVersions} counter the maps are known to be current with */
+        final long version;
+
+        Snapshot(SparseArray<A> alphas, SparseArray<B> betas,
+                 SparseArray<int[]> betaIdsByAlpha, SparseIntArray alphaIdByBeta, boolean loaded, long version) {
+            this.alphas = alphas;
+            this.betas = betas;
+            this.betaIdsByAlpha = betaIdsByAlpha;
+            this.alphaIdByBeta = alphaIdByBeta;
+            this.loaded = loaded;
+            this.version = version;
+        }
+    }
+
+    private AccountTreeCache(MeshaDatabase database, Vault<A, B> vault) {
+        this.database = database;
+        this.vault = vault;
+    }
+
+    /**
+     * Gets the cache of the normal vault, starting its first load if needed.
+     *
+     * @param context Any context; the application context is used
+     * @return The account tree cache of the normal vault
+     */
+    public static AccountTreeCache<AlphaAccount, BetaAccount> get(@NonNull Context context) {
+        if (INSTANCE == null) {
+            synchronized (AccountTreeCache.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new AccountTreeCache<>(MeshaDatabase.Get_database(context),
+                            new Vault<AlphaAccount, BetaAccount>() {
+                        @Override
+                        public boolean hidden() {
+                            return false;
+                        }
+
+                        @Override
+                        public String[] tables() {
+                            return new String[]{"Alpha_accounts", "Beta_accounts"};
+                        }
+
+                        @Override
+                        public List<AlphaAccount> loadAlphas(MeshaDatabase database) {
+                            return database.alphaAccountDao().getAllAlphaAccounts();
+                        }
+
+                        @Override
+                        public List<BetaAccount> loadBetas(MeshaDatabase database) {
+                            return database.betaAccountDao().getAllBetaAccounts();
+                        }
+
+                        @Override
+                        public AlphaAccount loadAlpha(MeshaDatabase database, int alphaAccountId) {
+                            return database.alphaAccountDao().getAlphaAccountById(alphaAccountId);
+                        }
+
+                        @Override
+                        public BetaAccount loadBeta(MeshaDatabase database, int betaAccountId) {
+                            return database.betaAccountDao().getBetaAccountById(betaAccountId);
+                        }
+
+                        @Override
+                        public int alphaId(AlphaAccount alpha) {
+                            return alpha.getAlphaAccountId();
+                        }
+
+                        @Override
+                        public int betaId(BetaAccount beta) {
+                            return beta.getBetaAccountId();
+                        }
+
+                        @Override
+                        public int alphaIdOf(BetaAccount beta) {
+                            return beta.getAlphaAccountId();
+                        }
+                    });
+                    INSTANCE.start();
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the cache of the hidden vault, starting its first load if needed.
+     *
+     * @param context Any context; the application context is used
+     * @return The account tree cache of the hidden vault
+     */
+    public static AccountTreeCache<PAlphaAccount, PBetaAccount> getP(@NonNull Context context) {
+        if (P_INSTANCE == null) {
+            synchronized (AccountTreeCache.class) {
+                if (P_INSTANCE == null) {
+                    P_INSTANCE = new AccountTreeCache<>(MeshaDatabase.Get_database(context),
+                            new Vault<PAlphaAccount, PBetaAccount>() {
+                        @Override
+                        public boolean hidden() {
+                            return true;
+                        }
+
+                        @Override
+                        public String[] tables() {
+                            return new String[]{"PAlpha_accounts", "PBeta_accounts"};
+                        }
+
+                        @Override
+                        public List<PAlphaAccount> loadAlphas(MeshaDatabase database) {
+                            return database.PalphaAccountDao().getAllPAlphaAccounts();
+                        }
+
+                        @Override
+                        public List<PBetaAccount> loadBetas(MeshaDatabase database) {
+                            return database.PbetaAccountDao().getAllPBetaAccounts();
+                        }
+
+                        @Override
+                        public PAlphaAccount loadAlpha(MeshaDatabase database, int alphaAccountId) {
+                            return database.PalphaAccountDao().getPAlphaAccountById(alphaAccountId);
+                        }
+
+                        @Override
+                        public PBetaAccount loadBeta(MeshaDatabase database, int betaAccountId) {
+                            return database.PbetaAccountDao().getPBetaAccountById(betaAccountId);
+                        }
+
+                        @Override
+                        public int alphaId(PAlphaAccount alpha) {
+                            return alpha.getPAlphaAccountId();
+                        }
+
+                        @Override
+                        public int betaId(PBetaAccount beta) {
+                            return beta.getPBetaAccountId();
+                        }
+
+                        @Override
+                        public int alphaIdOf(PBetaAccount beta) {
+                            return beta.getPAlphaAccountId();
+                        }
+                    });
+                    P_INSTANCE.start();
+                }
+            }
+        }
+        return P_INSTANCE;
+    }
+
+    /**
+     * Registers for invalidations and queues the first load.
+     */
+    private void start() {
+        MeshaDatabase.databaseReadExecutor.execute(() -> {
+            database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer(vault.tables()) {
+                @Override
+                public void onInvalidated(@NonNull Set<String> tables) {
+                    queueReload();
+                }
+            });
+            queueReload();
+        });
+    }
+
+    /**
+     * Queues a check on the read executor that rebuilds the snapshot if the
+     * account tables changed since it was built. Invalidations that arrive while one
+     * is queued share it.
+     */
+    private void queueReload() {
+        if (reloadQueued.compareAndSet(false, true)) {
+            MeshaDatabase.databaseReadExecutor.execute(() -> {
+                reloadQueued.set(false);
+                reloadIfChanged();
+            });
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot unless the vault's counter still matches it.
+     * <p>
+     * While a coalescer commit is between {@link #beginUpdate} and its finish, the
+     * check is left to the finish instead, which may be about to bring the snapshot
+     * up to the counter.
+     * </p>
+     */
+    private void reloadIfChanged() {
+        synchronized (this) {
+            if (updatesInFlight > 0) {
+                checkDeferred = true;
+                return;
+            }
+        }
+        try {
+            if (AccountVersions.read(openDatabase(), vault.hidden()) == snapshot.version) {
+                return;
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error reading account version", e);
+        }
+        reload();
+    }
+
+    /**
+     * Rebuilds the snapshot from the database and publishes it. Blocks while the two
+     * account tables are read; call from a background thread.
+     * <p>
+     * The vault's counter is read before the tables, so the rows read are at least as
+     * new as the version recorded. A snapshot is only published if its version is not
+     * older than the current one, so an older read never replaces a newer one.
+     * </p>
+     */
+    public void reload() {
+        try {
+            long version = AccountVersions.read(openDatabase(), vault.hidden());
+            List<A> alphaList = vault.loadAlphas(database);
+            List<B> betaList = vault.loadBetas(database);
+
+            SparseArray<A> alphas = new SparseArray<>(alphaList.size());
+            for (A alpha : alphaList) {
+                alphas.put(vault.alphaId(alpha), alpha);
+            }
+
+            SparseArray<B> betas = new SparseArray<>(betaList.size());
+            SparseIntArray alphaIdByBeta = new SparseIntArray(betaList.size());
+            SparseIntArray childCounts = new SparseIntArray(alphaList.size());
+            for (B beta : betaList) {
+                int betaId = vault.betaId(beta);
+                int alphaId = vault.alphaIdOf(beta);
+                betas.put(betaId, beta);
+                alphaIdByBeta.put(betaId, alphaId);
+                childCounts.put(alphaId, childCounts.get(alphaId) + 1);
+            }
+
+            SparseArray<int[]> betaIdsByAlpha = new SparseArray<>(childCounts.size());
+            for (int i = 0; i < childCounts.size(); i++) {
+                betaIdsByAlpha.put(childCounts.keyAt(i), new int[childCounts.valueAt(i)]);
+            }
+            SparseIntArray filled = new SparseIntArray(childCounts.size());
+            for (B beta : betaList) {
+                int alphaId = vault.alphaIdOf(beta);
+                int index = filled.get(alphaId);
+                betaIdsByAlpha.get(alphaId)[index] = vault.betaId(beta);
+                filled.put(alphaId, index + 1);
+            }
+
+            synchronized (this) {
+                if (version >= snapshot.version) {
+                    snapshot = new Snapshot<>(alphas, betas, betaIdsByAlpha, alphaIdByBeta, true, version);
+                }
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error loading account tree", e);
+        }
+    }
+
+    /**
+     * Marks the start of a commit whose touched accounts will be reported through
+     * {@link #finishUpdate} or {@link #cancelUpdate}. Called on the writer thread
+     * before the commit's transaction begins, so the invalidation it raises waits
+     * for the finish.
+     */
+    public void beginUpdate() {
+        synchronized (this) {
+            updatesInFlight++;
+        }
+    }
+
+    /**
+     * Applies a committed write to the snapshot. Call on the writer thread after the
+     * commit, once for every {@link #beginUpdate}.
+     * <p>
+     * The given Beta accounts and their Alpha accounts are re-read by primary key
+     * and replace their entries in a copy of the snapshot; every other entry is
+     * shared. The copy takes {@code toVersion} only if the snapshot was at
+     * {@code fromVersion}, that is, if the commit made every account change since.
+     * Otherwise, or if a Beta account is gone or has moved to another Alpha account,
+     * the snapshot keeps its version and the pending invalidation rebuilds it in full.
+     * </p>
+     *
+     * @param betaAccountIds The Beta accounts the commit wrote to; repeats are allowed
+     * @param fromVersion The vault's counter when the commit's transaction began
+     * @param toVersion The vault's counter when the commit's transaction ended
+     */
+    public void finishUpdate(@NonNull int[] betaAccountIds, long fromVersion, long toVersion) {
+        try {
+            applyUpdate(betaAccountIds, fromVersion, toVersion);
+        } catch (Exception e) {
+            Log.e(TAG, "Error updating account tree", e);
+        } finally {
+            endUpdate();
+        }
+    }
+
+    /**
+     * Ends an update whose commit rolled back, or whose accounts are unknown, and
+     * leaves the snapshot to the invalidation check.
+     */
+    public void cancelUpdate() {
+        endUpdate();
+    }
+
+    private void applyUpdate(int[] betaAccountIds, long fromVersion, long toVersion) {
+        if (snapshot.version >= toVersion) {
+            // A reload that started after the commit already holds it
+            return;
+        }
+        List<B> betas = new ArrayList<>(betaAccountIds.length);
+        SparseArray<A> alphas = new SparseArray<>(betaAccountIds.length);
+        for (int betaAccountId : betaAccountIds) {
+            B beta = vault.loadBeta(database, betaAccountId);
+            if (beta == null) {
+                return;
+            }
+            betas.add(beta);
+            int alphaAccountId = vault.alphaIdOf(beta);
+            if (alphas.indexOfKey(alphaAccountId) < 0) {
+                A alpha = vault.loadAlpha(database, alphaAccountId);
+                if (alpha == null) {
+                    return;
+                }
+                alphas.put(alphaAccountId, alpha);
+            }
+        }
+
+        synchronized (this) {
+            Snapshot<A, B> current = snapshot;
+            if (current.version >= toVersion) {
+                return;
+            }
+            for (B beta : betas) {
+                if (current.alphaIdByBeta.get(vault.betaId(beta), -1) != vault.alphaIdOf(beta)) {
+                    return;
+                }
+            }
+            SparseArray<A> nextAlphas = current.alphas.clone();
+            for (int i = 0; i < alphas.size(); i++) {
+                nextAlphas.put(alphas.keyAt(i), alphas.valueAt(i));
+            }
+            SparseArray<B> nextBetas = current.betas.clone();
+            for (B beta : betas) {
+                nextBetas.put(vault.betaId(beta), beta);
+            }
+            snapshot = new Snapshot<>(nextAlphas, nextBetas, current.betaIdsByAlpha, current.alphaIdByBeta,
+                    current.loaded, current.version == fromVersion ? toVersion : current.version);
+        }
+    }
+
+    /**
+     * Closes an update and runs the invalidation check it held back, if any.
+     */
+    private void endUpdate() {
+        boolean check;
+        synchronized (this) {
+            updatesInFlight--;
+            check = updatesInFlight == 0 && checkDeferred;
+            if (check) {
+                checkDeferred = false;
+            }
+        }
+        if (check) {
+            queueReload();
+        }
+    }
+
+    private SupportSQLiteDatabase openDatabase() {
+        return database.getOpenHelper().getWritableDatabase();
+    }
+
+    /**
+     * Tells whether the first load has completed.
+     *
+     * @return True once the snapshot reflects the database
+     */
+    public boolean isLoaded() {
+        return snapshot.loaded;
+    }
+
+    /**
+     * Gets an Alpha account by ID.
+     *
+     * @param alphaAccountId The ID of the Alpha account
+     * @return The account, or null if it is not in the snapshot
+     */
+    @Nullable
+    public A getAlpha(int alphaAccountId) {
+        return snapshot.alphas.get(alphaAccountId);
+    }
+
+    /**
+     * Gets a Beta account by ID.
+     *
+     * @param betaAccountId The ID of the Beta account
+     * @return The account, or null if it is not in the snapshot
+     */
+    @Nullable
+    public B getBeta(int betaAccountId) {
+        return snapshot.betas.get(betaAccountId);
+    }
+
+    /**
+     * Gets an Alpha account by ID, reading the database if the snapshot does not hold it.
+     * Call from a background thread.
+     *
+     * @param alphaAccountId The ID of the Alpha account
+     * @return The account, or null if it does not exist
+     */
+    @Nullable
+    public A findAlpha(int alphaAccountId) {
+        A alpha = getAlpha(alphaAccountId);
+        return alpha != null ? alpha : vault.loadAlpha(database, alphaAccountId);
+    }
+
+    /**
+     * Gets a Beta account by ID, reading the database if the snapshot does not hold it.
+     * Call from a background thread.
+     *
+     * @param betaAccountId The ID of the Beta account
+     * @return The account, or null if it does not exist
+     */
+    @Nullable
+    public B findBeta(int betaAccountId) {
+        B beta = getBeta(betaAccountId);
+        return beta != null ? beta : vault.loadBeta(database, betaAccountId);
+    }
+
+    /**
+     * Gets the ID of the Alpha account a Beta account belongs to.
+     *
+     * @param betaAccountId The ID of the Beta account
+     * @return The parent Alpha account ID, or -1 if the Beta account is not in the snapshot
+     */
+    public int getAlphaIdOf(int betaAccountId) {
+        return snapshot.alphaIdByBeta.get(betaAccountId, -1);
+    }
+
+    /**
+     * Gets the Beta accounts of an Alpha account, in database order.
+     *
+     * @param alphaAccountId The ID of the Alpha account
+     * @return The Beta accounts, empty if there are none or the Alpha account is unknown
+     */
+    @NonNull
+    public List<B> getBetas(int alphaAccountId) {
+        Snapshot<A, B> current = snapshot;
+        int[] betaIds = current.betaIdsByAlpha.get(alphaAccountId);
+        if (betaIds == null) {
+            return Collections.emptyList();
+        }
+        List<B> betas = new ArrayList<>(betaIds.length);
+        for (int betaId : betaIds) {
+            betas.add(current.betas.get(betaId));
+        }
+        return betas;
+    }
+}
@@ -0,0 +1,174 @@
+package com.dzovah.mesha.Database.Repositories;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.SparseArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.room.InvalidationTracker;
+
+import com.dzovah.mesha.Database.Entities.Category;
+import com.dzovah.mesha.Database.MeshaDatabase;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Process-wide, in-memory list of transaction categories.
+ * <p>
+ * Categories are read every time a transaction dialog opens but change rarely, so
+ * the registry loads them once at startup and hands the same list to every
+ * {@link com.dzovah.mesha.Activities.Adapters.CategorySpinnerAdapter} and
+ * {@link com.dzovah.mesha.Activities.Adapters.CategoryAdapter}. Opening a dialog
+ * then needs no disk read. Any insert, update or delete through
+ * {@link com.dzovah.mesha.Database.Daos.CategoryDao} invalidates the Categories
+ * table in Room's invalidation tracker, which makes the registry reload and publish
+ * the new list to its observers.
+ * </p>
+ * <p>
+ * The list is immutable and published through a volatile field, so it can be read
+ * from any thread without locking.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see Category
+ */
+public final class CategoryRegistry {
+    private static final String TAG = "CategoryRegistry";
+
+    private static volatile CategoryRegistry INSTANCE;
+
+    private final MeshaDatabase database;
+    private final AtomicBoolean reloadQueued = new AtomicBoolean();
+    private final MutableLiveData<List<Category>> liveCategories = new MutableLiveData<>();
+
+    /** The loaded categories, or null before the first load */
+    private volatile List<Category> categories;
+
+    /** The loaded categories keyed by ID, built together with {@link #categories} */
+    private volatile SparseArray<Category> categoriesById = new SparseArray<>();
+
+    private CategoryRegistry(MeshaDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Gets the process-wide registry, starting its first load if needed.
+     *
+     * @param context Any context; the application context is used
+     * @return The category registry
+     */
+    public static CategoryRegistry get(@NonNull Context context) {
+        if (INSTANCE == null) {
+            synchronized (CategoryRegistry.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new CategoryRegistry(MeshaDatabase.Get_database(context));
+                    INSTANCE.start();
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Registers for invalidations of the Categories table and queues the first load.
+     */
+    private void start() {
+        MeshaDatabase.databaseReadExecutor.execute(() -> {
+            database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("Categories") {
+                @Override
+                public void onInvalidated(@NonNull Set<String> tables) {
+                    queueReload();
+                }
+            });
+            queueReload();
+        });
+    }
+
+    /**
+     * Queues a reload on the read executor. Invalidations that arrive while one is
+     * queued share it.
+     */
+    private void queueReload() {
+        if (reloadQueued.compareAndSet(false, true)) {
+            MeshaDatabase.databaseReadExecutor.execute(() -> {
+                reloadQueued.set(false);
+                reload();
+            });
+        }
+    }
+
+    /**
+     * Reads the categories from the database and publishes them. Call from a
+     * background thread.
+     *
+     * @return The categories just loaded, or the previous list if the read failed
+     */
+    public synchronized List<Category> reload() {
+        try {
+            List<Category> loaded = Collections.unmodifiableList(database.categoryDao().getAllCategories());
+            SparseArray<Category> byId = new SparseArray<>(loaded.size());
+            for (Category category : loaded) {
+                byId.put(category.getCategoryId(), category);
+            }
+            categoriesById = byId;
+            categories = loaded;
+            liveCategories.postValue(loaded);
+        } catch (Exception e) {
+            Log.e(TAG, "Error loading categories", e);
+        }
+        return categories;
+    }
+
+    /**
+     * Gets the categories without touching the database.
+     *
+     * @return The categories ordered by ID, or null if they have not been loaded yet
+     */
+    @Nullable
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Gets the categories, loading them first if the registry has not yet done so.
+     * May read the database; call from a background thread.
+     *
+     * @return The categories ordered by ID, empty if they could not be loaded
+     */
+    @NonNull
+    public List<Category> requireCategories() {
+        List<Category> current = categories;
+        if (current == null) {
+            current = reload();
+        }
+        return current != null ? current : Collections.emptyList();
+    }
+
+    /**
+     * Gets a category by ID without touching the database.
+     *
+     * @param categoryId The ID of the category
+     * @return The category, or null if it is unknown or not loaded yet
+     */
+    @Nullable
+    public Category getCategory(int categoryId) {
+        return categoriesById.get(categoryId);
+    }
+
+    /**
+     * Observes the categories. Emits the current list, once loaded, and again after
+     * every change.
+     *
+     * @return LiveData of the categories ordered by ID
+     */
+    public LiveData<List<Category>> observeCategories() {
+        return liveCategories;
+    }
+}
@@ -0,0 +1,161 @@
+package com.dzovah.mesha.Database.Repositories;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+
+import com.dzovah.mesha.Database.Entities.PAlphaAccount;
+import com.dzovah.mesha.Database.Entities.PBetaAccount;
+import com.dzovah.mesha.Database.Entities.PTransaction;
+import com.dzovah.mesha.Database.MeshaDatabase;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository that hands out the observed account and transaction queries of the hidden vault.
+ * <p>
+ * Each query is created once per process and per account ID and then shared by every
+ * screen and ViewModel that asks for it. A Room LiveData keeps the last rows it loaded
+ * and only queries again after one of its tables has been written, so a screen that
+ * is recreated, or a second screen showing the same account tree, receives the cached
+ * rows immediately and costs the database nothing.
+ * </p>
+ * <p>
+ * The repository holds no reference to any activity. All methods may be called from
+ * any thread, though the returned LiveData is normally observed on the main thread.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see AccountRepository
+ */
+public class PAccountRepository {
+
+    private static volatile PAccountRepository INSTANCE;
+
+    private final MeshaDatabase database;
+
+    private LiveData<List<PAlphaAccount>> alphaAccounts;
+    private LiveData<Long> totalBalance;
+    private final Map<Integer, LiveData<PAlphaAccount>> alphaAccountsById = new HashMap<>();
+    private final Map<Integer, LiveData<List<PBetaAccount>>> betaAccountsByAlphaId = new HashMap<>();
+    private final Map<Integer, LiveData<PBetaAccount>> betaAccountsById = new HashMap<>();
+    private final Map<Integer, LiveData<List<PTransaction>>> transactionsByBetaId = new HashMap<>();
+
+    private PAccountRepository(MeshaDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Gets the process-wide repository.
+     *
+     * @param context Any context; the application context is used
+     * @return The repository for the app database
+     */
+    public static PAccountRepository get(@NonNull Context context) {
+        if (INSTANCE == null) {
+            synchronized (PAccountRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new PAccountRepository(MeshaDatabase.Get_database(context));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the database the repository reads from, for screens that still write directly.
+     *
+     * @return The app database
+     */
+    public MeshaDatabase getDatabase() {
+        return database;
+    }
+
+    /**
+     * Observes all PAlphaAccounts, ordered by name.
+     *
+     * @return The shared LiveData of the account list
+     */
+    public synchronized LiveData<List<PAlphaAccount>> getAlphaAccounts() {
+        if (alphaAccounts == null) {
+            alphaAccounts = database.PalphaAccountDao().observeAllPAlphaAccounts();
+        }
+        return alphaAccounts;
+    }
+
+    /**
+     * Observes the combined balance of all PAlphaAccounts.
+     *
+     * @return The shared LiveData of the total balance in minor units
+     */
+    public synchronized LiveData<Long> getTotalBalance() {
+        if (totalBalance == null) {
+            totalBalance = database.PalphaAccountDao().observeTotalPAlphaAccountsBalance();
+        }
+        return totalBalance;
+    }
+
+    /**
+     * Observes one PAlphaAccount.
+     *
+     * @param alphaAccountId The ID of the PAlphaAccount
+     * @return The shared LiveData of the account, which emits null once it is deleted
+     */
+    public synchronized LiveData<PAlphaAccount> getAlphaAccount(int alphaAccountId) {
+        LiveData<PAlphaAccount> account = alphaAccountsById.get(alphaAccountId);
+        if (account == null) {
+            account = database.PalphaAccountDao().observePAlphaAccountById(alphaAccountId);
+            alphaAccountsById.put(alphaAccountId, account);
+        }
+        return account;
+    }
+
+    /**
+     * Observes the PBetaAccounts of one PAlphaAccount.
+     *
+     * @param alphaAccountId The ID of the parent PAlphaAccount
+     * @return The shared LiveData of the PBetaAccount list
+     */
+    public synchronized LiveData<List<PBetaAccount>> getBetaAccounts(int alphaAccountId) {
+        LiveData<List<PBetaAccount>> accounts = betaAccountsByAlphaId.get(alphaAccountId);
+        if (accounts == null) {
+            accounts = database.PbetaAccountDao().observePBetaAccountsByPAlphaAccountId(alphaAccountId);
+            betaAccountsByAlphaId.put(alphaAccountId, accounts);
+        }
+        return accounts;
+    }
+
+    /**
+     * Observes one PBetaAccount.
+     *
+     * @param betaAccountId The ID of the PBetaAccount
+     * @return The shared LiveData of the account, which emits null once it is deleted
+     */
+    public synchronized LiveData<PBetaAccount> getBetaAccount(int betaAccountId) {
+        LiveData<PBetaAccount> account = betaAccountsById.get(betaAccountId);
+        if (account == null) {
+            account = database.PbetaAccountDao().observePBetaAccountById(betaAccountId);
+            betaAccountsById.put(betaAccountId, account);
+        }
+        return account;
+    }
+
+    /**
+     * Observes the hidden transactions of one PBetaAccount, newest first.
+     *
+     * @param betaAccountId The ID of the PBetaAccount
+     * @return The shared LiveData of the transaction list
+     */
+    public synchronized LiveData<List<PTransaction>> getTransactions(int betaAccountId) {
+        LiveData<List<PTransaction>> transactions = transactionsByBetaId.get(betaAccountId);
+        if (transactions == null) {
+            transactions = database.PtransactionDao().observePTransactionsByBetaAccountId(betaAccountId);
+            transactionsByBetaId.put(betaAccountId, transactions);
+        }
+        return transactions;
+    }
+}
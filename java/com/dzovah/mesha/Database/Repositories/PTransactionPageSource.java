@@ -0,0 +1,56 @@
+package com.dzovah.mesha.Database.Repositories;
+
+import androidx.annotation.NonNull;
+
+import com.dzovah.mesha.Database.Daos.PTransactionDao;
+import com.dzovah.mesha.Database.Entities.PTransaction;
+import com.dzovah.mesha.Database.Entities.PTransactionWithAccounts;
+import com.dzovah.mesha.Database.Interfaces.KeysetPageSource;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keyset page source over all PTransactions with their account details, newest first.
+ * <p>
+ * Pages are anchored on the (PEntry_time, PTransaction_id) pair of the first or last
+ * loaded row, which backs the paged feed in
+ * {@link com.dzovah.mesha.PActivities.PAnalysisActivity}.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see com.dzovah.mesha.Database.Utils.KeysetPager
+ */
+public class PTransactionPageSource implements KeysetPageSource<PTransactionWithAccounts> {
+    private final PTransactionDao pTransactionDao;
+
+    /**
+     * Constructs a new PTransactionPageSource.
+     *
+     * @param pTransactionDao The DAO to run the keyset queries against
+     */
+    public PTransactionPageSource(@NonNull PTransactionDao pTransactionDao) {
+        this.pTransactionDao = pTransactionDao;
+    }
+
+    @Override
+    public List<PTransactionWithAccounts> loadFirst(int limit) {
+        return pTransactionDao.getPTransactionsPage(limit);
+    }
+
+    @Override
+    public List<PTransactionWithAccounts> loadNext(PTransactionWithAccounts last, int limit) {
+        PTransaction anchor = last.getTransaction();
+        return pTransactionDao.getPTransactionsPageAfter(anchor.getPEntryTime(), anchor.getPTransactionId(), limit);
+    }
+
+    @Override
+    public List<PTransactionWithAccounts> loadPrevious(PTransactionWithAccounts first, int limit) {
+        PTransaction anchor = first.getTransaction();
+        List<PTransactionWithAccounts> page = pTransactionDao.getPTransactionsPageBefore(
+                anchor.getPEntryTime(), anchor.getPTransactionId(), limit);
+        Collections.reverse(page);
+        return page;
+    }
+}
@@ -0,0 +1,56 @@
+package com.dzovah.mesha.Database.Repositories;
+
+import androidx.annotation.NonNull;
+
+import com.dzovah.mesha.Database.Daos.TransactionDao;
+import com.dzovah.mesha.Database.Entities.Transaction;
+import com.dzovah.mesha.Database.Entities.TransactionWithAccounts;
+import com.dzovah.mesha.Database.Interfaces.KeysetPageSource;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keyset page source over all Transactions with their account details, newest first.
+ * <p>
+ * Pages are anchored on the (Entry_time, Transaction_id) pair of the first or last
+ * loaded row, which backs the paged feed in
+ * {@link com.dzovah.mesha.Activities.AnalysisActivity}.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see com.dzovah.mesha.Database.Utils.KeysetPager
+ */
+public class TransactionPageSource implements KeysetPageSource<TransactionWithAccounts> {
+    private final TransactionDao transactionDao;
+
+    /**
+     * Constructs a new TransactionPageSource.
+     *
+     * @param transactionDao The DAO to run the keyset queries against
+     */
+    public TransactionPageSource(@NonNull TransactionDao transactionDao) {
+        this.transactionDao = transactionDao;
+    }
+
+    @Override
+    public List<TransactionWithAccounts> loadFirst(int limit) {
+        return transactionDao.getTransactionsPage(limit);
+    }
+
+    @Override
+    public List<TransactionWithAccounts> loadNext(TransactionWithAccounts last, int limit) {
+        Transaction anchor = last.getTransaction();
+        return transactionDao.getTransactionsPageAfter(anchor.getEntryTime(), anchor.getTransactionId(), limit);
+    }
+
+    @Override
+    public List<TransactionWithAccounts> loadPrevious(TransactionWithAccounts first, int limit) {
+        Transaction anchor = first.getTransaction();
+        List<TransactionWithAccounts> page = transactionDao.getTransactionsPageBefore(
+                anchor.getEntryTime(), anchor.getTransactionId(), limit);
+        Collections.reverse(page);
+        return page;
+    }
+}
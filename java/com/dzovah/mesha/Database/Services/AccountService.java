@@ -5,18 +5,14 @@ import android.util.Log;
 
 import androidx.annotation.NonNull;
 
-import com.dzovah.mesha.Database.Daos.AlphaAccountDao;
-import com.dzovah.mesha.Database.Daos.BetaAccountDao;
-import com.dzovah.mesha.Database.Daos.PAlphaAccountDao;
-import com.dzovah.mesha.Database.Daos.PBetaAccountDao;
 import com.dzovah.mesha.Database.Entities.AlphaAccount;
 import com.dzovah.mesha.Database.Entities.BetaAccount;
 import com.dzovah.mesha.Database.Entities.PAlphaAccount;
 import com.dzovah.mesha.Database.Entities.PBetaAccount;
 import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Repositories.AccountTreeCache;
 import com.dzovah.mesha.Database.Utils.TransactionManager;
 
-import java.util.List;
 import java.util.concurrent.Executor;
 
 /**
@@ -34,6 +30,8 @@ public class AccountService {
     private static final String TAG = "AccountService";
     private final MeshaDatabase database;
     private final TransactionManager transactionManager;
+    private final AccountTreeCache<?, ?> accountTree;
+    private final AccountTreeCache<?, ?> pAccountTree;
     private final Executor executor;
 
     /**
@@ -44,6 +42,8 @@ public class AccountService {
     public AccountService(@NonNull Context context) {
         this.database = MeshaDatabase.Get_database(context);
         this.transactionManager = new TransactionManager(database);
+        this.accountTree = AccountTreeCache.get(context);
+        this.pAccountTree = AccountTreeCache.getP(context);
         this.executor = MeshaDatabase.databaseWriteExecutor;
     }
 
@@ -61,16 +61,9 @@ public class AccountService {
                     return;
                 }
                 
-                database.alphaAccountDao().insert(alphaAccount);
-                // Since Room generates the ID, we need to query to get the latest ID
-                List<AlphaAccount> accounts = database.alphaAccountDao().getAllAlphaAccounts();
-                if (!accounts.isEmpty()) {
-                    // Assume the latest inserted account is the last in the list when sorted
-                    AlphaAccount createdAccount = accounts.get(accounts.size() - 1);
-                    callback.onSuccess(createdAccount.getAlphaAccountId());
-                } else {
-                    callback.onError("Failed to retrieve created account");
-                }
+                long alphaAccountId = database.alphaAccountDao().insert(alphaAccount);
+                alphaAccount.setAlphaAccountId((int) alphaAccountId);
+                callback.onSuccess((int) alphaAccountId);
             } catch (Exception e) {
                 Log.e(TAG, "Error creating Alpha account", e);
                 callback.onError("Error creating Alpha account: " + e.getMessage());
@@ -92,16 +85,9 @@ public class AccountService {
                     return;
                 }
                 
-                database.PalphaAccountDao().insert(pAlphaAccount);
-                // Since Room generates the ID, we need to query to get the latest ID
-                List<PAlphaAccount> accounts = database.PalphaAccountDao().getAllPAlphaAccounts();
-                if (!accounts.isEmpty()) {
-                    // Assume the latest inserted account is the last in the list when sorted
-                    PAlphaAccount createdAccount = accounts.get(accounts.size() - 1);
-                    callback.onSuccess(createdAccount.getPAlphaAccountId());
-                } else {
-                    callback.onError("Failed to retrieve created account");
-                }
+                long pAlphaAccountId = database.PalphaAccountDao().insert(pAlphaAccount);
+                pAlphaAccount.setPAlphaAccountId((int) pAlphaAccountId);
+                callback.onSuccess((int) pAlphaAccountId);
             } catch (Exception e) {
                 Log.e(TAG, "Error creating PAlpha account", e);
                 callback.onError("Error creating PAlpha account: " + e.getMessage());
@@ -118,31 +104,10 @@ public class AccountService {
     public void createBetaAccount(BetaAccount betaAccount, ServiceCallback<Integer> callback) {
         executor.execute(() -> {
             try {
-                database.betaAccountDao().insert(betaAccount);
-                
-                // Get the ID of the newly created Beta account
-                // This is a simplification - you may need to query for it by other attributes
-                List<BetaAccount> betaAccounts = database.betaAccountDao().getBetaAccountsByAlphaAccountId(betaAccount.getAlphaAccountId());
-                int betaAccountId = -1;
-                for (BetaAccount beta : betaAccounts) {
-                    if (beta.getBetaAccountName().equals(betaAccount.getBetaAccountName())) {
-                        betaAccountId = beta.getBetaAccountId();
-                        break;
-                    }
-                }
-                
-                if (betaAccountId != -1) {
-                    // Update parent Alpha account balance
-                    final int finalBetaAccountId = betaAccountId;
-                    boolean updated = transactionManager.updateBetaAndAlphaBalance(finalBetaAccountId);
-                    if (!updated) {
-                        Log.w(TAG, "Failed to update Alpha account balance after Beta account creation");
-                    }
-                    
-                    callback.onSuccess(finalBetaAccountId);
-                } else {
-                    callback.onError("Failed to retrieve created Beta account ID");
-                }
+                // The balance triggers roll the new account into its parent
+                long betaAccountId = database.betaAccountDao().insert(betaAccount);
+                betaAccount.setBetaAccountId((int) betaAccountId);
+                callback.onSuccess((int) betaAccountId);
             } catch (Exception e) {
                 Log.e(TAG, "Error creating Beta account", e);
                 callback.onError("Error creating Beta account: " + e.getMessage());
@@ -159,31 +124,10 @@ public class AccountService {
     public void createPBetaAccount(PBetaAccount pBetaAccount, ServiceCallback<Integer> callback) {
         executor.execute(() -> {
             try {
-                database.PbetaAccountDao().insert(pBetaAccount);
-                
-                // Get the ID of the newly created PBeta account
-                // This is a simplification - you may need to query for it by other attributes
-                List<PBetaAccount> pBetaAccounts = database.PbetaAccountDao().getPBetaAccountsByPAlphaAccountId(pBetaAccount.getPAlphaAccountId());
-                int pBetaAccountId = -1;
-                for (PBetaAccount pBeta : pBetaAccounts) {
-                    if (pBeta.getPBetaAccountName().equals(pBetaAccount.getPBetaAccountName())) {
-                        pBetaAccountId = pBeta.getPBetaAccountId();
-                        break;
-                    }
-                }
-                
-                if (pBetaAccountId != -1) {
-                    // Update parent PAlpha account balance
-                    final int finalPBetaAccountId = pBetaAccountId;
-                    boolean updated = transactionManager.updatePBetaAndPAlphaBalance(finalPBetaAccountId);
-                    if (!updated) {
-                        Log.w(TAG, "Failed to update PAlpha account balance after PBeta account creation");
-                    }
-                    
-                    callback.onSuccess(finalPBetaAccountId);
-                } else {
-                    callback.onError("Failed to retrieve created PBeta account ID");
-                }
+                // The balance triggers roll the new account into its parent
+                long pBetaAccountId = database.PbetaAccountDao().insert(pBetaAccount);
+                pBetaAccount.setPBetaAccountId((int) pBetaAccountId);
+                callback.onSuccess((int) pBetaAccountId);
             } catch (Exception e) {
                 Log.e(TAG, "Error creating PBeta account", e);
                 callback.onError("Error creating PBeta account: " + e.getMessage());
@@ -205,7 +149,9 @@ public class AccountService {
                     return;
                 }
                 
-                database.alphaAccountDao().update(alphaAccount);
+                // Only the details are written; the balance belongs to the triggers
+                database.alphaAccountDao().updateAlphaAccountDetails(alphaAccount.getAlphaAccountId(),
+                        alphaAccount.getAlphaAccountName(), alphaAccount.getAlphaAccountIcon());
                 callback.onSuccess(null);
             } catch (Exception e) {
                 Log.e(TAG, "Error updating Alpha account", e);
@@ -228,7 +174,9 @@ public class AccountService {
                     return;
                 }
                 
-                database.PalphaAccountDao().update(pAlphaAccount);
+                // Only the details are written; the balance belongs to the triggers
+                database.PalphaAccountDao().updatePAlphaAccountDetails(pAlphaAccount.getPAlphaAccountId(),
+                        pAlphaAccount.getPAlphaAccountName(), pAlphaAccount.getPAlphaAccountIcon());
                 callback.onSuccess(null);
             } catch (Exception e) {
                 Log.e(TAG, "Error updating PAlpha account", e);
@@ -241,16 +189,19 @@ public class AccountService {
      * Ensures balances are accurate for all account types.
      * <p>
      * This method performs a full recalculation of all account balances
-     * to ensure they are consistent with their transactions.
+     * to ensure they are consistent with their transactions. Normal writes keep
+     * balances current through the database triggers, so this is only needed to
+     * repair data written before the triggers were installed. Every Beta balance is
+     * derived from its transactions and every Alpha balance from its Beta accounts,
+     * in both vaults and in a single commit.
      * </p>
      *
-     * @param callback Callback to be invoked when the operation completes
+     * @param callback Callback to be invoked with the number of corrected balances and the time taken
      */
-    public void recalculateAllBalances(ServiceCallback<Boolean> callback) {
+    public void recalculateAllBalances(ServiceCallback<TransactionManager.RebuildReport> callback) {
         executor.execute(() -> {
             try {
-                boolean success = transactionManager.updateAllAlphaAccountBalances();
-                callback.onSuccess(success);
+                callback.onSuccess(transactionManager.rebuildAllBalances());
             } catch (Exception e) {
                 Log.e(TAG, "Error recalculating balances", e);
                 callback.onError("Error recalculating balances: " + e.getMessage());
@@ -260,6 +211,11 @@ public class AccountService {
 
     /**
      * Deletes an Alpha account and all its associated Beta accounts.
+     * <p>
+     * One set-based delete in one transaction (see
+     * {@link TransactionManager#deleteAlphaAccount}); the account tree cache is
+     * reloaded before the callback so callers no longer find the account.
+     * </p>
      *
      * @param alphaAccountId The ID of the Alpha account to delete
      * @param callback Callback to be invoked when the operation completes
@@ -267,21 +223,9 @@ public class AccountService {
     public void deleteAlphaAccount(int alphaAccountId, ServiceCallback<Void> callback) {
         executor.execute(() -> {
             try {
-                AlphaAccountDao alphaDao = database.alphaAccountDao();
-                BetaAccountDao betaDao = database.betaAccountDao();
-                
-                // Delete all associated Beta accounts first
-                List<BetaAccount> betaAccounts = betaDao.getBetaAccountsByAlphaAccountId(alphaAccountId);
-                for (BetaAccount beta : betaAccounts) {
-                    betaDao.delete(beta);
-                }
-                
-                // Delete the Alpha account
-                AlphaAccount alphaAccount = alphaDao.getAlphaAccountById(alphaAccountId);
-                if (alphaAccount != null) {
-                    alphaDao.delete(alphaAccount);
+                if (transactionManager.deleteAlphaAccount(alphaAccountId)) {
+                    accountTree.reload();
                 }
-                
                 callback.onSuccess(null);
             } catch (Exception e) {
                 Log.e(TAG, "Error deleting Alpha account", e);
@@ -292,6 +236,9 @@ public class AccountService {
 
     /**
      * Deletes a PAlpha account and all its associated PBeta accounts.
+     * <p>
+     * The hidden-vault counterpart of {@link #deleteAlphaAccount}.
+     * </p>
      *
      * @param pAlphaAccountId The ID of the PAlpha account to delete
      * @param callback Callback to be invoked when the operation completes
@@ -299,21 +246,9 @@ public class AccountService {
     public void deletePAlphaAccount(int pAlphaAccountId, ServiceCallback<Void> callback) {
         executor.execute(() -> {
             try {
-                PAlphaAccountDao pAlphaDao = database.PalphaAccountDao();
-                PBetaAccountDao pBetaDao = database.PbetaAccountDao();
-                
-                // Delete all associated PBeta accounts first
-                List<PBetaAccount> pBetaAccounts = pBetaDao.getPBetaAccountsByPAlphaAccountId(pAlphaAccountId);
-                for (PBetaAccount pBeta : pBetaAccounts) {
-                    pBetaDao.delete(pBeta);
+                if (transactionManager.deletePAlphaAccount(pAlphaAccountId)) {
+                    pAccountTree.reload();
                 }
-                
-                // Delete the PAlpha account
-                PAlphaAccount pAlphaAccount = pAlphaDao.getPAlphaAccountById(pAlphaAccountId);
-                if (pAlphaAccount != null) {
-                    pAlphaDao.delete(pAlphaAccount);
-                }
-                
                 callback.onSuccess(null);
             } catch (Exception e) {
                 Log.e(TAG, "Error deleting PAlpha account", e);
@@ -0,0 +1,384 @@
+package com.dzovah.mesha.Database.Services;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.SparseLongArray;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.dzovah.mesha.Database.Entities.PTransaction;
+import com.dzovah.mesha.Database.Entities.Transaction;
+import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Utils.LedgerChecksums;
+import com.dzovah.mesha.Database.Utils.LedgerTriggers;
+import com.dzovah.mesha.Database.Utils.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+/**
+ * Writes large numbers of ledger rows in one database transaction.
+ * <p>
+ * Inserting through {@code TransactionDao.insert} commits every row on its own and
+ * fires the balance triggers once per row, which is fine for a single entry but
+ * turns an import of tens of thousands of rows into minutes of disk syncs. This
+ * writer instead takes a stream of transactions, inserts them in chunks through
+ * the DAO's list insert, and commits once at the end. The per-transaction balance
+ * triggers are suspended for the duration (see {@link LedgerTriggers#beginBulk});
+ * the writer accumulates each Beta account's net change while streaming and
+ * applies it with one update per account, which the Beta triggers pass on to the
+ * Alpha accounts. The daily and monthly rollups for the inserted ID range are
+ * likewise applied once per touched rollup row through {@code RollupDao.applyRange},
+ * and the account checksums once per touched account through
+ * {@link LedgerChecksums#applyRange}.
+ * </p>
+ * <p>
+ * Either every row is written or, on any error, none are. Generated IDs are set
+ * back on the transaction objects once the write has committed, so a rolled back
+ * write leaves them untouched and can be retried. A row that already has an ID is rejected
+ * with an {@link IllegalArgumentException}, so objects that were written once
+ * cannot be resubmitted. Each write returns a {@link Report} with its throughput,
+ * which is also logged.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see LedgerTriggers
+ */
+public class BulkLedgerWriter {
+    private static final String TAG = "BulkLedgerWriter";
+
+    /** Default number of rows handed to a single list insert */
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private final MeshaDatabase database;
+    private final Executor executor;
+    private final int chunkSize;
+
+    /**
+     * Creates a bulk writer with the default chunk size.
+     *
+     * @param context The application context
+     */
+    public BulkLedgerWriter(@NonNull Context context) {
+        this(MeshaDatabase.Get_database(context), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a bulk writer.
+     *
+     * @param database The database to write to
+     * @param chunkSize The number of rows handed to a single list insert
+     */
+    public BulkLedgerWriter(@NonNull MeshaDatabase database, int chunkSize) {
+        this.database = database;
+        this.executor = MeshaDatabase.databaseWriteExecutor;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * The outcome of one bulk write.
+     */
+    public static final class Report {
+        /** Number of transactions inserted */
+        public final int rows;
+        /** Number of list inserts the rows were split into */
+        public final int chunks;
+        /** Number of Beta accounts whose balance changed; a net change of zero is not counted */
+        public final int accounts;
+        /** Wall time of the whole write including the commit, in nanoseconds */
+        public final long elapsedNanos;
+
+        Report(int rows, int chunks, int accounts, long elapsedNanos) {
+            this.rows = rows;
+            this.chunks = chunks;
+            this.accounts = accounts;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Gets the write throughput.
+         *
+         * @return Rows written per second
+         */
+        public double rowsPerSecond() {
+            return elapsedNanos > 0 ? rows * 1_000_000_000.0 / elapsedNanos : 0;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%d rows in %d chunks across %d accounts in %.1f ms (%.0f rows/s)",
+                    rows, chunks, accounts, elapsedNanos / 1_000_000.0, rowsPerSecond());
+        }
+    }
+
+    /**
+     * Writes transactions to the normal vault.
+     * <p>
+     * Blocks until the write has committed; call from a background thread.
+     * </p>
+     *
+     * @param transactions The transactions to write
+     * @return The throughput report
+     */
+    public Report writeTransactions(@NonNull Iterable<Transaction> transactions) {
+        return writeTransactions(transactions.iterator());
+    }
+
+    /**
+     * Writes a stream of transactions to the normal vault.
+     * <p>
+     * Rows are pulled from the iterator one at a time, so a caller parsing an import
+     * file need not hold every row in memory. Blocks until the write has committed;
+     * call from a background thread.
+     * </p>
+     *
+     * @param transactions The transactions to write
+     * @return The throughput report
+     */
+    public Report writeTransactions(@NonNull Iterator<Transaction> transactions) {
+        return write(transactions, new Vault<Transaction>() {
+            @Override
+            public long[] insertAll(List<Transaction> chunk) {
+                return database.transactionDao().insertAll(chunk);
+            }
+
+            @Override
+            public int id(Transaction row) {
+                return row.getTransactionId();
+            }
+
+            @Override
+            public void setId(Transaction row, long id) {
+                row.setTransactionId((int) id);
+            }
+
+            @Override
+            public int betaAccountId(Transaction row) {
+                return row.getBetaAccountId();
+            }
+
+            @Override
+            public long signedAmount(Transaction row) {
+                return row.getTransactionType() == TransactionType.CREDIT
+                        ? row.getTransactionAmount() : -row.getTransactionAmount();
+            }
+
+            @Override
+            public void applyDelta(int betaAccountId, long delta) {
+                database.betaAccountDao().addBetaAccountBalanceDelta(betaAccountId, delta);
+            }
+
+            @Override
+            public void applyRange(long firstId, long lastId) {
+                database.rollupDao().applyRange(firstId, lastId);
+                LedgerChecksums.applyRange(database.getOpenHelper().getWritableDatabase(), false, firstId, lastId);
+            }
+        });
+    }
+
+    /**
+     * Writes hidden transactions to the P vault.
+     * <p>
+     * Blocks until the write has committed; call from a background thread.
+     * </p>
+     *
+     * @param transactions The hidden transactions to write
+     * @return The throughput report
+     */
+    public Report writePTransactions(@NonNull Iterable<PTransaction> transactions) {
+        return writePTransactions(transactions.iterator());
+    }
+
+    /**
+     * Writes a stream of hidden transactions to the P vault.
+     * <p>
+     * Blocks until the write has committed; call from a background thread.
+     * </p>
+     *
+     * @param transactions The hidden transactions to write
+     * @return The throughput report
+     */
+    public Report writePTransactions(@NonNull Iterator<PTransaction> transactions) {
+        return write(transactions, new Vault<PTransaction>() {
+            @Override
+            public long[] insertAll(List<PTransaction> chunk) {
+                return database.PtransactionDao().insertAll(chunk);
+            }
+
+            @Override
+            public int id(PTransaction row) {
+                return row.getPTransactionId();
+            }
+
+            @Override
+            public void setId(PTransaction row, long id) {
+                row.setPTransactionId((int) id);
+            }
+
+            @Override
+            public int betaAccountId(PTransaction row) {
+                return row.getPBetaAccountId();
+            }
+
+            @Override
+            public long signedAmount(PTransaction row) {
+                return row.getPTransactionType() == TransactionType.CREDIT
+                        ? row.getPTransactionAmount() : -row.getPTransactionAmount();
+            }
+
+            @Override
+            public void applyDelta(int betaAccountId, long delta) {
+                database.PbetaAccountDao().addPBetaAccountBalanceDelta(betaAccountId, delta);
+            }
+
+            @Override
+            public void applyRange(long firstId, long lastId) {
+                database.ProllupDao().applyRange(firstId, lastId);
+                LedgerChecksums.applyRange(database.getOpenHelper().getWritableDatabase(), true, firstId, lastId);
+            }
+        });
+    }
+
+    /**
+     * Writes transactions to the normal vault on the database executor.
+     *
+     * @param transactions The transactions to write
+     * @param callback Callback to be invoked when the operation completes
+     */
+    public void writeTransactionsAsync(@NonNull Iterable<Transaction> transactions,
+                                       AccountService.ServiceCallback<Report> callback) {
+        executor.execute(() -> {
+            try {
+                callback.onSuccess(writeTransactions(transactions));
+            } catch (Exception e) {
+                Log.e(TAG, "Error writing transactions", e);
+                callback.onError("Error writing transactions: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Writes hidden transactions to the P vault on the database executor.
+     *
+     * @param transactions The hidden transactions to write
+     * @param callback Callback to be invoked when the operation completes
+     */
+    public void writePTransactionsAsync(@NonNull Iterable<PTransaction> transactions,
+                                        AccountService.ServiceCallback<Report> callback) {
+        executor.execute(() -> {
+            try {
+                callback.onSuccess(writePTransactions(transactions));
+            } catch (Exception e) {
+                Log.e(TAG, "Error writing hidden transactions", e);
+                callback.onError("Error writing hidden transactions: " + e.getMessage());
+            }
+        });
+    }
+
+    private <T> Report write(Iterator<T> rows, Vault<T> vault) {
+        final long start = System.nanoTime();
+        final SparseLongArray deltas = new SparseLongArray();
+        final int[] counts = new int[3]; // rows, chunks, accounts
+        final long[] idRange = {Long.MAX_VALUE, Long.MIN_VALUE}; // first, last inserted ID
+        final List<T> inserted = new ArrayList<>();
+        final List<long[]> insertedIds = new ArrayList<>(); // one array per chunk of inserted
+
+        database.runInTransaction(() -> {
+            SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+            LedgerTriggers.beginBulk(db);
+
+            List<T> chunk = new ArrayList<>(chunkSize);
+            while (rows.hasNext()) {
+                T row = rows.next();
+                // An explicit ID could land inside the existing ledger and break the ID range below
+                if (vault.id(row) != 0) {
+                    throw new IllegalArgumentException("Transaction " + vault.id(row)
+                            + " already has an ID; bulk writes only insert new rows");
+                }
+                chunk.add(row);
+                int betaId = vault.betaAccountId(row);
+                deltas.put(betaId, deltas.get(betaId) + vault.signedAmount(row));
+                if (chunk.size() == chunkSize) {
+                    flush(chunk, vault, counts, idRange, inserted, insertedIds);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                flush(chunk, vault, counts, idRange, inserted, insertedIds);
+            }
+
+            // One balance update per account instead of one per row
+            for (int i = 0; i < deltas.size(); i++) {
+                if (deltas.valueAt(i) != 0) {
+                    vault.applyDelta(deltas.keyAt(i), deltas.valueAt(i));
+                    counts[2]++;
+                }
+            }
+            // Every row was inserted without an ID, so SQLite assigned ascending IDs above
+            // the existing ones and nothing else wrote while the transaction was open:
+            // the range covers exactly the inserted rows. Anything else would double
+            // count existing rows, so it rolls the write back instead
+            if (counts[0] > 0) {
+                if (idRange[1] - idRange[0] + 1 != counts[0]) {
+                    throw new IllegalStateException("Inserted IDs " + idRange[0] + ".." + idRange[1]
+                            + " are not a contiguous block of " + counts[0] + " rows");
+                }
+                vault.applyRange(idRange[0], idRange[1]);
+            }
+
+            LedgerTriggers.endBulk(db);
+        });
+
+        // Only now that the rows exist do the caller's objects get their IDs
+        int row = 0;
+        for (long[] ids : insertedIds) {
+            for (long id : ids) {
+                vault.setId(inserted.get(row++), id);
+            }
+        }
+
+        Report report = new Report(counts[0], counts[1], counts[2], System.nanoTime() - start);
+        Log.i(TAG, "Bulk write: " + report);
+        return report;
+    }
+
+    private <T> void flush(List<T> chunk, Vault<T> vault, int[] counts, long[] idRange,
+                           List<T> inserted, List<long[]> insertedIds) {
+        long[] ids = vault.insertAll(chunk);
+        for (long id : ids) {
+            idRange[0] = Math.min(idRange[0], id);
+            idRange[1] = Math.max(idRange[1], id);
+        }
+        inserted.addAll(chunk);
+        insertedIds.add(ids);
+        counts[0] += chunk.size();
+        counts[1]++;
+        chunk.clear();
+    }
+
+    /**
+     * The per-vault operations the writer needs, so one loop serves both vaults.
+     *
+     * @param <T> The transaction entity of the vault
+     */
+    private interface Vault<T> {
+        long[] insertAll(List<T> chunk);
+
+        int id(T row);
+
+        void setId(T row, long id);
+
+        int betaAccountId(T row);
+
+        long signedAmount(T row);
+
+        void applyDelta(int betaAccountId, long delta);
+
+        void applyRange(long firstId, long lastId);
+    }
+}
@@ -0,0 +1,321 @@
+package com.dzovah.mesha.Database.Services;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Utils.LedgerChecksums;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Checks in the background that stored balances still agree with the ledger.
+ * <p>
+ * A full recompute reads every transaction, so it is only run on request (see
+ * {@code TransactionManager.rebuildAllBalances}). This verifier instead leans on the
+ * per-account checksums in {@link LedgerChecksums}, which the database keeps current
+ * on every write, and bounds the work of each run:
+ * <ul>
+ *   <li>Every Beta balance is compared with its account's running total, one
+ *       primary key lookup per account and no transaction reads</li>
+ *   <li>The accounts verified longest ago are re-read from their transactions
+ *       until {@link #ROW_BUDGET} transactions per vault have been read, and their
+ *       count, total and checksum compared with the stored ones</li>
+ * </ul>
+ * Over successive runs every account is re-read in turn, and an account whose
+ * balance disagrees is re-read at once, whatever the budget.
+ * </p>
+ * <p>
+ * The comparison runs on the calling thread, normally one of
+ * {@link MeshaDatabase#databaseReadExecutor}, with each account read in a read-only
+ * transaction of its own, so its checksum row and its transactions come from one
+ * snapshot and no write is seen half applied. That transaction is opened on the
+ * writable connection: before API 35 the framework has no read-only transactions and
+ * {@code beginTransactionReadOnly} takes an ordinary one that holds off the writer.
+ * Keeping it to one account bounds that wait by the history of a single account
+ * rather than the whole row budget.
+ * </p>
+ * <p>
+ * The transactions are taken as the truth. Only the bookkeeping goes to
+ * {@link MeshaDatabase#databaseWriteExecutor}, in one short transaction: matching
+ * accounts are marked verified, and each mismatching account is checked again
+ * against the current data, since a write may have landed after the snapshot. An
+ * account that still disagrees has its balance rebuilt through
+ * {@code LedgerDao.rebuildBetaAndAlphaBalance}, which the triggers carry on to its
+ * Alpha account, and its checksum row replaced. Each run returns a {@link Report}
+ * that is also logged.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see LedgerChecksums
+ */
+public class LedgerVerifier {
+    private static final String TAG = "LedgerVerifier";
+
+    /** Time between queued runs while the app is open, in minutes */
+    public static final long INTERVAL_MINUTES = 15;
+
+    /** Delay before the first run, so it does not compete with startup, in minutes */
+    private static final long INITIAL_DELAY_MINUTES = 1;
+
+    /** Transactions re-read per vault in one run */
+    public static final long ROW_BUDGET = 5_000;
+
+    private static volatile LedgerVerifier INSTANCE;
+
+    private final MeshaDatabase database;
+    private final ScheduledExecutorService timer;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean runQueued = new AtomicBoolean();
+
+    private LedgerVerifier(Context context) {
+        this.database = MeshaDatabase.Get_database(context);
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Mesha-ledger-verifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the process-wide verifier.
+     *
+     * @param context Any context; the application context is used
+     * @return The verifier for the app database
+     */
+    public static LedgerVerifier get(@NonNull Context context) {
+        if (INSTANCE == null) {
+            synchronized (LedgerVerifier.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new LedgerVerifier(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * The outcome of one verification run over both vaults.
+     */
+    public static final class Report {
+        /** Accounts whose transactions were re-read */
+        public final int accountsVerified;
+        /** Transactions re-read */
+        public final long rowsVerified;
+        /** Accounts whose stored balance differed from their running total */
+        public final int balanceMismatches;
+        /** Accounts whose transactions no longer matched their stored checksum */
+        public final int checksumMismatches;
+        /** Accounts that still disagreed when checked again on the writer, and were repaired */
+        public final int repaired;
+        /** Wall time of the run including the commit, in nanoseconds */
+        public final long elapsedNanos;
+
+        Report(Tally tally, long elapsedNanos) {
+            this.accountsVerified = tally.accounts;
+            this.rowsVerified = tally.rows;
+            this.balanceMismatches = tally.balanceMismatches;
+            this.checksumMismatches = tally.checksumMismatches;
+            this.repaired = tally.repaired;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Checks whether every account checked was consistent.
+         *
+         * @return true if nothing had to be repaired
+         */
+        public boolean passed() {
+            return repaired == 0;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%d accounts, %d transactions re-read, %d balance and %d checksum mismatches, %d repaired in %.1f ms",
+                    accountsVerified, rowsVerified, balanceMismatches, checksumMismatches, repaired, elapsedNanos / 1_000_000.0);
+        }
+    }
+
+    /**
+     * Running counts of one run.
+     */
+    private static final class Tally {
+        int accounts;
+        long rows;
+        int balanceMismatches;
+        int checksumMismatches;
+        int repaired;
+    }
+
+    /**
+     * One account compared in its snapshot, for the writer to follow up.
+     */
+    private static final class Finding {
+        final boolean hidden;
+        final int betaAccountId;
+        final boolean mismatched;
+
+        Finding(boolean hidden, int betaAccountId, boolean mismatched) {
+            this.hidden = hidden;
+            this.betaAccountId = betaAccountId;
+            this.mismatched = mismatched;
+        }
+    }
+
+    /**
+     * Starts queuing a run every {@link #INTERVAL_MINUTES} for as long as the
+     * process lives. Later calls do nothing.
+     */
+    public void start() {
+        if (started.compareAndSet(false, true)) {
+            timer.scheduleWithFixedDelay(this::queueRun, INITIAL_DELAY_MINUTES, INTERVAL_MINUTES, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Queues a run on the database readers. Requests made while one is queued share it.
+     */
+    public void queueRun() {
+        if (runQueued.compareAndSet(false, true)) {
+            MeshaDatabase.databaseReadExecutor.execute(() -> {
+                runQueued.set(false);
+                try {
+                    verify();
+                } catch (Exception e) {
+                    Log.e(TAG, "Error verifying the ledger", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs one bounded verification over both vaults and repairs any mismatch.
+     * <p>
+     * Blocks until the writer has committed its follow-up; call from a background
+     * thread other than {@link MeshaDatabase#databaseWriteExecutor}.
+     * </p>
+     *
+     * @return What was checked and repaired
+     */
+    public Report verify() {
+        long start = System.nanoTime();
+        Tally tally = new Tally();
+        List<Finding> findings = new ArrayList<>();
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        compareVault(db, false, tally, findings);
+        compareVault(db, true, tally, findings);
+
+        Future<?> followUp = MeshaDatabase.databaseWriteExecutor.submit(() -> database.runInTransaction(() -> {
+            long now = System.currentTimeMillis();
+            for (Finding finding : findings) {
+                if (finding.mismatched) {
+                    repairIfStillMismatched(db, finding, now, tally);
+                } else {
+                    LedgerChecksums.markVerified(db, finding.hidden, finding.betaAccountId, now);
+                }
+            }
+        }));
+        try {
+            followUp.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ledger repair failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the ledger repair", e);
+        }
+
+        Report report = new Report(tally, System.nanoTime() - start);
+        if (report.passed()) {
+            Log.d(TAG, "Ledger verified: " + report);
+        } else {
+            Log.w(TAG, "Ledger repaired: " + report);
+        }
+        return report;
+    }
+
+    /**
+     * Re-reads the accounts of one vault whose balance has drifted, then the
+     * accounts verified longest ago up to the row budget.
+     */
+    private void compareVault(SupportSQLiteDatabase db, boolean hidden, Tally tally, List<Finding> findings) {
+        Set<Integer> checked = new HashSet<>();
+        for (int betaAccountId : LedgerChecksums.findBalanceDrift(db, hidden)) {
+            tally.balanceMismatches++;
+            compareAccount(db, hidden, betaAccountId, true, tally, findings);
+            checked.add(betaAccountId);
+        }
+        for (LedgerChecksums.State stored : LedgerChecksums.leastRecentlyVerified(db, hidden, ROW_BUDGET)) {
+            if (checked.add(stored.betaAccountId)) {
+                compareAccount(db, hidden, stored.betaAccountId, false, tally, findings);
+            }
+        }
+    }
+
+    /**
+     * Compares one account's transactions with its stored checksum, both read in one
+     * short read-only transaction, and records the outcome for the writer.
+     */
+    private void compareAccount(SupportSQLiteDatabase db, boolean hidden, int betaAccountId,
+                                boolean balanceDrifted, Tally tally, List<Finding> findings) {
+        LedgerChecksums.State stored;
+        LedgerChecksums.State actual;
+        db.beginTransactionReadOnly();
+        try {
+            stored = LedgerChecksums.stored(db, hidden, betaAccountId);
+            actual = LedgerChecksums.compute(db, hidden, betaAccountId);
+        } finally {
+            db.endTransaction();
+        }
+        tally.accounts++;
+        tally.rows += actual.rowCount;
+
+        boolean checksumMatches = actual.matches(stored);
+        if (!checksumMatches) {
+            tally.checksumMismatches++;
+        }
+        findings.add(new Finding(hidden, betaAccountId, !checksumMatches || balanceDrifted));
+    }
+
+    /**
+     * Checks a mismatching account again inside the writer's transaction and repairs
+     * it from its transactions if it still disagrees.
+     */
+    private void repairIfStillMismatched(SupportSQLiteDatabase db, Finding finding, long now, Tally tally) {
+        boolean hidden = finding.hidden;
+        int betaAccountId = finding.betaAccountId;
+        LedgerChecksums.State actual = LedgerChecksums.compute(db, hidden, betaAccountId);
+        boolean checksumMatches = actual.matches(LedgerChecksums.stored(db, hidden, betaAccountId));
+        boolean balanceDrifted = LedgerChecksums.hasBalanceDrift(db, hidden, betaAccountId);
+
+        if (!checksumMatches || balanceDrifted) {
+            Log.w(TAG, (hidden ? "PBeta" : "Beta") + " account " + betaAccountId + " disagrees with its transactions"
+                    + (balanceDrifted ? " (balance)" : "") + (checksumMatches ? "" : " (checksum)"));
+            if (hidden) {
+                database.PledgerDao().rebuildBetaAndAlphaBalance(betaAccountId);
+            } else {
+                database.ledgerDao().rebuildBetaAndAlphaBalance(betaAccountId);
+            }
+            tally.repaired++;
+        }
+        if (checksumMatches) {
+            LedgerChecksums.markVerified(db, hidden, betaAccountId, now);
+        } else {
+            LedgerChecksums.store(db, hidden, actual, now);
+        }
+    }
+}
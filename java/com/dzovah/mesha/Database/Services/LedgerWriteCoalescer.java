@@ -0,0 +1,476 @@
+package com.dzovah.mesha.Database.Services;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.dzovah.mesha.Database.Entities.PTransaction;
+import com.dzovah.mesha.Database.Entities.Transaction;
+import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Repositories.AccountTreeCache;
+import com.dzovah.mesha.Database.Utils.AccountVersions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Groups ledger writes that arrive close together into a single database commit.
+ * <p>
+ * Every commit costs a journal sync, which dominates the time of a one-row ledger
+ * write. When a user enters several transactions in quick succession, or a transfer
+ * and the transaction it funds land together, this class holds each write for up to
+ * {@link #WINDOW_MILLIS} so that the writes gathered in that window run in one
+ * SQLite transaction on {@link MeshaDatabase#databaseWriteExecutor} and share one
+ * sync. A batch is flushed early once it reaches {@link #MAX_BATCH} writes.
+ * </p>
+ * <p>
+ * Each caller still gets its own result. Callbacks run on the writer thread after
+ * the batch has committed. If any write in a batch throws, the whole batch is rolled
+ * back and its writes are retried one commit each, so a failing write reports its
+ * own error and the others still succeed.
+ * </p>
+ * <p>
+ * Each write names its vault and the Beta accounts it changes. Before the callbacks
+ * run, only the {@link AccountTreeCache} of the vaults written is told, and it
+ * re-reads just those accounts and their Alpha accounts, so a caller that looks up
+ * a balance in its callback sees its own write without the whole tree being read
+ * again. A write queued through {@link #submit} names neither, and its invalidation
+ * is left to rebuild the trees in full.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see com.dzovah.mesha.Database.Daos.LedgerDao
+ * @see com.dzovah.mesha.Database.Daos.PLedgerDao
+ */
+public class LedgerWriteCoalescer {
+    private static final String TAG = "LedgerWriteCoalescer";
+
+    /** How long the first write of a batch waits for others to join it, in milliseconds */
+    public static final long WINDOW_MILLIS = 15;
+
+    /** Number of writes after which a batch is committed without waiting out the window */
+    public static final int MAX_BATCH = 64;
+
+    private static volatile LedgerWriteCoalescer INSTANCE;
+
+    private final MeshaDatabase database;
+    private final AccountTreeCache<?, ?> accountTree;
+    private final AccountTreeCache<?, ?> pAccountTree;
+    private final Executor writer;
+    private final ScheduledExecutorService timer;
+    private final Object lock = new Object();
+    private List<PendingWrite<?>> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong retriedBatches = new AtomicLong();
+
+    /**
+     * A unit of ledger work to run inside the shared transaction.
+     *
+     * @param <T> The result type
+     */
+    public interface LedgerWrite<T> {
+        /**
+         * Performs the write.
+         *
+         * @param database The database, with the batch's transaction open
+         * @return The result handed to the caller's callback
+         */
+        T apply(MeshaDatabase database);
+    }
+
+    /**
+     * Reads which Beta accounts a write will change, inside the shared transaction
+     * and before the write runs.
+     */
+    private interface TouchedAccounts {
+        int[] read(MeshaDatabase database);
+    }
+
+    private LedgerWriteCoalescer(Context context) {
+        this.database = MeshaDatabase.Get_database(context);
+        this.accountTree = AccountTreeCache.get(context);
+        this.pAccountTree = AccountTreeCache.getP(context);
+        this.writer = MeshaDatabase.databaseWriteExecutor;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Mesha-write-window");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the process-wide coalescer.
+     *
+     * @param context Any context; the application context is used
+     * @return The coalescer for the app database
+     */
+    public static LedgerWriteCoalescer get(@NonNull Context context) {
+        if (INSTANCE == null) {
+            synchronized (LedgerWriteCoalescer.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new LedgerWriteCoalescer(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Queues a write to commit with whatever other writes arrive in the same window.
+     * <p>
+     * The accounts such a write changes are not known, so both account trees are
+     * left to their invalidation check, which rebuilds them in full.
+     * </p>
+     *
+     * @param write The write to perform
+     * @param callback Callback to be invoked once the write has committed or failed
+     * @param <T> The result type
+     */
+    public <T> void submit(@NonNull LedgerWrite<T> write, @NonNull AccountService.ServiceCallback<T> callback) {
+        enqueue(new PendingWrite<>(write, false, null, callback));
+    }
+
+    /**
+     * Queues a write on one vault whose touched Beta accounts are known.
+     */
+    private <T> void submit(boolean hidden, TouchedAccounts touched, LedgerWrite<T> write,
+                            AccountService.ServiceCallback<T> callback) {
+        enqueue(new PendingWrite<>(write, hidden, touched, callback));
+    }
+
+    private void enqueue(PendingWrite<?> write) {
+        boolean flushNow = false;
+        boolean scheduleFlush = false;
+        synchronized (lock) {
+            pending.add(write);
+            if (pending.size() >= MAX_BATCH) {
+                flushNow = true;
+            } else if (!flushScheduled) {
+                scheduleFlush = true;
+            }
+            flushScheduled = true;
+        }
+        if (flushNow) {
+            writer.execute(this::flush);
+        } else if (scheduleFlush) {
+            timer.schedule(() -> writer.execute(this::flush), WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Records a new transaction.
+     *
+     * @param transaction The transaction to record
+     * @param callback Receives the generated row ID
+     */
+    public void addTransaction(@NonNull Transaction transaction, @NonNull AccountService.ServiceCallback<Long> callback) {
+        submit(false, db -> new int[]{transaction.getBetaAccountId()},
+                db -> db.ledgerDao().addTransaction(transaction), callback);
+    }
+
+    /**
+     * Saves changes to an existing transaction.
+     *
+     * @param transaction The transaction with updated values
+     * @param callback Callback to be invoked when the operation completes
+     */
+    public void editTransaction(@NonNull Transaction transaction, @NonNull AccountService.ServiceCallback<Void> callback) {
+        submit(false, db -> new int[]{db.ledgerDao().getBetaAccountIdOf(transaction.getTransactionId()),
+                        transaction.getBetaAccountId()},
+                db -> {
+                    db.ledgerDao().editTransaction(transaction);
+                    return null;
+                }, callback);
+    }
+
+    /**
+     * Deletes a transaction.
+     *
+     * @param transaction The transaction to delete
+     * @param callback Callback to be invoked when the operation completes
+     */
+    public void removeTransaction(@NonNull Transaction transaction, @NonNull AccountService.ServiceCallback<Void> callback) {
+        submit(false, db -> new int[]{db.ledgerDao().getBetaAccountIdOf(transaction.getTransactionId())},
+                db -> {
+                    db.ledgerDao().removeTransaction(transaction);
+                    return null;
+                }, callback);
+    }
+
+    /**
+     * Records both legs of a transfer between two BetaAccounts.
+     *
+     * @param debit The debit leg on the account the money leaves
+     * @param credit The credit leg on the account the money arrives in
+     * @param callback Receives the generated row IDs of the debit and credit legs
+     */
+    public void transfer(@NonNull Transaction debit, @NonNull Transaction credit,
+                         @NonNull AccountService.ServiceCallback<long[]> callback) {
+        submit(false, db -> new int[]{debit.getBetaAccountId(), credit.getBetaAccountId()},
+                db -> db.ledgerDao().transfer(debit, credit), callback);
+    }
+
+    /**
+     * Records a new hidden transaction.
+     *
+     * @param transaction The hidden transaction to record
+     * @param callback Receives the generated row ID
+     */
+    public void addPTransaction(@NonNull PTransaction transaction, @NonNull AccountService.ServiceCallback<Long> callback) {
+        submit(true, db -> new int[]{transaction.getPBetaAccountId()},
+                db -> db.PledgerDao().addTransaction(transaction), callback);
+    }
+
+    /**
+     * Saves changes to an existing hidden transaction.
+     *
+     * @param transaction The hidden transaction with updated values
+     * @param callback Callback to be invoked when the operation completes
+     */
+    public void editPTransaction(@NonNull PTransaction transaction, @NonNull AccountService.ServiceCallback<Void> callback) {
+        submit(true, db -> new int[]{db.PledgerDao().getBetaAccountIdOf(transaction.getPTransactionId()),
+                        transaction.getPBetaAccountId()},
+                db -> {
+                    db.PledgerDao().editTransaction(transaction);
+                    return null;
+                }, callback);
+    }
+
+    /**
+     * Deletes a hidden transaction.
+     *
+     * @param transaction The hidden transaction to delete
+     * @param callback Callback to be invoked when the operation completes
+     */
+    public void removePTransaction(@NonNull PTransaction transaction, @NonNull AccountService.ServiceCallback<Void> callback) {
+        submit(true, db -> new int[]{db.PledgerDao().getBetaAccountIdOf(transaction.getPTransactionId())},
+                db -> {
+                    db.PledgerDao().removeTransaction(transaction);
+                    return null;
+                }, callback);
+    }
+
+    /**
+     * Records both legs of a transfer between two PBetaAccounts.
+     *
+     * @param debit The debit leg on the account the money leaves
+     * @param credit The credit leg on the account the money arrives in
+     * @param callback Receives the generated row IDs of the debit and credit legs
+     */
+    public void transferP(@NonNull PTransaction debit, @NonNull PTransaction credit,
+                          @NonNull AccountService.ServiceCallback<long[]> callback) {
+        submit(true, db -> new int[]{debit.getPBetaAccountId(), credit.getPBetaAccountId()},
+                db -> db.PledgerDao().transfer(debit, credit), callback);
+    }
+
+    /**
+     * Gets the average number of writes per commit so far.
+     *
+     * @return Writes divided by commits, or 0 before the first commit
+     */
+    public double getWritesPerCommit() {
+        long count = commits.get();
+        return count > 0 ? (double) writes.get() / count : 0;
+    }
+
+    /**
+     * Gets the number of batches that had to be retried one write at a time.
+     *
+     * @return The number of retried batches
+     */
+    public long getRetriedBatches() {
+        return retriedBatches.get();
+    }
+
+    /**
+     * Commits every queued write. Runs on the writer thread.
+     */
+    private void flush() {
+        List<PendingWrite<?>> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new ArrayList<>();
+            flushScheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            commit(batch);
+            commits.incrementAndGet();
+            writes.addAndGet(batch.size());
+            if (batch.size() > 1) {
+                Log.d(TAG, "Committed " + batch.size() + " writes in one transaction");
+            }
+            for (PendingWrite<?> write : batch) {
+                write.succeed();
+            }
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                batch.get(0).fail(e);
+                return;
+            }
+            // Find the failing write by committing the rest separately
+            retriedBatches.incrementAndGet();
+            Log.w(TAG, "Batch of " + batch.size() + " writes failed, retrying one at a time", e);
+            for (PendingWrite<?> write : batch) {
+                try {
+                    commit(Collections.singletonList(write));
+                    commits.incrementAndGet();
+                    writes.incrementAndGet();
+                    write.succeed();
+                } catch (Exception single) {
+                    write.fail(single);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs writes in one transaction and brings the account trees of the vaults they
+     * wrote up to date, reading each vault's {@link AccountVersions} counter at the
+     * start and end of the transaction. Throws if the transaction rolled back.
+     */
+    private void commit(List<PendingWrite<?>> writes) {
+        boolean normal = false;
+        boolean hidden = false;
+        for (PendingWrite<?> write : writes) {
+            normal |= write.touched == null || !write.hidden;
+            hidden |= write.touched == null || write.hidden;
+        }
+        boolean writesNormal = normal;
+        boolean writesHidden = hidden;
+        if (writesNormal) {
+            accountTree.beginUpdate();
+        }
+        if (writesHidden) {
+            pAccountTree.beginUpdate();
+        }
+
+        long[] versions = new long[4];
+        boolean committed = false;
+        try {
+            database.runInTransaction(() -> {
+                SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+                readVersions(db, writesNormal, writesHidden, versions, 0);
+                for (PendingWrite<?> write : writes) {
+                    write.apply(database);
+                }
+                readVersions(db, writesNormal, writesHidden, versions, 2);
+            });
+            committed = true;
+        } finally {
+            if (writesNormal) {
+                finishUpdate(accountTree, writes, false, committed, versions[0], versions[2]);
+            }
+            if (writesHidden) {
+                finishUpdate(pAccountTree, writes, true, committed, versions[1], versions[3]);
+            }
+        }
+    }
+
+    /**
+     * Reads the counters of the vaults being written into {@code versions}, the
+     * normal vault's at {@code offset} and the hidden vault's after it.
+     */
+    private static void readVersions(SupportSQLiteDatabase db, boolean normal, boolean hidden,
+                                     long[] versions, int offset) {
+        if (normal) {
+            versions[offset] = AccountVersions.read(db, false);
+        }
+        if (hidden) {
+            versions[offset + 1] = AccountVersions.read(db, true);
+        }
+    }
+
+    /**
+     * Hands one vault's touched Beta accounts to its account tree, or cancels the
+     * update if the commit failed or a write did not name its accounts.
+     */
+    private static void finishUpdate(AccountTreeCache<?, ?> tree, List<PendingWrite<?>> writes, boolean hidden,
+                                     boolean committed, long fromVersion, long toVersion) {
+        if (!committed) {
+            tree.cancelUpdate();
+            return;
+        }
+        int count = 0;
+        for (PendingWrite<?> write : writes) {
+            if (write.touched == null) {
+                tree.cancelUpdate();
+                return;
+            }
+            if (write.hidden == hidden) {
+                count += write.betaAccountIds.length;
+            }
+        }
+        int[] betaAccountIds = new int[count];
+        int offset = 0;
+        for (PendingWrite<?> write : writes) {
+            if (write.hidden == hidden) {
+                System.arraycopy(write.betaAccountIds, 0, betaAccountIds, offset, write.betaAccountIds.length);
+                offset += write.betaAccountIds.length;
+            }
+        }
+        tree.finishUpdate(betaAccountIds, fromVersion, toVersion);
+    }
+
+    /**
+     * A queued write together with its caller's callback and, once run, its result.
+     *
+     * @param <T> The result type
+     */
+    private static final class PendingWrite<T> {
+        private final LedgerWrite<T> write;
+        private final boolean hidden;
+        /** Null if the write does not name its vault and accounts */
+        private final TouchedAccounts touched;
+        private final AccountService.ServiceCallback<T> callback;
+        private int[] betaAccountIds;
+        private T result;
+
+        PendingWrite(LedgerWrite<T> write, boolean hidden, TouchedAccounts touched,
+                     AccountService.ServiceCallback<T> callback) {
+            this.write = write;
+            this.hidden = hidden;
+            this.touched = touched;
+            this.callback = callback;
+        }
+
+        void apply(MeshaDatabase database) {
+            if (touched != null) {
+                betaAccountIds = touched.read(database);
+            }
+            result = write.apply(database);
+        }
+
+        void succeed() {
+            try {
+                callback.onSuccess(result);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Ledger write callback failed", e);
+            }
+        }
+
+        void fail(Exception e) {
+            Log.e(TAG, "Ledger write failed", e);
+            try {
+                callback.onError(e.getMessage() != null ? e.getMessage() : e.toString());
+            } catch (RuntimeException callbackError) {
+                Log.e(TAG, "Ledger write callback failed", callbackError);
+            }
+        }
+    }
+}
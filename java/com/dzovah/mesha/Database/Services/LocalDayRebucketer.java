@@ -0,0 +1,124 @@
+package com.dzovah.mesha.Database.Services;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Utils.LocalDayBuckets;
+import com.dzovah.mesha.Database.Utils.RollupTriggers;
+import com.dzovah.mesha.Database.Utils.TimestampRenderer;
+
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Re-buckets the stored local days of the ledger when the device changes time zone.
+ * <p>
+ * Transactions store the local day and month they were written in, so after a move
+ * to another zone the rows near midnight sit in the wrong day until they are
+ * relabelled. This class remembers the zone the ledger was last bucketed in and,
+ * when the current zone differs, relabels both vaults with
+ * {@link LocalDayBuckets#rebucket} and rebuilds the rollups from the new days, all
+ * in one transaction on {@link MeshaDatabase#databaseWriteExecutor}. Writes queued
+ * behind it therefore see either the old buckets or the new ones, never a mix.
+ * </p>
+ * <p>
+ * The zone is checked whenever the database is opened and again on every
+ * {@link TimeZoneChangedReceiver} broadcast. A database that has never been checked
+ * was bucketed by its migration or its writes in the current zone, so the first
+ * check only records the zone.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see LocalDayBuckets
+ */
+public class LocalDayRebucketer {
+    private static final String TAG = "LocalDayRebucketer";
+
+    /** SharedPreferences file holding the bucketed zone */
+    private static final String PREFS_NAME = "ledger_buckets";
+
+    /** SharedPreferences key for the ID of the zone the ledger was last bucketed in */
+    private static final String KEY_ZONE = "bucketed_zone";
+
+    private static volatile LocalDayRebucketer INSTANCE;
+
+    private final Context context;
+    private final MeshaDatabase database;
+    private final AtomicBoolean checkQueued = new AtomicBoolean();
+
+    private LocalDayRebucketer(Context context, MeshaDatabase database) {
+        this.context = context;
+        this.database = database;
+    }
+
+    /**
+     * Gets the process-wide re-bucketer.
+     *
+     * @param context Any context; the application context is used
+     * @return The re-bucketer for the app database
+     */
+    public static LocalDayRebucketer get(@NonNull Context context) {
+        if (INSTANCE == null) {
+            synchronized (LocalDayRebucketer.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new LocalDayRebucketer(context.getApplicationContext(),
+                            MeshaDatabase.Get_database(context));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Queues a check of the time zone on the database writer. Checks requested while
+     * one is already queued share it.
+     */
+    public void checkZone() {
+        if (checkQueued.compareAndSet(false, true)) {
+            MeshaDatabase.databaseWriteExecutor.execute(() -> {
+                checkQueued.set(false);
+                try {
+                    rebucketIfZoneChanged();
+                } catch (Exception e) {
+                    Log.e(TAG, "Error re-bucketing the ledger", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Re-buckets the ledger if the default zone differs from the one it was last
+     * bucketed in. Runs on the database writer.
+     */
+    private void rebucketIfZoneChanged() {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        ZoneId zone = ZoneId.systemDefault();
+        String bucketedZone = prefs.getString(KEY_ZONE, null);
+        if (zone.getId().equals(bucketedZone)) {
+            return;
+        }
+
+        if (bucketedZone != null) {
+            long start = System.nanoTime();
+            int moved = database.runInTransaction(() -> {
+                SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+                int rows = LocalDayBuckets.rebucket(db, zone);
+                if (rows > 0) {
+                    RollupTriggers.rebuild(db);
+                }
+                return rows;
+            });
+            Log.i(TAG, "Re-bucketed " + moved + " transactions from " + bucketedZone + " to " + zone.getId()
+                    + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+
+        prefs.edit().putString(KEY_ZONE, zone.getId()).apply();
+        TimestampRenderer.reset();
+    }
+}
@@ -0,0 +1,31 @@
+package com.dzovah.mesha.Database.Services;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+import com.dzovah.mesha.Database.Utils.TimestampRenderer;
+
+/**
+ * Reacts to the system broadcast sent when the device's time zone changes.
+ * <p>
+ * Drops the cached date and time labels at once, so rows bound from now on show
+ * local times in the new zone, and queues {@link LocalDayRebucketer} to move the
+ * stored local days of the ledger into the new zone.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see LocalDayRebucketer
+ */
+public class TimeZoneChangedReceiver extends BroadcastReceiver {
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        if (!Intent.ACTION_TIMEZONE_CHANGED.equals(intent.getAction())) {
+            return;
+        }
+        TimestampRenderer.reset();
+        LocalDayRebucketer.get(context).checkZone();
+    }
+}
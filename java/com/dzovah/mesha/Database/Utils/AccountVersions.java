@@ -0,0 +1,95 @@
+package com.dzovah.mesha.Database.Utils;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import java.util.Locale;
+
+/**
+ * Per-vault change counters of the account tables, kept current by SQLite triggers.
+ * <p>
+ * {@link #TABLE} holds one row per vault. Every insert, update or delete on that
+ * vault's Alpha or Beta account table adds one to its counter in the same statement,
+ * whoever makes the write, so two reads of a counter that return the same value saw
+ * the same account rows.
+ * </p>
+ * <p>
+ * {@link com.dzovah.mesha.Database.Services.LedgerWriteCoalescer} reads the counter
+ * at the start and end of each commit. That tells the
+ * {@link com.dzovah.mesha.Database.Repositories.AccountTreeCache} whether the accounts
+ * a batch reported are all that changed since its snapshot, so an invalidation the
+ * batch already accounted for needs no full reload.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see com.dzovah.mesha.Database.Repositories.AccountTreeCache
+ */
+public final class AccountVersions {
+
+    /** Counter table, one row per vault */
+    public static final String TABLE = "Account_versions";
+
+    /** Counter row of the normal vault */
+    private static final int NORMAL = 0;
+
+    /** Counter row of the hidden vault */
+    private static final int HIDDEN = 1;
+
+    private AccountVersions() {
+        // Static helper, not meant to be instantiated
+    }
+
+    /**
+     * Creates the counter table, its rows and the triggers for both vaults if they do
+     * not already exist.
+     *
+     * @param db The database to install the table and triggers in
+     */
+    public static void create(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE + " (Vault INTEGER PRIMARY KEY NOT NULL, Version INTEGER NOT NULL)");
+        db.execSQL("INSERT OR IGNORE INTO " + TABLE + " (Vault, Version) VALUES (" + NORMAL + ", 0), (" + HIDDEN + ", 0)");
+        for (String table : new String[]{"Alpha_accounts", "Beta_accounts"}) {
+            createTriggers(db, table, NORMAL);
+            createTriggers(db, "P" + table, HIDDEN);
+        }
+    }
+
+    /**
+     * Drops the counter triggers of both vaults. The table is kept.
+     *
+     * @param db The database to remove the triggers from
+     */
+    public static void drop(@NonNull SupportSQLiteDatabase db) {
+        for (String table : new String[]{"Alpha_accounts", "Beta_accounts", "PAlpha_accounts", "PBeta_accounts"}) {
+            for (String event : new String[]{"insert", "update", "delete"}) {
+                db.execSQL("DROP TRIGGER IF EXISTS " + table + "_version_" + event);
+            }
+        }
+    }
+
+    /**
+     * Reads the change counter of a vault.
+     *
+     * @param db The database to read
+     * @param hidden true for the hidden vault
+     * @return The number of account row changes counted so far
+     */
+    public static long read(@NonNull SupportSQLiteDatabase db, boolean hidden) {
+        try (Cursor cursor = db.query("SELECT Version FROM " + TABLE + " WHERE Vault = ?",
+                new Object[]{hidden ? HIDDEN : NORMAL})) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
+
+    /** Installs the insert, update and delete counter triggers of one account table */
+    private static void createTriggers(SupportSQLiteDatabase db, String table, int vault) {
+        for (String event : new String[]{"INSERT", "UPDATE", "DELETE"}) {
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS " + table + "_version_" + event.toLowerCase(Locale.US) +
+                    " AFTER " + event + " ON " + table + " BEGIN " +
+                    "UPDATE " + TABLE + " SET Version = Version + 1 WHERE Vault = " + vault + "; END");
+        }
+    }
+}
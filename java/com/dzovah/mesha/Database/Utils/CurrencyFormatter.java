@@ -2,8 +2,6 @@ package com.dzovah.mesha.Database.Utils;
 
 import android.content.Context;
 import android.content.SharedPreferences;
-import java.text.NumberFormat;
-import java.util.Locale;
 
 /**
  * Utility class for handling currency formatting and preferences in the Mesha application.
@@ -32,24 +30,20 @@ public class CurrencyFormatter {
     /** SharedPreferences key for the selected currency */
     private static final String KEY_CURRENCY = "selected_currency";
     
-    /** Currently selected currency type, initialized with the default value */
-    private static CurrencyType currentCurrency = CurrencyType.getDefault();
-    
-    /** NumberFormat instance configured for currency formatting */
-    private static final NumberFormat currencyFormat = NumberFormat.getInstance(Locale.US);
+    /** Longest amount text after the prefix: sign, 17 digits, 5 commas, point and 2 decimals */
+    private static final int MAX_AMOUNT_LENGTH = 26;
 
-    /**
-     * Static initializer block to configure the NumberFormat instance.
-     * Sets up standard currency formatting options including:
-     * - Always showing 2 decimal places
-     * - Using grouping separators for thousands
-     */
-    static {
-        currencyFormat.setMinimumFractionDigits(2);
-        currencyFormat.setMaximumFractionDigits(2);
-        currencyFormat.setGroupingUsed(true);
-    }
+    /** Currently selected currency type, initialized with the default value */
+    private static volatile CurrencyType currentCurrency = CurrencyType.getDefault();
 
+    /** Scratch buffer each thread renders amounts into before copying them out */
+    private static final ThreadLocal<char[]> BUFFER = new ThreadLocal<char[]>() {
+        @Override
+        protected char[] initialValue() {
+            return new char[32 + MAX_AMOUNT_LENGTH];
+        }
+    };
+    
     /**
      * Gets the currently selected currency type.
      * <p>
@@ -78,20 +72,95 @@ public class CurrencyFormatter {
     }
 
     /**
-     * Formats a double value into currency format with symbol, commas and 2 decimal places.
+     * Formats a fixed-point amount into currency format with symbol, commas and 2 decimal places.
      * <p>
      * This method applies the current currency symbol and number formatting rules
-     * to convert a raw numeric value into a properly formatted currency string.
+     * to an amount held in minor units (see {@link Money}). The text is rendered
+     * backwards into a buffer owned by the calling thread, so the only allocation is
+     * the returned string. Nothing is shared between threads except the immutable
+     * currency prefix, so bind code and background work can call it concurrently.
      * </p>
      *
-     * @param amount The monetary amount to format
-     * @return Formatted string with currency symbol (e.g., "$100,000,000.00")
+     * @param minorUnits The monetary amount to format, in minor units (e.g. 10000 for 100.00)
+     * @return Formatted string with currency symbol (e.g., "$ 100,000,000.00")
+     */
+    public static String format(long minorUnits) {
+        // Read the volatile once, so a concurrent setCurrency cannot size the buffer
+        // for one currency and render another
+        CurrencyType currency = currentCurrency;
+        char[] buffer = bufferFor(currency);
+        int start = render(minorUnits, currency, buffer);
+        return new String(buffer, start, buffer.length - start);
+    }
+
+    /**
+     * Appends a fixed-point amount in currency format to a builder, without creating
+     * an intermediate string.
+     *
+     * @param sb The builder to append to
+     * @param minorUnits The monetary amount to format, in minor units
+     * @return The same builder
+     */
+    public static StringBuilder appendTo(StringBuilder sb, long minorUnits) {
+        CurrencyType currency = currentCurrency;
+        char[] buffer = bufferFor(currency);
+        int start = render(minorUnits, currency, buffer);
+        return sb.append(buffer, start, buffer.length - start);
+    }
+
+    /**
+     * Gets the calling thread's buffer, growing it if a currency symbol is longer
+     * than it allows for.
+     */
+    private static char[] bufferFor(CurrencyType currency) {
+        char[] buffer = BUFFER.get();
+        int needed = currency.getPrefix().length + MAX_AMOUNT_LENGTH;
+        if (buffer.length < needed) {
+            buffer = new char[needed];
+            BUFFER.set(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * Writes an amount right-aligned at the end of a buffer.
+     *
+     * @param minorUnits The amount in minor units
+     * @param currency The currency whose prefix to write
+     * @param buffer The buffer to write into, at least prefix plus
+     *               {@link #MAX_AMOUNT_LENGTH} long
+     * @return The index of the first character written
      */
-    public static String format(double amount) {
-        return String.format("%s %s",
-            currentCurrency.getSymbol(), 
-            currencyFormat.format(amount)
-        );
+    private static int render(long minorUnits, CurrencyType currency, char[] buffer) {
+        int pos = buffer.length;
+
+        // Work on the negative magnitude so Long.MIN_VALUE does not overflow
+        long negative = minorUnits < 0 ? minorUnits : -minorUnits;
+        long whole = -(negative / Money.MINOR_PER_MAJOR);
+        int fraction = (int) -(negative % Money.MINOR_PER_MAJOR);
+
+        buffer[--pos] = (char) ('0' + fraction % 10);
+        buffer[--pos] = (char) ('0' + fraction / 10);
+        buffer[--pos] = '.';
+
+        int digits = 0;
+        do {
+            if (digits > 0 && digits % 3 == 0) {
+                buffer[--pos] = ',';
+            }
+            buffer[--pos] = (char) ('0' + whole % 10);
+            whole /= 10;
+            digits++;
+        } while (whole > 0);
+
+        if (minorUnits < 0) {
+            buffer[--pos] = '-';
+        }
+
+        char[] prefix = currency.getPrefix();
+        pos -= prefix.length;
+        System.arraycopy(prefix, 0, buffer, pos, prefix.length);
+        return pos;
     }
 
     /**
@@ -44,6 +44,9 @@ public enum CurrencyType {
     /** The display symbol associated with this currency */
     private final String symbol;
 
+    /** The symbol and the space after it, as written in front of every amount */
+    private final char[] prefix;
+
     /**
      * Constructor for the CurrencyType enum.
      * 
@@ -51,6 +54,7 @@ public enum CurrencyType {
      */
     CurrencyType(String symbol) {
         this.symbol = symbol;
+        this.prefix = (symbol + " ").toCharArray();
     }
 
     /**
@@ -66,6 +70,16 @@ public enum CurrencyType {
         return symbol;
     }
 
+    /**
+     * Gets the characters {@link CurrencyFormatter} writes before an amount. The
+     * array is shared and must not be modified.
+     *
+     * @return The symbol followed by a space
+     */
+    char[] getPrefix() {
+        return prefix;
+    }
+
     /**
      * Gets the default currency for the application.
      * <p>
@@ -0,0 +1,306 @@
+package com.dzovah.mesha.Database.Utils;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.dzovah.mesha.Database.Interfaces.KeysetPageSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Loads a long list page by page as the user scrolls, keeping only a bounded window in memory.
+ * <p>
+ * The pager asks its {@link KeysetPageSource} for one page when the list is opened and
+ * then for further pages whenever the bound position comes within the prefetch distance
+ * of either end of what is loaded. Once more than {@code maxPages} pages are held, the
+ * page furthest from the scroll direction is dropped and reloaded later by keyset if the
+ * user scrolls back to it. Opening a screen therefore costs one page regardless of how
+ * many rows the table holds, and memory stays at {@code pageSize * maxPages} items.
+ * </p>
+ * <p>
+ * Loads run on the supplied executor; results are applied and reported to the
+ * {@link Listener} on the main thread. All public methods must be called from the
+ * main thread.
+ * </p>
+ *
+ * @param <T> The type of item being paged
+ * @author Electra Magus
+ * @version 1.0
+ * @see KeysetPageSource
+ */
+public class KeysetPager<T> {
+    private static final String TAG = "KeysetPager";
+
+    /** Default number of items loaded per page */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    /** Default distance from either end of the loaded window that triggers a load */
+    public static final int DEFAULT_PREFETCH_DISTANCE = 20;
+    /** Default number of pages held in memory at once */
+    public static final int DEFAULT_MAX_PAGES = 5;
+
+    /**
+     * Receives changes to the loaded window, typically a RecyclerView adapter.
+     */
+    public interface Listener {
+        /**
+         * Called after items were added to the loaded window.
+         *
+         * @param position The position of the first added item
+         * @param count The number of items added
+         */
+        void onItemsInserted(int position, int count);
+
+        /**
+         * Called after items were dropped from the loaded window.
+         *
+         * @param position The position of the first removed item
+         * @param count The number of items removed
+         */
+        void onItemsRemoved(int position, int count);
+    }
+
+    private final KeysetPageSource<T> source;
+    private final Executor executor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final int pageSize;
+    private final int prefetchDistance;
+    private final int maxPages;
+
+    private final List<List<T>> pages = new ArrayList<>();
+    private int size;
+    private Listener listener;
+
+    private boolean loadingNext;
+    private boolean loadingPrevious;
+    private boolean reachedEnd;
+    private boolean reachedStart;
+
+    /** Bumped on refresh so results of loads started before it are discarded */
+    private int generation;
+    /** Bumped when a page is dropped from the top, invalidating in-flight previous loads */
+    private int startEpoch;
+    /** Bumped when a page is dropped from the bottom, invalidating in-flight next loads */
+    private int endEpoch;
+
+    /**
+     * Creates a pager with the default page size, prefetch distance and window size.
+     *
+     * @param source The source to load pages from
+     * @param executor The executor to run page loads on
+     */
+    public KeysetPager(@NonNull KeysetPageSource<T> source, @NonNull Executor executor) {
+        this(source, executor, DEFAULT_PAGE_SIZE, DEFAULT_PREFETCH_DISTANCE, DEFAULT_MAX_PAGES);
+    }
+
+    /**
+     * Creates a pager.
+     *
+     * @param source The source to load pages from
+     * @param executor The executor to run page loads on
+     * @param pageSize The number of items loaded per page
+     * @param prefetchDistance How close to either end of the window a bound position must be to trigger a load
+     * @param maxPages The number of pages held in memory at once, at least 3
+     */
+    public KeysetPager(@NonNull KeysetPageSource<T> source, @NonNull Executor executor,
+                       int pageSize, int prefetchDistance, int maxPages) {
+        this.source = source;
+        this.executor = executor;
+        this.pageSize = pageSize;
+        this.prefetchDistance = prefetchDistance;
+        this.maxPages = Math.max(3, maxPages);
+    }
+
+    /**
+     * Sets the listener that is told about changes to the loaded window.
+     *
+     * @param listener The listener, or null to stop receiving changes
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the number of items currently loaded.
+     *
+     * @return The size of the loaded window
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a loaded item by its position in the window.
+     *
+     * @param position The position of the item
+     * @return The item at that position
+     */
+    public T get(int position) {
+        for (List<T> page : pages) {
+            if (position < page.size()) {
+                return page.get(position);
+            }
+            position -= page.size();
+        }
+        throw new IndexOutOfBoundsException("Position " + position + " outside loaded window");
+    }
+
+    /**
+     * Drops everything loaded and loads the first page again.
+     * <p>
+     * Call this when the screen opens and whenever the underlying data has changed.
+     * </p>
+     */
+    public void refresh() {
+        generation++;
+        loadingNext = false;
+        loadingPrevious = false;
+        reachedEnd = false;
+        reachedStart = true;
+
+        int removed = size;
+        pages.clear();
+        size = 0;
+        if (removed > 0 && listener != null) {
+            listener.onItemsRemoved(0, removed);
+        }
+
+        loadingNext = true;
+        final int gen = generation;
+        executor.execute(() -> {
+            List<T> page = loadSafely(() -> source.loadFirst(pageSize));
+            mainHandler.post(() -> {
+                if (gen != generation) return;
+                loadingNext = false;
+                if (page != null) {
+                    appendPage(page);
+                }
+            });
+        });
+    }
+
+    /**
+     * Tells the pager which position is being displayed.
+     * <p>
+     * Call this from the adapter's bind method. When the position is within the
+     * prefetch distance of either end of the loaded window, the adjacent page is
+     * loaded in the background.
+     * </p>
+     *
+     * @param position The position being bound
+     */
+    public void loadAround(int position) {
+        if (size == 0) return;
+
+        if (!loadingNext && !reachedEnd && position >= size - prefetchDistance) {
+            loadNext();
+        }
+        if (!loadingPrevious && !reachedStart && position < prefetchDistance) {
+            loadPrevious();
+        }
+    }
+
+    private void loadNext() {
+        loadingNext = true;
+        final T anchor = get(size - 1);
+        final int gen = generation;
+        final int epoch = endEpoch;
+        executor.execute(() -> {
+            List<T> page = loadSafely(() -> source.loadNext(anchor, pageSize));
+            mainHandler.post(() -> {
+                if (gen != generation || epoch != endEpoch) return;
+                loadingNext = false;
+                if (page != null) {
+                    appendPage(page);
+                }
+            });
+        });
+    }
+
+    private void loadPrevious() {
+        loadingPrevious = true;
+        final T anchor = get(0);
+        final int gen = generation;
+        final int epoch = startEpoch;
+        executor.execute(() -> {
+            List<T> page = loadSafely(() -> source.loadPrevious(anchor, pageSize));
+            mainHandler.post(() -> {
+                if (gen != generation || epoch != startEpoch) return;
+                loadingPrevious = false;
+                if (page != null) {
+                    prependPage(page);
+                }
+            });
+        });
+    }
+
+    private void appendPage(List<T> page) {
+        if (page.size() < pageSize) {
+            reachedEnd = true;
+        }
+        if (page.isEmpty()) return;
+
+        if (pages.size() >= maxPages) {
+            List<T> dropped = pages.remove(0);
+            size -= dropped.size();
+            startEpoch++;
+            loadingPrevious = false;
+            reachedStart = false;
+            if (listener != null) {
+                listener.onItemsRemoved(0, dropped.size());
+            }
+        }
+
+        int position = size;
+        pages.add(page);
+        size += page.size();
+        if (listener != null) {
+            listener.onItemsInserted(position, page.size());
+        }
+    }
+
+    private void prependPage(List<T> page) {
+        if (page.size() < pageSize) {
+            reachedStart = true;
+        }
+        if (page.isEmpty()) return;
+
+        if (pages.size() >= maxPages) {
+            List<T> dropped = pages.remove(pages.size() - 1);
+            size -= dropped.size();
+            endEpoch++;
+            loadingNext = false;
+            reachedEnd = false;
+            if (listener != null) {
+                listener.onItemsRemoved(size, dropped.size());
+            }
+        }
+
+        pages.add(0, page);
+        size += page.size();
+        if (listener != null) {
+            listener.onItemsInserted(0, page.size());
+        }
+    }
+
+    private List<T> loadSafely(PageLoad<T> load) {
+        try {
+            List<T> page = load.run();
+            return page != null ? page : new ArrayList<>();
+        } catch (Exception e) {
+            Log.e(TAG, "Error loading page", e);
+            return null;
+        }
+    }
+
+    /**
+     * A single call into the page source.
+     */
+    private interface PageLoad<T> {
+        List<T> run();
+    }
+}
@@ -0,0 +1,412 @@
+package com.dzovah.mesha.Database.Utils;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-account checksums of the ledger, kept current by SQLite triggers.
+ * <p>
+ * Every Beta account with transactions has a row in {@link #TABLE} (or
+ * {@link #P_TABLE} for the hidden vault) holding the number of its transactions,
+ * their running net total and an order-independent checksum: the sum, modulo
+ * {@link #MODULUS}, of a hash of each transaction's ID, amount, type and entry time.
+ * Triggers on the transaction tables add a row's hash when it is inserted and take
+ * it away when it is deleted, so the row costs O(1) to maintain per write, like the
+ * balances in {@link LedgerTriggers}.
+ * </p>
+ * <p>
+ * Verifying an account then needs no other account: its stored balance must equal
+ * the running total, and the count, total and checksum recomputed from its
+ * transactions must equal the stored ones. A balance written around the triggers,
+ * or a transaction row changed or lost without them, makes one of the two checks
+ * fail. The checksum triggers are suspended with the others under
+ * {@link LedgerTriggers#beginBulk}; bulk writers apply the checksums of their
+ * inserted rows with {@link #applyRange}.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see com.dzovah.mesha.Database.Services.LedgerVerifier
+ */
+public final class LedgerChecksums {
+
+    /** Checksum table of the normal vault */
+    public static final String TABLE = "Ledger_checksums";
+
+    /** Checksum table of the hidden vault */
+    public static final String P_TABLE = "PLedger_checksums";
+
+    /**
+     * Checksums are kept modulo 2^40. A transaction's hash is below it, so summing
+     * the hashes of eight million transactions of one account still fits SQLite's
+     * 64-bit integers.
+     */
+    public static final long MODULUS = 1L << 40;
+
+    /**
+     * Table and column names of one vault.
+     */
+    private static final class Vault {
+        final String txTable;
+        final String idCol;
+        final String amountCol;
+        final String typeCol;
+        final String timeCol;
+        final String betaIdCol;
+        final String betaTable;
+        final String betaBalanceCol;
+        final String checksumTable;
+
+        Vault(String p) {
+            txTable = p + "Transactions";
+            idCol = p + "Transaction_id";
+            amountCol = p + "Transaction_amount";
+            typeCol = p + "Transaction_type";
+            timeCol = p + "Entry_time";
+            betaIdCol = p + "Beta_account_id";
+            betaTable = p + "Beta_accounts";
+            betaBalanceCol = p + "Beta_account_balance";
+            checksumTable = p + TABLE;
+        }
+    }
+
+    private static final Vault NORMAL = new Vault("");
+    private static final Vault HIDDEN = new Vault("P");
+
+    private LedgerChecksums() {
+        // Static helper, not meant to be instantiated
+    }
+
+    /**
+     * The stored or recomputed checksum state of one account.
+     */
+    public static final class State {
+        public final int betaAccountId;
+        public final long rowCount;
+        public final long runningTotal;
+        public final long checksum;
+
+        State(int betaAccountId, long rowCount, long runningTotal, long checksum) {
+            this.betaAccountId = betaAccountId;
+            this.rowCount = rowCount;
+            this.runningTotal = runningTotal;
+            this.checksum = checksum;
+        }
+
+        /**
+         * Checks whether two states describe the same transactions.
+         *
+         * @param other The state to compare with
+         * @return true if the count, total and checksum all match
+         */
+        public boolean matches(@NonNull State other) {
+            return rowCount == other.rowCount && runningTotal == other.runningTotal && checksum == other.checksum;
+        }
+    }
+
+    /**
+     * Creates the checksum tables and triggers for both vaults if they do not already exist.
+     *
+     * @param db The database to install the tables and triggers in
+     */
+    public static void create(@NonNull SupportSQLiteDatabase db) {
+        for (Vault vault : new Vault[]{NORMAL, HIDDEN}) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + vault.checksumTable + " (" +
+                    vault.betaIdCol + " INTEGER PRIMARY KEY NOT NULL, " +
+                    "Row_count INTEGER NOT NULL, Running_total INTEGER NOT NULL, " +
+                    "Checksum INTEGER NOT NULL, Verified_at INTEGER NOT NULL, " +
+                    "FOREIGN KEY(" + vault.betaIdCol + ") REFERENCES " + vault.betaTable +
+                    "(" + vault.betaIdCol + ") ON DELETE CASCADE)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS index_" + vault.checksumTable + "_Verified_at ON " +
+                    vault.checksumTable + " (Verified_at)");
+            for (String sql : statements(vault)) {
+                db.execSQL(sql);
+            }
+        }
+    }
+
+    /**
+     * Drops the checksum triggers of both vaults. The tables are kept.
+     *
+     * @param db The database to remove the triggers from
+     */
+    public static void drop(@NonNull SupportSQLiteDatabase db) {
+        for (String table : new String[]{"Transactions", "PTransactions"}) {
+            db.execSQL("DROP TRIGGER IF EXISTS " + table + "_checksum_insert");
+            db.execSQL("DROP TRIGGER IF EXISTS " + table + "_checksum_update");
+            db.execSQL("DROP TRIGGER IF EXISTS " + table + "_checksum_delete");
+        }
+    }
+
+    /**
+     * Recomputes every checksum row of both vaults from the transaction tables.
+     * <p>
+     * Used by the migration that introduced the checksums and as a repair path.
+     * Call inside a transaction so readers never see the tables half built.
+     * </p>
+     *
+     * @param db The database to rebuild the checksums in
+     */
+    public static void rebuild(@NonNull SupportSQLiteDatabase db) {
+        for (Vault vault : new Vault[]{NORMAL, HIDDEN}) {
+            db.execSQL("DELETE FROM " + vault.checksumTable);
+            db.execSQL("INSERT INTO " + vault.checksumTable + " (" + vault.betaIdCol +
+                    ", Row_count, Running_total, Checksum, Verified_at) " +
+                    "SELECT " + vault.betaIdCol + ", " + aggregates(vault) + ", 0 FROM " + vault.txTable +
+                    " WHERE " + vault.betaIdCol + " IN (SELECT " + vault.betaIdCol + " FROM " + vault.betaTable + ")" +
+                    " GROUP BY " + vault.betaIdCol);
+        }
+    }
+
+    /**
+     * Adds a range of freshly inserted transactions to the checksums.
+     * <p>
+     * For bulk writers that insert with the checksum triggers suspended. The range is
+     * aggregated per Beta account in one primary key range scan, and each touched
+     * checksum row is updated once.
+     * </p>
+     *
+     * @param db The database, inside the bulk writer's transaction
+     * @param hidden true for the hidden vault
+     * @param firstId The first transaction ID inserted
+     * @param lastId The last transaction ID inserted
+     */
+    public static void applyRange(@NonNull SupportSQLiteDatabase db, boolean hidden, long firstId, long lastId) {
+        Vault vault = hidden ? HIDDEN : NORMAL;
+        List<State> deltas = new ArrayList<>();
+        try (Cursor cursor = db.query("SELECT " + vault.betaIdCol + ", " + aggregates(vault) +
+                " FROM " + vault.txTable + " WHERE " + vault.idCol + " BETWEEN ? AND ?" +
+                " GROUP BY " + vault.betaIdCol, new Object[]{firstId, lastId})) {
+            while (cursor.moveToNext()) {
+                deltas.add(new State(cursor.getInt(0), cursor.getLong(1), cursor.getLong(2), cursor.getLong(3)));
+            }
+        }
+        for (State delta : deltas) {
+            db.execSQL("INSERT OR IGNORE INTO " + vault.checksumTable + " (" + vault.betaIdCol +
+                    ", Row_count, Running_total, Checksum, Verified_at) VALUES (?, 0, 0, 0, 0)",
+                    new Object[]{delta.betaAccountId});
+            db.execSQL("UPDATE " + vault.checksumTable + " SET Row_count = Row_count + ?, " +
+                    "Running_total = Running_total + ?, Checksum = (Checksum + ?) % " + MODULUS +
+                    " WHERE " + vault.betaIdCol + " = ?",
+                    new Object[]{delta.rowCount, delta.runningTotal, delta.checksum, delta.betaAccountId});
+        }
+    }
+
+    /**
+     * Reads the stored checksum state of an account.
+     *
+     * @param db The database to read
+     * @param hidden true for the hidden vault
+     * @param betaAccountId The ID of the Beta account
+     * @return The stored state, all zero if the account has no checksum row
+     */
+    public static State stored(@NonNull SupportSQLiteDatabase db, boolean hidden, int betaAccountId) {
+        Vault vault = hidden ? HIDDEN : NORMAL;
+        try (Cursor cursor = db.query("SELECT Row_count, Running_total, Checksum FROM " + vault.checksumTable +
+                " WHERE " + vault.betaIdCol + " = ?", new Object[]{betaAccountId})) {
+            if (cursor.moveToFirst()) {
+                return new State(betaAccountId, cursor.getLong(0), cursor.getLong(1), cursor.getLong(2));
+            }
+        }
+        return new State(betaAccountId, 0, 0, 0);
+    }
+
+    /**
+     * Recomputes the checksum state of an account from its transactions.
+     * <p>
+     * Reads every transaction of the account through its index; the cost grows
+     * with that account's history only.
+     * </p>
+     *
+     * @param db The database to read
+     * @param hidden true for the hidden vault
+     * @param betaAccountId The ID of the Beta account
+     * @return The state the account's transactions add up to
+     */
+    public static State compute(@NonNull SupportSQLiteDatabase db, boolean hidden, int betaAccountId) {
+        Vault vault = hidden ? HIDDEN : NORMAL;
+        try (Cursor cursor = db.query("SELECT " + aggregates(vault) + " FROM " + vault.txTable +
+                " WHERE " + vault.betaIdCol + " = ?", new Object[]{betaAccountId})) {
+            cursor.moveToFirst();
+            return new State(betaAccountId, cursor.getLong(0), cursor.getLong(1), cursor.getLong(2));
+        }
+    }
+
+    /**
+     * Overwrites the stored checksum state of an account and marks it verified.
+     *
+     * @param db The database to write
+     * @param hidden true for the hidden vault
+     * @param state The state to store, usually from {@link #compute}
+     * @param verifiedAt The verification time, in epoch milliseconds
+     */
+    public static void store(@NonNull SupportSQLiteDatabase db, boolean hidden, @NonNull State state, long verifiedAt) {
+        Vault vault = hidden ? HIDDEN : NORMAL;
+        db.execSQL("INSERT OR REPLACE INTO " + vault.checksumTable + " (" + vault.betaIdCol +
+                ", Row_count, Running_total, Checksum, Verified_at) VALUES (?, ?, ?, ?, ?)",
+                new Object[]{state.betaAccountId, state.rowCount, state.runningTotal, state.checksum, verifiedAt});
+    }
+
+    /**
+     * Marks an account's checksum row as verified.
+     *
+     * @param db The database to write
+     * @param hidden true for the hidden vault
+     * @param betaAccountId The ID of the Beta account
+     * @param verifiedAt The verification time, in epoch milliseconds
+     */
+    public static void markVerified(@NonNull SupportSQLiteDatabase db, boolean hidden, int betaAccountId, long verifiedAt) {
+        Vault vault = hidden ? HIDDEN : NORMAL;
+        db.execSQL("UPDATE " + vault.checksumTable + " SET Verified_at = ? WHERE " + vault.betaIdCol + " = ?",
+                new Object[]{verifiedAt, betaAccountId});
+    }
+
+    /**
+     * Finds the Beta accounts whose stored balance differs from their running total.
+     * <p>
+     * One pass over the Beta accounts with a primary key lookup each, so the cost
+     * grows with the number of accounts and not with the number of transactions.
+     * </p>
+     *
+     * @param db The database to read
+     * @param hidden true for the hidden vault
+     * @return The IDs of the accounts whose balance disagrees
+     */
+    public static List<Integer> findBalanceDrift(@NonNull SupportSQLiteDatabase db, boolean hidden) {
+        Vault vault = hidden ? HIDDEN : NORMAL;
+        List<Integer> drifted = new ArrayList<>();
+        try (Cursor cursor = db.query("SELECT b." + vault.betaIdCol + " FROM " + vault.betaTable + " b " +
+                "LEFT JOIN " + vault.checksumTable + " c ON c." + vault.betaIdCol + " = b." + vault.betaIdCol +
+                " WHERE b." + vault.betaBalanceCol + " <> COALESCE(c.Running_total, 0)")) {
+            while (cursor.moveToNext()) {
+                drifted.add(cursor.getInt(0));
+            }
+        }
+        return drifted;
+    }
+
+    /**
+     * Checks whether one Beta account's stored balance differs from its running total.
+     *
+     * @param db The database to read
+     * @param hidden true for the hidden vault
+     * @param betaAccountId The ID of the Beta account
+     * @return true if the balance disagrees, false if it agrees or the account does not exist
+     */
+    public static boolean hasBalanceDrift(@NonNull SupportSQLiteDatabase db, boolean hidden, int betaAccountId) {
+        Vault vault = hidden ? HIDDEN : NORMAL;
+        try (Cursor cursor = db.query("SELECT b." + vault.betaBalanceCol + " <> COALESCE(c.Running_total, 0) FROM " +
+                vault.betaTable + " b LEFT JOIN " + vault.checksumTable + " c ON c." + vault.betaIdCol + " = b." +
+                vault.betaIdCol + " WHERE b." + vault.betaIdCol + " = ?", new Object[]{betaAccountId})) {
+            return cursor.moveToFirst() && cursor.getInt(0) != 0;
+        }
+    }
+
+    /**
+     * Picks the accounts verified longest ago, stopping once their transactions
+     * exceed a budget. The first account is always included, however large.
+     *
+     * @param db The database to read
+     * @param hidden true for the hidden vault
+     * @param rowBudget The number of transactions the caller is willing to re-read
+     * @return The stored states of the picked accounts, least recently verified first
+     */
+    public static List<State> leastRecentlyVerified(@NonNull SupportSQLiteDatabase db, boolean hidden, long rowBudget) {
+        Vault vault = hidden ? HIDDEN : NORMAL;
+        List<State> picked = new ArrayList<>();
+        long rows = 0;
+        try (Cursor cursor = db.query("SELECT " + vault.betaIdCol + ", Row_count, Running_total, Checksum FROM " +
+                vault.checksumTable + " ORDER BY Verified_at")) {
+            while (cursor.moveToNext()) {
+                long rowCount = cursor.getLong(1);
+                if (!picked.isEmpty() && rows + rowCount > rowBudget) {
+                    break;
+                }
+                picked.add(new State(cursor.getInt(0), rowCount, cursor.getLong(2), cursor.getLong(3)));
+                rows += rowCount;
+            }
+        }
+        return picked;
+    }
+
+    /**
+     * Builds the checksum trigger statements for one vault.
+     *
+     * @return The CREATE TRIGGER statements for the transaction table
+     */
+    private static String[] statements(Vault vault) {
+        String add = apply(vault, "NEW", "+");
+        String subtract = apply(vault, "OLD", "-");
+        String ensureRow = "INSERT OR IGNORE INTO " + vault.checksumTable + " (" + vault.betaIdCol +
+                ", Row_count, Running_total, Checksum, Verified_at) VALUES (NEW." + vault.betaIdCol + ", 0, 0, 0, 0); ";
+
+        return new String[]{
+            "CREATE TRIGGER IF NOT EXISTS " + vault.txTable + "_checksum_insert AFTER INSERT ON " + vault.txTable +
+                LedgerTriggers.UNLESS_BULK + " BEGIN " + ensureRow + add + "END",
+            "CREATE TRIGGER IF NOT EXISTS " + vault.txTable + "_checksum_update AFTER UPDATE OF " +
+                vault.idCol + ", " + vault.amountCol + ", " + vault.typeCol + ", " + vault.timeCol + ", " + vault.betaIdCol +
+                " ON " + vault.txTable + LedgerTriggers.UNLESS_BULK + " BEGIN " + subtract + ensureRow + add + "END",
+            "CREATE TRIGGER IF NOT EXISTS " + vault.txTable + "_checksum_delete AFTER DELETE ON " + vault.txTable +
+                LedgerTriggers.UNLESS_BULK + " BEGIN " + subtract + "END"
+        };
+    }
+
+    /**
+     * Builds the trigger statement that adds a row to, or removes it from, its account's checksum.
+     *
+     * @param row {@code NEW} or {@code OLD}
+     * @param sign {@code +} to add the row, {@code -} to remove it
+     * @return The statement, terminated by a semicolon
+     */
+    private static String apply(Vault vault, String row, String sign) {
+        String hash = hash(vault, row + ".");
+        String checksum = sign.equals("+")
+                ? "(Checksum + " + hash + ") % " + MODULUS
+                : "(Checksum - " + hash + " + " + MODULUS + ") % " + MODULUS;
+        return "UPDATE " + vault.checksumTable + " SET " +
+                "Row_count = Row_count " + sign + " 1, " +
+                "Running_total = Running_total " + sign + " " + delta(vault, row + ".") + ", " +
+                "Checksum = " + checksum +
+                " WHERE " + vault.betaIdCol + " = " + row + "." + vault.betaIdCol + "; ";
+    }
+
+    /**
+     * Returns the count, net total and checksum aggregates over a vault's transactions.
+     */
+    private static String aggregates(Vault vault) {
+        return "COUNT(*), COALESCE(SUM(" + delta(vault, "") + "), 0), " +
+                "COALESCE(SUM(" + hash(vault, "") + "), 0) % " + MODULUS;
+    }
+
+    /**
+     * Returns the signed amount of a transaction row.
+     *
+     * @param prefix {@code NEW.}, {@code OLD.} or empty for the current row
+     */
+    private static String delta(Vault vault, String prefix) {
+        return "(CASE WHEN " + prefix + vault.typeCol + " = 'CREDIT' THEN " + prefix + vault.amountCol +
+                " ELSE -" + prefix + vault.amountCol + " END)";
+    }
+
+    /**
+     * Returns the hash of a transaction row, in [0, {@link #MODULUS}).
+     * <p>
+     * Each field is reduced below 10^9 before it is multiplied, so no intermediate
+     * value leaves SQLite's integer range and turns into a floating-point number.
+     * </p>
+     *
+     * @param prefix {@code NEW.}, {@code OLD.} or empty for the current row
+     */
+    private static String hash(Vault vault, String prefix) {
+        String sum = "(" + prefix + vault.idCol + " % 1000000007) * 1000003 + " +
+                "(" + prefix + vault.amountCol + " % 1000000007) * 999983 + " +
+                "(" + prefix + vault.timeCol + " % 1000000007) * 1000033 + " +
+                "(" + prefix + vault.typeCol + " = 'CREDIT') + 1";
+        return "(((" + sum + ") % " + MODULUS + " + " + MODULUS + ") % " + MODULUS + ")";
+    }
+}
@@ -0,0 +1,79 @@
+package com.dzovah.mesha.Database.Utils;
+
+import java.time.LocalDate;
+import java.util.Calendar;
+
+/**
+ * Converts between timestamps and the day and month keys used by the rollup tables.
+ * <p>
+ * Days are keyed as yyyyMMdd and months as yyyyMM, both in the device's local time
+ * zone. The same keys are stored on every transaction row as its local day and month
+ * (see {@link LocalDayBuckets}) and key the rollup rows written by
+ * {@link RollupTriggers}. Integer keys sort in date order, so a range of days or
+ * months is a plain {@code BETWEEN}.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see com.dzovah.mesha.Database.Daos.RollupDao
+ */
+public final class LedgerPeriods {
+
+    private LedgerPeriods() {
+        // Static helper, not meant to be instantiated
+    }
+
+    /**
+     * Gets the day key of a timestamp.
+     *
+     * @param timeMillis Epoch milliseconds
+     * @return The local day as yyyyMMdd, e.g. 20240315
+     */
+    public static int dayKey(long timeMillis) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(timeMillis);
+        return dayKey(calendar);
+    }
+
+    /**
+     * Gets the month key of a timestamp.
+     *
+     * @param timeMillis Epoch milliseconds
+     * @return The local month as yyyyMM, e.g. 202403
+     */
+    public static int monthKey(long timeMillis) {
+        return dayKey(timeMillis) / 100;
+    }
+
+    /**
+     * Gets the day key of a calendar date.
+     *
+     * @param calendar The date
+     * @return The day as yyyyMMdd
+     */
+    public static int dayKey(Calendar calendar) {
+        return calendar.get(Calendar.YEAR) * 10000
+                + (calendar.get(Calendar.MONTH) + 1) * 100
+                + calendar.get(Calendar.DAY_OF_MONTH);
+    }
+
+    /**
+     * Gets the day key of a local date.
+     *
+     * @param date The date
+     * @return The day as yyyyMMdd
+     */
+    public static int dayKey(LocalDate date) {
+        return date.getYear() * 10000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+
+    /**
+     * Gets the month key that a day key falls in.
+     *
+     * @param dayKey The day as yyyyMMdd
+     * @return The month as yyyyMM
+     */
+    public static int monthOf(int dayKey) {
+        return dayKey / 100;
+    }
+}
@@ -0,0 +1,178 @@
+package com.dzovah.mesha.Database.Utils;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * SQLite triggers that keep account balances in step with the transaction ledger.
+ * <p>
+ * Balances are maintained incrementally inside the database rather than recomputed
+ * in Java. Every insert, update or delete on a transaction table applies its signed
+ * delta to the owning Beta account, and every change to a Beta account balance is in
+ * turn propagated to its parent Alpha account. A write therefore costs O(1) no matter
+ * how long the account history is, and the stored balances cannot drift from the
+ * transaction tables because both are changed in the same SQLite statement.
+ * </p>
+ * <p>
+ * The same set of triggers is installed for the normal vault
+ * ({@code Transactions}/{@code Beta_accounts}/{@code Alpha_accounts}) and for the
+ * hidden P vault ({@code PTransactions}/{@code PBeta_accounts}/{@code PAlpha_accounts}).
+ * </p>
+ * <p>
+ * When a Beta account is deleted SQLite removes the Beta row before cascading to its
+ * transactions, so the per-transaction triggers find no Beta row to update and the
+ * Beta delete trigger subtracts the final balance from the Alpha account exactly once.
+ * </p>
+ * <p>
+ * Bulk writers can suspend the per-transaction triggers for the length of one database
+ * transaction with {@link #beginBulk} and {@link #endBulk}, and apply each account's
+ * net change once at the end instead of once per row. The Beta to Alpha triggers stay
+ * active, so those single Beta updates still roll up into the Alpha accounts.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see com.dzovah.mesha.Database.MeshaDatabase
+ */
+public final class LedgerTriggers {
+
+    private LedgerTriggers() {
+        // Static helper, not meant to be instantiated
+    }
+
+    /**
+     * Flag table that holds a row while per-transaction balance triggers are suspended.
+     * <p>
+     * Triggers in the main schema cannot see temporary tables, so the flag lives in a
+     * regular table. It is only ever written inside a write transaction and cleared
+     * before that transaction commits, so other connections never see it set.
+     * </p>
+     */
+    public static final String BULK_MODE_TABLE = "Ledger_bulk_mode";
+
+    /** Condition under which the per-transaction triggers run */
+    static final String UNLESS_BULK = " WHEN NOT EXISTS (SELECT 1 FROM " + BULK_MODE_TABLE + ")";
+
+    /**
+     * Creates all balance triggers for both vaults if they do not already exist.
+     * <p>
+     * Called when the database is first created and from the migrations that
+     * introduced or changed the triggers. Also creates the {@link #BULK_MODE_TABLE}
+     * flag table the triggers consult.
+     * </p>
+     *
+     * @param db The database to install the triggers in
+     */
+    public static void create(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + BULK_MODE_TABLE + " (Active INTEGER NOT NULL)");
+        for (String sql : statements(
+                "Transactions", "Transaction_amount", "Transaction_type",
+                "Beta_accounts", "Beta_account_id", "Beta_account_balance",
+                "Alpha_accounts", "Alpha_account_id", "Alpha_account_balance")) {
+            db.execSQL(sql);
+        }
+        for (String sql : statements(
+                "PTransactions", "PTransaction_amount", "PTransaction_type",
+                "PBeta_accounts", "PBeta_account_id", "PBeta_account_balance",
+                "PAlpha_accounts", "PAlpha_account_id", "PAlpha_account_balance")) {
+            db.execSQL(sql);
+        }
+    }
+
+    /**
+     * Drops all balance triggers for both vaults.
+     * <p>
+     * Used by migrations that rebuild the ledger tables, since dropping a table
+     * also drops its triggers and they have to be recreated afterwards.
+     * </p>
+     *
+     * @param db The database to remove the triggers from
+     */
+    public static void drop(@NonNull SupportSQLiteDatabase db) {
+        for (String table : new String[]{"Transactions", "Beta_accounts", "PTransactions", "PBeta_accounts"}) {
+            db.execSQL("DROP TRIGGER IF EXISTS " + table + "_balance_insert");
+            db.execSQL("DROP TRIGGER IF EXISTS " + table + "_balance_update");
+            db.execSQL("DROP TRIGGER IF EXISTS " + table + "_balance_delete");
+        }
+    }
+
+    /**
+     * Suspends the per-transaction balance triggers for the current database transaction.
+     * <p>
+     * Must be called inside a database transaction, and {@link #endBulk} must be called
+     * before that transaction commits. While suspended, inserts, updates and deletes on
+     * the transaction tables leave account balances and the {@link RollupTriggers}
+     * rollups untouched; the caller is responsible for applying the net change to every
+     * affected Beta account and rollup row before ending.
+     * </p>
+     *
+     * @param db The database, with a transaction open on the calling thread
+     */
+    public static void beginBulk(@NonNull SupportSQLiteDatabase db) {
+        if (!db.inTransaction()) {
+            throw new IllegalStateException("Bulk ledger mode requires an open transaction");
+        }
+        db.execSQL("INSERT INTO " + BULK_MODE_TABLE + " (Active) VALUES (1)");
+    }
+
+    /**
+     * Resumes the per-transaction balance triggers.
+     *
+     * @param db The database, with the transaction passed to {@link #beginBulk} still open
+     */
+    public static void endBulk(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("DELETE FROM " + BULK_MODE_TABLE);
+    }
+
+    /**
+     * Builds the trigger statements for one vault.
+     *
+     * @return The CREATE TRIGGER statements for the transaction and Beta account tables
+     */
+    private static String[] statements(String txTable, String amountCol, String typeCol,
+                                       String betaTable, String betaIdCol, String betaBalanceCol,
+                                       String alphaTable, String alphaIdCol, String alphaBalanceCol) {
+        String newDelta = "(CASE WHEN NEW." + typeCol + " = 'CREDIT' THEN NEW." + amountCol
+                + " ELSE -NEW." + amountCol + " END)";
+        String oldDelta = "(CASE WHEN OLD." + typeCol + " = 'CREDIT' THEN OLD." + amountCol
+                + " ELSE -OLD." + amountCol + " END)";
+
+        return new String[]{
+            // Transaction rows move their Beta account balance
+            "CREATE TRIGGER IF NOT EXISTS " + txTable + "_balance_insert AFTER INSERT ON " + txTable + UNLESS_BULK + " BEGIN " +
+                "UPDATE " + betaTable + " SET " + betaBalanceCol + " = " + betaBalanceCol + " + " + newDelta +
+                " WHERE " + betaIdCol + " = NEW." + betaIdCol + "; " +
+            "END",
+            "CREATE TRIGGER IF NOT EXISTS " + txTable + "_balance_update AFTER UPDATE OF " +
+                amountCol + ", " + typeCol + ", " + betaIdCol + " ON " + txTable + UNLESS_BULK + " BEGIN " +
+                "UPDATE " + betaTable + " SET " + betaBalanceCol + " = " + betaBalanceCol + " - " + oldDelta +
+                " WHERE " + betaIdCol + " = OLD." + betaIdCol + "; " +
+                "UPDATE " + betaTable + " SET " + betaBalanceCol + " = " + betaBalanceCol + " + " + newDelta +
+                " WHERE " + betaIdCol + " = NEW." + betaIdCol + "; " +
+            "END",
+            "CREATE TRIGGER IF NOT EXISTS " + txTable + "_balance_delete AFTER DELETE ON " + txTable + UNLESS_BULK + " BEGIN " +
+                "UPDATE " + betaTable + " SET " + betaBalanceCol + " = " + betaBalanceCol + " - " + oldDelta +
+                " WHERE " + betaIdCol + " = OLD." + betaIdCol + "; " +
+            "END",
+
+            // Beta account balances roll up into their Alpha account
+            "CREATE TRIGGER IF NOT EXISTS " + betaTable + "_balance_insert AFTER INSERT ON " + betaTable + " BEGIN " +
+                "UPDATE " + alphaTable + " SET " + alphaBalanceCol + " = " + alphaBalanceCol + " + NEW." + betaBalanceCol +
+                " WHERE " + alphaIdCol + " = NEW." + alphaIdCol + "; " +
+            "END",
+            "CREATE TRIGGER IF NOT EXISTS " + betaTable + "_balance_update AFTER UPDATE OF " +
+                betaBalanceCol + ", " + alphaIdCol + " ON " + betaTable +
+                " WHEN NEW." + betaBalanceCol + " <> OLD." + betaBalanceCol +
+                " OR NEW." + alphaIdCol + " <> OLD." + alphaIdCol + " BEGIN " +
+                "UPDATE " + alphaTable + " SET " + alphaBalanceCol + " = " + alphaBalanceCol + " - OLD." + betaBalanceCol +
+                " WHERE " + alphaIdCol + " = OLD." + alphaIdCol + "; " +
+                "UPDATE " + alphaTable + " SET " + alphaBalanceCol + " = " + alphaBalanceCol + " + NEW." + betaBalanceCol +
+                " WHERE " + alphaIdCol + " = NEW." + alphaIdCol + "; " +
+            "END",
+            "CREATE TRIGGER IF NOT EXISTS " + betaTable + "_balance_delete AFTER DELETE ON " + betaTable + " BEGIN " +
+                "UPDATE " + alphaTable + " SET " + alphaBalanceCol + " = " + alphaBalanceCol + " - OLD." + betaBalanceCol +
+                " WHERE " + alphaIdCol + " = OLD." + alphaIdCol + "; " +
+            "END"
+        };
+    }
+}
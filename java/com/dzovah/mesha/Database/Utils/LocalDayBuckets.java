@@ -0,0 +1,101 @@
+package com.dzovah.mesha.Database.Utils;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Keeps the stored local day and month of every transaction in step with a time zone.
+ * <p>
+ * Each transaction row carries its local day (yyyyMMdd) and month (yyyyMM) next to
+ * its epoch entry time, computed in Java when the row is written (see
+ * {@link LedgerPeriods}). Grouping by day or month is then an indexed
+ * {@code GROUP BY} on a stored column instead of a date conversion per row, and the
+ * rollup triggers key their rows on the same stored values.
+ * </p>
+ * <p>
+ * The stored values are only right for the zone they were computed in. When the
+ * device moves to another zone {@link #rebucket} walks the ledger one local day at a
+ * time: it seeks the first entry time at or after a day boundary, works out that
+ * entry's local day in the new zone, and relabels every row between the day's start
+ * and end with a single indexed range update. Days without transactions are skipped
+ * by the seek, so the cost is one seek and one update per day that has entries.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see RollupTriggers
+ * @see com.dzovah.mesha.Database.Services.LocalDayRebucketer
+ */
+public final class LocalDayBuckets {
+
+    private LocalDayBuckets() {
+        // Static helper, not meant to be instantiated
+    }
+
+    /**
+     * Recomputes the local day and month of every transaction in both vaults.
+     * <p>
+     * Call inside a database transaction. The rollup triggers are suspended with
+     * {@link LedgerTriggers#beginBulk} while rows are relabelled, so if any row moved
+     * the caller must rebuild the rollups with {@link RollupTriggers#rebuild} before
+     * committing.
+     * </p>
+     *
+     * @param db The database, with a transaction open on the calling thread
+     * @param zone The time zone to bucket the entry times in
+     * @return The number of rows whose day or month changed
+     */
+    public static int rebucket(@NonNull SupportSQLiteDatabase db, @NonNull ZoneId zone) {
+        LedgerTriggers.beginBulk(db);
+        int moved = rebucket(db, zone, "Transactions", "Entry_time", "Local_day", "Local_month")
+                + rebucket(db, zone, "PTransactions", "PEntry_time", "PLocal_day", "PLocal_month");
+        LedgerTriggers.endBulk(db);
+        return moved;
+    }
+
+    /**
+     * Relabels one transaction table, one populated local day at a time.
+     *
+     * @return The number of rows whose day or month changed
+     */
+    private static int rebucket(SupportSQLiteDatabase db, ZoneId zone, String txTable,
+                                String timeCol, String dayCol, String monthCol) {
+        String nextEntry = "SELECT MIN(" + timeCol + ") FROM " + txTable + " WHERE " + timeCol + " >= ?";
+        String inDayAndStale = timeCol + " >= ? AND " + timeCol + " < ? AND (" + dayCol + " <> ? OR " + monthCol + " <> ?)";
+
+        int moved = 0;
+        long from = Long.MIN_VALUE;
+        while (true) {
+            long entryTime;
+            try (Cursor cursor = db.query(nextEntry, new Object[]{from})) {
+                if (!cursor.moveToFirst() || cursor.isNull(0)) {
+                    break;
+                }
+                entryTime = cursor.getLong(0);
+            }
+
+            LocalDate date = Instant.ofEpochMilli(entryTime).atZone(zone).toLocalDate();
+            long start = date.atStartOfDay(zone).toInstant().toEpochMilli();
+            long end = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            int day = LedgerPeriods.dayKey(date);
+            int month = LedgerPeriods.monthOf(day);
+
+            ContentValues values = new ContentValues(2);
+            values.put(dayCol, day);
+            values.put(monthCol, month);
+            moved += db.update(txTable, SQLiteDatabase.CONFLICT_NONE, values, inDayAndStale,
+                    new Object[]{start, end, day, month});
+
+            from = end;
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,151 @@
+package com.dzovah.mesha.Database.Utils;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-size thread pool that measures how long tasks wait in its queue.
+ * <p>
+ * The database layer runs its writes and its reads on separate pools (see
+ * {@link com.dzovah.mesha.Database.MeshaDatabase#databaseWriteExecutor} and
+ * {@link com.dzovah.mesha.Database.MeshaDatabase#databaseReadExecutor}). This
+ * executor records, for every task, the time from {@link #execute} to the moment
+ * a thread picks it up, along with the deepest the queue has been, so a screen
+ * that renders late can be traced to the queue it was stuck in. Tasks that wait
+ * longer than {@link #SLOW_WAIT_MILLIS} are logged as they start.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ */
+public class MeteredExecutor extends ThreadPoolExecutor {
+    private static final String TAG = "MeteredExecutor";
+
+    /** Queue wait above which a task is logged when it starts, in milliseconds */
+    public static final long SLOW_WAIT_MILLIS = 100;
+
+    private final String name;
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    /**
+     * Creates a pool with a fixed number of threads and an unbounded queue.
+     *
+     * @param name The pool name, used in thread names and log lines
+     * @param threads The number of threads
+     */
+    public MeteredExecutor(@NonNull String name, int threads) {
+        super(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory(name));
+        this.name = name;
+    }
+
+    /**
+     * A snapshot of the pool's queue metrics.
+     */
+    public static final class Stats {
+        /** The pool name */
+        public final String name;
+        /** Number of tasks waiting in the queue right now */
+        public final int queueDepth;
+        /** Deepest the queue has been since the last reset */
+        public final int maxQueueDepth;
+        /** Number of tasks running right now */
+        public final int active;
+        /** Number of tasks that have started since the last reset */
+        public final long started;
+        /** Mean queue wait of the started tasks, in milliseconds */
+        public final double meanWaitMillis;
+        /** Longest queue wait of the started tasks, in milliseconds */
+        public final double maxWaitMillis;
+
+        Stats(String name, int queueDepth, int maxQueueDepth, int active,
+              long started, double meanWaitMillis, double maxWaitMillis) {
+            this.name = name;
+            this.queueDepth = queueDepth;
+            this.maxQueueDepth = maxQueueDepth;
+            this.active = active;
+            this.started = started;
+            this.meanWaitMillis = meanWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s: %d queued (max %d), %d active, %d started, wait mean %.1f ms max %.1f ms",
+                    name, queueDepth, maxQueueDepth, active, started, meanWaitMillis, maxWaitMillis);
+        }
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        final long queuedAt = System.nanoTime();
+        super.execute(() -> {
+            recordWait(System.nanoTime() - queuedAt);
+            command.run();
+        });
+        raiseTo(maxQueueDepth, getQueue().size());
+    }
+
+    /**
+     * Gets the current queue metrics.
+     *
+     * @return A snapshot of the metrics
+     */
+    public Stats getStats() {
+        long count = started.get();
+        double mean = count > 0 ? totalWaitNanos.get() / (count * 1_000_000.0) : 0;
+        return new Stats(name, getQueue().size(), maxQueueDepth.get(), getActiveCount(),
+                count, mean, maxWaitNanos.get() / 1_000_000.0);
+    }
+
+    /**
+     * Clears the accumulated metrics, for example before measuring one screen.
+     */
+    public void resetStats() {
+        started.set(0);
+        totalWaitNanos.set(0);
+        maxWaitNanos.set(0);
+        maxQueueDepth.set(0);
+    }
+
+    private void recordWait(long waitNanos) {
+        started.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        raiseTo(maxWaitNanos, waitNanos);
+        if (waitNanos > TimeUnit.MILLISECONDS.toNanos(SLOW_WAIT_MILLIS)) {
+            Log.w(TAG, String.format(Locale.US, "%s task waited %.1f ms with %d still queued",
+                    name, waitNanos / 1_000_000.0, getQueue().size()));
+        }
+    }
+
+    private static void raiseTo(AtomicLong max, long value) {
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // Retry until the maximum is at least value
+        }
+    }
+
+    private static void raiseTo(AtomicInteger max, int value) {
+        int current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // Retry until the maximum is at least value
+        }
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> new Thread(runnable, "Mesha-" + name + "-" + count.incrementAndGet());
+    }
+}
@@ -0,0 +1,192 @@
+package com.dzovah.mesha.Database.Utils;
+
+import androidx.annotation.NonNull;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point monetary amount held as a whole number of minor units (cents).
+ * <p>
+ * Every amount and balance in the database is stored as a {@code long} count of
+ * minor units, so sums, comparisons and the balance triggers work in exact integer
+ * arithmetic and never accumulate the rounding error of binary floating point.
+ * The static helpers convert between that representation and the decimal text a
+ * user types or sees, and are used directly on hot paths to avoid allocating a
+ * {@code Money} per row; the value type itself is for code that wants to carry an
+ * amount around with its unit attached.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see CurrencyFormatter
+ */
+public final class Money implements Comparable<Money> {
+
+    /** Number of decimal places in a major unit */
+    public static final int SCALE = 2;
+
+    /** Number of minor units in one major unit */
+    public static final long MINOR_PER_MAJOR = 100L;
+
+    /** A zero amount */
+    public static final Money ZERO = new Money(0L);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    /**
+     * Creates an amount from a count of minor units.
+     *
+     * @param minorUnits The amount in minor units, e.g. 1050 for 10.50
+     * @return The amount
+     */
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0L ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Parses user-entered decimal text into an amount.
+     *
+     * @param text The text to parse, e.g. "10.5"
+     * @return The amount
+     * @throws NumberFormatException If the text is not a number or has more than two decimal places
+     */
+    public static Money parse(String text) {
+        return ofMinor(parseMinor(text));
+    }
+
+    /**
+     * Parses user-entered decimal text into a count of minor units.
+     * <p>
+     * The text is read exactly as a decimal, so "0.1" becomes 10 rather than the
+     * nearest binary fraction. Grouping commas are ignored. Amounts with more than
+     * two decimal places are rejected rather than silently rounded.
+     * </p>
+     *
+     * @param text The text to parse, e.g. "1,250.75"
+     * @return The amount in minor units, e.g. 125075
+     * @throws NumberFormatException If the text is not a number, has more than two
+     *         decimal places, or does not fit in a long
+     */
+    public static long parseMinor(String text) {
+        if (text == null) {
+            throw new NumberFormatException("Amount is empty");
+        }
+        String cleaned = text.trim().replace(",", "");
+        if (cleaned.isEmpty()) {
+            throw new NumberFormatException("Amount is empty");
+        }
+        try {
+            return new BigDecimal(cleaned)
+                    .setScale(SCALE, RoundingMode.UNNECESSARY)
+                    .unscaledValue()
+                    .longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Invalid amount: " + text);
+        }
+    }
+
+    /**
+     * Renders a count of minor units as plain decimal text without grouping or symbol.
+     * <p>
+     * Suitable for pre-filling an input field so that {@link #parseMinor(String)}
+     * reads back the same value.
+     * </p>
+     *
+     * @param minorUnits The amount in minor units
+     * @return The amount as text, e.g. "1250.75"
+     */
+    public static String toPlainString(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE).toPlainString();
+    }
+
+    /**
+     * Gets the amount as a count of minor units.
+     *
+     * @return The amount in minor units
+     */
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    /**
+     * Adds another amount to this one.
+     *
+     * @param other The amount to add
+     * @return The sum
+     * @throws ArithmeticException If the result overflows
+     */
+    public Money plus(@NonNull Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    /**
+     * Subtracts another amount from this one.
+     *
+     * @param other The amount to subtract
+     * @return The difference
+     * @throws ArithmeticException If the result overflows
+     */
+    public Money minus(@NonNull Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    /**
+     * Returns the amount with its sign flipped.
+     *
+     * @return The negated amount
+     */
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    /**
+     * Returns the absolute value of the amount.
+     *
+     * @return The amount without its sign
+     */
+    public Money abs() {
+        return minorUnits < 0 ? negate() : this;
+    }
+
+    /**
+     * Checks whether the amount is below zero.
+     *
+     * @return true if the amount is negative
+     */
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    @Override
+    public int compareTo(@NonNull Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money)) return false;
+        return minorUnits == ((Money) o).minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    /**
+     * Returns the amount formatted with the current currency symbol.
+     *
+     * @return The formatted amount, e.g. "$ 1,250.75"
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return CurrencyFormatter.format(minorUnits);
+    }
+}
@@ -0,0 +1,167 @@
+package com.dzovah.mesha.Database.Utils;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * SQLite triggers that keep the daily and monthly rollup tables in step with the ledger.
+ * <p>
+ * Every insert, update or delete on a transaction table adds or subtracts the row's
+ * amount and count on the matching rollup rows, keyed by Beta account, local day or
+ * month, and category. The day and month are read from the columns stored on the
+ * transaction row rather than converted from its entry time, so the rollups always
+ * agree with the stored buckets, including after {@link LocalDayBuckets#rebucket}. Like the balance triggers in {@link LedgerTriggers} they run in
+ * the same SQLite statement as the write that caused them, so a period total read
+ * from the rollups always agrees with the transactions it summarises.
+ * </p>
+ * <p>
+ * A rollup row is created the first time a transaction lands in its key and is kept
+ * with zero totals if every transaction later leaves it; rows are only removed when
+ * their Beta account is deleted and the foreign key cascades. The triggers are
+ * suspended together with the balance triggers while {@link LedgerTriggers#beginBulk}
+ * is in effect; bulk writers then apply the rollups for their inserted rows through
+ * {@code RollupDao.applyRange}.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see com.dzovah.mesha.Database.Daos.RollupDao
+ * @see com.dzovah.mesha.Database.Daos.PRollupDao
+ */
+public final class RollupTriggers {
+
+    private RollupTriggers() {
+        // Static helper, not meant to be instantiated
+    }
+
+    /**
+     * Creates all rollup triggers for both vaults if they do not already exist.
+     *
+     * @param db The database to install the triggers in
+     */
+    public static void create(@NonNull SupportSQLiteDatabase db) {
+        for (String sql : statements(
+                "Transactions", "Transaction_amount", "Transaction_type", "Local_day", "Local_month",
+                "Beta_account_id", "Alpha_account_id", "Daily_rollups", "Monthly_rollups")) {
+            db.execSQL(sql);
+        }
+        for (String sql : statements(
+                "PTransactions", "PTransaction_amount", "PTransaction_type", "PLocal_day", "PLocal_month",
+                "PBeta_account_id", "PAlpha_account_id", "PDaily_rollups", "PMonthly_rollups")) {
+            db.execSQL(sql);
+        }
+    }
+
+    /**
+     * Drops all rollup triggers for both vaults.
+     *
+     * @param db The database to remove the triggers from
+     */
+    public static void drop(@NonNull SupportSQLiteDatabase db) {
+        for (String table : new String[]{"Transactions", "PTransactions"}) {
+            db.execSQL("DROP TRIGGER IF EXISTS " + table + "_rollup_insert");
+            db.execSQL("DROP TRIGGER IF EXISTS " + table + "_rollup_update");
+            db.execSQL("DROP TRIGGER IF EXISTS " + table + "_rollup_delete");
+        }
+    }
+
+    /**
+     * Recomputes every rollup row of both vaults from the transaction tables.
+     * <p>
+     * Used by the migrations that introduced the rollups and the stored local days,
+     * after a time zone change has moved rows to other days, and as a repair path. Each
+     * rollup table is emptied and refilled by one grouped {@code INSERT ... SELECT};
+     * call inside a transaction so readers never see the tables half built.
+     * </p>
+     *
+     * @param db The database to rebuild the rollups in
+     */
+    public static void rebuild(@NonNull SupportSQLiteDatabase db) {
+        for (String[] vault : new String[][]{
+                {"Transactions", "Transaction_amount", "Transaction_type", "Local_day", "Local_month",
+                        "Beta_account_id", "Alpha_account_id", "Beta_accounts", "Daily_rollups", "Monthly_rollups"},
+                {"PTransactions", "PTransaction_amount", "PTransaction_type", "PLocal_day", "PLocal_month",
+                        "PBeta_account_id", "PAlpha_account_id", "PBeta_accounts", "PDaily_rollups", "PMonthly_rollups"}}) {
+            String txTable = vault[0];
+            String amountCol = vault[1];
+            String typeCol = vault[2];
+            String betaIdCol = vault[5];
+            String alphaIdCol = vault[6];
+            String betaTable = vault[7];
+            for (String[] period : new String[][]{
+                    {vault[8], "Day", vault[3]},
+                    {vault[9], "Month", vault[4]}}) {
+                db.execSQL("DELETE FROM " + period[0]);
+                db.execSQL("INSERT INTO " + period[0] + " (" + betaIdCol + ", " + period[1] + ", Category_id, " +
+                        alphaIdCol + ", Credit_total, Debit_total, Credit_count, Debit_count) " +
+                        "SELECT " + betaIdCol + ", " + period[2] + ", Category_id, MAX(" + alphaIdCol + "), " +
+                        "SUM(CASE WHEN " + typeCol + " = 'CREDIT' THEN " + amountCol + " ELSE 0 END), " +
+                        "SUM(CASE WHEN " + typeCol + " = 'CREDIT' THEN 0 ELSE " + amountCol + " END), " +
+                        "SUM(" + typeCol + " = 'CREDIT'), SUM(" + typeCol + " <> 'CREDIT') " +
+                        "FROM " + txTable + " WHERE " + betaIdCol + " IN (SELECT " + betaIdCol + " FROM " + betaTable + ") " +
+                        "GROUP BY 1, 2, 3");
+            }
+        }
+    }
+
+    /**
+     * Builds the trigger statements for one vault.
+     *
+     * @return The CREATE TRIGGER statements for the transaction table
+     */
+    private static String[] statements(String txTable, String amountCol, String typeCol,
+                                       String dayCol, String monthCol, String betaIdCol, String alphaIdCol,
+                                       String dailyTable, String monthlyTable) {
+        String add = apply("NEW", "+", amountCol, typeCol, dayCol, monthCol, betaIdCol, alphaIdCol, dailyTable, monthlyTable);
+        String subtract = apply("OLD", "-", amountCol, typeCol, dayCol, monthCol, betaIdCol, alphaIdCol, dailyTable, monthlyTable);
+
+        return new String[]{
+            "CREATE TRIGGER IF NOT EXISTS " + txTable + "_rollup_insert AFTER INSERT ON " + txTable +
+                LedgerTriggers.UNLESS_BULK + " BEGIN " + add + "END",
+            "CREATE TRIGGER IF NOT EXISTS " + txTable + "_rollup_update AFTER UPDATE OF " +
+                amountCol + ", " + typeCol + ", " + dayCol + ", " + monthCol + ", " + betaIdCol + ", " + alphaIdCol + ", Category_id" +
+                " ON " + txTable + LedgerTriggers.UNLESS_BULK + " BEGIN " + subtract + add + "END",
+            "CREATE TRIGGER IF NOT EXISTS " + txTable + "_rollup_delete AFTER DELETE ON " + txTable +
+                LedgerTriggers.UNLESS_BULK + " BEGIN " + subtract + "END"
+        };
+    }
+
+    /**
+     * Builds the trigger body that adds a row to, or removes it from, both rollup tables.
+     *
+     * @param row {@code NEW} or {@code OLD}
+     * @param sign {@code +} to add the row, {@code -} to remove it
+     * @return The trigger body statements, each terminated by a semicolon
+     */
+    private static String apply(String row, String sign, String amountCol, String typeCol, String dayCol, String monthCol,
+                                String betaIdCol, String alphaIdCol, String dailyTable, String monthlyTable) {
+        String isCredit = "(" + row + "." + typeCol + " = 'CREDIT')";
+        String credit = "(CASE WHEN " + isCredit + " THEN " + row + "." + amountCol + " ELSE 0 END)";
+        String debit = "(CASE WHEN " + isCredit + " THEN 0 ELSE " + row + "." + amountCol + " END)";
+
+        StringBuilder sql = new StringBuilder();
+        for (String[] period : new String[][]{
+                {dailyTable, "Day", row + "." + dayCol},
+                {monthlyTable, "Month", row + "." + monthCol}}) {
+            String table = period[0];
+            String periodCol = period[1];
+            String key = period[2];
+            if (sign.equals("+")) {
+                // Make sure the row exists before adding to it
+                sql.append("INSERT OR IGNORE INTO " + table + " (" + betaIdCol + ", " + periodCol + ", Category_id, " +
+                        alphaIdCol + ", Credit_total, Debit_total, Credit_count, Debit_count) VALUES (" +
+                        row + "." + betaIdCol + ", " + key + ", " + row + ".Category_id, " +
+                        row + "." + alphaIdCol + ", 0, 0, 0, 0); ");
+            }
+            sql.append("UPDATE " + table + " SET " +
+                    "Credit_total = Credit_total " + sign + " " + credit + ", " +
+                    "Debit_total = Debit_total " + sign + " " + debit + ", " +
+                    "Credit_count = Credit_count " + sign + " " + isCredit + ", " +
+                    "Debit_count = Debit_count " + sign + " (NOT " + isCredit + ")" +
+                    " WHERE " + betaIdCol + " = " + row + "." + betaIdCol +
+                    " AND " + periodCol + " = " + key +
+                    " AND Category_id = " + row + ".Category_id; ");
+        }
+        return sql.toString();
+    }
+}
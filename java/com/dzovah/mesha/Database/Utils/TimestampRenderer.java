@@ -0,0 +1,216 @@
+package com.dzovah.mesha.Database.Utils;
+
+import androidx.annotation.NonNull;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Renders transaction timestamps as the date and time labels shown in lists.
+ * <p>
+ * A list of transactions covers a handful of days and, within them, at most 1440
+ * distinct minutes, yet every row bind used to allocate a {@link java.util.Date} and
+ * run a {@link java.text.SimpleDateFormat}. This renderer formats each local day once
+ * and each minute of the day once, then hands out the same strings:
+ * <ul>
+ *   <li>Day labels, e.g. "15 Mar 2024", are cached per local day together with the
+ *       day's start and end, so a timestamp on the same day as the previous one is
+ *       recognised with two comparisons</li>
+ *   <li>Time labels, e.g. "14:05", depend only on the minute of the day and are kept
+ *       in a 1440-entry table</li>
+ * </ul>
+ * </p>
+ * <p>
+ * All state is immutable or held in concurrent structures, so adapters and
+ * background threads can share it. The caches follow the default locale and time
+ * zone; a change of locale is noticed on the next call and a change of zone within
+ * a minute, or immediately after {@link #reset()}.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see LedgerPeriods
+ */
+public final class TimestampRenderer {
+    private static final String DATE_PATTERN = "dd MMM yyyy";
+    private static final String TIME_PATTERN = "HH:mm";
+
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /** How long the default time zone is trusted before it is read again, in milliseconds */
+    private static final long ZONE_CHECK_MILLIS = 60_000L;
+
+    /** Day labels kept before the day cache is emptied and refilled */
+    private static final int MAX_CACHED_DAYS = 1024;
+
+    private static volatile Renderer renderer;
+    private static volatile long zoneCheckedAt;
+
+    private TimestampRenderer() {
+        // Static helper, not meant to be instantiated
+    }
+
+    /**
+     * One local day: its label and the span of epoch milliseconds it covers.
+     */
+    private static final class Day {
+        final long startMillis;
+        final long endMillis;
+        final String label;
+        /** True if the zone offset is the same all day, so minutes can be counted from the start */
+        final boolean uniformOffset;
+
+        Day(long startMillis, long endMillis, String label, boolean uniformOffset) {
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+            this.label = label;
+            this.uniformOffset = uniformOffset;
+        }
+
+        boolean contains(long timeMillis) {
+            return timeMillis >= startMillis && timeMillis < endMillis;
+        }
+    }
+
+    /**
+     * The formatters and caches for one locale and time zone.
+     */
+    private static final class Renderer {
+        final ZoneId zone;
+        final Locale locale;
+        final DateTimeFormatter dateFormatter;
+        final DateTimeFormatter timeFormatter;
+        final ConcurrentHashMap<Long, Day> days = new ConcurrentHashMap<>();
+        final AtomicReferenceArray<String> minutes = new AtomicReferenceArray<>(MINUTES_PER_DAY);
+        volatile Day lastDay;
+
+        Renderer(ZoneId zone, Locale locale) {
+            this.zone = zone;
+            this.locale = locale;
+            this.dateFormatter = DateTimeFormatter.ofPattern(DATE_PATTERN, locale);
+            this.timeFormatter = DateTimeFormatter.ofPattern(TIME_PATTERN, locale);
+        }
+
+        Day dayOf(long timeMillis) {
+            Day day = lastDay;
+            if (day != null && day.contains(timeMillis)) {
+                return day;
+            }
+
+            long epochDay = Instant.ofEpochMilli(timeMillis).atZone(zone).toLocalDate().toEpochDay();
+            day = days.get(epochDay);
+            if (day == null) {
+                if (days.size() >= MAX_CACHED_DAYS) {
+                    days.clear();
+                }
+                day = createDay(LocalDate.ofEpochDay(epochDay));
+                Day existing = days.putIfAbsent(epochDay, day);
+                if (existing != null) {
+                    day = existing;
+                }
+            }
+            lastDay = day;
+            return day;
+        }
+
+        Day createDay(LocalDate date) {
+            ZonedDateTime start = date.atStartOfDay(zone);
+            ZonedDateTime end = date.plusDays(1).atStartOfDay(zone);
+            boolean uniform = start.getOffset().equals(end.getOffset());
+            return new Day(start.toInstant().toEpochMilli(), end.toInstant().toEpochMilli(),
+                    dateFormatter.format(date), uniform);
+        }
+
+        String timeOf(long timeMillis) {
+            Day day = dayOf(timeMillis);
+            int minuteOfDay;
+            if (day.uniformOffset) {
+                minuteOfDay = (int) ((timeMillis - day.startMillis) / MILLIS_PER_MINUTE);
+            } else {
+                // Daylight saving starts or ends today; count minutes on the wall clock
+                LocalTime time = Instant.ofEpochMilli(timeMillis).atZone(zone).toLocalTime();
+                minuteOfDay = time.getHour() * 60 + time.getMinute();
+            }
+
+            String label = minutes.get(minuteOfDay);
+            if (label == null) {
+                label = timeFormatter.format(LocalTime.of(minuteOfDay / 60, minuteOfDay % 60));
+                minutes.lazySet(minuteOfDay, label);
+            }
+            return label;
+        }
+    }
+
+    /**
+     * Formats the local date of a timestamp.
+     *
+     * @param timeMillis Epoch milliseconds
+     * @return The date, e.g. "15 Mar 2024"
+     */
+    @NonNull
+    public static String formatDate(long timeMillis) {
+        return current().dayOf(timeMillis).label;
+    }
+
+    /**
+     * Formats the local time of a timestamp to the minute.
+     *
+     * @param timeMillis Epoch milliseconds
+     * @return The time on a 24-hour clock, e.g. "14:05"
+     */
+    @NonNull
+    public static String formatTime(long timeMillis) {
+        return current().timeOf(timeMillis);
+    }
+
+    /**
+     * Formats the local date and time of a timestamp.
+     *
+     * @param timeMillis Epoch milliseconds
+     * @return The date and time, e.g. "15 Mar 2024, 14:05"
+     */
+    @NonNull
+    public static String formatDateTime(long timeMillis) {
+        Renderer current = current();
+        return current.dayOf(timeMillis).label + ", " + current.timeOf(timeMillis);
+    }
+
+    /**
+     * Drops every cached label so the next call reads the default locale and time
+     * zone again. Call when either is known to have changed.
+     */
+    public static void reset() {
+        renderer = null;
+    }
+
+    /**
+     * Gets the renderer for the default locale and zone, replacing it if either has
+     * changed. The zone is only read once a minute, since reading it copies the
+     * default {@link java.util.TimeZone}.
+     */
+    private static Renderer current() {
+        Renderer current = renderer;
+        Locale locale = Locale.getDefault();
+        long now = System.currentTimeMillis();
+        if (current != null && current.locale.equals(locale)
+                && now - zoneCheckedAt < ZONE_CHECK_MILLIS) {
+            return current;
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        zoneCheckedAt = now;
+        if (current == null || !current.locale.equals(locale) || !current.zone.equals(zone)) {
+            current = new Renderer(zone, locale);
+            renderer = current;
+        }
+        return current;
+    }
+}
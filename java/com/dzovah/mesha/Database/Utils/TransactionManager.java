@@ -1,23 +1,16 @@
 package com.dzovah.mesha.Database.Utils;
 
+import android.database.Cursor;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
-import androidx.room.Transaction;
-
-import com.dzovah.mesha.Database.Daos.AlphaAccountDao;
-import com.dzovah.mesha.Database.Daos.BetaAccountDao;
-import com.dzovah.mesha.Database.Daos.PAlphaAccountDao;
-import com.dzovah.mesha.Database.Daos.PBetaAccountDao;
-import com.dzovah.mesha.Database.Daos.TransactionDao;
-import com.dzovah.mesha.Database.Daos.PTransactionDao;
-import com.dzovah.mesha.Database.Entities.AlphaAccount;
-import com.dzovah.mesha.Database.Entities.BetaAccount;
-import com.dzovah.mesha.Database.Entities.PAlphaAccount;
-import com.dzovah.mesha.Database.Entities.PBetaAccount;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.dzovah.mesha.Database.Daos.LedgerDao;
+import com.dzovah.mesha.Database.Daos.PLedgerDao;
 import com.dzovah.mesha.Database.MeshaDatabase;
 
-import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -28,6 +21,12 @@ import java.util.concurrent.Future;
  * This class provides methods for executing operations that need to maintain
  * data integrity across both normal and hidden account systems.
  * </p>
+ * <p>
+ * Day-to-day balance maintenance is done by the triggers in {@link LedgerTriggers};
+ * the recalculation methods here are repair paths that resynchronise stored
+ * balances from the transaction tables. They delegate to {@link LedgerDao} and
+ * {@link PLedgerDao}, where Room's transaction annotation actually takes effect.
+ * </p>
  *
  * @author Electra Magus
  * @version 1.0
@@ -45,40 +44,146 @@ public class TransactionManager {
         this.database = database;
     }
 
+    /**
+     * The outcome of one full balance rebuild.
+     */
+    public static final class RebuildReport {
+        /** Beta accounts whose stored balance differed from their transactions */
+        public final int betasCorrected;
+        /** Alpha accounts still wrong after the Beta corrections rolled up */
+        public final int alphasCorrected;
+        /** PBeta accounts whose stored balance differed from their transactions */
+        public final int pBetasCorrected;
+        /** PAlpha accounts still wrong after the PBeta corrections rolled up */
+        public final int pAlphasCorrected;
+        /** Wall time of the whole rebuild including the commit, in nanoseconds */
+        public final long elapsedNanos;
+
+        RebuildReport(int[] vault, int[] pVault, long elapsedNanos) {
+            this.betasCorrected = vault[0];
+            this.alphasCorrected = vault[1];
+            this.pBetasCorrected = pVault[0];
+            this.pAlphasCorrected = pVault[1];
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Checks whether any stored balance had drifted.
+         *
+         * @return true if at least one account was corrected
+         */
+        public boolean foundDrift() {
+            return betasCorrected + alphasCorrected + pBetasCorrected + pAlphasCorrected > 0;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "corrected %d Beta and %d Alpha, %d PBeta and %d PAlpha balances in %.1f ms",
+                    betasCorrected, alphasCorrected, pBetasCorrected, pAlphasCorrected, elapsedNanos / 1_000_000.0);
+        }
+    }
+
+    /**
+     * Rebuilds every stored balance of both vaults from the transaction tables.
+     * <p>
+     * Each vault takes two set-based statements, one deriving every Beta balance
+     * from its transactions and one every Alpha balance from its Beta accounts
+     * (see {@link LedgerDao#rebuildAllBalances}), and both vaults commit together in
+     * one database transaction. The statements use correlated subqueries rather than
+     * {@code UPDATE ... FROM}, which needs SQLite 3.33 and is missing from the SQLite
+     * of most supported Android releases. Blocks until the rebuild has committed;
+     * call from a background thread.
+     * </p>
+     *
+     * @return The number of balances corrected and the time taken
+     */
+    public RebuildReport rebuildAllBalances() {
+        long start = System.nanoTime();
+        int[][] corrected = database.runInTransaction(() -> new int[][]{
+                database.ledgerDao().rebuildAllBalances(),
+                database.PledgerDao().rebuildAllBalances()
+        });
+        RebuildReport report = new RebuildReport(corrected[0], corrected[1], System.nanoTime() - start);
+        Log.i(TAG, "Balance rebuild: " + report);
+        return report;
+    }
+
+    /**
+     * Deletes an Alpha account together with its Beta accounts and their ledger.
+     * <p>
+     * The delete is a single statement on the Alpha row, and the foreign keys declared
+     * on the schema cascade it to the Beta accounts, transactions, rollups and
+     * checksums. Left to themselves, the ledger triggers would fire once per cascaded
+     * transaction to adjust balances, rollups and checksums that are being deleted
+     * anyway, so they are suspended with {@link LedgerTriggers#beginBulk} for the
+     * duration. Everything commits in one database transaction. Blocks until then;
+     * call from a background thread.
+     * </p>
+     *
+     * @param alphaAccountId The ID of the Alpha account to delete
+     * @return true if the account existed and was deleted
+     * @throws IllegalStateException if foreign key enforcement is off
+     */
+    public boolean deleteAlphaAccount(int alphaAccountId) {
+        return deleteCascading("Alpha account " + alphaAccountId,
+                () -> database.alphaAccountDao().deleteAlphaAccountById(alphaAccountId));
+    }
+
+    /**
+     * Deletes a PAlpha account together with its PBeta accounts and their ledger,
+     * in the same way as {@link #deleteAlphaAccount}.
+     *
+     * @param pAlphaAccountId The ID of the PAlpha account to delete
+     * @return true if the account existed and was deleted
+     * @throws IllegalStateException if foreign key enforcement is off
+     */
+    public boolean deletePAlphaAccount(int pAlphaAccountId) {
+        return deleteCascading("PAlpha account " + pAlphaAccountId,
+                () -> database.PalphaAccountDao().deletePAlphaAccountById(pAlphaAccountId));
+    }
+
+    /**
+     * Runs a cascading delete in one transaction with the ledger triggers suspended.
+     *
+     * @param account The account being deleted, for the log
+     * @param delete The delete statement, returning the number of rows it removed
+     * @return true if a row was deleted
+     */
+    private boolean deleteCascading(String account, Callable<Integer> delete) {
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        // With enforcement off the delete would succeed and orphan the whole ledger
+        try (Cursor cursor = db.query("PRAGMA foreign_keys")) {
+            if (!cursor.moveToFirst() || cursor.getInt(0) != 1) {
+                throw new IllegalStateException("Foreign keys are not enforced; refusing to delete " + account);
+            }
+        }
+
+        long start = System.nanoTime();
+        int deleted = database.runInTransaction(() -> {
+            LedgerTriggers.beginBulk(db);
+            int rows = delete.call();
+            LedgerTriggers.endBulk(db);
+            return rows;
+        });
+        Log.i(TAG, "Deleted " + account + " and its ledger in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return deleted > 0;
+    }
+
     /**
      * Updates all Alpha account balances based on their Beta accounts.
      * <p>
      * This method ensures that every Alpha account's balance correctly reflects
-     * the sum of its Beta account balances.
+     * the sum of its Beta account balances. Each vault is rebuilt by a single
+     * set-based statement inside its own database transaction.
      * </p>
      *
      * @return true if all updates were successful, false otherwise
      */
-    @Transaction
     public boolean updateAllAlphaAccountBalances() {
         try {
-            // Update regular Alpha accounts
-            AlphaAccountDao alphaDao = database.alphaAccountDao();
-            BetaAccountDao betaDao = database.betaAccountDao();
-            List<AlphaAccount> alphaAccounts = alphaDao.getAllAlphaAccounts();
-            
-            for (AlphaAccount alpha : alphaAccounts) {
-                List<BetaAccount> betaAccounts = betaDao.getBetaAccountsByAlphaAccountId(alpha.getAlphaAccountId());
-                alpha.updateBalanceFromBetaAccounts(betaAccounts);
-                alphaDao.update(alpha);
-            }
-            
-            // Update hidden P-Alpha accounts
-            PAlphaAccountDao pAlphaDao = database.PalphaAccountDao();
-            PBetaAccountDao pBetaDao = database.PbetaAccountDao();
-            List<PAlphaAccount> pAlphaAccounts = pAlphaDao.getAllPAlphaAccounts();
-            
-            for (PAlphaAccount pAlpha : pAlphaAccounts) {
-                List<PBetaAccount> pBetaAccounts = pBetaDao.getPBetaAccountsByPAlphaAccountId(pAlpha.getPAlphaAccountId());
-                pAlpha.updateBalanceFromBetaAccounts(pBetaAccounts);
-                pAlphaDao.update(pAlpha);
-            }
-            
+            database.ledgerDao().rebuildAllAlphaBalances();
+            database.PledgerDao().rebuildAllAlphaBalances();
             return true;
         } catch (Exception e) {
             Log.e(TAG, "Error updating Alpha account balances", e);
@@ -90,42 +195,16 @@ public class TransactionManager {
      * Updates a Beta account balance and its parent Alpha account balance.
      * <p>
      * This method ensures that when a Beta account's balance changes, its parent
-     * Alpha account's balance is also updated to maintain data integrity.
+     * Alpha account's balance is also updated to maintain data integrity. Both
+     * updates commit together through {@link LedgerDao#rebuildBetaAndAlphaBalance}.
      * </p>
      *
      * @param betaAccountId The ID of the Beta account to update
      * @return true if the update was successful, false otherwise
      */
-    @Transaction
     public boolean updateBetaAndAlphaBalance(int betaAccountId) {
         try {
-            BetaAccountDao betaDao = database.betaAccountDao();
-            AlphaAccountDao alphaDao = database.alphaAccountDao();
-            TransactionDao transactionDao = database.transactionDao();
-            
-            // Get the Beta account
-            BetaAccount beta = betaDao.getBetaAccountById(betaAccountId);
-            if (beta == null) {
-                return false;
-            }
-            
-            // Update Beta account balance from transactions
-            double calculatedBalance = transactionDao.getBetaAccountBalance(betaAccountId);
-            beta.setBetaAccountBalance(calculatedBalance);
-            betaDao.update(beta);
-            
-            // Get and update the parent Alpha account
-            int alphaId = beta.getAlphaAccountId();
-            AlphaAccount alpha = alphaDao.getAlphaAccountById(alphaId);
-            if (alpha == null) {
-                return false;
-            }
-            
-            List<BetaAccount> betaAccounts = betaDao.getBetaAccountsByAlphaAccountId(alphaId);
-            alpha.updateBalanceFromBetaAccounts(betaAccounts);
-            alphaDao.update(alpha);
-            
-            return true;
+            return database.ledgerDao().rebuildBetaAndAlphaBalance(betaAccountId);
         } catch (Exception e) {
             Log.e(TAG, "Error updating Beta and Alpha balances", e);
             return false;
@@ -136,42 +215,16 @@ public class TransactionManager {
      * Updates a hidden PBeta account balance and its parent PAlpha account balance.
      * <p>
      * This method ensures that when a PBeta account's balance changes, its parent
-     * PAlpha account's balance is also updated to maintain data integrity.
+     * PAlpha account's balance is also updated to maintain data integrity. Both
+     * updates commit together through {@link PLedgerDao#rebuildBetaAndAlphaBalance}.
      * </p>
      *
      * @param pBetaAccountId The ID of the PBeta account to update
      * @return true if the update was successful, false otherwise
      */
-    @Transaction
     public boolean updatePBetaAndPAlphaBalance(int pBetaAccountId) {
         try {
-            PBetaAccountDao pBetaDao = database.PbetaAccountDao();
-            PAlphaAccountDao pAlphaDao = database.PalphaAccountDao();
-            PTransactionDao pTransactionDao = database.PtransactionDao();
-            
-            // Get the PBeta account
-            PBetaAccount pBeta = pBetaDao.getPBetaAccountById(pBetaAccountId);
-            if (pBeta == null) {
-                return false;
-            }
-            
-            // Update PBeta account balance from transactions
-            double calculatedBalance = pTransactionDao.getPBetaAccountBalance(pBetaAccountId);
-            pBeta.setPBetaAccountBalance(calculatedBalance);
-            pBetaDao.update(pBeta);
-            
-            // Get and update the parent PAlpha account
-            int pAlphaId = pBeta.getPAlphaAccountId();
-            PAlphaAccount pAlpha = pAlphaDao.getPAlphaAccountById(pAlphaId);
-            if (pAlpha == null) {
-                return false;
-            }
-            
-            List<PBetaAccount> pBetaAccounts = pBetaDao.getPBetaAccountsByPAlphaAccountId(pAlphaId);
-            pAlpha.updateBalanceFromBetaAccounts(pBetaAccounts);
-            pAlphaDao.update(pAlpha);
-            
-            return true;
+            return database.PledgerDao().rebuildBetaAndAlphaBalance(pBetaAccountId);
         } catch (Exception e) {
             Log.e(TAG, "Error updating PBeta and PAlpha balances", e);
             return false;
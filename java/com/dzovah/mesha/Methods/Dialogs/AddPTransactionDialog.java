@@ -18,10 +18,14 @@ import android.os.Looper;
 
 import androidx.annotation.NonNull;
 
-import com.dzovah.mesha.Database.Entities.PAlphaAccount;
 import com.dzovah.mesha.Database.Entities.PBetaAccount;
 import com.dzovah.mesha.Database.Entities.PTransaction;
 import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Repositories.AccountTreeCache;
+import com.dzovah.mesha.Database.Repositories.CategoryRegistry;
+import com.dzovah.mesha.Database.Services.AccountService;
+import com.dzovah.mesha.Database.Services.LedgerWriteCoalescer;
+import com.dzovah.mesha.Database.Utils.Money;
 import com.dzovah.mesha.Database.Utils.TransactionType;
 import com.dzovah.mesha.R;
 import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
@@ -165,15 +169,26 @@ public class AddPTransactionDialog extends Dialog {
     }
 
     /**
-     * Preloads categories in the background before setting up the dialog UI.
-     * This helps reduce main thread work during dialog display.
+     * Gets the categories before setting up the dialog UI.
+     * <p>
+     * The categories normally come from the in-memory {@link CategoryRegistry}, so the
+     * dialog is set up straight away without a disk read. Only if the registry has not
+     * finished its first load are they read on the background thread.
+     * </p>
      */
     private void preloadCategories() {
+        List<Category> cached = CategoryRegistry.get(context).getCategories();
+        if (cached != null) {
+            categories = cached;
+            setupDialog();
+            return;
+        }
+
         executeIfActive(() -> {
             try {
-                // Load categories in background thread
-                categories = database.categoryDao().getAllCategories();
-
+                // Registry not loaded yet, load categories in background thread
+                categories = CategoryRegistry.get(context).requireCategories();
+                
                 // Setup dialog on main thread after categories are loaded
                 postToMainThreadIfActive(this::setupDialog);
             } catch (Exception e) {
@@ -251,7 +266,7 @@ public class AddPTransactionDialog extends Dialog {
             }
 
             try {
-                double amount = Double.parseDouble(amountStr);
+                long amount = Money.parseMinor(amountStr);
 
                 // For DEBIT transactions, check if it would cause a negative balance
                 if (type.equals("DEBIT")) {
@@ -261,9 +276,9 @@ public class AddPTransactionDialog extends Dialog {
                     // Move balance check to background thread
                     executeIfActive(() -> {
                         try {
-                            // Get the latest balance from database
-                            PBetaAccount latestAccount = database.PbetaAccountDao().getPBetaAccountById(betaAccount.getPBetaAccountId());
-                            double currentBalance = latestAccount != null ?
+                            // Get the latest balance from the in-memory account tree
+                            PBetaAccount latestAccount = AccountTreeCache.getP(context).findBeta(betaAccount.getPBetaAccountId());
+                            long currentBalance = latestAccount != null ?
                                     latestAccount.getPBetaAccountBalance() : betaAccount.getPBetaAccountBalance();
 
                             if (amount > currentBalance) {
@@ -322,9 +337,8 @@ public class AddPTransactionDialog extends Dialog {
      * This method performs the following actions:
      * <ol>
      *   <li>Creates a new Transaction object with the provided data</li>
-     *   <li>Inserts the transaction into the database</li>
-     *   <li>Updates the BetaAccount balance</li>
-     *   <li>Updates the parent AlphaAccount balance</li>
+     *   <li>Inserts the transaction into the database, which updates the BetaAccount
+     *       and parent AlphaAccount balances through the balance triggers</li>
      *   <li>Notifies the listener of the successful transaction</li>
      * </ol>
      * </p>
@@ -332,11 +346,11 @@ public class AddPTransactionDialog extends Dialog {
      * All database operations are performed on a background thread.
      * </p>
      *
-     * @param amount The transaction amount
+     * @param amount The transaction amount, in minor units
      * @param type The transaction type ("CREDIT" or "DEBIT")
      * @param description The transaction description
      */
-    private void createTransaction(double amount, String type, String description) {
+    private void createTransaction(long amount, String type, String description) {
         if (!isActive.get()) return;
 
         Category selectedCategory = (Category) categorySpinner.getSelectedItem();
@@ -354,44 +368,13 @@ public class AddPTransactionDialog extends Dialog {
                 System.currentTimeMillis()
         );
 
-        executeIfActive(() -> {
-            try {
-                // Update progress status
-                updateLoadingStatus("Saving to database...");
-
-                // Get the latest account data before making changes
-                PBetaAccount currentBeta = database.PbetaAccountDao().getPBetaAccountById(betaAccount.getPBetaAccountId());
-                PAlphaAccount alphaAccount = database.PalphaAccountDao().getPAlphaAccountById(currentBeta.getPAlphaAccountId());
-
-                // Calculate new balances
-                double newBetaBalance = currentBeta.getPBetaAccountBalance();
-                newBetaBalance += type.equals("CREDIT") ? amount : -amount;
-                currentBeta.setPBetaAccountBalance(newBetaBalance);
-
-                double newAlphaBalance = 0;
-                if (alphaAccount != null) {
-                    newAlphaBalance = alphaAccount.getPAlphaAccountBalance();
-                    newAlphaBalance += type.equals("CREDIT") ? amount : -amount;
-                    alphaAccount.setPAlphaAccountBalance(newAlphaBalance);
-                }
-
-                // Begin transaction to ensure consistency
-                database.runInTransaction(() -> {
-                    // 1. Insert the transaction
-                    database.PtransactionDao().insert(newTransaction);
-
-                    // 2. Update Beta account balance
-                    database.PbetaAccountDao().update(currentBeta);
-
-                    // 3. Update Alpha account balance
-                    if (alphaAccount != null) {
-                        database.PalphaAccountDao().update(alphaAccount);
-                    }
-                });
-
-                // Update our instance with the new balance
-                betaAccount.setPBetaAccountBalance(newBetaBalance);
+        updateLoadingStatus("Saving to database...");
 
+        // Balance triggers adjust the Beta and Alpha accounts in the same statement;
+        // entries made in quick succession share one commit
+        LedgerWriteCoalescer.get(context).addPTransaction(newTransaction, new AccountService.ServiceCallback<Long>() {
+            @Override
+            public void onSuccess(Long transactionId) {
                 // Update UI on the main thread
                 postToMainThreadIfActive(() -> {
                     hideLoading();
@@ -402,12 +385,13 @@ public class AddPTransactionDialog extends Dialog {
 
                     Toast.makeText(context, "Transaction added successfully", Toast.LENGTH_SHORT).show();
                 });
-            } catch (Exception e) {
-                e.printStackTrace();
+            }
 
+            @Override
+            public void onError(String error) {
                 postToMainThreadIfActive(() -> {
                     hideLoading();
-                    Toast.makeText(context, "Error adding transaction: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                    Toast.makeText(context, "Error adding transaction: " + error, Toast.LENGTH_SHORT).show();
                 });
             }
         });
@@ -421,10 +405,10 @@ public class AddPTransactionDialog extends Dialog {
      * to allow the user to transfer funds from another account before completing the transaction.
      * </p>
      *
-     * @param amount The transaction amount that exceeds the current balance
+     * @param amount The transaction amount that exceeds the current balance, in minor units
      * @param description The transaction description
      */
-    private void showAlternativeAccountDialog(double amount, String description) {
+    private void showAlternativeAccountDialog(long amount, String description) {
         if (!isActive.get()) return;
 
         AlternativePBetaAccountDialog dialog = new AlternativePBetaAccountDialog(
@@ -439,14 +423,10 @@ public class AddPTransactionDialog extends Dialog {
             // After funds transfer completed, refresh beta account data and continue
             executeIfActive(() -> {
                 try {
-                    // Refresh beta account data
-                    PBetaAccount refreshedAccount = database.PbetaAccountDao()
-                            .getPBetaAccountById(betaAccount.getPBetaAccountId());
+                    // Check the account still exists; its new balance reaches the screen through the observed queries
+                    PBetaAccount refreshedAccount = AccountTreeCache.getP(context).findBeta(betaAccount.getPBetaAccountId());
 
                     if (refreshedAccount != null) {
-                        // Update our local copy with refreshed data
-                        betaAccount.setPBetaAccountBalance(refreshedAccount.getPBetaAccountBalance());
-
                         // Now proceed with the original transaction
                         postToMainThreadIfActive(() -> {
                             // Proceed with original transaction now that funds are available
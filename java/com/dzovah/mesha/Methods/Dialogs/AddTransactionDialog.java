@@ -18,10 +18,14 @@ import android.os.Looper;
 
 import androidx.annotation.NonNull;
 
-import com.dzovah.mesha.Database.Entities.AlphaAccount;
 import com.dzovah.mesha.Database.Entities.BetaAccount;
 import com.dzovah.mesha.Database.Entities.Transaction;
 import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Repositories.AccountTreeCache;
+import com.dzovah.mesha.Database.Repositories.CategoryRegistry;
+import com.dzovah.mesha.Database.Services.AccountService;
+import com.dzovah.mesha.Database.Services.LedgerWriteCoalescer;
+import com.dzovah.mesha.Database.Utils.Money;
 import com.dzovah.mesha.Database.Utils.TransactionType;
 import com.dzovah.mesha.R;
 import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
@@ -165,14 +169,25 @@ public class AddTransactionDialog extends Dialog {
     }
 
     /**
-     * Preloads categories in the background before setting up the dialog UI.
-     * This helps reduce main thread work during dialog display.
+     * Gets the categories before setting up the dialog UI.
+     * <p>
+     * The categories normally come from the in-memory {@link CategoryRegistry}, so the
+     * dialog is set up straight away without a disk read. Only if the registry has not
+     * finished its first load are they read on the background thread.
+     * </p>
      */
     private void preloadCategories() {
+        List<Category> cached = CategoryRegistry.get(context).getCategories();
+        if (cached != null) {
+            categories = cached;
+            setupDialog();
+            return;
+        }
+
         executeIfActive(() -> {
             try {
-                // Load categories in background thread
-                categories = database.categoryDao().getAllCategories();
+                // Registry not loaded yet, load categories in background thread
+                categories = CategoryRegistry.get(context).requireCategories();
                 
                 // Setup dialog on main thread after categories are loaded
                 postToMainThreadIfActive(this::setupDialog);
@@ -251,7 +266,7 @@ public class AddTransactionDialog extends Dialog {
             }
 
             try {
-                double amount = Double.parseDouble(amountStr);
+                long amount = Money.parseMinor(amountStr);
                 
                 // For DEBIT transactions, check if it would cause a negative balance
                 if (type.equals("DEBIT")) {
@@ -261,9 +276,9 @@ public class AddTransactionDialog extends Dialog {
                     // Move balance check to background thread
                     executeIfActive(() -> {
                         try {
-                            // Get the latest balance from database
-                            BetaAccount latestAccount = database.betaAccountDao().getBetaAccountById(betaAccount.getBetaAccountId());
-                            double currentBalance = latestAccount != null ? 
+                            // Get the latest balance from the in-memory account tree
+                            BetaAccount latestAccount = AccountTreeCache.get(context).findBeta(betaAccount.getBetaAccountId());
+                            long currentBalance = latestAccount != null ? 
                                 latestAccount.getBetaAccountBalance() : betaAccount.getBetaAccountBalance();
                             
                             if (amount > currentBalance) {
@@ -322,9 +337,8 @@ public class AddTransactionDialog extends Dialog {
      * This method performs the following actions:
      * <ol>
      *   <li>Creates a new Transaction object with the provided data</li>
-     *   <li>Inserts the transaction into the database</li>
-     *   <li>Updates the BetaAccount balance</li>
-     *   <li>Updates the parent AlphaAccount balance</li>
+     *   <li>Inserts the transaction into the database, which updates the BetaAccount
+     *       and parent AlphaAccount balances through the balance triggers</li>
      *   <li>Notifies the listener of the successful transaction</li>
      * </ol>
      * </p>
@@ -332,11 +346,11 @@ public class AddTransactionDialog extends Dialog {
      * All database operations are performed on a background thread.
      * </p>
      *
-     * @param amount The transaction amount
+     * @param amount The transaction amount, in minor units
      * @param type The transaction type ("CREDIT" or "DEBIT")
      * @param description The transaction description
      */
-    private void createTransaction(double amount, String type, String description) {
+    private void createTransaction(long amount, String type, String description) {
         if (!isActive.get()) return;
         
         Category selectedCategory = (Category) categorySpinner.getSelectedItem();
@@ -354,60 +368,30 @@ public class AddTransactionDialog extends Dialog {
             System.currentTimeMillis()
         );
 
-        executeIfActive(() -> {
-            try {
-                // Update progress status
-                updateLoadingStatus("Saving to database...");
-                
-                // Get the latest account data before making changes
-                BetaAccount currentBeta = database.betaAccountDao().getBetaAccountById(betaAccount.getBetaAccountId());
-                AlphaAccount alphaAccount = database.alphaAccountDao().getAlphaAccountById(currentBeta.getAlphaAccountId());
-                
-                // Calculate new balances
-                double newBetaBalance = currentBeta.getBetaAccountBalance();
-                newBetaBalance += type.equals("CREDIT") ? amount : -amount;
-                currentBeta.setBetaAccountBalance(newBetaBalance);
-                
-                double newAlphaBalance = 0;
-                if (alphaAccount != null) {
-                    newAlphaBalance = alphaAccount.getAlphaAccountBalance();
-                    newAlphaBalance += type.equals("CREDIT") ? amount : -amount;
-                    alphaAccount.setAlphaAccountBalance(newAlphaBalance);
-                }
-                
-                // Begin transaction to ensure consistency
-                database.runInTransaction(() -> {
-                    // 1. Insert the transaction
-                    database.transactionDao().insert(newTransaction);
-                    
-                    // 2. Update Beta account balance
-                    database.betaAccountDao().update(currentBeta);
-                    
-                    // 3. Update Alpha account balance
-                    if (alphaAccount != null) {
-                        database.alphaAccountDao().update(alphaAccount);
-                    }
-                });
-                
-                // Update our instance with the new balance
-                betaAccount.setBetaAccountBalance(newBetaBalance);
-                
+        updateLoadingStatus("Saving to database...");
+
+        // Balance triggers adjust the Beta and Alpha accounts in the same statement;
+        // entries made in quick succession share one commit
+        LedgerWriteCoalescer.get(context).addTransaction(newTransaction, new AccountService.ServiceCallback<Long>() {
+            @Override
+            public void onSuccess(Long transactionId) {
                 // Update UI on the main thread
                 postToMainThreadIfActive(() -> {
                     hideLoading();
-                    
+
                     if (listener != null) {
                         listener.onTransactionAdded();
                     }
-                    
+
                     Toast.makeText(context, "Transaction added successfully", Toast.LENGTH_SHORT).show();
                 });
-            } catch (Exception e) {
-                e.printStackTrace();
-                
+            }
+
+            @Override
+            public void onError(String error) {
                 postToMainThreadIfActive(() -> {
                     hideLoading();
-                    Toast.makeText(context, "Error adding transaction: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                    Toast.makeText(context, "Error adding transaction: " + error, Toast.LENGTH_SHORT).show();
                 });
             }
         });
@@ -421,10 +405,10 @@ public class AddTransactionDialog extends Dialog {
      * to allow the user to transfer funds from another account before completing the transaction.
      * </p>
      *
-     * @param amount The transaction amount that exceeds the current balance
+     * @param amount The transaction amount that exceeds the current balance, in minor units
      * @param description The transaction description
      */
-    private void showAlternativeAccountDialog(double amount, String description) {
+    private void showAlternativeAccountDialog(long amount, String description) {
         if (!isActive.get()) return;
         
         AlternativeBetaAccountDialog dialog = new AlternativeBetaAccountDialog(
@@ -439,14 +423,10 @@ public class AddTransactionDialog extends Dialog {
             // After funds transfer completed, refresh beta account data and continue
             executeIfActive(() -> {
                 try {
-                    // Refresh beta account data
-                    BetaAccount refreshedAccount = database.betaAccountDao()
-                        .getBetaAccountById(betaAccount.getBetaAccountId());
+                    // Check the account still exists; its new balance reaches the screen through the observed queries
+                    BetaAccount refreshedAccount = AccountTreeCache.get(context).findBeta(betaAccount.getBetaAccountId());
                     
                     if (refreshedAccount != null) {
-                        // Update our local copy with refreshed data
-                        betaAccount.setBetaAccountBalance(refreshedAccount.getBetaAccountBalance());
-                        
                         // Now proceed with the original transaction
                         postToMainThreadIfActive(() -> {
                             // Proceed with original transaction now that funds are available
@@ -22,6 +22,9 @@ import com.dzovah.mesha.Database.Entities.AlphaAccount;
 import com.dzovah.mesha.Database.Entities.BetaAccount;
 import com.dzovah.mesha.Database.Entities.Transaction;
 import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Repositories.AccountTreeCache;
+import com.dzovah.mesha.Database.Services.AccountService;
+import com.dzovah.mesha.Database.Services.LedgerWriteCoalescer;
 import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
 import com.dzovah.mesha.Database.Utils.TransactionType;
 import com.dzovah.mesha.R;
@@ -66,7 +69,7 @@ public class AlternativeBetaAccountDialog extends Dialog {
     private final BetaAccount sourceBetaAccount;
     
     /** The transaction amount required */
-    private final double transactionAmount;
+    private final long transactionAmount;
     
     /** The description of the original transaction */
     private final String transactionDescription;
@@ -116,12 +119,12 @@ public class AlternativeBetaAccountDialog extends Dialog {
      * @param context The context in which the dialog will be shown
      * @param database The database instance for accessing data
      * @param sourceBetaAccount The BetaAccount that needs funds (original transaction account)
-     * @param transactionAmount The amount needed for the original transaction
+     * @param transactionAmount The amount needed for the original transaction, in minor units
      * @param transactionDescription The description of the original transaction
      */
     public AlternativeBetaAccountDialog(Context context, MeshaDatabase database, 
                                         BetaAccount sourceBetaAccount,
-                                        double transactionAmount, 
+                                        long transactionAmount, 
                                         String transactionDescription) {
         super(context);
         this.context = context;
@@ -281,8 +284,8 @@ public class AlternativeBetaAccountDialog extends Dialog {
      *   <li>Retrieves the AlphaAccount information for better transaction descriptions</li>
      *   <li>Creates a debit transaction for the source of funds (selected account)</li>
      *   <li>Creates a credit transaction for the destination (original transaction account)</li>
-     *   <li>Updates the balance of both BetaAccounts involved</li>
-     *   <li>Updates the balance of any AlphaAccounts involved if they differ</li>
+     *   <li>Inserts both transactions in one database transaction; the balance
+     *       triggers update the BetaAccounts and AlphaAccounts involved</li>
      *   <li>Notifies the listener on successful completion</li>
      * </ol>
      * </p>
@@ -295,11 +298,10 @@ public class AlternativeBetaAccountDialog extends Dialog {
         // Get the Alpha account names for better descriptions
         executeIfActive(() -> {
             try {
-                // Get Alpha account names
-                AlphaAccount sourceAlpha = database.alphaAccountDao().getAlphaAccountById(
-                    sourceBetaAccount.getAlphaAccountId());
-                AlphaAccount targetAlpha = database.alphaAccountDao().getAlphaAccountById(
-                    selectedTargetAccount.getAlphaAccountId());
+                // Get Alpha account names from the in-memory account tree
+                AccountTreeCache<AlphaAccount, BetaAccount> accountTree = AccountTreeCache.get(context);
+                AlphaAccount sourceAlpha = accountTree.findAlpha(sourceBetaAccount.getAlphaAccountId());
+                AlphaAccount targetAlpha = accountTree.findAlpha(selectedTargetAccount.getAlphaAccountId());
                 
                 String sourceAlphaName = sourceAlpha != null ? sourceAlpha.getAlphaAccountName() : "Unknown";
                 String targetAlphaName = targetAlpha != null ? targetAlpha.getAlphaAccountName() : "Unknown";
@@ -332,46 +334,29 @@ public class AlternativeBetaAccountDialog extends Dialog {
 
                 updateLoadingStatus("Updating balances...");
                 
-                // Use a database transaction to ensure consistency
-                database.runInTransaction(() -> {
-                    // Insert both transactions
-                    database.transactionDao().insert(debitTransaction);
-                    database.transactionDao().insert(creditTransaction);
-                    
-                    // Update beta account balances
-                    // Target account (debit)
-                    double newTargetBalance = selectedTargetAccount.getBetaAccountBalance() - transactionAmount;
-                    selectedTargetAccount.setBetaAccountBalance(newTargetBalance);
-                    database.betaAccountDao().update(selectedTargetAccount);
-                    
-                    // Source account (credit)
-                    double newSourceBalance = sourceBetaAccount.getBetaAccountBalance() + transactionAmount;
-                    sourceBetaAccount.setBetaAccountBalance(newSourceBalance);
-                    database.betaAccountDao().update(sourceBetaAccount);
-
-                    // Update alpha account balances if needed
-                    if (selectedTargetAccount.getAlphaAccountId() != sourceBetaAccount.getAlphaAccountId()) {
-                        if (sourceAlpha != null && targetAlpha != null) {
-                            // Update source alpha (credit)
-                            double newSourceAlphaBalance = sourceAlpha.getAlphaAccountBalance() + transactionAmount;
-                            sourceAlpha.setAlphaAccountBalance(newSourceAlphaBalance);
-                            database.alphaAccountDao().update(sourceAlpha);
-                            
-                            // Update target alpha (debit)
-                            double newTargetAlphaBalance = targetAlpha.getAlphaAccountBalance() - transactionAmount;
-                            targetAlpha.setAlphaAccountBalance(newTargetAlphaBalance);
-                            database.alphaAccountDao().update(targetAlpha);
-                        }
+                // Insert both legs in one commit; balance triggers move the Beta and Alpha accounts
+                LedgerWriteCoalescer.get(context).transfer(debitTransaction, creditTransaction,
+                        new AccountService.ServiceCallback<long[]>() {
+                    @Override
+                    public void onSuccess(long[] transactionIds) {
+                        postToMainThreadIfActive(() -> {
+                            hideLoading();
+                            Toast.makeText(context, "Your account has been topped up successfully", Toast.LENGTH_SHORT).show();
+                            if (listener != null) {
+                                listener.onTransactionCompleted();
+                            }
+                            dismiss();
+                        });
                     }
-                });
 
-                postToMainThreadIfActive(() -> {
-                    hideLoading();
-                    Toast.makeText(context, "Your account has been topped up successfully", Toast.LENGTH_SHORT).show();
-                    if (listener != null) {
-                        listener.onTransactionCompleted();
+                    @Override
+                    public void onError(String error) {
+                        postToMainThreadIfActive(() -> {
+                            hideLoading();
+                            Toast.makeText(context, "Error processing transaction: " + error,
+                                Toast.LENGTH_SHORT).show();
+                        });
                     }
-                    dismiss();
                 });
             } catch (Exception e) {
                 e.printStackTrace();
@@ -22,6 +22,9 @@ import com.dzovah.mesha.Database.Entities.PAlphaAccount;
 import com.dzovah.mesha.Database.Entities.PBetaAccount;
 import com.dzovah.mesha.Database.Entities.PTransaction;
 import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Repositories.AccountTreeCache;
+import com.dzovah.mesha.Database.Services.AccountService;
+import com.dzovah.mesha.Database.Services.LedgerWriteCoalescer;
 import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
 import com.dzovah.mesha.Database.Utils.TransactionType;
 import com.dzovah.mesha.R;
@@ -66,7 +69,7 @@ public class AlternativePBetaAccountDialog extends Dialog {
     private final PBetaAccount sourceBetaAccount;
 
     /** The transaction amount required */
-    private final double transactionAmount;
+    private final long transactionAmount;
 
     /** The description of the original transaction */
     private final String transactionDescription;
@@ -116,12 +119,12 @@ public class AlternativePBetaAccountDialog extends Dialog {
      * @param context The context in which the dialog will be shown
      * @param database The database instance for accessing data
      * @param sourceBetaAccount The BetaAccount that needs funds (original transaction account)
-     * @param transactionAmount The amount needed for the original transaction
+     * @param transactionAmount The amount needed for the original transaction, in minor units
      * @param transactionDescription The description of the original transaction
      */
     public AlternativePBetaAccountDialog(Context context, MeshaDatabase database,
                                         PBetaAccount sourceBetaAccount,
-                                        double transactionAmount,
+                                        long transactionAmount,
                                         String transactionDescription) {
         super(context);
         this.context = context;
@@ -281,8 +284,8 @@ public class AlternativePBetaAccountDialog extends Dialog {
      *   <li>Retrieves the AlphaAccount information for better transaction descriptions</li>
      *   <li>Creates a debit transaction for the source of funds (selected account)</li>
      *   <li>Creates a credit transaction for the destination (original transaction account)</li>
-     *   <li>Updates the balance of both BetaAccounts involved</li>
-     *   <li>Updates the balance of any AlphaAccounts involved if they differ</li>
+     *   <li>Inserts both transactions in one database transaction; the balance
+     *       triggers update the BetaAccounts and AlphaAccounts involved</li>
      *   <li>Notifies the listener on successful completion</li>
      * </ol>
      * </p>
@@ -295,11 +298,10 @@ public class AlternativePBetaAccountDialog extends Dialog {
         // Get the Alpha account names for better descriptions
         executeIfActive(() -> {
             try {
-                // Get Alpha account names
-                PAlphaAccount sourceAlpha = database.PalphaAccountDao().getPAlphaAccountById(
-                        sourceBetaAccount.getPAlphaAccountId());
-                PAlphaAccount targetAlpha = database.PalphaAccountDao().getPAlphaAccountById(
-                        selectedTargetAccount.getPAlphaAccountId());
+                // Get Alpha account names from the in-memory account tree
+                AccountTreeCache<PAlphaAccount, PBetaAccount> accountTree = AccountTreeCache.getP(context);
+                PAlphaAccount sourceAlpha = accountTree.findAlpha(sourceBetaAccount.getPAlphaAccountId());
+                PAlphaAccount targetAlpha = accountTree.findAlpha(selectedTargetAccount.getPAlphaAccountId());
 
                 String sourceAlphaName = sourceAlpha != null ? sourceAlpha.getPAlphaAccountName() : "Unknown";
                 String targetAlphaName = targetAlpha != null ? targetAlpha.getPAlphaAccountName() : "Unknown";
@@ -332,46 +334,29 @@ public class AlternativePBetaAccountDialog extends Dialog {
 
                 updateLoadingStatus("Updating balances...");
 
-                // Use a database transaction to ensure consistency
-                database.runInTransaction(() -> {
-                    // Insert both transactions
-                    database.PtransactionDao().insert(debitTransaction);
-                    database.PtransactionDao().insert(creditTransaction);
-
-                    // Update beta account balances
-                    // Target account (debit)
-                    double newTargetBalance = selectedTargetAccount.getPBetaAccountBalance() - transactionAmount;
-                    selectedTargetAccount.setPBetaAccountBalance(newTargetBalance);
-                    database.PbetaAccountDao().update(selectedTargetAccount);
-
-                    // Source account (credit)
-                    double newSourceBalance = sourceBetaAccount.getPBetaAccountBalance() + transactionAmount;
-                    sourceBetaAccount.setPBetaAccountBalance(newSourceBalance);
-                    database.PbetaAccountDao().update(sourceBetaAccount);
-
-                    // Update alpha account balances if needed
-                    if (selectedTargetAccount.getPAlphaAccountId() != sourceBetaAccount.getPAlphaAccountId()) {
-                        if (sourceAlpha != null && targetAlpha != null) {
-                            // Update source alpha (credit)
-                            double newSourceAlphaBalance = sourceAlpha.getPAlphaAccountBalance() + transactionAmount;
-                            sourceAlpha.setPAlphaAccountBalance(newSourceAlphaBalance);
-                            database.PalphaAccountDao().update(sourceAlpha);
-
-                            // Update target alpha (debit)
-                            double newTargetAlphaBalance = targetAlpha.getPAlphaAccountBalance() - transactionAmount;
-                            targetAlpha.setPAlphaAccountBalance(newTargetAlphaBalance);
-                            database.PalphaAccountDao().update(targetAlpha);
-                        }
+                // Insert both legs in one commit; balance triggers move the Beta and Alpha accounts
+                LedgerWriteCoalescer.get(context).transferP(debitTransaction, creditTransaction,
+                        new AccountService.ServiceCallback<long[]>() {
+                    @Override
+                    public void onSuccess(long[] transactionIds) {
+                        postToMainThreadIfActive(() -> {
+                            hideLoading();
+                            Toast.makeText(context, "Your account has been topped up successfully", Toast.LENGTH_SHORT).show();
+                            if (listener != null) {
+                                listener.onTransactionCompleted();
+                            }
+                            dismiss();
+                        });
                     }
-                });
 
-                postToMainThreadIfActive(() -> {
-                    hideLoading();
-                    Toast.makeText(context, "Your account has been topped up successfully", Toast.LENGTH_SHORT).show();
-                    if (listener != null) {
-                        listener.onTransactionCompleted();
+                    @Override
+                    public void onError(String error) {
+                        postToMainThreadIfActive(() -> {
+                            hideLoading();
+                            Toast.makeText(context, "Error processing transaction: " + error,
+                                Toast.LENGTH_SHORT).show();
+                        });
                     }
-                    dismiss();
                 });
             } catch (Exception e) {
                 e.printStackTrace();
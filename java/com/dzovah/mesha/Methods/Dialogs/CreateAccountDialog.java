@@ -9,7 +9,6 @@ import android.widget.Button;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
-import android.util.Log;
 import android.os.Handler;
 import android.os.Looper;
 
@@ -19,12 +18,12 @@ import com.dzovah.mesha.Database.Entities.AlphaAccount;
 import com.dzovah.mesha.Database.Entities.BetaAccount;
 import com.dzovah.mesha.Database.MeshaDatabase;
 import com.dzovah.mesha.R;
+import com.dzovah.mesha.Methods.Utils.IconManifest;
 import com.google.android.material.textfield.TextInputEditText;
 
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.recyclerview.widget.GridLayoutManager;
 
-import java.io.IOException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -231,7 +230,7 @@ public class CreateAccountDialog {
         progressBar = dialogView.findViewById(R.id.progressBar);
 
         // Setup icon recycler view
-        String[] iconPaths = CreateAccountDialog.getIconPaths(context);
+        String[] iconPaths = IconManifest.getFileNames();
         final String[] selectedIcon = {null};
 
         GridLayoutManager layoutManager = new GridLayoutManager(context, 4);
@@ -271,41 +270,13 @@ public class CreateAccountDialog {
         return dialogView;
     }
 
-    /**
-     * Retrieves the list of available account icons from the assets directory.
-     * <p>
-     * This static method accesses the application's assets to find all icon files
-     * in the "icons" directory. These icons are then displayed in the dialog for
-     * the user to select when creating a new account.
-     * </p>
-     *
-     * @param context The context used to access application assets
-     * @return An array of icon file paths, or an empty array if none are found
-     */
-    public static String[] getIconPaths(Context context) {
-        try {
-            String[] paths = context.getAssets().list("icons");
-            Log.d("IconDebug", "Found " + (paths != null ? paths.length : 0) + " icons");
-            if (paths != null) {
-                for (String path : paths) {
-                    Log.d("IconDebug", "Icon path: " + path);
-                }
-            }
-            return paths != null ? paths : new String[0];
-        } catch (IOException e) {
-            Log.e("IconDebug", "Error loading icons: " + e.getMessage());
-            e.printStackTrace();
-            return new String[0];
-        }
-    }
-
     /**
      * Creates a new Alpha Account and inserts it into the database.
      * <p>
      * This method constructs an AlphaAccount object with the provided name,
      * selected icon (or default if none selected), and an initial balance of zero.
-     * It then asynchronously inserts the account into the database and notifies
-     * the listener upon success.
+     * It then asynchronously inserts the account into the database, records the
+     * generated ID on the new account, and notifies the listener upon success.
      * </p>
      *
      * @param accountName The name for the new Alpha Account
@@ -317,12 +288,13 @@ public class CreateAccountDialog {
         showLoading("Creating alpha account...");
         
         try {
-            String iconPath = selectedIcon != null ? "Assets/icons/" + selectedIcon : "Assets/icons/default_icon.png";
-            AlphaAccount newAccount = new AlphaAccount(accountName, iconPath, 0.0);
+            String iconPath = selectedIcon != null ? IconManifest.storedPath(selectedIcon) : "Assets/icons/default_icon.png";
+            AlphaAccount newAccount = new AlphaAccount(accountName, iconPath, 0L);
             
             executeIfActive(() -> {
                 try {
-                    database.alphaAccountDao().insert(newAccount);
+                    long accountId = database.alphaAccountDao().insert(newAccount);
+                    newAccount.setAlphaAccountId((int) accountId);
                     handleSuccess(newAccount);
                 } catch (Exception e) {
                     handleError(e);
@@ -339,8 +311,8 @@ public class CreateAccountDialog {
      * This method constructs a BetaAccount object with the provided name,
      * selected icon (or default if none selected), an initial balance of zero,
      * and associates it with the specified parent AlphaAccount. It then
-     * asynchronously inserts the account into the database, updates the parent
-     * AlphaAccount's balance, and notifies the listener upon success.
+     * asynchronously inserts the account into the database, records the generated
+     * ID on the new account, and notifies the listener upon success.
      * </p>
      *
      * @param accountName The name for the new Beta Account
@@ -352,16 +324,14 @@ public class CreateAccountDialog {
         showLoading("Creating beta account...");
         
         try {
-            String iconPath = selectedIcon != null ? "Assets/icons/" + selectedIcon : "Assets/icons/default_icon.png";
-            BetaAccount newAccount = new BetaAccount(parentAlphaId, accountName, iconPath, 0.0);
+            String iconPath = selectedIcon != null ? IconManifest.storedPath(selectedIcon) : "Assets/icons/default_icon.png";
+            BetaAccount newAccount = new BetaAccount(parentAlphaId, accountName, iconPath, 0L);
             
             executeIfActive(() -> {
                 try {
                     updateLoadingStatus("Saving to database...");
-                    database.betaAccountDao().insert(newAccount);
-                    
-                    updateLoadingStatus("Updating parent account...");
-                    database.betaAccountDao().updateAlphaAccountBalance(parentAlphaId);
+                    long accountId = database.betaAccountDao().insert(newAccount);
+                    newAccount.setBetaAccountId((int) accountId);
                     
                     handleSuccess(newAccount);
                 } catch (Exception e) {
@@ -16,7 +16,10 @@ import com.dzovah.mesha.Activities.Adapters.IconAdapter;
 import com.dzovah.mesha.Database.Entities.AlphaAccount;
 import com.dzovah.mesha.Database.Entities.BetaAccount;
 import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Repositories.AccountTreeCache;
+import com.dzovah.mesha.Database.Utils.TransactionManager;
 import com.dzovah.mesha.R;
+import com.dzovah.mesha.Methods.Utils.IconManifest;
 import com.google.android.material.textfield.TextInputEditText;
 
 import androidx.recyclerview.widget.RecyclerView;
@@ -204,7 +207,7 @@ public class EditAccountDialog {
         btnSave.setText("Save Changes");
         btnDelete.setText("Delete Account");
 
-        String[] iconPaths = CreateAccountDialog.getIconPaths(context);
+        String[] iconPaths = IconManifest.getFileNames();
         final String[] selectedIcon = {currentIcon};
         
         GridLayoutManager layoutManager = new GridLayoutManager(context, 4);
@@ -270,20 +273,19 @@ public class EditAccountDialog {
         
         executeIfActive(() -> {
             try {
-                String iconPath = newIcon != null ? "Assets/icons/" + newIcon : 
+                String iconPath = newIcon != null ? IconManifest.storedPath(newIcon) : 
                     (isBetaAccount ? ((BetaAccount)account).getBetaAccountIcon() : 
                     ((AlphaAccount)account).getAlphaAccountIcon());
 
+                // Write the new details without touching the account object, which
+                // belongs to the list on screen; the list's diff then sees the change
                 if (isBetaAccount) {
                     BetaAccount betaAccount = (BetaAccount)account;
-                    betaAccount.setBetaAccountName(newName);
-                    betaAccount.setBetaAccountIcon(iconPath);
-                    database.betaAccountDao().update(betaAccount);
+                    // Leave the trigger-maintained balance alone
+                    database.betaAccountDao().updateBetaAccountDetails(betaAccount.getBetaAccountId(), newName, iconPath);
                 } else {
                     AlphaAccount alphaAccount = (AlphaAccount)account;
-                    alphaAccount.setAlphaAccountName(newName);
-                    alphaAccount.setAlphaAccountIcon(iconPath);
-                    database.alphaAccountDao().update(alphaAccount);
+                    database.alphaAccountDao().updateAlphaAccountDetails(alphaAccount.getAlphaAccountId(), newName, iconPath);
                 }
                 
                 handleSuccess(false); // false indicates edited, not deleted
@@ -298,7 +300,8 @@ public class EditAccountDialog {
      * <p>
      * This method removes either an AlphaAccount or BetaAccount (depending on
      * the account type) from the database. If deleting an AlphaAccount, all associated
-     * BetaAccounts and transactions will also be deleted due to database CASCADE rules.
+     * BetaAccounts and transactions will also be deleted due to database CASCADE rules,
+     * in one transaction through {@link TransactionManager#deleteAlphaAccount}.
      * If deleting a BetaAccount, only that account and its transactions will be deleted.
      * </p>
      * <p>
@@ -314,10 +317,13 @@ public class EditAccountDialog {
             try {
                 if (isBetaAccount) {
                     BetaAccount betaAccount = (BetaAccount)account;
+                    // The balance trigger takes its balance out of the parent AlphaAccount
                     database.betaAccountDao().delete(betaAccount);
-                    database.betaAccountDao().updateAlphaAccountBalance(betaAccount.getAlphaAccountId());
                 } else {
-                    database.alphaAccountDao().delete((AlphaAccount)account);
+                    // One cascading delete with the per-row ledger triggers suspended
+                    if (new TransactionManager(database).deleteAlphaAccount(((AlphaAccount)account).getAlphaAccountId())) {
+                        AccountTreeCache.get(context).reload();
+                    }
                 }
                 handleSuccess(true); // true indicates deleted, not edited
             } catch (Exception e) {
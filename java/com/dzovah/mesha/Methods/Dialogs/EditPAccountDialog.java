@@ -16,8 +16,11 @@ import com.dzovah.mesha.Activities.Adapters.IconAdapter;
 import com.dzovah.mesha.Database.Entities.PAlphaAccount;
 import com.dzovah.mesha.Database.Entities.PBetaAccount;
 import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Repositories.AccountTreeCache;
+import com.dzovah.mesha.Database.Utils.TransactionManager;
 import com.dzovah.mesha.Methods.Dialogs.CreatePAccountDialog;
 import com.dzovah.mesha.R;
+import com.dzovah.mesha.Methods.Utils.IconManifest;
 import com.google.android.material.textfield.TextInputEditText;
 
 import androidx.recyclerview.widget.RecyclerView;
@@ -205,7 +208,7 @@ public class EditPAccountDialog {
         btnSave.setText("Save Changes");
         btnDelete.setText("Delete Account");
 
-        String[] iconPaths = CreateAccountDialog.getIconPaths(context);
+        String[] iconPaths = IconManifest.getFileNames();
         final String[] selectedIcon = {currentIcon};
 
         GridLayoutManager layoutManager = new GridLayoutManager(context, 4);
@@ -271,20 +274,19 @@ public class EditPAccountDialog {
 
         executeIfActive(() -> {
             try {
-                String iconPath = newIcon != null ? "Assets/icons/" + newIcon :
+                String iconPath = newIcon != null ? IconManifest.storedPath(newIcon) :
                         (isBetaAccount ? ((PBetaAccount)account).getPBetaAccountIcon() :
                                 ((PAlphaAccount)account).getPAlphaAccountIcon());
 
+                // Write the new details without touching the account object, which
+                // belongs to the list on screen; the list's diff then sees the change
                 if (isBetaAccount) {
                     PBetaAccount betaAccount = (PBetaAccount)account;
-                    betaAccount.setPBetaAccountName(newName);
-                    betaAccount.setPBetaAccountIcon(iconPath);
-                    database.PbetaAccountDao().update(betaAccount);
+                    // Leave the trigger-maintained balance alone
+                    database.PbetaAccountDao().updatePBetaAccountDetails(betaAccount.getPBetaAccountId(), newName, iconPath);
                 } else {
                     PAlphaAccount alphaAccount = (PAlphaAccount)account;
-                    alphaAccount.setPAlphaAccountName(newName);
-                    alphaAccount.setPAlphaAccountIcon(iconPath);
-                    database.PalphaAccountDao().update(alphaAccount);
+                    database.PalphaAccountDao().updatePAlphaAccountDetails(alphaAccount.getPAlphaAccountId(), newName, iconPath);
                 }
 
                 handleSuccess(false); // false indicates edited, not deleted
@@ -299,7 +301,8 @@ public class EditPAccountDialog {
      * <p>
      * This method removes either an AlphaAccount or BetaAccount (depending on
      * the account type) from the database. If deleting an AlphaAccount, all associated
-     * BetaAccounts and transactions will also be deleted due to database CASCADE rules.
+     * BetaAccounts and transactions will also be deleted due to database CASCADE rules,
+     * in one transaction through {@link TransactionManager#deletePAlphaAccount}.
      * If deleting a BetaAccount, only that account and its transactions will be deleted.
      * </p>
      * <p>
@@ -315,10 +318,13 @@ public class EditPAccountDialog {
             try {
                 if (isBetaAccount) {
                     PBetaAccount betaAccount = (PBetaAccount)account;
+                    // The balance trigger takes its balance out of the parent AlphaAccount
                     database.PbetaAccountDao().delete(betaAccount);
-                    database.PbetaAccountDao().updatePAlphaAccountBalance(betaAccount.getPAlphaAccountId());
                 } else {
-                    database.PalphaAccountDao().delete((PAlphaAccount)account);
+                    // One cascading delete with the per-row ledger triggers suspended
+                    if (new TransactionManager(database).deletePAlphaAccount(((PAlphaAccount)account).getPAlphaAccountId())) {
+                        AccountTreeCache.getP(context).reload();
+                    }
                 }
                 handleSuccess(true); // true indicates deleted, not edited
             } catch (Exception e) {
@@ -19,6 +19,11 @@ import com.dzovah.mesha.Database.Entities.PAlphaAccount;
 import com.dzovah.mesha.Database.Entities.PBetaAccount;
 import com.dzovah.mesha.Database.Entities.PTransaction;
 import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Repositories.AccountTreeCache;
+import com.dzovah.mesha.Database.Repositories.CategoryRegistry;
+import com.dzovah.mesha.Database.Services.AccountService;
+import com.dzovah.mesha.Database.Services.LedgerWriteCoalescer;
+import com.dzovah.mesha.Database.Utils.Money;
 import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
 import com.dzovah.mesha.Database.Utils.TransactionType;
 import com.dzovah.mesha.R;
@@ -68,7 +73,8 @@ public class EditPTransactionDialog extends Dialog {
     private final MeshaDatabase database;
 
     /**
-     * The transaction being edited.
+     * The transaction being edited, as held by the transaction list. It is never
+     * modified; changes are saved from a copy.
      */
     private final PTransaction transaction;
 
@@ -209,7 +215,7 @@ public class EditPTransactionDialog extends Dialog {
         progressBar = dialogView.findViewById(R.id.progressBar);
 
         // Set current values
-        etAmount.setText(String.valueOf(Math.abs(transaction.getPTransactionAmount())));
+        etAmount.setText(Money.toPlainString(Math.abs(transaction.getPTransactionAmount())));
         etDescription.setText(transaction.getPTransactionDescription());
 
         // Initialize category spinner
@@ -228,7 +234,7 @@ public class EditPTransactionDialog extends Dialog {
             }
 
             try {
-                double amount = Double.parseDouble(amountStr);
+                long amount = Money.parseMinor(amountStr);
 
                 // Disable buttons to prevent multiple clicks
                 btnUpdate.setEnabled(false);
@@ -236,11 +242,11 @@ public class EditPTransactionDialog extends Dialog {
 
                 // Check if it's a debit transaction and would cause negative balance
                 if (transaction.getPTransactionType() == TransactionType.DEBIT) {
-                    double currentBalance = betaAccount.getPBetaAccountBalance();
-                    double oldAmount = Math.abs(transaction.getPTransactionAmount());
+                    long currentBalance = betaAccount.getPBetaAccountBalance();
+                    long oldAmount = Math.abs(transaction.getPTransactionAmount());
 
                     // Calculate the additional withdrawal
-                    double additionalWithdrawal = amount - oldAmount;
+                    long additionalWithdrawal = amount - oldAmount;
 
                     // If additional withdrawal would cause negative balance
                     if (additionalWithdrawal > 0 && additionalWithdrawal > currentBalance) {
@@ -287,33 +293,31 @@ public class EditPTransactionDialog extends Dialog {
     }
 
     /**
-     * Loads all available transaction categories from the database.
+     * Loads all available transaction categories into the category spinner.
      * <p>
-     * This method asynchronously loads the categories and updates the UI
-     * with a populated category spinner, pre-selecting the category that
-     * matches the current transaction's category.
+     * The categories normally come from the in-memory {@link CategoryRegistry} and
+     * are shown immediately; only if the registry has not finished its first load
+     * are they read asynchronously. The category that matches the current
+     * transaction's category is pre-selected.
      * </p>
      */
     private void loadCategories() {
         if (!isActive.get()) return;
 
-        showLoading("Loading categories...");
+        List<Category> cached = CategoryRegistry.get(context).getCategories();
+        if (cached != null) {
+            showCategories(cached);
+            return;
+        }
 
+        showLoading("Loading categories...");
+        
         executeIfActive(() -> {
             try {
-                categories = database.categoryDao().getAllCategories();
+                List<Category> loaded = CategoryRegistry.get(context).requireCategories();
                 postToMainThreadIfActive(() -> {
                     hideLoading();
-                    CategorySpinnerAdapter adapter = new CategorySpinnerAdapter(context, categories);
-                    categorySpinner.setAdapter(adapter);
-
-                    // Set selected category
-                    for (int i = 0; i < categories.size(); i++) {
-                        if (categories.get(i).getCategoryId() == transaction.getCategoryId()) {
-                            categorySpinner.setSelection(i);
-                            break;
-                        }
-                    }
+                    showCategories(loaded);
                 });
             } catch (Exception e) {
                 e.printStackTrace();
@@ -325,62 +329,54 @@ public class EditPTransactionDialog extends Dialog {
         });
     }
 
+    /**
+     * Fills the category spinner and selects the transaction's current category.
+     *
+     * @param loaded The categories to show
+     */
+    private void showCategories(List<Category> loaded) {
+        categories = loaded;
+        CategorySpinnerAdapter adapter = new CategorySpinnerAdapter(context, categories);
+        categorySpinner.setAdapter(adapter);
+        
+        // Set selected category
+        for (int i = 0; i < categories.size(); i++) {
+            if (categories.get(i).getCategoryId() == transaction.getCategoryId()) {
+                categorySpinner.setSelection(i);
+                break;
+            }
+        }
+    }
+
     /**
      * Updates an existing transaction with new details.
      * <p>
-     * This method updates the transaction with the new amount, description, and
-     * selected category. It calculates the difference between the old and new
-     * amounts to properly adjust the balances of both the BetaAccount and its
-     * parent AlphaAccount. The update is performed asynchronously.
+     * This method saves a copy of the transaction with the new amount, description, and
+     * selected category. The balance triggers move the BetaAccount and its
+     * parent AlphaAccount by the difference between the old and new amounts
+     * in the same statement. The update is performed asynchronously.
      * </p>
      *
-     * @param newAmount The new transaction amount
+     * @param newAmount The new transaction amount, in minor units
      * @param newDescription The new transaction description
      */
-    private void updateTransaction(double newAmount, String newDescription) {
+    private void updateTransaction(long newAmount, String newDescription) {
         if (!isActive.get()) return;
 
         showLoading("Updating transaction...");
 
         Category selectedCategory = (Category) categorySpinner.getSelectedItem();
+        int categoryId = selectedCategory != null ? selectedCategory.getCategoryId() : 1;
 
-        transaction.setCategoryId(selectedCategory != null ? selectedCategory.getCategoryId() : 1);
-        transaction.setPTransactionDescription(newDescription);
-
-        executeIfActive(() -> {
-            try {
-                // Calculate the difference in amount
-                double oldAmount = transaction.getPTransactionAmount();
-                double amountDifference = newAmount - Math.abs(oldAmount);
-
-                // Maintain the sign (credit/debit) of the original transaction
-                if (oldAmount < 0) {
-                    amountDifference = -amountDifference;
-                }
+        long oldAmount = transaction.getPTransactionAmount();
 
-                updateLoadingStatus("Saving changes...");
-
-                // Update transaction
-                transaction.setPTransactionAmount(oldAmount < 0 ? -newAmount : newAmount);
-                transaction.setPTransactionDescription(newDescription);
-                database.PtransactionDao().update(transaction);
-
-                updateLoadingStatus("Updating account balances...");
-
-                // Update beta account balance
-                double newBetaBalance = betaAccount.getPBetaAccountBalance() + amountDifference;
-                betaAccount.setPBetaAccountBalance(newBetaBalance);
-                database.PbetaAccountDao().update(betaAccount);
-
-                // Update alpha account balance
-                PAlphaAccount alphaAccount = database.PalphaAccountDao()
-                        .getPAlphaAccountById(betaAccount.getPAlphaAccountId());
-                if (alphaAccount != null) {
-                    double newAlphaBalance = alphaAccount.getPAlphaAccountBalance() + amountDifference;
-                    alphaAccount.setPAlphaAccountBalance(newAlphaBalance);
-                    database.PalphaAccountDao().update(alphaAccount);
-                }
+        updateLoadingStatus("Saving changes...");
 
+        // Save an edited copy; balance triggers reverse the old amount and apply the new one
+        PTransaction edited = editedCopy(oldAmount < 0 ? -newAmount : newAmount, newDescription, categoryId);
+        LedgerWriteCoalescer.get(context).editPTransaction(edited, new AccountService.ServiceCallback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
                 postToMainThreadIfActive(() -> {
                     hideLoading();
                     if (listener != null) {
@@ -389,8 +385,10 @@ public class EditPTransactionDialog extends Dialog {
                     Toast.makeText(context, "Transaction updated successfully", Toast.LENGTH_SHORT).show();
                     dismiss();
                 });
-            } catch (Exception e) {
-                e.printStackTrace();
+            }
+
+            @Override
+            public void onError(String error) {
                 postToMainThreadIfActive(() -> {
                     hideLoading();
                     Toast.makeText(context, "Error updating transaction", Toast.LENGTH_SHORT).show();
@@ -405,12 +403,32 @@ public class EditPTransactionDialog extends Dialog {
         });
     }
 
+    /**
+     * Builds the edited transaction as a new object with the same ID, entry time and
+     * local day as the one being edited. The list's copy keeps the stored values, so
+     * a failed save leaves nothing unsaved in memory, and a successful one reaches the
+     * list as a changed row when the transactions are read again.
+     *
+     * @param amount The new signed amount, in minor units
+     * @param description The new description
+     * @param categoryId The new category ID
+     * @return The transaction to save
+     */
+    private PTransaction editedCopy(long amount, String description, int categoryId) {
+        PTransaction edited = new PTransaction(transaction.getPAlphaAccountId(), transaction.getPBetaAccountId(), categoryId,
+                description, amount, transaction.getPTransactionType(), transaction.getPEntryTime());
+        edited.setPTransactionId(transaction.getPTransactionId());
+        edited.setPLocalDay(transaction.getPLocalDay());
+        edited.setPLocalMonth(transaction.getPLocalMonth());
+        return edited;
+    }
+
     /**
      * Deletes an existing transaction from the database.
      * <p>
-     * This method removes the transaction from the database and adjusts the
-     * balances of both the BetaAccount and its parent AlphaAccount to reflect
-     * the removal of the transaction. The operation is performed asynchronously.
+     * This method removes the transaction from the database; the balance triggers
+     * take its amount back out of the BetaAccount and its parent AlphaAccount.
+     * The operation is performed asynchronously.
      * </p>
      */
     private void deleteTransaction() {
@@ -418,29 +436,12 @@ public class EditPTransactionDialog extends Dialog {
 
         showLoading("Deleting transaction...");
 
-        executeIfActive(() -> {
-            try {
-                updateLoadingStatus("Removing transaction...");
-
-                // Delete transaction
-                database.PtransactionDao().delete(transaction);
-
-                updateLoadingStatus("Updating account balances...");
-
-                // Update beta account balance
-                double newBetaBalance = betaAccount.getPBetaAccountBalance() - transaction.getPTransactionAmount();
-                betaAccount.setPBetaAccountBalance(newBetaBalance);
-                database.PbetaAccountDao().update(betaAccount);
-
-                // Update alpha account balance
-                PAlphaAccount alphaAccount = database.PalphaAccountDao()
-                        .getPAlphaAccountById(betaAccount.getPAlphaAccountId());
-                if (alphaAccount != null) {
-                    double newAlphaBalance = alphaAccount.getPAlphaAccountBalance() - transaction.getPTransactionAmount();
-                    alphaAccount.setPAlphaAccountBalance(newAlphaBalance);
-                    database.PalphaAccountDao().update(alphaAccount);
-                }
+        updateLoadingStatus("Removing transaction...");
 
+        // Delete transaction; balance triggers remove its amount from the accounts
+        LedgerWriteCoalescer.get(context).removePTransaction(transaction, new AccountService.ServiceCallback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
                 postToMainThreadIfActive(() -> {
                     hideLoading();
                     if (listener != null) {
@@ -449,8 +450,10 @@ public class EditPTransactionDialog extends Dialog {
                     Toast.makeText(context, "Transaction deleted successfully", Toast.LENGTH_SHORT).show();
                     dismiss();
                 });
-            } catch (Exception e) {
-                e.printStackTrace();
+            }
+
+            @Override
+            public void onError(String error) {
                 postToMainThreadIfActive(() -> {
                     hideLoading();
                     Toast.makeText(context, "Error deleting transaction", Toast.LENGTH_SHORT).show();
@@ -474,10 +477,10 @@ public class EditPTransactionDialog extends Dialog {
      * transfer is completed, the transaction update continues with the refreshed account data.
      * </p>
      *
-     * @param additionalAmount The additional amount needed beyond what's available in the account
+     * @param additionalAmount The additional amount needed beyond what's available in the account, in minor units
      * @param description The description for the transaction being edited
      */
-    private void showAlternativeAccountDialog(double additionalAmount, String description) {
+    private void showAlternativeAccountDialog(long additionalAmount, String description) {
         if (!isActive.get()) return;
 
         AlternativePBetaAccountDialog dialog = new AlternativePBetaAccountDialog(
@@ -491,18 +494,14 @@ public class EditPTransactionDialog extends Dialog {
             // After funds transfer completed, refresh beta account data and continue
             executeIfActive(() -> {
                 try {
-                    // Refresh beta account data
-                    PBetaAccount refreshedAccount = database.PbetaAccountDao()
-                            .getPBetaAccountById(betaAccount.getPBetaAccountId());
+                    // Check the account still exists; its new balance reaches the screen through the observed queries
+                    PBetaAccount refreshedAccount = AccountTreeCache.getP(context).findBeta(betaAccount.getPBetaAccountId());
 
                     if (refreshedAccount != null) {
-                        // Update our local copy with refreshed data
-                        betaAccount.setPBetaAccountBalance(refreshedAccount.getPBetaAccountBalance());
-
                         // Calculate total amount from form
                         EditText etAmount = findViewById(R.id.etTransactionAmount);
                         if (etAmount != null) {
-                            double totalAmount = Double.parseDouble(etAmount.getText().toString());
+                            long totalAmount = Money.parseMinor(etAmount.getText().toString());
 
                             // Now proceed with the original transaction update
                             postToMainThreadIfActive(() -> {
@@ -0,0 +1,357 @@
+package com.dzovah.mesha.Methods.Utils;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.LruCache;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.dzovah.mesha.Database.Utils.MeteredExecutor;
+import com.dzovah.mesha.R;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads account and picker icons from the assets into ImageViews.
+ * <p>
+ * The icons ship as 512 x 512 PNGs but are shown at around 48 dp. Decoding one at
+ * full size on every bind costs a megabyte of pixels and a few milliseconds of the
+ * main thread, which is what made long transaction lists stutter. This loader:
+ * <ul>
+ *   <li>Reads the PNG bounds first and decodes with the largest power-of-two
+ *       {@code inSampleSize} that still covers the target view</li>
+ *   <li>Decodes on its own small pool, so neither the main thread nor the database
+ *       readers wait on it</li>
+ *   <li>Keeps the decoded bitmaps in one process-wide {@link LruCache}, sized in
+ *       bytes, so each icon is decoded once per size however many rows show it</li>
+ *   <li>Shares one decode between all views waiting for the same icon</li>
+ * </ul>
+ * </p>
+ * <p>
+ * RecyclerView reuses row views, so by the time a decode finishes its view may
+ * already show another row. Each view is tagged with the icon it last asked for and
+ * a finished decode is only applied to views still asking for it. Bitmaps dropped
+ * from the cache are left to the garbage collector rather than recycled, as a view
+ * may still be drawing them.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see LruCache
+ */
+public final class IconLoader {
+    private static final String TAG = "IconLoader";
+
+    /** Target edge used when a view has no fixed size yet, in dp */
+    private static final int DEFAULT_SIZE_DP = 48;
+
+    /** Share of the heap the cache may use */
+    private static final int CACHE_HEAP_DIVISOR = 16;
+
+    private static volatile IconLoader INSTANCE;
+
+    private final AssetManager assets;
+    private final float density;
+    private final LruCache<String, Bitmap> cache;
+    private final MeteredExecutor decodeExecutor = new MeteredExecutor("icon-decoder", 2);
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /** Views waiting on each in-flight decode, keyed like the cache; main thread only */
+    private final Map<String, List<ImageView>> inFlight = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong decodes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong decodeNanos = new AtomicLong();
+
+    private IconLoader(Context context) {
+        assets = context.getAssets();
+        density = context.getResources().getDisplayMetrics().density;
+        int maxBytes = (int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / CACHE_HEAP_DIVISOR);
+        cache = new LruCache<String, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(@NonNull String key, @NonNull Bitmap value) {
+                return value.getAllocationByteCount();
+            }
+        };
+    }
+
+    /**
+     * Gets the process-wide icon loader.
+     *
+     * @param context Any context; the application context is used
+     * @return The icon loader
+     */
+    public static IconLoader get(@NonNull Context context) {
+        if (INSTANCE == null) {
+            synchronized (IconLoader.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new IconLoader(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * A snapshot of the loader's cache metrics.
+     */
+    public static final class Stats {
+        /** Requests answered from the cache */
+        public final long hits;
+        /** Requests that had to wait for a decode */
+        public final long misses;
+        /** Decodes that have finished, successful or not */
+        public final long decodes;
+        /** Decodes that could not read or decode their asset */
+        public final long failures;
+        /** Mean time of one decode, in milliseconds */
+        public final double meanDecodeMillis;
+        /** Bytes of bitmaps in the cache right now */
+        public final int cachedBytes;
+        /** Most bytes the cache may hold */
+        public final int maxBytes;
+
+        Stats(long hits, long misses, long decodes, long failures,
+              double meanDecodeMillis, int cachedBytes, int maxBytes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.decodes = decodes;
+            this.failures = failures;
+            this.meanDecodeMillis = meanDecodeMillis;
+            this.cachedBytes = cachedBytes;
+            this.maxBytes = maxBytes;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "icons: %d hits, %d misses, %d decodes (%d failed, mean %.1f ms), %d / %d KB cached",
+                    hits, misses, decodes, failures, meanDecodeMillis, cachedBytes / 1024, maxBytes / 1024);
+        }
+    }
+
+    /**
+     * Shows an icon in a view, from the cache if it is there and otherwise once it
+     * has been decoded in the background. Call from the main thread.
+     *
+     * @param iconPath The icon path as stored on an account, e.g. "Assets/icons/cash.png",
+     *                 or a path relative to the assets directory
+     * @param target The view to show the icon in
+     * @param placeholder Drawable shown while the icon loads or if it cannot be read
+     */
+    public void load(@Nullable String iconPath, @NonNull ImageView target, @DrawableRes int placeholder) {
+        if (iconPath == null) {
+            target.setTag(R.id.icon_loader_request, null);
+            target.setImageResource(placeholder);
+            return;
+        }
+
+        int size = targetSize(target);
+        String key = key(iconPath, size);
+        target.setTag(R.id.icon_loader_request, key);
+
+        Bitmap cached = cache.get(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            target.setImageBitmap(cached);
+            return;
+        }
+
+        misses.incrementAndGet();
+        target.setImageResource(placeholder);
+
+        List<ImageView> waiting = inFlight.get(key);
+        if (waiting != null) {
+            // Another view already started this decode; it will fill this one too
+            waiting.add(target);
+            return;
+        }
+        waiting = new ArrayList<>();
+        waiting.add(target);
+        inFlight.put(key, waiting);
+
+        decodeExecutor.execute(() -> {
+            Bitmap bitmap = decode(iconPath, size);
+            if (bitmap != null) {
+                cache.put(key, bitmap);
+            }
+            mainHandler.post(() -> deliver(key, bitmap));
+        });
+    }
+
+    /**
+     * Shows an icon in a view, leaving the view empty while it loads.
+     *
+     * @param iconPath The icon path as stored on an account
+     * @param target The view to show the icon in
+     */
+    public void load(@Nullable String iconPath, @NonNull ImageView target) {
+        load(iconPath, target, android.R.color.transparent);
+    }
+
+    /**
+     * Gets an icon, decoding it on the calling thread if it is not cached.
+     *
+     * @param iconPath The icon path as stored on an account
+     * @param sizePx The edge of the view it will be shown in, in pixels
+     * @return The icon, or null if it could not be read
+     */
+    @Nullable
+    @WorkerThread
+    public Bitmap loadNow(@Nullable String iconPath, int sizePx) {
+        if (iconPath == null) {
+            return null;
+        }
+        String key = key(iconPath, sizePx);
+        Bitmap bitmap = cache.get(key);
+        if (bitmap != null) {
+            hits.incrementAndGet();
+            return bitmap;
+        }
+        misses.incrementAndGet();
+        bitmap = decode(iconPath, sizePx);
+        if (bitmap != null) {
+            cache.put(key, bitmap);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Gets the current cache metrics.
+     *
+     * @return A snapshot of the metrics
+     */
+    public Stats getStats() {
+        long count = decodes.get();
+        double mean = count > 0 ? decodeNanos.get() / (count * 1_000_000.0) : 0;
+        return new Stats(hits.get(), misses.get(), count, failures.get(), mean, cache.size(), cache.maxSize());
+    }
+
+    /**
+     * Clears the accumulated metrics. The cached icons are kept.
+     */
+    public void resetStats() {
+        hits.set(0);
+        misses.set(0);
+        decodes.set(0);
+        failures.set(0);
+        decodeNanos.set(0);
+    }
+
+    /**
+     * Drops every cached icon, for example when the system is low on memory.
+     */
+    public void clear() {
+        cache.evictAll();
+    }
+
+    /**
+     * Applies a finished decode to the views still waiting for it. Runs on the main
+     * thread. A view that was rebound to another icon in the meantime carries a
+     * different tag and is skipped; a failed decode leaves the placeholder in place.
+     */
+    private void deliver(String key, @Nullable Bitmap bitmap) {
+        List<ImageView> waiting = inFlight.remove(key);
+        if (waiting == null || bitmap == null) {
+            return;
+        }
+        for (ImageView view : waiting) {
+            if (key.equals(view.getTag(R.id.icon_loader_request))) {
+                view.setImageBitmap(bitmap);
+            }
+        }
+    }
+
+    /**
+     * Decodes an asset, subsampled to the smallest power-of-two reduction that is
+     * still at least the requested size.
+     */
+    @Nullable
+    private Bitmap decode(String iconPath, int sizePx) {
+        long start = System.nanoTime();
+        String assetPath = assetPath(iconPath);
+        Bitmap bitmap = null;
+        try {
+            BitmapFactory.Options bounds = new BitmapFactory.Options();
+            bounds.inJustDecodeBounds = true;
+            try (InputStream is = assets.open(assetPath)) {
+                BitmapFactory.decodeStream(is, null, bounds);
+            }
+
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inSampleSize = sampleSize(bounds.outWidth, bounds.outHeight, sizePx);
+            try (InputStream is = assets.open(assetPath)) {
+                bitmap = BitmapFactory.decodeStream(is, null, options);
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Error loading icon " + iconPath, e);
+        }
+        if (bitmap == null) {
+            failures.incrementAndGet();
+        }
+        decodes.incrementAndGet();
+        decodeNanos.addAndGet(System.nanoTime() - start);
+        return bitmap;
+    }
+
+    private static int sampleSize(int width, int height, int sizePx) {
+        int sample = 1;
+        if (width <= 0 || height <= 0 || sizePx <= 0) {
+            return sample;
+        }
+        while (width / (sample * 2) >= sizePx && height / (sample * 2) >= sizePx) {
+            sample *= 2;
+        }
+        return sample;
+    }
+
+    /**
+     * Picks the edge to decode for: the view's fixed layout size if it has one, its
+     * measured size otherwise, and the default icon size before it is laid out.
+     */
+    private int targetSize(ImageView view) {
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        int size = 0;
+        if (params != null) {
+            size = Math.max(params.width, params.height);
+        }
+        if (size <= 0) {
+            size = Math.max(view.getWidth(), view.getHeight());
+        }
+        if (size <= 0) {
+            size = Math.round(DEFAULT_SIZE_DP * density);
+        }
+        return size;
+    }
+
+    private static String key(String iconPath, int sizePx) {
+        return assetPath(iconPath) + "@" + sizePx;
+    }
+
+    /**
+     * Turns a stored icon path into a path under the assets directory. Accounts store
+     * their icon with an "Assets/" prefix that the asset manager does not expect.
+     */
+    private static String assetPath(String iconPath) {
+        return iconPath.startsWith("Assets/") ? iconPath.substring("Assets/".length()) : iconPath;
+    }
+}
@@ -0,0 +1,100 @@
+package com.dzovah.mesha.Methods.Utils;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Static list of the account icons shipped in {@code Assets/icons}.
+ * <p>
+ * The icon picker used to call {@code AssetManager.list("icons")} every time a
+ * create or edit dialog opened, which walks the APK's zip directory on the main
+ * thread. The set of icons only changes with a release, so it is listed here once
+ * instead. The list must match the directory: when an icon is added, removed or
+ * renamed in {@code Assets/icons}, update {@link #FILE_NAMES} in the same change,
+ * keeping it sorted.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ * @see IconLoader
+ */
+public final class IconManifest {
+    /** Directory of the icons, relative to the assets root */
+    public static final String DIRECTORY = "icons";
+
+    /** Prefix under which accounts store their icon path */
+    public static final String STORED_PREFIX = "Assets/" + DIRECTORY + "/";
+
+    /** File names of the icons, sorted, which is the order the picker shows them in */
+    private static final String[] FILE_NAMES = {
+            "airtelmoney.png",
+            "assets.png",
+            "bank (1).png",
+            "bank (2).png",
+            "bank.png",
+            "cash-flow.png",
+            "crypto.png",
+            "education.png",
+            "electricity-bill.png",
+            "financial-growth.png",
+            "financial-inclusion.png",
+            "financial-statement.png",
+            "financial.png",
+            "graduated.png",
+            "jar.png",
+            "literacy.png",
+            "loan (1).png",
+            "loan.png",
+            "money-bag.png",
+            "mortarboard.png",
+            "mpesa.png",
+            "paypal.png",
+            "piggy-bank.png",
+            "saving.png",
+            "shopper.png",
+            "shopping-cart.png",
+            "shopping.png",
+            "store.png",
+            "travel-and-tourism.png",
+            "travel.png",
+            "water-bill.png"
+    };
+
+    /** Number of icons in the manifest */
+    public static final int COUNT = FILE_NAMES.length;
+
+    private IconManifest() {
+    }
+
+    /**
+     * Gets the file names of all icons.
+     *
+     * @return A new array of icon file names, e.g. "cash-flow.png"
+     */
+    @NonNull
+    public static String[] getFileNames() {
+        return FILE_NAMES.clone();
+    }
+
+    /**
+     * Checks whether an icon file name is in the manifest.
+     *
+     * @param fileName The icon file name
+     * @return true if the icon ships with the app
+     */
+    public static boolean contains(String fileName) {
+        return fileName != null && Arrays.binarySearch(FILE_NAMES, fileName) >= 0;
+    }
+
+    /**
+     * Builds the path an account stores for an icon.
+     *
+     * @param fileName The icon file name
+     * @return The stored path, e.g. "Assets/icons/cash-flow.png"
+     */
+    @NonNull
+    public static String storedPath(@NonNull String fileName) {
+        return STORED_PREFIX + fileName;
+    }
+}
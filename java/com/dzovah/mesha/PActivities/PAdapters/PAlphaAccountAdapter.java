@@ -1,25 +1,25 @@
 package com.dzovah.mesha.PActivities.PAdapters;
 
 import android.content.Context;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.dzovah.mesha.Database.Entities.PAlphaAccount;
 import com.dzovah.mesha.R;
-import java.io.IOException;
-import java.io.InputStream;
+import com.dzovah.mesha.Methods.Utils.IconLoader;
 import java.util.List;
 import java.text.NumberFormat;
 import java.util.Locale;
+import java.util.Objects;
 import com.dzovah.mesha.Methods.Dialogs.EditAccountDialog;
 import com.dzovah.mesha.Database.MeshaDatabase;
-import java.util.ArrayList;
 import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
 
 /**
@@ -37,19 +37,34 @@ import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
  *
  * @author Electra Magus
  * @version 1.0
- * @see RecyclerView.Adapter
+ * @see ListAdapter
  * @see PAlphaAccount
  */
-public class PAlphaAccountAdapter extends RecyclerView.Adapter<PAlphaAccountAdapter.AccountViewHolder> {
+public class PAlphaAccountAdapter extends ListAdapter<PAlphaAccount, PAlphaAccountAdapter.AccountViewHolder> {
     /** Application context used for inflating layouts and accessing resources */
     private final Context context;
     
-    /** List of AlphaAccount objects to display */
-    private List<PAlphaAccount> accounts;
-    
     /** Listener for account interaction events */
     private OnAccountActionListener actionListener;
 
+    /**
+     * Matches accounts by ID and rebinds one only when something its row shows has
+     * changed, such as its balance.
+     */
+    private static final DiffUtil.ItemCallback<PAlphaAccount> DIFF_CALLBACK = new DiffUtil.ItemCallback<PAlphaAccount>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull PAlphaAccount oldItem, @NonNull PAlphaAccount newItem) {
+            return oldItem.getPAlphaAccountId() == newItem.getPAlphaAccountId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull PAlphaAccount oldItem, @NonNull PAlphaAccount newItem) {
+            return oldItem.getPAlphaAccountBalance() == newItem.getPAlphaAccountBalance()
+                    && Objects.equals(oldItem.getPAlphaAccountName(), newItem.getPAlphaAccountName())
+                    && Objects.equals(oldItem.getPAlphaAccountIcon(), newItem.getPAlphaAccountIcon());
+        }
+    };
+
     /**
      * Interface for handling account-related user interactions.
      * <p>
@@ -81,8 +96,9 @@ public class PAlphaAccountAdapter extends RecyclerView.Adapter<PAlphaAccountAdap
      * @param context The context used for inflating layouts and accessing resources
      */
     public PAlphaAccountAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.accounts = new ArrayList<>();
+        setHasStableIds(true);
     }
 
     /**
@@ -97,14 +113,14 @@ public class PAlphaAccountAdapter extends RecyclerView.Adapter<PAlphaAccountAdap
     /**
      * Updates the list of accounts displayed by this adapter.
      * <p>
-     * This method will trigger a UI refresh to show the new account list.
+     * The new list is diffed against the current one on a background thread, and
+     * only the rows that were added, removed, moved or changed are updated.
      * </p>
      *
      * @param accounts The new list of AlphaAccount objects to display
      */
     public void setAccounts(List<PAlphaAccount> accounts) {
-        this.accounts = accounts;
-        notifyDataSetChanged();
+        submitList(accounts);
     }
 
     /**
@@ -137,24 +153,16 @@ public class PAlphaAccountAdapter extends RecyclerView.Adapter<PAlphaAccountAdap
      */
     @Override
     public void onBindViewHolder(AccountViewHolder holder, int position) {
-        PAlphaAccount account = accounts.get(position);
+        PAlphaAccount account = getItem(position);
         holder.tvAccountName.setText(account.getPAlphaAccountName());
         holder.tvAccountBalance.setText(CurrencyFormatter.format(account.getPAlphaAccountBalance()));
 
         // Load icon from assets
-        try {
-            String iconPath = account.getPAlphaAccountIcon().replace("Assets/", "");
-            InputStream is = context.getAssets().open(iconPath);
-            Bitmap bitmap = BitmapFactory.decodeStream(is);
-            holder.ivAccountIcon.setImageBitmap(bitmap);
-            is.close();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        IconLoader.get(context).load(account.getPAlphaAccountIcon(), holder.ivAccountIcon);
 
         holder.itemView.setOnClickListener(v -> {
             if (actionListener != null) {
-                actionListener.onAccountClicked(account, position);
+                actionListener.onAccountClicked(account, holder.getBindingAdapterPosition());
             }
         });
 
@@ -181,13 +189,14 @@ public class PAlphaAccountAdapter extends RecyclerView.Adapter<PAlphaAccountAdap
     }
 
     /**
-     * Returns the total number of accounts in the data set.
+     * Returns the stable ID of the account at a position, which is its primary key.
      *
-     * @return The number of accounts, or 0 if the accounts list is null
+     * @param position The position of the account
+     * @return The account ID
      */
     @Override
-    public int getItemCount() {
-        return accounts != null ? accounts.size() : 0;
+    public long getItemId(int position) {
+        return getItem(position).getPAlphaAccountId();
     }
 
     /**
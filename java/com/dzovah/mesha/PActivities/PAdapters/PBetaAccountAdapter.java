@@ -3,13 +3,14 @@ package com.dzovah.mesha.PActivities.PAdapters;
 import android.app.Activity;
 import android.content.Context;
 import android.content.Intent;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.dzovah.mesha.PActivities.PBetaAccountDetailActivity;
@@ -17,11 +18,11 @@ import com.dzovah.mesha.Database.Entities.PBetaAccount;
 import com.dzovah.mesha.Database.MeshaDatabase;
 import com.dzovah.mesha.Methods.Dialogs.EditAccountDialog;
 import com.dzovah.mesha.R;
-import java.io.IOException;
-import java.io.InputStream;
+import com.dzovah.mesha.Methods.Utils.IconLoader;
 import java.util.List;
 import java.text.NumberFormat;
 import java.util.Locale;
+import java.util.Objects;
 
 import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
 
@@ -40,40 +41,57 @@ import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
  *
  * @author Electra Magus
  * @version 1.0
- * @see RecyclerView.Adapter
+ * @see ListAdapter
  * @see PBetaAccount
  * @see PBetaAccountDetailActivity
  */
-public class PBetaAccountAdapter extends RecyclerView.Adapter<PBetaAccountAdapter.BetaAccountViewHolder> {
-    /** List of BetaAccount objects to display */
-    private List<PBetaAccount> betaAccounts;
-    
+public class PBetaAccountAdapter extends ListAdapter<PBetaAccount, PBetaAccountAdapter.BetaAccountViewHolder> {
     /** Application context used for inflating layouts and accessing resources */
     private final Context context;
     
     /** Listener for account interaction events */
     private OnAccountActionListener actionListener;
 
+    /**
+     * Matches beta accounts by ID and rebinds one only when something its row shows has
+     * changed, such as its balance.
+     */
+    private static final DiffUtil.ItemCallback<PBetaAccount> DIFF_CALLBACK = new DiffUtil.ItemCallback<PBetaAccount>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull PBetaAccount oldItem, @NonNull PBetaAccount newItem) {
+            return oldItem.getPBetaAccountId() == newItem.getPBetaAccountId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull PBetaAccount oldItem, @NonNull PBetaAccount newItem) {
+            return oldItem.getPBetaAccountBalance() == newItem.getPBetaAccountBalance()
+                    && Objects.equals(oldItem.getPBetaAccountName(), newItem.getPBetaAccountName())
+                    && Objects.equals(oldItem.getPBetaAccountIcon(), newItem.getPBetaAccountIcon());
+        }
+    };
+
     /**
      * Constructs a new BetaAccountAdapter.
      *
      * @param context The context used for inflating layouts and accessing resources
      */
     public PBetaAccountAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
+        setHasStableIds(true);
     }
 
     /**
      * Updates the list of beta accounts displayed by this adapter.
      * <p>
-     * This method will trigger a UI refresh to show the new account list.
+     * Only the rows whose account was added, removed or changed are updated; the
+     * comparison runs off the main thread.
      * </p>
      *
      * @param betaAccounts The new list of BetaAccount objects to display
      */
     public void setBetaAccounts(List<PBetaAccount> betaAccounts) {
-        this.betaAccounts = betaAccounts;
-        notifyDataSetChanged();
+        submitList(betaAccounts);
     }
 
     /**
@@ -122,22 +140,14 @@ public class PBetaAccountAdapter extends RecyclerView.Adapter<PBetaAccountAdapte
      */
     @Override
     public void onBindViewHolder(BetaAccountViewHolder holder, int position) {
-        PBetaAccount account = betaAccounts.get(position);
+        PBetaAccount account = getItem(position);
         holder.tvAccountName.setText(account.getPBetaAccountName());
         
         holder.tvAccountBalance.setText(CurrencyFormatter.format(account.getPBetaAccountBalance()));
 
-        try {
-            String iconPath = account.getPBetaAccountIcon().replace("Assets/", "");
-            InputStream is = context.getAssets().open(iconPath);
-            Bitmap bitmap = BitmapFactory.decodeStream(is);
-            holder.ivAccountIcon.setImageBitmap(bitmap);
-            is.close();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        IconLoader.get(context).load(account.getPBetaAccountIcon(), holder.ivAccountIcon);
 
-        holder.itemView.setOnClickListener(v -> handleItemClick(account, position));
+        holder.itemView.setOnClickListener(v -> handleItemClick(account, holder.getBindingAdapterPosition()));
 
         // Add long-press listener for editing/deleting beta accounts
         holder.itemView.setOnLongClickListener(v -> {
@@ -163,13 +173,14 @@ public class PBetaAccountAdapter extends RecyclerView.Adapter<PBetaAccountAdapte
     }
 
     /**
-     * Returns the total number of beta accounts in the data set.
+     * Returns the stable ID of the beta account at a position, which is its primary key.
      *
-     * @return The number of beta accounts, or 0 if the betaAccounts list is null
+     * @param position The position of the beta account
+     * @return The account ID
      */
     @Override
-    public int getItemCount() {
-        return betaAccounts != null ? betaAccounts.size() : 0;
+    public long getItemId(int position) {
+        return getItem(position).getPBetaAccountId();
     }
 
     /**
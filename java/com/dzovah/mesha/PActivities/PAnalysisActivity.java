@@ -3,26 +3,21 @@ package com.dzovah.mesha.PActivities;
 import android.os.Bundle;
 import android.widget.ImageView;
 import android.widget.TextView;
-import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.dzovah.mesha.PActivities.PAdapters.PAnalysisTransactionAdapter;
-import com.dzovah.mesha.Database.Entities.PAlphaAccount;
-import com.dzovah.mesha.Database.Entities.PBetaAccount;
 import com.dzovah.mesha.Database.Entities.PTransaction;
-import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Entities.PTransactionWithAccounts;
 import com.dzovah.mesha.Database.Utils.CurrencyFormatter;
+import com.dzovah.mesha.Database.Utils.TimestampRenderer;
+import com.dzovah.mesha.PActivities.PViewModels.PAnalysisViewModel;
 import com.dzovah.mesha.R;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.List;
-import java.util.Locale;
-
 /**
  * Activity for analyzing and displaying financial transactions.
  * <p>
@@ -43,8 +38,8 @@ import java.util.Locale;
  * @see PAnalysisTransactionAdapter
  */
 public class PAnalysisActivity extends AppCompatActivity {
-    /** Database instance for accessing app data */
-    private MeshaDatabase database;
+    /** Screen state, including the pager, that survives configuration changes */
+    private PAnalysisViewModel viewModel;
     
     /** Adapter for displaying transactions in the RecyclerView */
     private PAnalysisTransactionAdapter adapter;
@@ -53,7 +48,7 @@ public class PAnalysisActivity extends AppCompatActivity {
     private TextView tvNetBalance;
 
     /**
-     * Initializes the activity, sets up the UI components, and loads transaction data.
+     * Initializes the activity, sets up the UI components, and binds them to the screen state.
      *
      * @param savedInstanceState If the activity is being re-initialized after being shut down,
      *                           this contains the data it most recently supplied in onSaveInstanceState
@@ -63,9 +58,9 @@ public class PAnalysisActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_analysis);
 
-        database = MeshaDatabase.Get_database(this);
+        viewModel = new ViewModelProvider(this).get(PAnalysisViewModel.class);
         initializeViews();
-        loadTransactions();
+        observeNetBalance();
     }
 
     /**
@@ -76,7 +71,7 @@ public class PAnalysisActivity extends AppCompatActivity {
      *     <li>The analysis icon</li>
      *     <li>The net balance display</li>
      *     <li>The RecyclerView for transactions</li>
-     *     <li>The transaction adapter with click listener</li>
+     *     <li>The transaction adapter with click listener and its pager</li>
      * </ul>
      * </p>
      */
@@ -91,32 +86,24 @@ public class PAnalysisActivity extends AppCompatActivity {
         
         adapter = new PAnalysisTransactionAdapter(this);
         adapter.setOnTransactionClickListener(this::showTransactionDetails);
+        adapter.setPager(viewModel.getPager());
         rvTransactions.setAdapter(adapter);
     }
 
     /**
-     * Loads all transactions from the database and updates the UI.
+     * Observes the net balance.
      * <p>
-     * This method retrieves transactions sorted by entry time and calculates
-     * the net balance. The operations are performed on a background thread
-     * to avoid blocking the UI.
+     * The transaction feed is started by the ViewModel when it is created: only the
+     * newest page is read, further pages are loaded by keyset as the user scrolls,
+     * and the loaded pages are kept when the screen is recreated. The net balance is
+     * the sum of the trigger-maintained Alpha account balances rather than a scan of
+     * every transaction, and is re-read only when an Alpha account changes.
      * </p>
      */
-    private void loadTransactions() {
-        MeshaDatabase.databaseWriteExecutor.execute(() -> {
-            try {
-                List<PTransaction> transactions = database.PtransactionDao().getAllPTransactionsByEntryTime();
-                double netBalance = database.PtransactionDao().getNetBalance();
-
-                runOnUiThread(() -> {
-                    adapter.setTransactions(transactions);
-                    tvNetBalance.setText(CurrencyFormatter.format(netBalance));
-                });
-            } catch (Exception e) {
-                e.printStackTrace();
-                runOnUiThread(() -> 
-                    Toast.makeText(this, "Error loading transactions", Toast.LENGTH_SHORT).show()
-                );
+    private void observeNetBalance() {
+        viewModel.getNetBalance().observe(this, netBalance -> {
+            if (netBalance != null) {
+                tvNetBalance.setText(CurrencyFormatter.format(netBalance));
             }
         });
     }
@@ -124,9 +111,9 @@ public class PAnalysisActivity extends AppCompatActivity {
     /**
      * Displays a dialog with detailed information about a selected transaction.
      * <p>
-     * When a transaction is tapped, this method retrieves associated Alpha and Beta
-     * account information and presents a comprehensive view of the transaction details,
-     * including:
+     * The tapped row already carries its Alpha and Beta account names from the
+     * joined feed query, so the dialog is built without touching the database.
+     * It presents a comprehensive view of the transaction details, including:
      * <ul>
      *     <li>Amount (formatted)</li>
      *     <li>Description</li>
@@ -136,50 +123,31 @@ public class PAnalysisActivity extends AppCompatActivity {
      * </ul>
      * </p>
      *
-     * @param transaction The transaction to display details for
+     * @param row The transaction, with its account details, to display details for
      */
-    private void showTransactionDetails(PTransaction transaction) {
-        MeshaDatabase.databaseWriteExecutor.execute(() -> {
-            try {
-                // Get Alpha and Beta account details
-                PBetaAccount betaAccount = database.PbetaAccountDao()
-                    .getPBetaAccountById(transaction.getPBetaAccountId());
-                PAlphaAccount alphaAccount = database.PalphaAccountDao()
-                    .getPAlphaAccountById(transaction.getPAlphaAccountId());
-
-                if (betaAccount != null && alphaAccount != null) {
-                    SimpleDateFormat dateFormat = new SimpleDateFormat("dd MMM yyyy, HH:mm", Locale.getDefault());
-                    String date = dateFormat.format(new Date(transaction.getPEntryTime()));
+    private void showTransactionDetails(PTransactionWithAccounts row) {
+        PTransaction transaction = row.getTransaction();
+        String date = TimestampRenderer.formatDateTime(transaction.getPEntryTime());
 
-                    String details = String.format(
-                        "Amount: %s\n\n" +
-                        "Description: %s\n\n" +
-                        "Date: %s\n\n" +
-                        "Alpha Account: %s\n" +
-                        "Beta Account: %s\n\n" +
-                        "Type: %s",
-                        CurrencyFormatter.format(Math.abs(transaction.getPTransactionAmount())),
-                        transaction.getPTransactionDescription(),
-                        date,
-                        alphaAccount.getPAlphaAccountName(),
-                        betaAccount.getPBetaAccountName(),
-                        transaction.getPTransactionAmount() > 0 ? "Credit" : "Debit"
-                    );
+        String details = String.format(
+            "Amount: %s\n\n" +
+            "Description: %s\n\n" +
+            "Date: %s\n\n" +
+            "Alpha Account: %s\n" +
+            "Beta Account: %s\n\n" +
+            "Type: %s",
+            CurrencyFormatter.format(Math.abs(transaction.getPTransactionAmount())),
+            transaction.getPTransactionDescription(),
+            date,
+            row.getAlphaAccountName(),
+            row.getBetaAccountName(),
+            transaction.getPTransactionAmount() > 0 ? "Credit" : "Debit"
+        );
 
-                    runOnUiThread(() -> {
-                        new MaterialAlertDialogBuilder(this)
-                            .setTitle("Transaction Details")
-                            .setMessage(details)
-                            .setPositiveButton("Close", null)
-                            .show();
-                    });
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                runOnUiThread(() -> 
-                    Toast.makeText(this, "Error loading transaction details", Toast.LENGTH_SHORT).show()
-                );
-            }
-        });
+        new MaterialAlertDialogBuilder(this)
+            .setTitle("Transaction Details")
+            .setMessage(details)
+            .setPositiveButton("Close", null)
+            .show();
     }
 }
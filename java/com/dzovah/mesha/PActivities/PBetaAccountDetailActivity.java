@@ -1,6 +1,5 @@
 package com.dzovah.mesha.PActivities;
 
-import android.graphics.BitmapFactory;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.EditText;
@@ -11,11 +10,13 @@ import android.widget.Toast;
 
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.airbnb.lottie.LottieAnimationView;
 import com.dzovah.mesha.PActivities.PAdapters.PTransactionAdapter;
+import com.dzovah.mesha.PActivities.PViewModels.PBetaAccountViewModel;
 import com.dzovah.mesha.Database.Entities.PAlphaAccount;
 import com.dzovah.mesha.Database.Entities.PBetaAccount;
 import com.dzovah.mesha.Database.Entities.PTransaction;
@@ -25,12 +26,11 @@ import com.dzovah.mesha.Database.Utils.TransactionType;
 import com.dzovah.mesha.Methods.Dialogs.AddPTransactionDialog;
 import com.dzovah.mesha.Methods.Dialogs.EditPAccountDialog;
 import com.dzovah.mesha.R;
+import com.dzovah.mesha.Methods.Utils.IconLoader;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.List;
 
 /**
  * Activity for displaying detailed information about a Beta Account.
@@ -67,6 +67,9 @@ public class PBetaAccountDetailActivity extends AppCompatActivity {
     /** ID of the Beta Account being displayed */
     private int betaAccountId;
     
+    /** Screen state that survives configuration changes */
+    private PBetaAccountViewModel viewModel;
+
     /** Current Beta Account object being displayed */
     private PBetaAccount currentBetaAccount;
 
@@ -74,7 +77,7 @@ public class PBetaAccountDetailActivity extends AppCompatActivity {
      * Initializes the activity, sets up UI components, and loads Beta Account data.
      * <p>
      * This method retrieves the Beta Account ID from the intent, initializes views,
-     * and triggers the loading of Beta Account details and associated transactions.
+     * and starts observing the Beta Account details and associated transactions.
      * If the Beta Account ID is invalid, the activity finishes with an error message.
      * </p>
      *
@@ -94,9 +97,11 @@ public class PBetaAccountDetailActivity extends AppCompatActivity {
         }
 
         database = MeshaDatabase.Get_database(getApplicationContext());
+        viewModel = new ViewModelProvider(this).get(PBetaAccountViewModel.class);
+        viewModel.setAccountId(betaAccountId);
         initializeViews();
-        loadBetaAccountDetails();
-        loadTransactions();
+        observeBetaAccount();
+        observeTransactions();
     }
 
     /**
@@ -124,92 +129,74 @@ public class PBetaAccountDetailActivity extends AppCompatActivity {
     }
 
     /**
-     * Loads and displays the Beta Account details from the database.
+     * Observes the Beta Account and displays its details.
      * <p>
      * This method:
      * <ul>
-     *     <li>Retrieves the Beta Account data from the database</li>
-     *     <li>Updates the UI with account name, balance, and icon</li>
+     *     <li>Updates the UI with account name, balance, and icon on every change</li>
      *     <li>Sets up long-click listener for editing and deleting the account</li>
      *     <li>Configures the transaction adapter with account information</li>
      * </ul>
-     * The operations are performed on a background thread to avoid blocking the UI.
+     * The balance is kept by the ledger triggers, so every transaction written to
+     * this account re-delivers the row here. The icon is decoded
+     * once by the ViewModel, and the activity finishes if the account is deleted.
      * </p>
      */
-    private void loadBetaAccountDetails() {
-        MeshaDatabase.databaseWriteExecutor.execute(() -> {
-            try {
-                currentBetaAccount = database.PbetaAccountDao().getPBetaAccountById(betaAccountId);
-                runOnUiThread(() -> {
-                    if (currentBetaAccount != null) {
-                        TextView tvBetaName = findViewById(R.id.tvBetaAccountName);
-                        TextView tvBetaBalance = findViewById(R.id.tvBetaAccountBalance);
-                        ImageView ivBetaIcon = findViewById(R.id.betaAccountIcon);
-                        LottieAnimationView glowiView = findViewById(R.id.glowi);
-    
-                        tvBetaName.setText(currentBetaAccount.getPBetaAccountName());
-                        tvBetaBalance.setText(CurrencyFormatter.format(currentBetaAccount.getPBetaAccountBalance()));
-                        transactionAdapter.setBetaAccountIcon(currentBetaAccount.getPBetaAccountIcon());
-                        transactionAdapter.setBetaAccount(currentBetaAccount);
-    
-                        try {
-                            String iconPath = currentBetaAccount.getPBetaAccountIcon().replace("Assets/", "");
-                            InputStream is = getAssets().open(iconPath);
-                            ivBetaIcon.setImageBitmap(BitmapFactory.decodeStream(is));
-                            is.close();
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                        }
-    
-                        // Set long-click listener on the glowi view instead of just the name
-                        glowiView.setOnLongClickListener(v -> {
-                            EditPAccountDialog dialog = new EditPAccountDialog(this, database, currentBetaAccount);
-                            dialog.setOnAccountEditedListener(new EditPAccountDialog.OnAccountEditedListener() {
-                                @Override
-                                public void onAccountEdited() {
-                                    loadBetaAccountDetails();
-                                    loadTransactions();
-                                }
-                                
-                                @Override
-                                public void onAccountDeleted() {
-                                    finish();
-                                }
-                            });
-                            dialog.show();
-                            return true;
-                        });
-                    } else {
-                        Toast.makeText(this, "Account not found", Toast.LENGTH_SHORT).show();
-                        finish();
-                    }
-                });
-            } catch (Exception e) {
-                e.printStackTrace();
-                runOnUiThread(() -> {
-                    Toast.makeText(this, "Error loading account details", Toast.LENGTH_SHORT).show();
+    private void observeBetaAccount() {
+        TextView tvBetaName = findViewById(R.id.tvBetaAccountName);
+        TextView tvBetaBalance = findViewById(R.id.tvBetaAccountBalance);
+        ImageView ivBetaIcon = findViewById(R.id.betaAccountIcon);
+        LottieAnimationView glowiView = findViewById(R.id.glowi);
+
+        // Set long-click listener on the glowi view instead of just the name
+        glowiView.setOnLongClickListener(v -> {
+            if (currentBetaAccount == null) {
+                return false;
+            }
+            EditAccountDialog dialog = new EditAccountDialog(this, database, currentBetaAccount);
+            dialog.setOnAccountEditedListener(new EditAccountDialog.OnAccountEditedListener() {
+                @Override
+                public void onAccountEdited() {
+                    // The observed account refreshes itself
+                }
+
+                @Override
+                public void onAccountDeleted() {
                     finish();
-                });
+                }
+            });
+            dialog.show();
+            return true;
+        });
+
+        viewModel.getAccount().observe(this, account -> {
+            if (account == null) {
+                Toast.makeText(this, "Account not found", Toast.LENGTH_SHORT).show();
+                finish();
+                return;
             }
+            currentBetaAccount = account;
+
+            tvBetaName.setText(account.getPBetaAccountName());
+            tvBetaBalance.setText(CurrencyFormatter.format(account.getPBetaAccountBalance()));
+            transactionAdapter.setBetaAccountIcon(account.getPBetaAccountIcon());
+            transactionAdapter.setBetaAccount(account);
+
+            IconLoader.get(this).load(account.getPBetaAccountIcon(), ivBetaIcon);
         });
     }
-    
+
     /**
-     * Loads and displays transactions associated with this Beta Account.
+     * Observes the transactions associated with this Beta Account.
      * <p>
-     * This method retrieves all transactions linked to the current Beta Account
-     * from the database and updates the RecyclerView through the adapter.
-     * The operations are performed on a background thread to avoid blocking the UI.
+     * Room re-runs the query only after the transaction table is written, so adding,
+     * editing or deleting a transaction updates the list without an explicit reload.
      * </p>
      */
-    private void loadTransactions() {
-        MeshaDatabase.databaseWriteExecutor.execute(() -> {
-            try {
-                List<PTransaction> transactions = database.PtransactionDao().getAllPTransactionsByBetaAccountId(betaAccountId);
-                runOnUiThread(() -> transactionAdapter.setTransactions(transactions));
-            } catch (Exception e) {
-                e.printStackTrace();
-                runOnUiThread(() -> Toast.makeText(this, "Error loading transactions", Toast.LENGTH_SHORT).show());
+    private void observeTransactions() {
+        viewModel.getTransactions().observe(this, transactions -> {
+            if (transactions != null) {
+                transactionAdapter.setTransactions(transactions);
             }
         });
     }
@@ -218,19 +205,14 @@ public class PBetaAccountDetailActivity extends AppCompatActivity {
      * Displays the dialog for adding a new transaction.
      * <p>
      * This method opens a dialog that allows the user to create a new transaction
-     * for the current Beta Account. After successful creation, it refreshes
-     * the account details and transaction list to reflect the new transaction.
-     * Also sets the activity result to OK, notifying parent activities that data
-     * has changed.
+     * for the current Beta Account. The new transaction and balance reach the
+     * screen through the observed queries. Also sets the activity result to OK,
+     * notifying parent activities that data has changed.
      * </p>
      */
     private void showAddTransactionDialog() {
         AddPTransactionDialog dialog = new AddPTransactionDialog(this, database, currentBetaAccount);
-        dialog.setOnTransactionAddedListener(() -> {
-            loadBetaAccountDetails();
-            loadTransactions();
-            setResult(RESULT_OK);
-        });
+        dialog.setOnTransactionAddedListener(() -> setResult(RESULT_OK));
         dialog.show();
     }
 } 
\ No newline at end of file
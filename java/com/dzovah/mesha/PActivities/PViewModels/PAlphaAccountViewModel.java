@@ -0,0 +1,58 @@
+package com.dzovah.mesha.PActivities.PViewModels;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+
+import com.dzovah.mesha.Activities.ViewModels.AccountDetailViewModel;
+import com.dzovah.mesha.Database.Entities.PAlphaAccount;
+import com.dzovah.mesha.Database.Entities.PBetaAccount;
+import com.dzovah.mesha.Database.Repositories.PAccountRepository;
+
+import java.util.List;
+
+/**
+ * ViewModel for {@link com.dzovah.mesha.PActivities.PAlphaAccountDetailActivity}.
+ * <p>
+ * Holds the observed hidden Alpha Account and its Beta Accounts, taken from the shared
+ * {@link PAccountRepository}, so the screen is redrawn from memory after a
+ * configuration change.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ */
+public class PAlphaAccountViewModel extends AccountDetailViewModel {
+    private LiveData<PAlphaAccount> account;
+    private LiveData<List<PBetaAccount>> betaAccounts;
+
+    public PAlphaAccountViewModel(@NonNull Application application) {
+        super(application);
+    }
+
+    @Override
+    protected void onAccountIdSet(int accountId) {
+        PAccountRepository repository = PAccountRepository.get(getApplication());
+        account = repository.getAlphaAccount(accountId);
+        betaAccounts = repository.getBetaAccounts(accountId);
+    }
+
+    /**
+     * Observes the Alpha Account.
+     *
+     * @return The account, which emits null once it is deleted
+     */
+    public LiveData<PAlphaAccount> getAccount() {
+        return account;
+    }
+
+    /**
+     * Observes the Beta Accounts of the Alpha Account.
+     *
+     * @return The list of Beta Accounts
+     */
+    public LiveData<List<PBetaAccount>> getBetaAccounts() {
+        return betaAccounts;
+    }
+}
@@ -0,0 +1,62 @@
+package com.dzovah.mesha.PActivities.PViewModels;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+
+import com.dzovah.mesha.Database.Entities.PTransactionWithAccounts;
+import com.dzovah.mesha.Database.MeshaDatabase;
+import com.dzovah.mesha.Database.Repositories.PAccountRepository;
+import com.dzovah.mesha.Database.Repositories.PTransactionPageSource;
+import com.dzovah.mesha.Database.Utils.KeysetPager;
+
+/**
+ * ViewModel for {@link com.dzovah.mesha.PActivities.PAnalysisActivity}.
+ * <p>
+ * Owns the hidden transaction feed pager and the observed net balance. The pager keeps its
+ * loaded pages while the activity is recreated, so the new adapter binds to the rows
+ * already in memory instead of loading the first page again.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ */
+public class PAnalysisViewModel extends AndroidViewModel {
+    private final KeysetPager<PTransactionWithAccounts> pager;
+    private final LiveData<Long> netBalance;
+
+    public PAnalysisViewModel(@NonNull Application application) {
+        super(application);
+        PAccountRepository repository = PAccountRepository.get(application);
+        pager = new KeysetPager<>(new PTransactionPageSource(repository.getDatabase().PtransactionDao()),
+                MeshaDatabase.databaseReadExecutor);
+        pager.refresh();
+        netBalance = repository.getTotalBalance();
+    }
+
+    /**
+     * Gets the pager of the transaction feed, already started.
+     *
+     * @return The pager
+     */
+    public KeysetPager<PTransactionWithAccounts> getPager() {
+        return pager;
+    }
+
+    /**
+     * Observes the combined balance of all Alpha Accounts.
+     *
+     * @return The net balance in minor units
+     */
+    public LiveData<Long> getNetBalance() {
+        return netBalance;
+    }
+
+    @Override
+    protected void onCleared() {
+        // Let go of the last adapter
+        pager.setListener(null);
+    }
+}
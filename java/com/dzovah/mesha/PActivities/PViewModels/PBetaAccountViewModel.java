@@ -0,0 +1,58 @@
+package com.dzovah.mesha.PActivities.PViewModels;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+
+import com.dzovah.mesha.Activities.ViewModels.AccountDetailViewModel;
+import com.dzovah.mesha.Database.Entities.PBetaAccount;
+import com.dzovah.mesha.Database.Entities.PTransaction;
+import com.dzovah.mesha.Database.Repositories.PAccountRepository;
+
+import java.util.List;
+
+/**
+ * ViewModel for {@link com.dzovah.mesha.PActivities.PBetaAccountDetailActivity}.
+ * <p>
+ * Holds the observed hidden Beta Account and its transactions, taken from the shared
+ * {@link PAccountRepository}, so the screen is redrawn from memory after a
+ * configuration change.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ */
+public class PBetaAccountViewModel extends AccountDetailViewModel {
+    private LiveData<PBetaAccount> account;
+    private LiveData<List<PTransaction>> transactions;
+
+    public PBetaAccountViewModel(@NonNull Application application) {
+        super(application);
+    }
+
+    @Override
+    protected void onAccountIdSet(int accountId) {
+        PAccountRepository repository = PAccountRepository.get(getApplication());
+        account = repository.getBetaAccount(accountId);
+        transactions = repository.getTransactions(accountId);
+    }
+
+    /**
+     * Observes the Beta Account.
+     *
+     * @return The account, which emits null once it is deleted
+     */
+    public LiveData<PBetaAccount> getAccount() {
+        return account;
+    }
+
+    /**
+     * Observes the transactions of the Beta Account, newest first.
+     *
+     * @return The list of transactions
+     */
+    public LiveData<List<PTransaction>> getTransactions() {
+        return transactions;
+    }
+}
@@ -0,0 +1,40 @@
+package com.dzovah.mesha.PActivities.PViewModels;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+
+import com.dzovah.mesha.Database.Entities.PAlphaAccount;
+import com.dzovah.mesha.Database.Repositories.PAccountRepository;
+
+import java.util.List;
+
+/**
+ * ViewModel for {@link com.dzovah.mesha.PActivities.PDashboard}.
+ * <p>
+ * Holds the observed list of hidden Alpha Accounts across configuration changes, so a
+ * recreated dashboard shows the accounts it already had without querying again.
+ * </p>
+ *
+ * @author Electra Magus
+ * @version 1.0
+ */
+public class PDashboardViewModel extends AndroidViewModel {
+    private final LiveData<List<PAlphaAccount>> accounts;
+
+    public PDashboardViewModel(@NonNull Application application) {
+        super(application);
+        accounts = PAccountRepository.get(application).getAlphaAccounts();
+    }
+
+    /**
+     * Observes all Alpha Accounts, ordered by name.
+     *
+     * @return The list of Alpha Accounts
+     */
+    public LiveData<List<PAlphaAccount>> getAccounts() {
+        return accounts;
+    }
+}